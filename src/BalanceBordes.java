@@ -0,0 +1,116 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+
+/**
+ * Balance de bordes para podar el backtracking que llena fila por fila.
+ *
+ * Con las celdas 0..k colocadas, la frontera tiene bordes abiertos:
+ *
+ * - el down de cada celda cuya celda de abajo sigue vacia (las de la fila
+ *   actual hasta col y las de la fila anterior despues de col)
+ * - el right de la ultima celda colocada si no esta en la ultima columna
+ *
+ * Cada borde abierto con valor v necesita una pieza distinta entre las
+ * restantes con up == v (o left == v). Por eso, para cada valor, la
+ * demanda de la frontera no puede superar la oferta de piezas restantes:
+ *
+ *   demandaUp[v] <= ofertaUp[v]   y   demandaLeft[v] <= ofertaLeft[v]
+ *
+ * Si algun valor no cumple, ninguna forma de completar el tablero puede
+ * funcionar y la rama se poda, aunque el callejon este muchas filas mas
+ * abajo.
+ *
+ * colocar y quitar son O(1): una colocacion solo cambia la oferta de
+ * p.up y p.left y la demanda de p.down y p.right (y descuenta los bordes
+ * que cierra), asi que basta revisar esos cuatro valores. colocar siempre
+ * aplica el cambio, aunque devuelva false; cada colocar se deshace con su
+ * quitar, en orden inverso, como en IndiceCandidatos.
+ */
+public class BalanceBordes {
+
+    private final int size;
+    private final int[] ofertaUp; // piezas restantes con up == v
+    private final int[] ofertaLeft; // piezas restantes con left == v
+    private final int[] demandaUp; // downs abiertos con valor v
+    private final int[] demandaLeft; // rights abiertos con valor v
+
+    /**
+     * @param codigos  Codigo (PiezaCodec) de cada pieza, todas sin colocar
+     * @param rangoNum Valores posibles de cada lado (0..rangoNum-1)
+     * @param size     Lado del tablero
+     */
+    public BalanceBordes(int[] codigos, int rangoNum, int size) {
+        this.size = size;
+
+        // Por seguridad el rango cubre cualquier valor presente en las piezas
+        int maxValor = Math.min(rangoNum, PiezaCodec.MAX_VALOR + 1) - 1; // Tablero renumera rangos mayores
+        for (int codigo : codigos) {
+            maxValor = Math.max(maxValor, Math.max(Math.max(PiezaCodec.up(codigo), PiezaCodec.right(codigo)),
+                    Math.max(PiezaCodec.down(codigo), PiezaCodec.left(codigo))));
+        }
+        int rango = maxValor + 1;
+        ofertaUp = new int[rango];
+        ofertaLeft = new int[rango];
+        demandaUp = new int[rango];
+        demandaLeft = new int[rango];
+        for (int codigo : codigos) {
+            ofertaUp[PiezaCodec.up(codigo)]++;
+            ofertaLeft[PiezaCodec.left(codigo)]++;
+        }
+    }
+
+    /**
+     * Registra la pieza p en (row, col), con las celdas anteriores (fila por
+     * fila) ya colocadas en celdas[]. Devuelve false si algun valor queda
+     * con mas demanda que oferta.
+     */
+    public boolean colocar(int[] celdas, int row, int col, int p) {
+        int idx = row * size + col;
+        int up = PiezaCodec.up(p);
+        int left = PiezaCodec.left(p);
+        ofertaUp[up]--;
+        ofertaLeft[left]--;
+
+        // Bordes que p cierra
+        if (row > 0) {
+            demandaUp[PiezaCodec.down(celdas[idx - size])]--;
+        }
+        if (col > 0) {
+            demandaLeft[PiezaCodec.right(celdas[idx - 1])]--;
+        }
+
+        // Bordes que p abre
+        boolean balanceado = demandaUp[up] <= ofertaUp[up] && demandaLeft[left] <= ofertaLeft[left];
+        if (row < size - 1) {
+            int down = PiezaCodec.down(p);
+            balanceado &= ++demandaUp[down] <= ofertaUp[down];
+        }
+        if (col < size - 1) {
+            int right = PiezaCodec.right(p);
+            balanceado &= ++demandaLeft[right] <= ofertaLeft[right];
+        }
+        return balanceado;
+    }
+
+    /**
+     * Deshace colocar(celdas, row, col, p). Las celdas vecinas deben seguir
+     * como estaban al colocar.
+     */
+    public void quitar(int[] celdas, int row, int col, int p) {
+        int idx = row * size + col;
+        if (col < size - 1) {
+            demandaLeft[PiezaCodec.right(p)]--;
+        }
+        if (row < size - 1) {
+            demandaUp[PiezaCodec.down(p)]--;
+        }
+        if (col > 0) {
+            demandaLeft[PiezaCodec.right(celdas[idx - 1])]++;
+        }
+        if (row > 0) {
+            demandaUp[PiezaCodec.down(celdas[idx - size])]++;
+        }
+        ofertaLeft[PiezaCodec.left(p)]++;
+        ofertaUp[PiezaCodec.up(p)]++;
+    }
+}
@@ -0,0 +1,116 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compara los operadores de cruce del Genetico (ver Genetico.Cruce) en
+ * tiempo hasta un fitness.
+ *
+ * Cada operador corre sobre los mismos tableros con las mismas semillas.
+ * Para cada par (tablero, semilla) el objetivo es el menor de los fitness
+ * finales (Genetico.getFitnessFinal, el del tablero que deja) de todos los
+ * operadores (todos lo alcanzan) y se mide cuando lo alcanzo cada uno con
+ * Genetico.getNanosPorGeneracion(). Se reporta la mediana del tiempo total,
+ * del fitness final y del tiempo hasta el objetivo.
+ *
+ * Uso:
+ *   java BenchmarkCruces              (tamanos por defecto)
+ *   java BenchmarkCruces 30 100       (solo esos tamanos)
+ */
+public class BenchmarkCruces {
+
+    static final int[] sizes = { 10, 30, 60 };
+    static final int rango = 9;
+    static final int tableros = 3;
+    static final int semillas = 5;
+    static final int calentamiento = 3;
+    static final long semilla = 42;
+
+    public static void main(String[] args) {
+        int[] lados = args.length > 0 ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray() : sizes;
+        Genetico.Cruce[] cruces = Genetico.Cruce.values();
+
+        for (int size : lados) {
+            // Los mismos tableros para todos los operadores
+            Tablero[] base = new Tablero[tableros];
+            Random random = new Random(semilla);
+            for (int i = 0; i < tableros; i++) {
+                base[i] = new Tablero(size, rango);
+                base[i].random = new Random(random.nextLong());
+                base[i].createTablero();
+                base[i].scrambleTablero();
+            }
+            int objetivo = 2 * size * (size - 1);
+
+            // Calentar el JIT con todos los operadores
+            for (int i = 0; i < calentamiento; i++) {
+                for (Genetico.Cruce cruce : cruces) {
+                    correr(base[0], cruce, i);
+                }
+            }
+
+            int corridas = tableros * semillas;
+            double[][] tiempoTotal = new double[cruces.length][corridas];
+            double[][] fitnessFinal = new double[cruces.length][corridas];
+            double[][] tiempoObjetivo = new double[cruces.length][corridas];
+
+            for (int t = 0; t < tableros; t++) {
+                for (int s = 0; s < semillas; s++) {
+                    int corrida = t * semillas + s;
+                    Genetico[] resultados = new Genetico[cruces.length];
+                    int meta = Integer.MAX_VALUE;
+                    for (int c = 0; c < cruces.length; c++) {
+                        resultados[c] = correr(base[t], cruces[c], s);
+                        meta = Math.min(meta, resultados[c].getFitnessFinal());
+                    }
+                    for (int c = 0; c < cruces.length; c++) {
+                        int[] mejores = resultados[c].getMejorPorGeneracion();
+                        long[] nanos = resultados[c].getNanosPorGeneracion();
+                        tiempoTotal[c][corrida] = nanos[nanos.length - 1] / 1e6;
+                        fitnessFinal[c][corrida] = 100.0 * resultados[c].getFitnessFinal() / objetivo;
+                        int k = 0;
+                        while (mejores[k] < meta) {
+                            k++;
+                        }
+                        tiempoObjetivo[c][corrida] = nanos[k] / 1e6;
+                    }
+                }
+            }
+
+            System.out.println();
+            System.out.println("Cruces del Genetico - tableros " + size + "x" + size + " (rango 0.." + rango + "), "
+                    + tableros + " tableros x " + semillas + " semillas (medianas)");
+            System.out.println(String.format("%-8s | %12s | %14s | %16s", "Cruce", "Total (ms)", "Fitness final",
+                    "Hasta meta (ms)"));
+            System.out.println("-".repeat(60));
+            for (int c = 0; c < cruces.length; c++) {
+                System.out.println(String.format("%-8s | %12.2f | %13.1f%% | %16.2f", cruces[c],
+                        mediana(tiempoTotal[c]), mediana(fitnessFinal[c]), mediana(tiempoObjetivo[c])));
+            }
+        }
+    }
+
+    // Una corrida del Genetico sin imprimir (el Top 3 va a la salida)
+    private static Genetico correr(Tablero tablero, Genetico.Cruce cruce, long semillaCorrida) {
+        Genetico genetico = new Genetico(false, Instrumentacion.NULA);
+        genetico.setCruce(cruce);
+        genetico.setSemilla(semillaCorrida);
+        PrintStream salida = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            genetico.solve(tablero.copiar());
+        } finally {
+            System.setOut(salida);
+        }
+        return genetico;
+    }
+
+    private static double mediana(double[] valores) {
+        double[] copia = valores.clone();
+        Arrays.sort(copia);
+        return copia[copia.length / 2];
+    }
+}
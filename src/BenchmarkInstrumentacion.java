@@ -0,0 +1,110 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Mide el costo de contar operaciones: corre cada algoritmo sobre los mismos
+ * tableros con Instrumentacion.NULA y con InstrumentacionContador y compara
+ * la mediana de los tiempos.
+ *
+ * Uso:
+ *   java BenchmarkInstrumentacion            (ambos modos en la misma JVM)
+ *   java BenchmarkInstrumentacion nula       (solo sin contar)
+ *   java BenchmarkInstrumentacion contador   (solo contando)
+ *
+ * Con los dos modos en la misma JVM los sitios de llamada ven dos
+ * implementaciones y el JIT ya no puede borrar del todo las llamadas nulas.
+ * Para medir el caso ideal conviene correr cada modo en su propia JVM.
+ */
+public class BenchmarkInstrumentacion {
+
+    static final int size = 5;
+    static final int rango = 9;
+    static final int tableros = 5;
+    static final int calentamiento = 10;
+    static final int repeticiones = 15;
+    static final long semilla = 42;
+
+    private interface Corrida {
+        boolean resolver(Tablero board, Instrumentacion instrumentacion);
+    }
+
+    public static void main(String[] args) {
+        boolean medirNula = args.length == 0 || args[0].equalsIgnoreCase("nula");
+        boolean medirContador = args.length == 0 || args[0].equalsIgnoreCase("contador");
+
+        // Los mismos tableros para todos los algoritmos y modos
+        Tablero[] base = new Tablero[tableros];
+        Random random = new Random(semilla);
+        for (int i = 0; i < tableros; i++) {
+            base[i] = new Tablero(size, rango);
+            base[i].random = new Random(random.nextLong());
+            base[i].createTablero();
+            base[i].scrambleTablero();
+        }
+
+        System.out.println("Benchmark de instrumentacion - tableros " + size + "x" + size
+                + " (rango 0.." + rango + "), " + repeticiones + " repeticiones");
+        System.out.println(String.format("%-18s | %14s | %14s | %10s", "Algoritmo", "Nula (ms)", "Contador (ms)",
+                "Costo"));
+        System.out.println("-".repeat(66));
+
+        medir("Fuerza Bruta", base, medirNula, medirContador,
+                (board, instrumentacion) -> new FuerzaBruta(true, instrumentacion).solve(board));
+        medir("Voraz", base, medirNula, medirContador,
+                (board, instrumentacion) -> new Voraz(false, instrumentacion).solve(board));
+        medir("Voraz+Backtrack", base, medirNula, medirContador,
+                (board, instrumentacion) -> new Voraz(true, instrumentacion).solve(board));
+        medir("Genetico", base, medirNula, medirContador,
+                (board, instrumentacion) -> new Genetico(false, instrumentacion).solve(board));
+    }
+
+    private static void medir(String nombre, Tablero[] base, boolean medirNula, boolean medirContador,
+            Corrida corrida) {
+        double nula = medirNula ? mediana(base, corrida, Instrumentacion.NULA) : -1;
+        double contador = medirContador ? mediana(base, corrida, new InstrumentacionContador()) : -1;
+
+        String costo = nula > 0 && contador > 0 ? String.format("%+9.1f%%", (contador / nula - 1) * 100) : "-";
+        System.out.println(String.format("%-18s | %14s | %14s | %10s", nombre,
+                nula >= 0 ? String.format("%.3f", nula) : "-",
+                contador >= 0 ? String.format("%.3f", contador) : "-",
+                costo));
+    }
+
+    /**
+     * Mediana del tiempo (ms) de resolver todos los tableros, despues de
+     * calentar el JIT
+     */
+    private static double mediana(Tablero[] base, Corrida corrida, Instrumentacion instrumentacion) {
+        for (int i = 0; i < calentamiento; i++) {
+            correr(base, corrida, instrumentacion);
+        }
+        double[] tiempos = new double[repeticiones];
+        for (int i = 0; i < repeticiones; i++) {
+            tiempos[i] = correr(base, corrida, instrumentacion);
+        }
+        Arrays.sort(tiempos);
+        return tiempos[repeticiones / 2];
+    }
+
+    private static double correr(Tablero[] base, Corrida corrida, Instrumentacion instrumentacion) {
+        // Silenciar lo que imprimen los algoritmos (por ejemplo el Top 3 del Genetico)
+        PrintStream salida = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long total = 0;
+        try {
+            for (Tablero tablero : base) {
+                Tablero copia = tablero.copiar();
+                long inicio = System.nanoTime();
+                corrida.resolver(copia, instrumentacion);
+                total += System.nanoTime() - inicio;
+            }
+        } finally {
+            System.setOut(salida);
+        }
+        return total / 1_000_000.0;
+    }
+}
@@ -0,0 +1,78 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Agrupa las piezas identicas (mismo codigo de PiezaCodec) en clases de
+ * equivalencia con su multiplicidad.
+ *
+ * Con rangoNum 9 hay solo 9^4 = 6561 piezas distintas posibles, asi que en
+ * tableros de 30x30 o mas se repiten muchas. Para el backtracking dos copias
+ * de la misma pieza son la misma decision: si una falla en una celda, la
+ * otra tambien. Ramificar por clase en lugar de por pieza evita repetir el
+ * mismo subarbol una vez por cada copia.
+ *
+ * Las clases se numeran en orden de primera aparicion en la lista original.
+ */
+public class ClasesPiezas {
+
+    private final int[] codigos;
+    private final int[] multiplicidad;
+    private final int[] claseDePieza;
+
+    /**
+     * @param codigosPiezas Codigo de cada pieza (por ejemplo Tablero.codigos)
+     */
+    public ClasesPiezas(int[] codigosPiezas) {
+        Map<Integer, Integer> claseDeCodigo = new HashMap<>();
+        claseDePieza = new int[codigosPiezas.length];
+        int[] codigosTmp = new int[codigosPiezas.length];
+        int[] multTmp = new int[codigosPiezas.length];
+        int numClases = 0;
+
+        for (int id = 0; id < codigosPiezas.length; id++) {
+            Integer clase = claseDeCodigo.get(codigosPiezas[id]);
+            if (clase == null) {
+                clase = numClases++;
+                claseDeCodigo.put(codigosPiezas[id], clase);
+                codigosTmp[clase] = codigosPiezas[id];
+            }
+            multTmp[clase]++;
+            claseDePieza[id] = clase;
+        }
+
+        codigos = new int[numClases];
+        multiplicidad = new int[numClases];
+        System.arraycopy(codigosTmp, 0, codigos, 0, numClases);
+        System.arraycopy(multTmp, 0, multiplicidad, 0, numClases);
+    }
+
+    public int getNumClases() {
+        return codigos.length;
+    }
+
+    /** Codigo (PiezaCodec) de las piezas de la clase */
+    public int getCodigo(int clase) {
+        return codigos[clase];
+    }
+
+    /** Cuantas piezas identicas tiene la clase */
+    public int getMultiplicidad(int clase) {
+        return multiplicidad[clase];
+    }
+
+    /** Copia de las multiplicidades (para contadores que se modifican) */
+    public int[] copiarMultiplicidades() {
+        return multiplicidad.clone();
+    }
+
+    public int getClaseDePieza(int id) {
+        return claseDePieza[id];
+    }
+
+    /** Numero total de piezas (suma de multiplicidades) */
+    public int getNumPiezas() {
+        return claseDePieza.length;
+    }
+}
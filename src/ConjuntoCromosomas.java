@@ -0,0 +1,124 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.util.Arrays;
+
+/**
+ * Conjunto de cromosomas del Genetico (permutaciones de ids de pieza) para
+ * descartar individuos repetidos sin armar claves de texto.
+ *
+ * Cada cromosoma se identifica por un hash de 64 bits: el XOR de una clave
+ * por (posicion, clase de la pieza). Como depende de la clase y no del id,
+ * dos piezas iguales intercambiadas dan el mismo hash (son el mismo
+ * individuo). El hash se mantiene en O(1) al intercambiar dos genes
+ * (intercambio), asi la mutacion no lo recalcula.
+ *
+ * La tabla es de direccionamiento abierto (sondeo lineal) con arreglos
+ * primitivos. Solo si dos hashes coinciden se comparan los cromosomas
+ * pieza por pieza, asi una colision nunca descarta un individuo distinto.
+ * El conjunto guarda referencias: los cromosomas agregados no deben
+ * cambiar mientras esten en el.
+ */
+public class ConjuntoCromosomas {
+
+    private final int[] clases; // clase de cada id (Tablero.clasesDePiezas)
+    private final int mascara;
+    private final long[] hashes;
+    private final int[][] cromosomas; // null = lugar libre
+    private int tamano;
+    private long colisiones;
+
+    /**
+     * @param capacidad Cromosomas maximos a la vez (la tabla usa el doble)
+     * @param clases    Clase de cada id de pieza (igual para piezas iguales)
+     */
+    public ConjuntoCromosomas(int capacidad, int[] clases) {
+        int lugares = Integer.highestOneBit(Math.max(2, capacidad) * 2 - 1) * 2;
+        this.clases = clases;
+        this.mascara = lugares - 1;
+        this.hashes = new long[lugares];
+        this.cromosomas = new int[lugares][];
+    }
+
+    /**
+     * Agrega el cromosoma si no hay otro igual. O(1) esperado, O(N) solo si
+     * hay un hash igual.
+     *
+     * @param hash Hash del cromosoma (ver hash)
+     * @return true si se agrego, false si ya habia uno igual
+     */
+    public boolean agregar(long hash, int[] cromosoma) {
+        if (tamano * 2 >= cromosomas.length) {
+            throw new IllegalStateException("ConjuntoCromosomas lleno");
+        }
+        int i = (int) (hash ^ (hash >>> 32)) & mascara;
+        while (cromosomas[i] != null) {
+            if (hashes[i] == hash) {
+                if (mismasPiezas(cromosomas[i], cromosoma)) {
+                    return false;
+                }
+                colisiones++;
+            }
+            i = (i + 1) & mascara;
+        }
+        hashes[i] = hash;
+        cromosomas[i] = cromosoma;
+        tamano++;
+        return true;
+    }
+
+    /** Vacia el conjunto. O(capacidad) */
+    public void limpiar() {
+        if (tamano > 0) {
+            Arrays.fill(cromosomas, null);
+            tamano = 0;
+        }
+    }
+
+    public int getTamano() {
+        return tamano;
+    }
+
+    /** Hashes iguales de cromosomas distintos (se resolvieron comparando) */
+    public long getColisiones() {
+        return colisiones;
+    }
+
+    /** true si los dos cromosomas ponen piezas iguales en cada posicion. O(N) */
+    public boolean mismasPiezas(int[] a, int[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (clases[a[i]] != clases[b[i]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ========== HASH ==========
+
+    /** Hash de un cromosoma completo. O(N) */
+    public long hash(int[] cromosoma) {
+        long h = 0;
+        for (int i = 0; i < cromosoma.length; i++) {
+            h ^= clave(i, clases[cromosoma[i]]);
+        }
+        return h;
+    }
+
+    /**
+     * Hash despues de intercambiar los genes i y j del cromosoma (llamar
+     * antes o despues del intercambio, da lo mismo). O(1)
+     */
+    public long intercambio(long hash, int[] cromosoma, int i, int j) {
+        int a = clases[cromosoma[i]];
+        int b = clases[cromosoma[j]];
+        return hash ^ clave(i, a) ^ clave(j, b) ^ clave(i, b) ^ clave(j, a);
+    }
+
+    // Clave pseudoaleatoria de (posicion, clase) (finalizador de SplitMix64)
+    private static long clave(int posicion, int clase) {
+        long x = ((long) (posicion + 1) << 32) | (clase & 0xFFFFFFFFL);
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+}
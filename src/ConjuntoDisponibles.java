@@ -0,0 +1,133 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+
+/**
+ * Conjunto de piezas disponibles representado como bitset sobre los ids de
+ * las piezas (el id es la posicion en Tablero.codigos).
+ *
+ * - tomar(id) y restaurar(id) son O(1): limpian o prenden un bit.
+ * - siguiente(desde) salta palabras vacias de 64 bits y usa
+ *   Long.numberOfTrailingZeros, asi recorrer las K piezas restantes cuesta
+ *   O(K + N/64) en lugar de correr un ArrayList.
+ *
+ * Tomar la pieza actual y restaurarla antes de pedir la siguiente no rompe
+ * un recorrido en curso, que es el patron del backtracking.
+ *
+ * Tambien puede trabajar sobre clases de piezas identicas (ver ClasesPiezas):
+ * cada bit es una clase y se apaga cuando se toma su ultima copia, asi el
+ * recorrido visita cada clase una sola vez.
+ */
+public class ConjuntoDisponibles {
+
+    /** Valor devuelto por siguiente() cuando no quedan piezas */
+    public static final int FIN = -1;
+
+    private final long[] palabras;
+    private final int numPiezas;
+    private int cantidad;
+
+    // Copias restantes de cada clase, null si cada id es una sola pieza
+    private final int[] multiplicidad;
+
+    /**
+     * Crea el conjunto con las piezas 0..numPiezas-1 disponibles.
+     */
+    public ConjuntoDisponibles(int numPiezas) {
+        this(numPiezas, null);
+    }
+
+    /**
+     * Crea el conjunto sobre las clases de piezas identicas, cada clase con
+     * todas sus copias disponibles.
+     */
+    public ConjuntoDisponibles(ClasesPiezas clases) {
+        this(clases.getNumClases(), clases.copiarMultiplicidades());
+    }
+
+    private ConjuntoDisponibles(int numPiezas, int[] multiplicidad) {
+        this.numPiezas = numPiezas;
+        this.multiplicidad = multiplicidad;
+        this.palabras = new long[(numPiezas + 63) >>> 6];
+        for (int w = 0; w < palabras.length; w++) {
+            palabras[w] = -1L;
+        }
+        // Apagar los bits sobrantes de la ultima palabra
+        int sobrantes = palabras.length * 64 - numPiezas;
+        if (sobrantes > 0) {
+            palabras[palabras.length - 1] = -1L >>> sobrantes;
+        }
+        if (multiplicidad == null) {
+            this.cantidad = numPiezas;
+        } else {
+            for (int m : multiplicidad) {
+                this.cantidad += m;
+            }
+        }
+    }
+
+    /** Marca la pieza (o una copia de la clase) como usada, O(1) */
+    public void tomar(int id) {
+        if (multiplicidad == null || --multiplicidad[id] == 0) {
+            palabras[id >>> 6] &= ~(1L << id);
+        }
+        cantidad--;
+    }
+
+    /** Devuelve la pieza (o una copia de la clase) al conjunto, O(1) */
+    public void restaurar(int id) {
+        if (multiplicidad == null || multiplicidad[id]++ == 0) {
+            palabras[id >>> 6] |= 1L << id;
+        }
+        cantidad++;
+    }
+
+    public boolean contiene(int id) {
+        return (palabras[id >>> 6] & (1L << id)) != 0;
+    }
+
+    /** Primera pieza disponible, o FIN */
+    public int primero() {
+        return siguiente(0);
+    }
+
+    /**
+     * Primera pieza disponible con id >= desde, o FIN si no hay.
+     */
+    public int siguiente(int desde) {
+        if (desde >= numPiezas) {
+            return FIN;
+        }
+        int w = desde >>> 6;
+        long palabra = palabras[w] & (-1L << desde);
+        while (true) {
+            if (palabra != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(palabra);
+            }
+            if (++w == palabras.length) {
+                return FIN;
+            }
+            palabra = palabras[w];
+        }
+    }
+
+    /** Copias restantes del id (1 o 0 si no se usan clases) */
+    public int getMultiplicidad(int id) {
+        if (multiplicidad == null) {
+            return contiene(id) ? 1 : 0;
+        }
+        return multiplicidad[id];
+    }
+
+    /** Cantidad de piezas disponibles (contando copias) */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public boolean isVacio() {
+        return cantidad == 0;
+    }
+
+    public int getNumPiezas() {
+        return numPiezas;
+    }
+}
@@ -0,0 +1,210 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.util.Arrays;
+
+/**
+ * Conjuntos de conflicto para backjumping dirigido por conflictos (CBJ) en
+ * el backtracking que llena fila por fila.
+ *
+ * Cuando una celda se queda sin candidatas, el backtracking cronologico
+ * cambia la celda anterior aunque el conflicto venga de antes, por ejemplo
+ * de la celda de arriba (size pasos atras). Aqui cada celda k junta en
+ * conflicto[k] las celdas anteriores que explican por que fallaron todas
+ * sus candidatas:
+ *
+ * - la celda de la izquierda y la de arriba (fijan el left y el up)
+ * - las celdas donde estan las piezas de su cubeta (left, up) ya usadas
+ * - el conflicto de cada hija que fallo, sin la propia celda k
+ *
+ * Si la celda k esta en el conflicto de su hija, cambiar k puede servir y
+ * se absorbe el conflicto. Si no esta, ninguna otra pieza en k lo arregla:
+ * k devuelve el conflicto tal cual y el salto sigue hasta la celda mas
+ * reciente del conjunto, sin probar las candidatas que faltaban.
+ *
+ * Las podas que dependen de toda la frontera (balance de bordes, tabla de
+ * transposicion) no tienen una explicacion chica: agregan todas las celdas
+ * anteriores y en ese tramo la busqueda vuelve a ser cronologica.
+ *
+ * Para encontrar rapido donde estan las piezas de una cubeta, cada celda
+ * colocada se apila en tres pilas (por (left, up), por left y por up). El
+ * backtracking coloca y quita en orden inverso, asi que cada pila tambien.
+ *
+ * Los conjuntos son bitsets de N bits por celda (N^2 / 8 bytes en total).
+ */
+public class ConjuntosConflicto {
+
+    private static final int NADA = -1;
+
+    // Pilas: por par (left, up), por left y por up
+    private static final int EXACTA = 0;
+    private static final int POR_LEFT = 1;
+    private static final int POR_UP = 2;
+
+    private final int size;
+    private final int rango;
+    private final int palabras; // longs por conjunto
+    private final long[] conflicto; // conjunto de la celda k en [k*palabras, (k+1)*palabras)
+
+    private final int[][] cima = new int[3][]; // celda en la cima de cada cubeta
+    private final int[][] debajo = new int[3][]; // celda debajo de cada celda apilada
+
+    /**
+     * @param codigos  Codigo (PiezaCodec) de cada pieza
+     * @param rangoNum Valores posibles de cada lado (0..rangoNum-1)
+     * @param size     Lado del tablero
+     */
+    public ConjuntosConflicto(int[] codigos, int rangoNum, int size) {
+        this.size = size;
+        int celdas = size * size;
+        this.palabras = (celdas + 63) >>> 6;
+        this.conflicto = new long[celdas * palabras];
+
+        // Por seguridad el rango cubre cualquier valor presente en las piezas
+        int maxValor = Math.min(rangoNum, PiezaCodec.MAX_VALOR + 1) - 1; // Tablero renumera rangos mayores
+        for (int codigo : codigos) {
+            maxValor = Math.max(maxValor, Math.max(PiezaCodec.left(codigo), PiezaCodec.up(codigo)));
+        }
+        this.rango = maxValor + 1;
+        cima[EXACTA] = new int[rango * rango];
+        cima[POR_LEFT] = new int[rango];
+        cima[POR_UP] = new int[rango];
+        for (int t = 0; t < 3; t++) {
+            Arrays.fill(cima[t], NADA);
+            debajo[t] = new int[celdas];
+        }
+    }
+
+    // ========== PILAS DE PIEZAS USADAS ==========
+
+    /** La pieza p quedo colocada en la celda cell */
+    public void colocar(int cell, int p) {
+        apilar(EXACTA, PiezaCodec.left(p) * rango + PiezaCodec.up(p), cell);
+        apilar(POR_LEFT, PiezaCodec.left(p), cell);
+        apilar(POR_UP, PiezaCodec.up(p), cell);
+    }
+
+    /** Deshace colocar(cell, p); debe ser la ultima celda colocada */
+    public void quitar(int cell, int p) {
+        cima[POR_UP][PiezaCodec.up(p)] = debajo[POR_UP][cell];
+        cima[POR_LEFT][PiezaCodec.left(p)] = debajo[POR_LEFT][cell];
+        cima[EXACTA][PiezaCodec.left(p) * rango + PiezaCodec.up(p)] = debajo[EXACTA][cell];
+    }
+
+    private void apilar(int tipo, int cubeta, int cell) {
+        debajo[tipo][cell] = cima[tipo][cubeta];
+        cima[tipo][cubeta] = cell;
+    }
+
+    // Agrega al conflicto de cell las celdas con piezas usadas de la cubeta
+    private void agregarCubeta(int cell, int tipo, int cubeta) {
+        for (int c = cima[tipo][cubeta]; c != NADA; c = debajo[tipo][c]) {
+            agregar(cell, c);
+        }
+    }
+
+    // ========== CONJUNTOS ==========
+
+    /** Vacia el conflicto de cell (al entrar al nodo) */
+    public void iniciar(int cell) {
+        Arrays.fill(conflicto, cell * palabras, (cell + 1) * palabras, 0L);
+    }
+
+    /** Agrega otra celda (anterior) al conflicto de cell */
+    public void agregar(int cell, int otra) {
+        conflicto[cell * palabras + (otra >>> 6)] |= 1L << otra;
+    }
+
+    /** Agrega todas las celdas anteriores: fallo sin explicacion chica */
+    public void agregarTodas(int cell) {
+        int base = cell * palabras;
+        int completas = cell >>> 6;
+        Arrays.fill(conflicto, base, base + completas, -1L);
+        if ((cell & 63) != 0) {
+            conflicto[base + completas] |= (1L << cell) - 1;
+        }
+    }
+
+    /**
+     * Explica por que ninguna pieza mas cabe en (row, col): las celdas que
+     * fijan su left y su up y las que usaron piezas de su cubeta.
+     * Llamar con la celda vacia y todas sus candidatas devueltas.
+     */
+    public void explicarCelda(int[] celdas, int row, int col) {
+        int cell = row * size + col;
+        if (row > 0 && col > 0) {
+            agregar(cell, cell - 1);
+            agregar(cell, cell - size);
+            int left = PiezaCodec.right(celdas[cell - 1]);
+            int up = PiezaCodec.down(celdas[cell - size]);
+            agregarCubeta(cell, EXACTA, left * rango + up);
+        } else if (col > 0) {
+            agregar(cell, cell - 1);
+            agregarCubeta(cell, POR_LEFT, PiezaCodec.right(celdas[cell - 1]));
+        } else if (row > 0) {
+            agregar(cell, cell - size);
+            agregarCubeta(cell, POR_UP, PiezaCodec.down(celdas[cell - size]));
+        }
+    }
+
+    /**
+     * Explica un fallo de la guillotina de Voraz para la pieza p en
+     * (row, col): las celdas que fijan los ups que revisa y las que usaron
+     * piezas de las cubetas que cuenta. Es un superconjunto de lo que
+     * revisa la guillotina, asi que vale para cualquiera de sus pruebas.
+     */
+    public void explicarGuillotina(int[] celdas, int row, int col, int p) {
+        int cell = row * size + col;
+        if (col < size - 1) {
+            if (row > 0) {
+                int arribaDerecha = cell - size + 1;
+                agregar(cell, arribaDerecha);
+                agregarCubeta(cell, EXACTA, PiezaCodec.right(p) * rango + PiezaCodec.down(celdas[arribaDerecha]));
+            } else {
+                agregarCubeta(cell, POR_LEFT, PiezaCodec.right(p));
+            }
+        }
+        if (row < size - 1) {
+            agregarCubeta(cell, POR_UP, PiezaCodec.down(p));
+            if (col == size - 1 && size > 1) {
+                int inicioFila = row * size;
+                agregar(cell, inicioFila);
+                agregarCubeta(cell, POR_UP, PiezaCodec.down(celdas[inicioFila]));
+            }
+        }
+    }
+
+    /** true si cell esta en el conflicto de la celda hija */
+    public boolean contiene(int hija, int cell) {
+        return (conflicto[hija * palabras + (cell >>> 6)] & (1L << cell)) != 0;
+    }
+
+    /** Agrega al conflicto de cell el de la hija, sin cell */
+    public void absorber(int cell, int hija) {
+        int base = cell * palabras;
+        int baseHija = hija * palabras;
+        for (int w = 0; w < palabras; w++) {
+            conflicto[base + w] |= conflicto[baseHija + w];
+        }
+        conflicto[base + (cell >>> 6)] &= ~(1L << cell);
+    }
+
+    /** Copia el conflicto de la hija en cell (cell no esta en el) */
+    public void copiar(int cell, int hija) {
+        System.arraycopy(conflicto, hija * palabras, conflicto, cell * palabras, palabras);
+    }
+
+    /**
+     * Celda mas reciente del conflicto de cell (a donde salta), o -1 si esta
+     * vacio (el tablero no tiene solucion)
+     */
+    public int destino(int cell) {
+        int base = cell * palabras;
+        for (int w = palabras - 1; w >= 0; w--) {
+            long bits = conflicto[base + w];
+            if (bits != 0) {
+                return (w << 6) + 63 - Long.numberOfLeadingZeros(bits);
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,105 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escribe puntos de control de una busqueda en un hilo de fondo.
+ *
+ * Cada periodo el hilo de fondo levanta la bandera isPedido(). El solver la
+ * revisa en su ciclo (una lectura volatile) y, cuando esta arriba, arma el
+ * PuntoControl (copia O(N) de su pila) y lo entrega. La escritura a disco
+ * se hace en el hilo de fondo, asi el solver nunca espera al disco salvo en
+ * el punto de control final (escribirAhora).
+ *
+ * Los errores de escritura no detienen la busqueda: quedan en
+ * getUltimoError().
+ */
+public class EscritorPuntosControl implements AutoCloseable {
+
+    private final Path archivo;
+    private final ScheduledExecutorService hilo;
+    private volatile boolean pedido;
+    private volatile IOException ultimoError;
+    private volatile long escritos;
+
+    /**
+     * @param archivo   Archivo del punto de control (se reemplaza en cada escritura)
+     * @param periodoMs Milisegundos entre puntos de control
+     */
+    public EscritorPuntosControl(Path archivo, long periodoMs) {
+        this.archivo = archivo;
+        this.hilo = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "puntos-control");
+            t.setDaemon(true); // nunca impide que termine el programa
+            return t;
+        });
+        hilo.scheduleAtFixedRate(() -> pedido = true, periodoMs, periodoMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** true si toca entregar un punto de control */
+    public boolean isPedido() {
+        return pedido;
+    }
+
+    /**
+     * Entrega un punto de control para escribirlo en segundo plano
+     */
+    public void entregar(PuntoControl punto) {
+        pedido = false;
+        hilo.execute(() -> escribir(punto));
+    }
+
+    /**
+     * Escribe el punto de control y espera a que este en disco (despues de
+     * cualquier entrega pendiente, asi no lo pisa uno anterior)
+     */
+    public void escribirAhora(PuntoControl punto) {
+        pedido = false;
+        try {
+            hilo.submit(() -> escribir(punto)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            ultimoError = new IOException(e.getCause());
+        }
+    }
+
+    private void escribir(PuntoControl punto) {
+        try {
+            punto.escribir(archivo);
+            escritos++;
+        } catch (IOException e) {
+            ultimoError = e;
+        }
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    /** Puntos de control escritos hasta ahora */
+    public long getEscritos() {
+        return escritos;
+    }
+
+    /** Ultimo error de escritura, o null */
+    public IOException getUltimoError() {
+        return ultimoError;
+    }
+
+    /** Termina las escrituras pendientes y detiene el hilo */
+    @Override
+    public void close() {
+        hilo.shutdown();
+        try {
+            hilo.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,16 +1,296 @@
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class FuerzaBruta {
 
 // Fecha de creación: 25 de enero de 2026
-// Última modificación: 28 de enero de 2026
-    // Contadores para analisis de complejidad
-    private long comparaciones = 0;
-    private long asignaciones = 0;
+// Última modificación: 17 de octubre de 2026
+    // Comparaciones y asignaciones para analisis de complejidad (ver Instrumentacion)
+    private final Instrumentacion instrumentacion;
+
+    // Contadores de la busqueda
     private long intentos = 0;
     private long podas = 0;
 
+    // Si es true, los candidatos de cada celda salen de IndiceCandidatos
+    // (solo piezas con el left y up correctos) en lugar de probar todas
+    private boolean usarIndice;
+
+    /**
+     * Constructor por defecto (fuerza bruta pura, prueba todas las piezas)
+     */
+    public FuerzaBruta() {
+        this(false);
+    }
+
+    /**
+     * Constructor con opcion de indice de candidatos
+     *
+     * @param usarIndice true para buscar solo entre piezas que encajan
+     */
+    public FuerzaBruta(boolean usarIndice) {
+        this(usarIndice, new InstrumentacionContador());
+    }
+
+    /**
+     * Constructor con indice de candidatos e instrumentacion
+     *
+     * @param usarIndice      true para buscar solo entre piezas que encajan
+     * @param instrumentacion Instrumentacion.NULA para medir solo tiempo
+     */
+    public FuerzaBruta(boolean usarIndice, Instrumentacion instrumentacion) {
+        this.usarIndice = usarIndice;
+        this.instrumentacion = instrumentacion;
+    }
+
+    /**
+     * Activa o desactiva el indice de candidatos
+     */
+    public void setUsarIndice(boolean usar) {
+        this.usarIndice = usar;
+    }
+
+    public boolean isIndiceEnabled() {
+        return usarIndice;
+    }
+
+    // Si es true, solve usa el motor iterativo con pila explicita en lugar de
+    // la recursion (mismo orden de busqueda, mismas soluciones)
+    private boolean iterativo;
+
+    /**
+     * Activa o desactiva el motor iterativo (sin recursion)
+     */
+    public void setIterativo(boolean iterativo) {
+        this.iterativo = iterativo;
+    }
+
+    public boolean isIterativo() {
+        return iterativo;
+    }
+
+    // Poda por balance de bordes (ver BalanceBordes), null si no se usa
+    private boolean podaBalance;
+    private BalanceBordes balance;
+
+    /**
+     * Activa o desactiva la poda por balance de bordes: corta la rama si
+     * los bordes abiertos de la frontera piden mas piezas de un valor que
+     * las que quedan
+     */
+    public void setPodaBalance(boolean podaBalance) {
+        this.podaBalance = podaBalance;
+    }
+
+    public boolean isPodaBalance() {
+        return podaBalance;
+    }
+
+    /**
+     * Prepara el balance de bordes para seguir la busqueda desde la
+     * profundidad colocadas, con las celdas anteriores ya en board.celdas
+     * (lo usa FuerzaBrutaParalela). Devuelve false si ese prefijo ya no
+     * tiene balance.
+     */
+    boolean prepararBalance(Tablero board, int colocadas) {
+        balance = podaBalance ? new BalanceBordes(board.codigos, board.rangoNum, board.size) : null;
+        boolean balanceado = true;
+        for (int k = 0; balance != null && k < colocadas; k++) {
+            balanceado &= balance.colocar(board.celdas, k / board.size, k % board.size, board.celdas[k]);
+        }
+        return balanceado;
+    }
+
+    // Fronteras ya probadas sin solucion (ver TablaTransposicion), null si
+    // no se usa. El hash de la frontera se actualiza con cada colocacion.
+    private TablaTransposicion transposicion;
+    private ZobristFrontera zobrist;
+
+    /**
+     * Tabla de transposicion para no explorar dos veces la misma frontera
+     * (mismas piezas restantes y mismos bordes abiertos), o null para no
+     * usarla. Cada solve la vacia al empezar (las fronteras de otro tablero
+     * no valen) y al terminar quedan sus contadores. El modo paralelo no la
+     * usa.
+     */
+    public void setTransposicion(TablaTransposicion transposicion) {
+        this.transposicion = transposicion;
+    }
+
+    public TablaTransposicion getTransposicion() {
+        return transposicion;
+    }
+
+    // Backjumping dirigido por conflictos (ver ConjuntosConflicto), null si
+    // no se usa
+    private boolean backjumping;
+    private ConjuntosConflicto conflictos;
+    private long saltos; // fallos que saltaron mas atras de la celda anterior
+    private long nivelesSaltados; // celdas que retrocedieron sin probar sus candidatas
+
+    /**
+     * Activa o desactiva el backjumping: al fallar una celda se vuelve
+     * directo a la ultima celda que participa en el conflicto. Solo en los
+     * motores recursivos (el iterativo y el paralelo lo ignoran).
+     */
+    public void setBackjumping(boolean backjumping) {
+        this.backjumping = backjumping;
+    }
+
+    public boolean isBackjumping() {
+        return backjumping;
+    }
+
+    /** Fallos que saltaron mas de una celda atras en la ultima busqueda */
+    public long getSaltos() {
+        return saltos;
+    }
+
+    /** Celdas que se saltaron (sin probar sus otras candidatas) en la ultima busqueda */
+    public long getNivelesSaltados() {
+        return nivelesSaltados;
+    }
+
+    // Puntos de control (ver PuntoControl), null si no se usan
+    private Path archivoPuntosControl;
+    private long periodoPuntosControlMs = 10_000;
+    private EscritorPuntosControl escritor; // durante solve o reanudar
+    private long nodosPrevios; // de corridas anteriores (al reanudar)
+    private long tiempoPrevioMs;
+    private long inicioNanos;
+
+    /**
+     * Guarda la busqueda cada periodoMs en el archivo (en un hilo de fondo)
+     * y al terminar, para seguirla despues con reanudar. Con puntos de
+     * control se usa el motor iterativo secuencial. null para no usarlos.
+     */
+    public void setPuntosControl(Path archivo, long periodoMs) {
+        this.archivoPuntosControl = archivo;
+        this.periodoPuntosControlMs = periodoMs;
+    }
+
+    public Path getArchivoPuntosControl() {
+        return archivoPuntosControl;
+    }
+
+    // Modo paralelo (fork/join, ver FuerzaBrutaParalela)
+    private boolean paralelo;
+    private int hilos = Runtime.getRuntime().availableProcessors();
+    private int profundidadCorte = 3;
+    private FuerzaBrutaParalela ultimaBusquedaParalela;
+
+    // Tiempo, nodos y cancelacion de la busqueda actual (ver Presupuesto)
+    private Presupuesto presupuesto = Presupuesto.sinLimite();
+
+    // Telemetria opcional (nodos y podas por profundidad), null si no se usa
+    private Telemetria telemetria;
+
+    // Mejor tablero parcial: las primeras mejorProfundidad celdas (fila por
+    // fila) de la colocacion mas profunda alcanzada. Si el presupuesto se
+    // agota, solve deja este tablero en lugar de uno vacio.
+    private int[] mejorParcial;
+    private int mejorProfundidad;
+    private Pieza[] mejorParcialPiezas; // lo mismo en el tablero de objetos (ver resolverObjetos)
+
+    /**
+     * Activa o desactiva el modo paralelo (fork/join con robo de trabajo)
+     */
+    public void setParalelo(boolean paralelo) {
+        this.paralelo = paralelo;
+    }
+
+    public boolean isParalelo() {
+        return paralelo;
+    }
+
+    /**
+     * Cantidad de hilos del ForkJoinPool en modo paralelo
+     */
+    public void setHilos(int hilos) {
+        this.hilos = Math.max(1, hilos);
+    }
+
+    public int getHilos() {
+        return hilos;
+    }
+
+    /**
+     * Profundidad (celdas) hasta la que el arbol se divide en tareas; por
+     * debajo cada tarea busca de forma secuencial
+     */
+    public void setProfundidadCorte(int profundidadCorte) {
+        this.profundidadCorte = Math.max(0, profundidadCorte);
+    }
+
+    public int getProfundidadCorte() {
+        return profundidadCorte;
+    }
+
+    /**
+     * Nodos (intentos) procesados por cada worker en la ultima ejecucion
+     * paralela, o un arreglo vacio si no se uso el modo paralelo
+     */
+    public long[] getNodosPorWorker() {
+        return ultimaBusquedaParalela == null ? new long[0] : ultimaBusquedaParalela.getNodosPorWorker();
+    }
+
+    /**
+     * Presupuesto para llamar directo a solveBoard, solveBoardIndice o
+     * solveIterativo (solve recibe el suyo)
+     */
+    void setPresupuesto(Presupuesto presupuesto) {
+        this.presupuesto = presupuesto;
+    }
+
+    public Presupuesto getPresupuesto() {
+        return presupuesto;
+    }
+
+    /**
+     * Telemetria que se alimenta durante la busqueda (null para apagarla).
+     * En modo paralelo la comparten todas las tareas.
+     */
+    public void setTelemetria(Telemetria telemetria) {
+        this.telemetria = telemetria;
+    }
+
+    public Telemetria getTelemetria() {
+        return telemetria;
+    }
+
+    /**
+     * Celdas colocadas (fila por fila) en el mejor tablero parcial
+     */
+    public int getMejorProfundidad() {
+        return mejorProfundidad;
+    }
+
+    /**
+     * Copia del mejor tablero parcial (celdas sin colocar en VACIA), o null
+     * si no se coloco ninguna pieza o si se busco sobre el tablero de
+     * objetos (ver resolverObjetos)
+     */
+    public int[] getMejorParcial() {
+        return mejorParcial == null ? null : mejorParcial.clone();
+    }
+
+    /**
+     * Guarda las celdas si la busqueda llego mas profundo que nunca. Como la
+     * profundidad solo puede superarse N veces, el costo total es O(N^2).
+     */
+    private void registrarParcial(Tablero board, int profundidad) {
+        if (profundidad <= mejorProfundidad) {
+            return;
+        }
+        if (mejorParcial == null) {
+            mejorParcial = new int[board.celdas.length];
+        }
+        System.arraycopy(board.celdas, 0, mejorParcial, 0, board.celdas.length);
+        mejorProfundidad = profundidad;
+    }
+
     /**
      * Verifica si una pieza puede colocarse en una posición específica.
      * Compara los bordes de la pieza con sus vecinos (izquierda y arriba)
@@ -22,120 +302,682 @@ public class FuerzaBruta {
      * @param piece La pieza que se desea colocar
      * @return true si la pieza encaja legalmente, false de lo contrario
      */
-// Fecha de creación: 25 de enero de 2026
-// Última modificación: 28 de enero de 2026
     public boolean canPlace(Tablero board, int row, int col, Pieza piece) {
+        // En modo primitivo los vecinos estan en celdas[] (setPieza lo mantiene al dia)
+        if (board.isModoPrimitivo()) {
+            return canPlace(board, row, col, board.codificar(piece));
+        }
+
         // Si es la primera pieza no ocupa verificar
-        comparaciones += 2; // row == 0 && col == 0 // +1
+        instrumentacion.comparaciones(2); // row == 0 && col == 0 // +1
         if (row == 0 && col == 0) { // +1
             return true; // +1
         }
 
         // Primera fila (solo verifica a la izquierda)
-        comparaciones++; // row == 0 // +1
+        instrumentacion.comparacion(); // row == 0 // +1
         if (row == 0) { // +1
-            asignaciones++; // +1
+            instrumentacion.asignacion(); // +1
             Pieza leftPiece = board.tablero[row][col - 1]; // +1
-            comparaciones += 2; // +1
+            instrumentacion.comparaciones(2); // +1
             return leftPiece != null && piece.getLeft() == leftPiece.getRight(); // +1
         }
 
         // Primera columna (solo verifica arriba)
-        comparaciones++; // col == 0 // +1
+        instrumentacion.comparacion(); // col == 0 // +1
         if (col == 0) { // +1
-            asignaciones++; // +1
+            instrumentacion.asignacion(); // +1
             Pieza upPiece = board.tablero[row - 1][col]; // +1
-            comparaciones += 2; // +1
+            instrumentacion.comparaciones(2); // +1
             return upPiece != null && piece.getUp() == upPiece.getDown(); // +1
         }
 
         // Resto de posiciones (verifica izquierda y arriba)
-        asignaciones += 2; // +2
+        instrumentacion.asignaciones(2); // +2
         Pieza leftPiece = board.tablero[row][col - 1]; // +1
         Pieza upPiece = board.tablero[row - 1][col]; // +1
 
-        comparaciones += 2; // +1
-        asignaciones++; // +1
+        instrumentacion.comparaciones(2); // +1
+        instrumentacion.asignacion(); // +1
         boolean leftMatches = leftPiece != null && piece.getLeft() == leftPiece.getRight(); // +1
 
-        comparaciones += 2; // +1
-        asignaciones++; // +1
+        instrumentacion.comparaciones(2); // +1
+        instrumentacion.asignacion(); // +1
         boolean upMatches = upPiece != null && piece.getUp() == upPiece.getDown(); // +1
 
-        comparaciones++; // +1
+        instrumentacion.comparacion(); // +1
+        return leftMatches && upMatches; // +1
+    }
+
+    /**
+     * Version primitiva de canPlace: la pieza y los vecinos son codigos de
+     * PiezaCodec y se leen de board.celdas.
+     */
+    public boolean canPlace(Tablero board, int row, int col, int codigo) {
+        // Si es la primera pieza no ocupa verificar
+        instrumentacion.comparaciones(2); // row == 0 && col == 0 // +1
+        if (row == 0 && col == 0) { // +1
+            return true; // +1
+        }
+
+        int idx = row * board.size + col; // +1
+
+        // Primera fila (solo verifica a la izquierda)
+        instrumentacion.comparacion(); // row == 0 // +1
+        if (row == 0) { // +1
+            instrumentacion.asignacion(); // +1
+            int leftPiece = board.celdas[idx - 1]; // +1
+            instrumentacion.comparaciones(2); // +1
+            return leftPiece != PiezaCodec.VACIA && PiezaCodec.left(codigo) == PiezaCodec.right(leftPiece); // +1
+        }
+
+        // Primera columna (solo verifica arriba)
+        instrumentacion.comparacion(); // col == 0 // +1
+        if (col == 0) { // +1
+            instrumentacion.asignacion(); // +1
+            int upPiece = board.celdas[idx - board.size]; // +1
+            instrumentacion.comparaciones(2); // +1
+            return upPiece != PiezaCodec.VACIA && PiezaCodec.up(codigo) == PiezaCodec.down(upPiece); // +1
+        }
+
+        // Resto de posiciones (verifica izquierda y arriba)
+        instrumentacion.asignaciones(2); // +2
+        int leftPiece = board.celdas[idx - 1]; // +1
+        int upPiece = board.celdas[idx - board.size]; // +1
+
+        instrumentacion.comparaciones(2); // +1
+        instrumentacion.asignacion(); // +1
+        boolean leftMatches = leftPiece != PiezaCodec.VACIA && PiezaCodec.left(codigo) == PiezaCodec.right(leftPiece); // +1
+
+        instrumentacion.comparaciones(2); // +1
+        instrumentacion.asignacion(); // +1
+        boolean upMatches = upPiece != PiezaCodec.VACIA && PiezaCodec.up(codigo) == PiezaCodec.down(upPiece); // +1
+
+        instrumentacion.comparacion(); // +1
         return leftMatches && upMatches; // +1
     }
-    // Suma canPlace: 1+1+1+1+1+1+1+1+1+1+1+1+2+1+1+1+1+1+1+1+1+1+1 = 23 (Peor caso)
-    // T_canPlace(N) = 23 = O(1)
+    // Suma canPlace: 1+1+1+1+1+1+1+1+1+1+1+1+1+2+1+1+1+1+1+1+1+1+1+1 = 24 (Peor caso)
+    // T_canPlace(N) = 24 = O(1)
 
     /**
      * Este es el backtracking que usamos para resolver el rompecabezas.
      * Intenta colocar cada pieza disponible en la posición actual, si encaja,
      * avanza a la siguiente posición recursivamente. Si no hay solución,
      * retrocede (backtrack) y prueba la siguiente pieza.
+     * Las piezas identicas forman una sola clase (ClasesPiezas), asi que se
+     * ramifica una vez por clase y no una vez por cada copia.
      * 
      * @param board           El tablero a completar
      * @param row             Fila actual del proceso
      * @param col             Columna actual del proceso
-     * @param availablePieces Lista de piezas que aún no han sido colocadas
+     * @param clases          Clases de piezas identicas (codigo de cada clase)
+     * @param availablePieces Clases que aún tienen copias sin colocar
+     *                        (bitset, tomar/restaurar en O(1))
      * @return true si se encontró una solución completa, false si no
      */
-    public boolean solveBoard(Tablero board, int row, int col, List<Pieza> availablePieces) {
+    public boolean solveBoard(Tablero board, int row, int col, ClasesPiezas clases,
+            ConjuntoDisponibles availablePieces) {
         // Condicion de salida: si llegamos mas alla de la ultima fila, terminamos
-        comparaciones++; // +1
+        instrumentacion.comparacion(); // +1
         if (row >= board.size) { // +1
             return true; // +1
         }
 
+        // Presupuesto agotado: tiempo, nodos o cancelacion (por ejemplo otra
+        // tarea ya encontro la solucion). Se revisa de verdad cada 4096 nodos
+        if (presupuesto.agotado()) {
+            return false;
+        }
+        int profundidad = row * board.size + col;
+        registrarParcial(board, profundidad);
+        if (telemetria != null) {
+            telemetria.nodo(profundidad);
+        }
+
+        // Frontera ya probada sin solucion por otro orden: podar - O(1)
+        iniciarConflicto(profundidad);
+        if (fronteraSinSolucion(board, row, col, profundidad)) {
+            return false;
+        }
+
         // Calcular siguiente posicion
-        asignaciones += 2; // +2
+        instrumentacion.asignaciones(2); // +2
         int nextCol = col + 1; // +1
         int nextRow = row; // +1
 
-        comparaciones++; // +1
+        instrumentacion.comparacion(); // +1
         if (nextCol >= board.size) { // +1
-            asignaciones += 2; // +2
+            instrumentacion.asignaciones(2); // +2
             nextCol = 0; // +1
             nextRow = row + 1; // +1
         }
 
-        // Probar cada pieza disponible (N = total de piezas)
-        for (int i = 0; i < availablePieces.size(); i++) { // 1, N+1, N+1
-            Pieza piece = availablePieces.get(i); // +N
+        // Probar cada clase de pieza disponible (N = total de piezas, peor caso sin repetidas)
+        boolean conCandidatas = false; // +1
+        for (int id = availablePieces.primero(); id != ConjuntoDisponibles.FIN;
+                id = availablePieces.siguiente(id + 1)) { // 1, N+1, N+1
+            int piece = clases.getCodigo(id); // +N
 
             if (canPlace(board, row, col, piece)) { // +N * O(1)
+                conCandidatas = true; // +N
                 // Hacer la eleccion
-                asignaciones++; // +N
-                board.setPieza(row, col, piece); // +N
+                instrumentacion.asignacion(); // +N
+                board.setCodigo(row, col, piece); // +N
 
-                // Remover la pieza de las disponibles (List.remove es O(N))
-                asignaciones++; // +N
-                availablePieces.remove(i); // +N * N
+                // Usar una copia de la clase (apaga su bit si era la ultima, O(1))
+                instrumentacion.asignacion(); // +N
+                availablePieces.tomar(id); // +N
 
-                // Llamada recursiva a la siguiente posicion
-                comparaciones++; // resultado de solveBoard // +N
-                if (solveBoard(board, nextRow, nextCol, availablePieces)) { // +N * T(N-1)
+                // Llamada recursiva a la siguiente posicion (si la frontera
+                // sigue con balance de bordes)
+                boolean balanceado = colocarFrontera(board, row, col, piece, profundidad); // +N * O(1)
+                instrumentacion.comparacion(); // resultado de solveBoard // +N
+                if (balanceado && solveBoard(board, nextRow, nextCol, clases, availablePieces)) { // +N * T(N-1)
                     return true; // +1
                 }
+                boolean saltar = balanceado && saltarConflicto(profundidad); // +N * O(N/64)
 
                 // Backtrack: deshacer la eleccion
-                asignaciones++; // +N
-                board.removePieza(row, col); // +N
-                asignaciones++; // +N
-                availablePieces.add(i, piece); // +N * N
+                if (balanceado) {
+                    quitarFrontera(board, row, col, piece); // +N * O(1)
+                }
+                instrumentacion.asignacion(); // +N
+                board.removeCodigo(row, col); // +N
+                instrumentacion.asignacion(); // +N
+                availablePieces.restaurar(id); // +N
+                if (saltar) {
+                    return false; // el conflicto no pasa por esta celda
+                }
             }
             intentos++; // +N
-            asignaciones++; // +N
+            instrumentacion.asignacion(); // +N
         }
-        comparaciones++; // +1
-        podas++; // +1
+        instrumentacion.comparacion(); // +1
+        contarCeldaSinCandidatas(conCandidatas, profundidad); // +1
+        explicarConflicto(board, row, col, profundidad); // +O(N)
+        guardarFrontera(board, row, col, profundidad); // +1
         return false; // +1
     }
-    // Suma solveBoard: 1+1+2+1+1+1+1+2+1+1+1 + (N+1) + N+N+N + N*O(1) + N+N + N*N +
-    // N + N*T(N-1) + N+N+N + N*N + N+N + 1+1+1
-    // T_solveBoard(N) = N * T(N-1) + 2*N^2 + 13N + 14
+    // Suma solveBoard: 1+1+2+1+1+1+1+2+1+1+1 + (N+1) + N+N+N + N*O(1) + N+N + N +
+    // N + N*T(N-1) + N+N+N + N + N+N + 1+1+1
+    // T_solveBoard(N) = N * T(N-1) + 15N + 14
+    // (el recorrido del bitset salta palabras vacias: O(N/64) extra por nodo)
     // Big O: O(N * N!)
 
+    /**
+     * Backtracking usando el indice de candidatos.
+     * En cada celda solo se recorren las clases de piezas de la cubeta
+     * (left, up) que exige la celda, asi que no hace falta llamar a canPlace.
+     * Quitar y restaurar una pieza del indice es O(1).
+     *
+     * @param board   El tablero a completar
+     * @param row     Fila actual del proceso
+     * @param col     Columna actual del proceso
+     * @param indice  Piezas que aún no han sido colocadas
+     * @return true si se encontró una solución completa, false si no
+     */
+    public boolean solveBoardIndice(Tablero board, int row, int col, IndiceCandidatos indice) {
+        // Condicion de salida: si llegamos mas alla de la ultima fila, terminamos
+        instrumentacion.comparacion(); // +1
+        if (row >= board.size) { // +1
+            return true; // +1
+        }
+
+        // Presupuesto agotado: tiempo, nodos o cancelacion (por ejemplo otra
+        // tarea ya encontro la solucion). Se revisa de verdad cada 4096 nodos
+        if (presupuesto.agotado()) {
+            return false;
+        }
+        int profundidad = row * board.size + col;
+        registrarParcial(board, profundidad);
+        if (telemetria != null) {
+            telemetria.nodo(profundidad);
+        }
+
+        // Frontera ya probada sin solucion por otro orden: podar - O(1)
+        iniciarConflicto(profundidad);
+        if (fronteraSinSolucion(board, row, col, profundidad)) {
+            return false;
+        }
+
+        // Calcular siguiente posicion
+        instrumentacion.asignaciones(2); // +2
+        int nextCol = col + 1; // +1
+        int nextRow = row; // +1
+
+        instrumentacion.comparacion(); // +1
+        if (nextCol >= board.size) { // +1
+            instrumentacion.asignaciones(2); // +2
+            nextCol = 0; // +1
+            nextRow = row + 1; // +1
+        }
+
+        // Cubeta de piezas que encajan en (row, col) - O(1)
+        instrumentacion.asignacion(); // +1
+        int vista = indice.vistaDeCelda(board, row, col); // +1
+
+        // Probar solo las C piezas de la cubeta (C <= K)
+        boolean conCandidatas = indice.primero(vista) != IndiceCandidatos.FIN; // +1
+        for (int id = indice.primero(vista); id != IndiceCandidatos.FIN; id = indice.siguiente(vista, id)) { // C+1
+            instrumentacion.comparacion(); // +C
+            int piece = indice.getCodigo(id); // +C
+
+            // Hacer la eleccion
+            instrumentacion.asignacion(); // +C
+            board.setCodigo(row, col, piece); // +C
+            instrumentacion.asignacion(); // +C
+            indice.quitar(id); // +C * O(1)
+
+            // Llamada recursiva a la siguiente posicion (si la frontera
+            // sigue con balance de bordes)
+            boolean balanceado = colocarFrontera(board, row, col, piece, profundidad); // +C * O(1)
+            instrumentacion.comparacion(); // +C
+            if (balanceado && solveBoardIndice(board, nextRow, nextCol, indice)) { // +C * T(K-1)
+                return true; // +1
+            }
+            boolean saltar = balanceado && saltarConflicto(profundidad); // +C * O(N/64)
+
+            // Backtrack: deshacer la eleccion
+            if (balanceado) {
+                quitarFrontera(board, row, col, piece); // +C * O(1)
+            }
+            instrumentacion.asignacion(); // +C
+            board.removeCodigo(row, col); // +C
+            instrumentacion.asignacion(); // +C
+            indice.restaurar(id); // +C * O(1)
+            if (saltar) {
+                return false; // el conflicto no pasa por esta celda
+            }
+
+            intentos++; // +C
+        }
+        instrumentacion.comparacion(); // +1
+        contarCeldaSinCandidatas(conCandidatas, profundidad); // +1
+        explicarConflicto(board, row, col, profundidad); // +O(N)
+        guardarFrontera(board, row, col, profundidad); // +1
+        return false; // +1
+    }
+    // Suma solveBoardIndice: 1+1+2+1+1+1+1+2+1+1+1+1 + (C+1) + 11C + C*T(K-1) + 1+1+1
+    // T_solveBoardIndice(K) = C * T(K-1) + 12C + 18, con C = piezas de la cubeta
+    // Peor caso (todas las piezas iguales, C = K): O(N * N!), igual que solveBoard,
+    // pero sin recorrer piezas que no encajan.
+
+    /**
+     * Version iterativa del backtracking (solveBoard o solveBoardIndice segun
+     * usarIndice). En lugar de una llamada recursiva por celda usa una pila
+     * explicita: cursor[k] es la clase colocada en la profundidad k, que es a
+     * la vez el cursor de candidatos y la informacion para deshacer. La celda
+     * de cada profundidad sale de las tablas de RecorridoTablero.
+     *
+     * Prueba los candidatos en el mismo orden que la version recursiva, por
+     * lo que encuentra la misma solucion. Un tablero de 100x100 ya no
+     * necesita 10.000 marcos de pila.
+     *
+     * @param board           El tablero a completar
+     * @param clases          Clases de piezas identicas
+     * @param availablePieces Bitset de clases (si no se usa el indice)
+     * @param indice          Indice de candidatos (si usarIndice)
+     * @return true si se encontró una solución completa, false si no
+     */
+    public boolean solveIterativo(Tablero board, ClasesPiezas clases, ConjuntoDisponibles availablePieces,
+            IndiceCandidatos indice) {
+        return solveIterativo(board, clases, availablePieces, indice, 0);
+    }
+
+    /**
+     * Igual que solveIterativo pero empieza en la profundidad inicio (las
+     * celdas anteriores ya estan colocadas y fuera de las disponibles).
+     */
+    boolean solveIterativo(Tablero board, ClasesPiezas clases, ConjuntoDisponibles availablePieces,
+            IndiceCandidatos indice, int inicio) {
+        return solveIterativo(board, clases, availablePieces, indice, inicio, null);
+    }
+
+    /**
+     * Igual que solveIterativo pero, si desde no es null, primero vuelve a
+     * colocar las elecciones del punto de control y sigue desde ahi.
+     */
+    private boolean solveIterativo(Tablero board, ClasesPiezas clases, ConjuntoDisponibles availablePieces,
+            IndiceCandidatos indice, int inicio, PuntoControl desde) {
+        RecorridoTablero recorrido = new RecorridoTablero(board.size); // +N
+        int total = recorrido.numCeldas;
+        int[] cursor = new int[total + 1]; // +N
+        int[] vistas = new int[total + 1]; // +N
+        instrumentacion.asignaciones(3); // +3
+
+        int depth = inicio;
+        cursor[depth] = NO_INICIADO;
+        if (desde != null) {
+            depth = rehacer(board, clases, availablePieces, indice, recorrido, cursor, vistas, desde); // +N
+        } else if (usarIndice && depth < total) {
+            vistas[depth] = recorrido.vista(indice, board.celdas, recorrido.orden[depth]);
+        }
+
+        while (true) { // un ciclo por nodo visitado o por retroceso
+            // Condicion de salida: todas las celdas llenas
+            instrumentacion.comparacion(); // +1
+            if (depth >= total) { // +1
+                escribirPuntoControl(board, cursor, total, PuntoControl.Estado.RESUELTO, true);
+                return true; // +1
+            }
+
+            // Presupuesto agotado (se revisa de verdad cada 4096 nodos): el
+            // punto de control final permite seguir en otra corrida
+            if (presupuesto.agotado()) {
+                escribirPuntoControl(board, cursor, depth, PuntoControl.Estado.EN_CURSO, true);
+                return false;
+            }
+            if (escritor != null && escritor.isPedido()) {
+                escribirPuntoControl(board, cursor, depth, PuntoControl.Estado.EN_CURSO, false); // +N
+            }
+            registrarParcial(board, depth);
+
+            int cell = recorrido.orden[depth]; // +1
+            int row = recorrido.filaDe[cell]; // +1
+            int col = recorrido.colDe[cell]; // +1
+            instrumentacion.asignaciones(3); // +3
+
+            // Deshacer la eleccion anterior de esta profundidad (si la hubo y
+            // no la deshizo ya un fallo de balance)
+            int id = cursor[depth]; // +1
+            if (telemetria != null && id == NO_INICIADO) {
+                telemetria.nodo(depth); // primera visita a este nodo
+            }
+            instrumentacion.comparacion(); // +1
+            if (id != NO_INICIADO && board.celdas[cell] != PiezaCodec.VACIA) { // +1
+                quitarFrontera(board, row, col, board.celdas[cell]); // +1
+                deshacerEleccion(board, cell, id, indice, availablePieces); // +1
+            }
+
+            // Frontera ya probada sin solucion por otro orden: retroceder
+            // sin probar candidatos
+            boolean conocida = id == NO_INICIADO && fronteraSinSolucion(board, row, col, depth); // +1
+
+            // Buscar el siguiente candidato que encaje
+            int siguiente; // +1
+            if (conocida) {
+                siguiente = IndiceCandidatos.FIN;
+            } else if (usarIndice) {
+                siguiente = id == NO_INICIADO ? indice.primero(vistas[depth]) : indice.siguiente(vistas[depth], id);
+            } else {
+                siguiente = id == NO_INICIADO ? availablePieces.primero() : availablePieces.siguiente(id + 1);
+                // Fuerza bruta: saltar las clases que no encajan
+                while (siguiente != ConjuntoDisponibles.FIN
+                        && !canPlace(board, row, col, clases.getCodigo(siguiente))) { // +K * O(1)
+                    intentos++; // +K
+                    instrumentacion.asignacion(); // +K
+                    siguiente = availablePieces.siguiente(siguiente + 1); // +K
+                }
+            }
+
+            instrumentacion.comparacion(); // +1
+            if (siguiente == IndiceCandidatos.FIN) { // +1 (FIN vale -1 en ambas estructuras)
+                // Sin candidatos: retroceder a la profundidad anterior
+                instrumentacion.comparacion(); // +1
+                if (!conocida) {
+                    contarCeldaSinCandidatas(id != NO_INICIADO, depth); // +1
+                    guardarFrontera(board, row, col, depth); // +1
+                }
+                cursor[depth] = NO_INICIADO; // +1
+                depth--; // +1
+                instrumentacion.comparacion(); // +1
+                if (depth < inicio) { // +1
+                    escribirPuntoControl(board, cursor, 0, PuntoControl.Estado.SIN_SOLUCION, true);
+                    return false; // +1
+                }
+                continue;
+            }
+
+            // Hacer la eleccion y avanzar
+            instrumentacion.comparacion(); // +1
+            int piece = usarIndice ? indice.getCodigo(siguiente) : clases.getCodigo(siguiente); // +1
+            instrumentacion.asignacion(); // +1
+            board.celdas[cell] = piece; // +1
+            instrumentacion.asignacion(); // +1
+            if (usarIndice) {
+                indice.quitar(siguiente); // +1
+            } else {
+                availablePieces.tomar(siguiente); // +1
+            }
+            cursor[depth] = siguiente; // +1
+
+            // Sin balance de bordes: deshacer la eleccion sin avanzar, la
+            // siguiente vuelta prueba el siguiente candidato
+            if (!colocarFrontera(board, row, col, piece, depth)) { // +1
+                deshacerEleccion(board, cell, siguiente, indice, availablePieces); // +1
+                continue;
+            }
+
+            depth++; // +1
+            cursor[depth] = NO_INICIADO; // +1
+            if (usarIndice && depth < total) {
+                vistas[depth] = recorrido.vista(indice, board.celdas, recorrido.orden[depth]); // +1
+            }
+        }
+    }
+    // Cada vuelta del while es O(1) con el indice y O(K) sin el (recorrido de
+    // clases con canPlace), igual que un nodo de la version recursiva.
+    // T_solveIterativo(N) = T_solveBoard(N) (o T_solveBoardIndice) + 3N
+    // Big O: O(N * N!), con memoria de pila O(N) en el heap en lugar de la pila de Java.
+
+    /**
+     * Cuenta una poda si la celda se agoto sin probar ninguna pieza (ninguna
+     * encaja). Una celda que probo piezas y todas fallaron mas abajo es un
+     * callejon, no una poda: sus ramas ya se contaron donde se cortaron.
+     */
+    private void contarCeldaSinCandidatas(boolean conCandidatas, int profundidad) {
+        if (conCandidatas) {
+            return;
+        }
+        podas++;
+        if (telemetria != null) {
+            telemetria.poda(profundidad);
+        }
+    }
+
+    // Vacia la celda del recorrido iterativo y devuelve la copia de la clase id
+    private void deshacerEleccion(Tablero board, int cell, int id, IndiceCandidatos indice,
+            ConjuntoDisponibles availablePieces) {
+        instrumentacion.asignacion(); // +1
+        board.celdas[cell] = PiezaCodec.VACIA; // +1
+        instrumentacion.asignacion(); // +1
+        if (usarIndice) {
+            indice.restaurar(id); // +1
+        } else {
+            availablePieces.restaurar(id); // +1
+        }
+        intentos++; // +1
+        if (!usarIndice) {
+            instrumentacion.asignacion(); // +1
+        }
+    }
+
+    /**
+     * Registra la pieza en el balance de bordes y en el hash de la frontera
+     * (los que esten activos). Si la frontera queda sin balance deshace el
+     * registro, cuenta una poda y devuelve false: solo se llama a
+     * quitarFrontera despues de un colocarFrontera que devolvio true (mismo
+     * contrato que Voraz.colocarFrontera).
+     */
+    private boolean colocarFrontera(Tablero board, int row, int col, int piece, int profundidad) {
+        if (balance != null && !balance.colocar(board.celdas, row, col, piece)) {
+            balance.quitar(board.celdas, row, col, piece);
+            if (conflictos != null) {
+                conflictos.agregarTodas(profundidad); // el balance depende de toda la frontera
+            }
+            podas++;
+            if (telemetria != null) {
+                telemetria.poda(profundidad);
+            }
+            return false;
+        }
+        if (zobrist != null) {
+            zobrist.colocar(row, col, piece);
+        }
+        if (conflictos != null) {
+            conflictos.colocar(profundidad, piece);
+        }
+        return true;
+    }
+
+    private void quitarFrontera(Tablero board, int row, int col, int piece) {
+        if (balance != null) {
+            balance.quitar(board.celdas, row, col, piece);
+        }
+        if (zobrist != null) {
+            zobrist.quitar(board.celdas, row, col, piece);
+        }
+        if (conflictos != null) {
+            conflictos.quitar(row * board.size + col, piece);
+        }
+    }
+
+    /**
+     * true si la frontera de (row, col) esta en la tabla de transposicion;
+     * cuenta la poda
+     */
+    private boolean fronteraSinSolucion(Tablero board, int row, int col, int profundidad) {
+        if (zobrist == null || !transposicion.contiene(zobrist.clave(board.celdas, row, col))) {
+            return false;
+        }
+        if (conflictos != null) {
+            conflictos.agregarTodas(profundidad); // la frontera depende de todas las celdas
+        }
+        podas++;
+        if (telemetria != null) {
+            telemetria.poda(profundidad);
+        }
+        return true;
+    }
+
+    private void iniciarConflicto(int profundidad) {
+        if (conflictos != null) {
+            conflictos.iniciar(profundidad);
+        }
+    }
+
+    /**
+     * Despues de que fallo la hija de la celda profundidad: si la celda esta
+     * en el conflicto de la hija lo absorbe y devuelve false (probar la
+     * siguiente candidata). Si no esta, cambiar esta celda no arregla nada:
+     * pasa el conflicto hacia arriba y devuelve true (saltar).
+     */
+    private boolean saltarConflicto(int profundidad) {
+        if (conflictos == null || presupuesto.isAgotado()) {
+            return false;
+        }
+        int hija = profundidad + 1;
+        if (conflictos.contiene(hija, profundidad)) {
+            conflictos.absorber(profundidad, hija);
+            return false;
+        }
+        conflictos.copiar(profundidad, hija);
+        nivelesSaltados++;
+        return true;
+    }
+
+    /**
+     * La celda se quedo sin candidatas: completa su conflicto y cuenta el
+     * salto si va mas atras de la celda anterior
+     */
+    private void explicarConflicto(Tablero board, int row, int col, int profundidad) {
+        if (conflictos == null) {
+            return;
+        }
+        conflictos.explicarCelda(board.celdas, row, col);
+        if (conflictos.destino(profundidad) < profundidad - 1) {
+            saltos++;
+        }
+    }
+
+    /**
+     * Guarda la frontera de (row, col) como sin solucion, salvo que la
+     * busqueda se haya cortado por el presupuesto (entonces no esta probada)
+     */
+    private void guardarFrontera(Tablero board, int row, int col, int profundidad) {
+        if (zobrist != null && !presupuesto.isAgotado()) {
+            transposicion.guardar(zobrist.clave(board.celdas, row, col), profundidad);
+        }
+    }
+
+    /**
+     * Vuelve a colocar las elecciones de un punto de control (celdas
+     * 0..profundidad-1 y, si la hubo, la candidata actual de la celda
+     * profundidad) en el tablero, las piezas disponibles, el balance y el
+     * hash de la frontera. Devuelve la profundidad donde sigue la busqueda.
+     */
+    private int rehacer(Tablero board, ClasesPiezas clases, ConjuntoDisponibles availablePieces,
+            IndiceCandidatos indice, RecorridoTablero recorrido, int[] cursor, int[] vistas, PuntoControl desde) {
+        int total = recorrido.numCeldas;
+        int profundidad = Math.min(desde.profundidad, total);
+        for (int d = 0; d <= profundidad; d++) { // N
+            cursor[d] = desde.cursores[d];
+            if (d == total) {
+                break;
+            }
+            int cell = recorrido.orden[d];
+            if (usarIndice) {
+                vistas[d] = recorrido.vista(indice, board.celdas, cell);
+            }
+            if (cursor[d] == NO_INICIADO) {
+                break; // solo en la celda actual
+            }
+            int id = cursor[d];
+            int piece = clases.getCodigo(id);
+            board.celdas[cell] = piece;
+            if (usarIndice) {
+                indice.quitar(id);
+            } else {
+                availablePieces.tomar(id);
+            }
+            if (balance != null
+                    && !balance.colocar(board.celdas, recorrido.filaDe[cell], recorrido.colDe[cell], piece)) {
+                // Solo puede pasar en la celda actual: la candidata fallo el
+                // balance y el motor ya la habia deshecho (ver colocarFrontera),
+                // la celda queda vacia como al escribir el punto de control
+                balance.quitar(board.celdas, recorrido.filaDe[cell], recorrido.colDe[cell], piece);
+                board.celdas[cell] = PiezaCodec.VACIA;
+                if (usarIndice) {
+                    indice.restaurar(id);
+                } else {
+                    availablePieces.restaurar(id);
+                }
+                break;
+            }
+            if (zobrist != null) {
+                zobrist.colocar(recorrido.filaDe[cell], recorrido.colDe[cell], piece);
+            }
+        }
+        return profundidad;
+    }
+
+    /**
+     * Arma el punto de control de la pila del motor iterativo y lo entrega al
+     * escritor (final: espera a que este en disco). Sin escritor no hace nada.
+     */
+    private void escribirPuntoControl(Tablero board, int[] cursor, int depth, PuntoControl.Estado estado,
+            boolean esFinal) {
+        if (escritor == null) {
+            return;
+        }
+        int[] cursores = Arrays.copyOf(cursor, depth + 1);
+        if (estado != PuntoControl.Estado.EN_CURSO) {
+            cursores[depth] = NO_INICIADO;
+        }
+        long tiempoMs = tiempoPrevioMs + (System.nanoTime() - inicioNanos) / 1_000_000;
+        PuntoControl punto = new PuntoControl(PuntoControl.FUERZA_BRUTA, estado, board.size, board.rangoNum,
+                board.codigos, board.getLadoHorizontal(), board.getLadoVertical(), depth, cursores, intentos, podas,
+                nodosPrevios + presupuesto.getNodos(), tiempoMs);
+        if (esFinal) {
+            escritor.escribirAhora(punto);
+        } else {
+            escritor.entregar(punto);
+        }
+    }
+
+    // Marca de "ningun candidato probado todavia" en la pila del motor iterativo
+    private static final int NO_INICIADO = -2;
+
     /**
      * Inicializa el proceso de resolución por fuerza bruta.
      * Resetea los contadores, limpia el tablero y prepara una copia
@@ -145,44 +987,287 @@ public class FuerzaBruta {
      * @return true si el tablero fue resuelto exitosamente
      */
     public boolean solve(Tablero board) {
-        // Reiniciar contadores
-        comparaciones = 0; // +1
-        asignaciones = 0; // +1
-        intentos = 0; // +1
-        podas = 0; // +1
-
-        // Limpiar el tablero primero (N = total de celdas, n = sqrt(N))
-        for (int i = 0; i < board.size; i++) { // 1, sqrt(N)+1, sqrt(N)+1
-            for (int j = 0; j < board.size; j++) { // sqrt(N)(1, sqrt(N)+1, sqrt(N)+1)
+        return solve(board, Presupuesto.sinLimite());
+    }
+
+    /**
+     * Igual que solve(board) pero con tiempo y nodos limitados. Si el
+     * presupuesto se agota devuelve false y deja en el tablero la mejor
+     * colocacion parcial; los contadores quedan con lo hecho hasta ese
+     * momento.
+     *
+     * @param board       El tablero con las piezas desordenadas
+     * @param presupuesto Limites de la busqueda (ver Presupuesto)
+     * @return true si el tablero fue resuelto exitosamente
+     */
+    public boolean solve(Tablero board, Presupuesto presupuesto) {
+        return resolver(board, presupuesto, null);
+    }
+
+    /**
+     * Sigue una busqueda guardada en un punto de control de FuerzaBruta,
+     * desde la candidata siguiente a la ultima probada y con los contadores
+     * acumulados. Si el punto de control ya estaba resuelto deja la solucion
+     * en el tablero; si la busqueda ya habia terminado sin solucion devuelve
+     * false sin buscar.
+     *
+     * @param board       Tablero con las mismas piezas (punto.crearTablero())
+     * @param punto       Punto de control leido con PuntoControl.leer
+     * @param presupuesto Limites de esta corrida
+     * @return true si el tablero fue resuelto
+     */
+    public boolean reanudar(Tablero board, PuntoControl punto, Presupuesto presupuesto) {
+        board.activarModoPrimitivo();
+        if (!punto.esDe(PuntoControl.FUERZA_BRUTA, board)) {
+            throw new IllegalArgumentException("El punto de control no es de Fuerza Bruta sobre este tablero");
+        }
+        return resolver(board, presupuesto, punto);
+    }
+
+    // solve o reanudar (desde != null)
+    private boolean resolver(Tablero board, Presupuesto presupuesto, PuntoControl desde) {
+        this.presupuesto = presupuesto;
+        mejorParcial = null;
+        mejorProfundidad = 0;
+        inicioNanos = System.nanoTime();
+
+        // Reiniciar contadores (o seguir los del punto de control)
+        instrumentacion.reiniciar(); // +1
+        intentos = desde != null ? desde.intentos : 0; // +1
+        podas = desde != null ? desde.podas : 0; // +1
+        nodosPrevios = desde != null ? desde.nodos : 0;
+        tiempoPrevioMs = desde != null ? desde.tiempoMs : 0;
+
+        // Lados que no caben en PiezaCodec: backtracking sobre los objetos
+        // Pieza (un punto de control siempre viene de un tablero que cabe)
+        if (desde == null && !board.cabeEnCodigos()) { // +N
+            return resolverObjetos(board); // +T(N)
+        }
+
+        // Con puntos de control el motor es el iterativo secuencial: su pila
+        // explicita es todo el estado de la busqueda
+        boolean conPuntos = archivoPuntosControl != null || desde != null;
+        boolean motorIterativo = iterativo || conPuntos;
+        boolean enParalelo = paralelo && !conPuntos;
+
+        // Trabajar sobre el modo primitivo del tablero (ver PiezaCodec)
+        board.activarModoPrimitivo(); // +N
+
+        // Limpiar el tablero primero (N = total de celdas)
+        board.limpiarCeldas(); // +N
+        instrumentacion.comparacion(); // +1
+
+        // Agrupar piezas identicas: se ramifica una vez por clase
+        instrumentacion.asignacion(); // +1
+        ClasesPiezas clases = new ClasesPiezas(board.codigos); // +N
+
+        // Balance de bordes con todas las piezas disponibles (si esta activo)
+        prepararBalance(board, 0); // +N
+        // Conjuntos de conflicto para el backjumping (solo motores recursivos)
+        saltos = 0;
+        nivelesSaltados = 0;
+        conflictos = backjumping && !enParalelo && !motorIterativo
+                ? new ConjuntosConflicto(board.codigos, board.rangoNum, board.size)
+                : null; // +N^2/64
+
+        // Hash de la frontera vacia y tabla de transposicion limpia (si se usa)
+        zobrist = null;
+        if (transposicion != null && !enParalelo) {
+            transposicion.limpiar(); // +capacidad
+            zobrist = new ZobristFrontera(board.size, board.rangoNum); // +N
+        }
+
+        // Iniciar resolucion desde la posicion (0, 0)
+        escritor = archivoPuntosControl != null
+                ? new EscritorPuntosControl(archivoPuntosControl, periodoPuntosControlMs)
+                : null;
+        boolean resuelto;
+        if (desde != null && desde.estado == PuntoControl.Estado.SIN_SOLUCION) {
+            resuelto = false; // la busqueda ya termino en otra corrida
+        } else if (enParalelo) {
+            // Dividir el arbol en tareas fork/join (cada una con su copia)
+            // (las tareas cuentan directo en la misma instrumentacion)
+            ultimaBusquedaParalela = new FuerzaBrutaParalela(usarIndice, iterativo, hilos, profundidadCorte,
+                    instrumentacion);
+            ultimaBusquedaParalela.setTelemetria(telemetria);
+            ultimaBusquedaParalela.setPodaBalance(podaBalance);
+            resuelto = ultimaBusquedaParalela.resolver(board, clases, presupuesto); // +T(N) / P
+            intentos += ultimaBusquedaParalela.getIntentos();
+            podas += ultimaBusquedaParalela.getPodas();
+            mejorParcial = ultimaBusquedaParalela.getMejorParcial();
+            mejorProfundidad = ultimaBusquedaParalela.getMejorProfundidad();
+        } else if (usarIndice) {
+            instrumentacion.asignacion(); // +1
+            IndiceCandidatos indice = new IndiceCandidatos(clases, board.rangoNum); // +N
+            resuelto = motorIterativo ? solveIterativo(board, clases, null, indice, 0, desde)
+                    : solveBoardIndice(board, 0, 0, indice); // +T(N)
+        } else {
+            // Conjunto de clases disponibles (bitset con multiplicidades)
+            instrumentacion.asignacion(); // +1
+            ConjuntoDisponibles availablePieces = new ConjuntoDisponibles(clases); // +N/64
+            resuelto = motorIterativo ? solveIterativo(board, clases, availablePieces, null, 0, desde)
+                    : solveBoard(board, 0, 0, clases, availablePieces); // +T(N)
+        }
+        if (escritor != null) {
+            escritor.close(); // espera las escrituras pendientes
+            escritor = null;
+        }
+
+        // Sin tiempo o nodos: devolver la mejor colocacion parcial
+        if (!resuelto && presupuesto.isAgotado() && mejorParcial != null) {
+            System.arraycopy(mejorParcial, 0, board.celdas, 0, board.celdas.length); // +N
+        }
+
+        // Reflejar el resultado en el tablero de objetos Pieza
+        board.sincronizarTablero(); // +N
+        return resuelto;
+    }
+    // Suma solve: 1+1+1+1 + N + N + 1+1+N + 1+N/64 + T(N) + N
+    // T_solve(N) = T_solveBoard(N) + 4N + N/64 + 7
+    // Big O: O(N * N!)
+
+    // ========================================================================
+    // TABLERO DE OBJETOS (lados que no caben en PiezaCodec)
+    // ========================================================================
+
+    /**
+     * Backtracking original sobre el tablero de objetos Pieza, para tableros
+     * con mas de 255 valores de lado distintos en un eje (no caben en
+     * PiezaCodec ni renumerados). El indice, las clases, el balance, la
+     * transposicion, el backjumping, el modo paralelo, el motor iterativo y
+     * los puntos de control trabajan sobre codigos, asi que aqui no se usan;
+     * el presupuesto, la telemetria, las podas y el mejor parcial si.
+     */
+    private boolean resolverObjetos(Tablero board) {
+        mejorParcialPiezas = null;
+
+        // Limpiar el tablero primero (N = total de celdas)
+        for (int i = 0; i < board.size; i++) { // sqrt(N)
+            for (int j = 0; j < board.size; j++) { // N
                 board.removePieza(i, j); // +N
             }
         }
-        comparaciones++; // +1
-        // Crear copia de la lista de piezas disponibles
-        asignaciones++; // +1
+        instrumentacion.asignaciones(board.pieces); // +N
+
+        // Copia de la lista de piezas disponibles (List.remove/add son O(N))
+        instrumentacion.asignacion(); // +1
         List<Pieza> availablePieces = new ArrayList<>(board.listaPiezas); // +N
+        boolean resuelto = solveBoardObjetos(board, 0, 0, availablePieces); // +T(N)
 
-        // Iniciar resolucion desde la posicion (0, 0)
-        return solveBoard(board, 0, 0, availablePieces); // +T(N)
+        // Sin tiempo o nodos: devolver la mejor colocacion parcial
+        if (!resuelto && presupuesto.isAgotado() && mejorParcialPiezas != null) {
+            for (int idx = 0; idx < board.pieces; idx++) { // +N
+                board.setPieza(idx / board.size, idx % board.size, mejorParcialPiezas[idx]);
+            }
+        }
+        return resuelto;
     }
-    // Suma solve: 1+1+1+1+1 + (sqrt(N)+1) + sqrt(N)+sqrt(N) + (N+sqrt(N)) + N+N+N+N
-    // + sqrt(N)+sqrt(N) + 1+1+N + T(N)
-    // T_solve(N) = T_solveBoard(N) + 5N + 7*sqrt(N) + 10
+    // T_resolverObjetos(N) = T_solveBoardObjetos(N) + 3N + 1
     // Big O: O(N * N!)
 
+    /**
+     * solveBoard sobre board.tablero con una List<Pieza> de disponibles: prueba
+     * cada pieza (sin agrupar copias iguales) con canPlace(Pieza).
+     */
+    private boolean solveBoardObjetos(Tablero board, int row, int col, List<Pieza> availablePieces) {
+        // Condicion de salida: si llegamos mas alla de la ultima fila, terminamos
+        instrumentacion.comparacion(); // +1
+        if (row >= board.size) { // +1
+            return true; // +1
+        }
+        if (presupuesto.agotado()) {
+            return false;
+        }
+        int profundidad = row * board.size + col;
+        registrarParcialObjetos(board, profundidad);
+        if (telemetria != null) {
+            telemetria.nodo(profundidad);
+        }
+
+        // Calcular siguiente posicion
+        instrumentacion.asignaciones(2); // +2
+        int nextCol = col + 1; // +1
+        int nextRow = row; // +1
+
+        instrumentacion.comparacion(); // +1
+        if (nextCol >= board.size) { // +1
+            instrumentacion.asignaciones(2); // +2
+            nextCol = 0; // +1
+            nextRow = row + 1; // +1
+        }
+
+        // Probar cada pieza disponible (N = total de piezas)
+        boolean conCandidatas = false; // +1
+        for (int i = 0; i < availablePieces.size(); i++) { // 1, N+1, N+1
+            Pieza piece = availablePieces.get(i); // +N
+
+            if (canPlace(board, row, col, piece)) { // +N * O(1)
+                conCandidatas = true; // +N
+
+                // Hacer la eleccion
+                instrumentacion.asignacion(); // +N
+                board.setPieza(row, col, piece); // +N
+
+                // Remover la pieza de las disponibles (List.remove es O(N))
+                instrumentacion.asignacion(); // +N
+                availablePieces.remove(i); // +N * N
+
+                // Llamada recursiva a la siguiente posicion
+                instrumentacion.comparacion(); // resultado de solveBoardObjetos // +N
+                if (solveBoardObjetos(board, nextRow, nextCol, availablePieces)) { // +N * T(N-1)
+                    return true; // +1
+                }
+
+                // Backtrack: deshacer la eleccion
+                instrumentacion.asignacion(); // +N
+                board.removePieza(row, col); // +N
+                instrumentacion.asignacion(); // +N
+                availablePieces.add(i, piece); // +N * N
+            }
+            intentos++; // +N
+            instrumentacion.asignacion(); // +N
+        }
+        instrumentacion.comparacion(); // +1
+        contarCeldaSinCandidatas(conCandidatas, profundidad); // +1
+        return false; // +1
+    }
+    // T_solveBoardObjetos(N) = N * T(N-1) + 2*N^2 + O(N)
+    // Big O: O(N * N!)
+
+    // registrarParcial para el tablero de objetos
+    private void registrarParcialObjetos(Tablero board, int profundidad) {
+        if (profundidad <= mejorProfundidad) {
+            return;
+        }
+        if (mejorParcialPiezas == null) {
+            mejorParcialPiezas = new Pieza[board.pieces];
+        }
+        for (int idx = 0; idx < board.pieces; idx++) {
+            mejorParcialPiezas[idx] = board.tablero[idx / board.size][idx % board.size];
+        }
+        mejorProfundidad = profundidad;
+    }
+
     // Getters para los contadores
     /**
      * Obtiene el número de comparaciones totales realizadas.
      */
     public long getComparaciones() {
-        return comparaciones;
+        return instrumentacion.getComparaciones();
     }
 
     /**
      * Obtiene el número de asignaciones totales realizadas.
      */
     public long getAsignaciones() {
-        return asignaciones;
+        return instrumentacion.getAsignaciones();
+    }
+
+    /**
+     * Instrumentacion con la que se construyo el solver
+     */
+    public Instrumentacion getInstrumentacion() {
+        return instrumentacion;
     }
 
     /**
@@ -193,7 +1278,10 @@ public class FuerzaBruta {
     }
 
     /**
-     * Obtiene el número de podas realizadas durante el backtracking.
+     * Obtiene el número de podas realizadas durante el backtracking: celdas
+     * donde ninguna pieza encaja, cortes por balance de bordes y fronteras
+     * ya conocidas de la tabla de transposicion. No cuenta las celdas que
+     * probaron piezas y se agotaron.
      */
     public long getPodas() {
         return podas;
@@ -203,12 +1291,17 @@ public class FuerzaBruta {
  * ANALISIS DE COMPLEJIDAD NO EMPIRICO GLOBAL:
  * Sea N el numero total de piezas/celdas (N = n * n).
  * 
- * T(N) = T_solveBoard(N) + T_limpieza(N) + T_copia(N)
- * T(N) = [N * T(N-1) + 2*N^2 + O(N)] + [O(N)] + [O(N)]
+ * T(N) = T_solveBoard(N) + T_limpieza(N) + T_bitset(N)
+ * T(N) = [N * T(N-1) + O(N)] + [O(N)] + [O(N/64)]
+ * (tomar/restaurar en el bitset son O(1), ya no hay termino 2*N^2)
  * 
  * Aplicando expansion por recurrencia:
  * T(N) = N * (N-1) * (N-2) * ... * 1 * T(0) + sumatoria_de_costos_locales
- * T(N) approx N! * O(N^2)
+ * T(N) approx N! * O(N)
+ * 
+ * Con piezas repetidas (clases de tamanos m1, m2, ..., mk) se ramifica una
+ * vez por clase, y el numero de ordenamientos distintos baja de N! a
+ * N! / (m1! * m2! * ... * mk!). El peor caso (todas distintas) no cambia.
  * 
  * Complejidad Final Big O: O(N * N!)
  * En terminos del lado n del tablero: O(n^2 * (n^2)!)
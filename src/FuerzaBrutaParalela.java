@@ -0,0 +1,305 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Backtracking de Fuerza Bruta en paralelo con fork/join.
+ *
+ * El arbol de busqueda se divide en las primeras profundidadCorte celdas:
+ * cada tarea representa un prefijo (las clases colocadas en esas celdas) y
+ * crea una subtarea por cada candidato que encaja en la siguiente celda
+ * (leyendo el prefijo, sin copiar el tablero). Solo al llegar a la
+ * profundidad de corte la tarea arma su propia copia de las celdas y de las
+ * piezas disponibles y sigue con el backtracking secuencial de FuerzaBruta.
+ *
+ * El ForkJoinPool balancea la carga por robo de trabajo: un worker que se
+ * queda sin tareas toma subarboles pendientes de otro. La primera tarea que
+ * encuentra solucion cancela el presupuesto de la busqueda, que todas las
+ * demas revisan cada 4096 nodos, asi se detienen enseguida. Cada tarea usa
+ * un presupuesto derivado, asi el tiempo y los nodos son de toda la busqueda.
+ *
+ * Se guardan los nodos (intentos) de cada worker para medir que tan cerca
+ * se esta de un speedup lineal. Las comparaciones y asignaciones de todas las
+ * tareas van a la misma Instrumentacion, que es segura entre hilos.
+ */
+public class FuerzaBrutaParalela {
+
+    private final boolean usarIndice;
+    private final boolean iterativo;
+    private final int hilos;
+    private final int profundidadCorte;
+    private final Instrumentacion instrumentacion; // compartida por todas las tareas
+
+    // Estado compartido entre tareas
+    private final AtomicBoolean encontrado = new AtomicBoolean(false);
+    private final AtomicReference<int[]> solucion = new AtomicReference<>();
+    private Presupuesto busqueda; // se cancela con la primera solucion
+    private Telemetria telemetria; // compartida por todas las tareas, o null
+    private boolean podaBalance; // cada tarea arma su propio BalanceBordes
+
+    // Mejor tablero parcial entre todas las tareas
+    private int[] mejorParcial;
+    private int mejorProfundidad;
+    private final LongAdder intentos = new LongAdder();
+    private final LongAdder podas = new LongAdder();
+    private final LongAdder tareas = new LongAdder();
+    private AtomicLongArray nodosPorWorker;
+
+    // Datos de solo lectura de la busqueda
+    private Tablero base;
+    private ClasesPiezas clases;
+    private RecorridoTablero recorrido;
+    private IndiceCandidatos candidatas; // todas las clases, para dividir con indice
+
+    public FuerzaBrutaParalela(boolean usarIndice, boolean iterativo, int hilos, int profundidadCorte,
+            Instrumentacion instrumentacion) {
+        this.usarIndice = usarIndice;
+        this.iterativo = iterativo;
+        this.hilos = hilos;
+        this.profundidadCorte = profundidadCorte;
+        this.instrumentacion = instrumentacion;
+    }
+
+    public void setTelemetria(Telemetria telemetria) {
+        this.telemetria = telemetria;
+    }
+
+    public void setPodaBalance(boolean podaBalance) {
+        this.podaBalance = podaBalance;
+    }
+
+    /**
+     * Resuelve el tablero en paralelo. Al terminar, si hubo solucion queda
+     * escrita en board.celdas.
+     *
+     * @param board       Tablero en modo primitivo con las celdas vacias
+     * @param clases      Clases de piezas identicas de board.codigos
+     * @param presupuesto Limites de toda la busqueda
+     * @return true si alguna tarea encontro solucion
+     */
+    public boolean resolver(Tablero board, ClasesPiezas clases, Presupuesto presupuesto) {
+        this.busqueda = presupuesto.derivar();
+        this.base = board;
+        this.clases = clases;
+        this.recorrido = new RecorridoTablero(board.size);
+        this.candidatas = usarIndice ? new IndiceCandidatos(clases, board.rangoNum) : null;
+        this.nodosPorWorker = new AtomicLongArray(hilos);
+
+        ForkJoinPool pool = new ForkJoinPool(hilos);
+        try {
+            pool.invoke(new TareaBusqueda(new int[0]));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int[] celdas = solucion.get();
+        if (celdas != null) {
+            System.arraycopy(celdas, 0, board.celdas, 0, celdas.length);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Una tarea es un prefijo de clases ya colocadas en las celdas
+     * recorrido.orden[0..prefijo.length-1] (fila por fila, la celda k tiene
+     * la clase prefijo[k]). Solo las tareas que llegan a la profundidad de
+     * corte arman su copia del tablero y de las piezas disponibles; las de
+     * arriba dividen leyendo el prefijo.
+     */
+    private class TareaBusqueda extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] prefijo;
+
+        TareaBusqueda(int[] prefijo) {
+            this.prefijo = prefijo;
+        }
+
+        @Override
+        protected void compute() {
+            Presupuesto presupuesto = busqueda.derivar();
+            if (encontrado.get() || presupuesto.revisar()) {
+                return;
+            }
+            tareas.increment();
+
+            int depth = prefijo.length;
+            if (depth < profundidadCorte && depth < recorrido.numCeldas) {
+                dividir(depth);
+            } else {
+                buscar(presupuesto, depth);
+            }
+        }
+
+        /**
+         * Crea una subtarea por cada clase que encaja en la celda depth y
+         * deja que el pool las reparta. Los vecinos y las piezas usadas salen
+         * del prefijo, sin copiar nada. O(candidatas * depth)
+         */
+        private void dividir(int depth) {
+            int cell = recorrido.orden[depth];
+            int izq = recorrido.izquierda[cell];
+            int arr = recorrido.arriba[cell];
+            int left = izq != RecorridoTablero.SIN_VECINO ? PiezaCodec.right(clases.getCodigo(prefijo[izq]))
+                    : IndiceCandidatos.LIBRE;
+            int up = arr != RecorridoTablero.SIN_VECINO ? PiezaCodec.down(clases.getCodigo(prefijo[arr]))
+                    : IndiceCandidatos.LIBRE;
+            List<TareaBusqueda> hijas = new ArrayList<>();
+            if (telemetria != null) {
+                telemetria.nodo(depth);
+            }
+
+            if (usarIndice) {
+                // candidatas indica las clases que encajan (nunca se modifica)
+                int vista = candidatas.vista(left, up);
+                for (int id = candidatas.primero(vista); id != IndiceCandidatos.FIN;
+                        id = candidatas.siguiente(vista, id)) {
+                    if (quedanCopias(id, depth)) {
+                        hijas.add(new TareaBusqueda(extender(id)));
+                    }
+                }
+            } else {
+                for (int id = 0; id < clases.getNumClases(); id++) {
+                    int codigo = clases.getCodigo(id);
+                    instrumentacion.comparaciones(2);
+                    if ((left == IndiceCandidatos.LIBRE || PiezaCodec.left(codigo) == left)
+                            && (up == IndiceCandidatos.LIBRE || PiezaCodec.up(codigo) == up)
+                            && quedanCopias(id, depth)) {
+                        hijas.add(new TareaBusqueda(extender(id)));
+                    }
+                }
+            }
+            invokeAll(hijas);
+        }
+
+        // true si el prefijo no uso todas las copias de la clase id. O(depth)
+        private boolean quedanCopias(int id, int depth) {
+            int usadas = 0;
+            for (int k = 0; k < depth; k++) {
+                if (prefijo[k] == id) {
+                    usadas++;
+                }
+            }
+            return usadas < clases.getMultiplicidad(id);
+        }
+
+        private int[] extender(int id) {
+            int[] hijo = new int[prefijo.length + 1];
+            System.arraycopy(prefijo, 0, hijo, 0, prefijo.length);
+            hijo[prefijo.length] = id;
+            return hijo;
+        }
+
+        /**
+         * Backtracking secuencial desde la celda depth sobre una copia propia
+         * del tablero con el prefijo colocado.
+         */
+        private void buscar(Presupuesto presupuesto, int depth) {
+            Tablero board = base.copiarPrimitivo();
+            for (int k = 0; k < depth; k++) {
+                board.celdas[recorrido.orden[k]] = clases.getCodigo(prefijo[k]);
+            }
+
+            // Copia propia de las piezas disponibles, sin las del prefijo
+            IndiceCandidatos indice = null;
+            ConjuntoDisponibles disponibles = null;
+            if (usarIndice) {
+                indice = new IndiceCandidatos(clases, board.rangoNum);
+                for (int id : prefijo) {
+                    indice.quitar(id);
+                }
+            } else {
+                disponibles = new ConjuntoDisponibles(clases);
+                for (int id : prefijo) {
+                    disponibles.tomar(id);
+                }
+            }
+
+            FuerzaBruta solver = new FuerzaBruta(usarIndice, instrumentacion);
+            solver.setIterativo(iterativo);
+            solver.setPresupuesto(presupuesto);
+            solver.setTelemetria(telemetria);
+            solver.setPodaBalance(podaBalance);
+            if (!solver.prepararBalance(board, depth)) {
+                return; // el prefijo ya deja algun valor sin piezas suficientes
+            }
+
+            boolean resuelto;
+            if (iterativo) {
+                resuelto = solver.solveIterativo(board, clases, disponibles, indice, depth);
+            } else {
+                int row = depth / board.size;
+                int col = depth % board.size;
+                resuelto = usarIndice ? solver.solveBoardIndice(board, row, col, indice)
+                        : solver.solveBoard(board, row, col, clases, disponibles);
+            }
+            if (resuelto && encontrado.compareAndSet(false, true)) {
+                solucion.set(board.celdas.clone());
+                busqueda.cancelar();
+            }
+            acumular(solver);
+        }
+
+        private void acumular(FuerzaBruta solver) {
+            intentos.add(solver.getIntentos());
+            podas.add(solver.getPodas());
+            registrarParcial(solver.getMejorParcial(), solver.getMejorProfundidad());
+
+            Thread hilo = Thread.currentThread();
+            if (hilo instanceof ForkJoinWorkerThread) {
+                int worker = ((ForkJoinWorkerThread) hilo).getPoolIndex();
+                if (worker >= 0 && worker < nodosPorWorker.length()) {
+                    nodosPorWorker.addAndGet(worker, solver.getIntentos());
+                }
+            }
+        }
+    }
+
+    private synchronized void registrarParcial(int[] celdas, int profundidad) {
+        if (celdas != null && profundidad > mejorProfundidad) {
+            mejorParcial = celdas;
+            mejorProfundidad = profundidad;
+        }
+    }
+
+    /** Mejor tablero parcial alcanzado por alguna tarea, o null */
+    public synchronized int[] getMejorParcial() {
+        return mejorParcial;
+    }
+
+    /** Celdas colocadas en el mejor tablero parcial */
+    public synchronized int getMejorProfundidad() {
+        return mejorProfundidad;
+    }
+
+    public long getIntentos() {
+        return intentos.sum();
+    }
+
+    public long getPodas() {
+        return podas.sum();
+    }
+
+    /** Cantidad de tareas fork/join ejecutadas */
+    public long getTareas() {
+        return tareas.sum();
+    }
+
+    /** Nodos (intentos) procesados por cada worker del pool */
+    public long[] getNodosPorWorker() {
+        long[] nodos = new long[nodosPorWorker.length()];
+        for (int i = 0; i < nodos.length; i++) {
+            nodos[i] = nodosPorWorker.get(i);
+        }
+        return nodos;
+    }
+}
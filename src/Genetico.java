@@ -1,11 +1,12 @@
 // Fecha de creación: 25 de enero de 2026
-// Última modificación: 30 de enero de 2026
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
+// Última modificación: 17 de octubre de 2026
+import java.util.Arrays;
 import java.util.Random;
-import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
 
 /**
  * Algoritmo Genetico para resolver el rompecabezas de piezas encajables.
@@ -13,7 +14,8 @@ import java.util.Set;
  * ============================================================================
  * REPRESENTACION DEL CROMOSOMA:
  * ============================================================================
- * - CROMOSOMA: Una permutacion de todas las piezas del tablero (ordenamiento)
+ * - CROMOSOMA: Una permutacion de todas las piezas del tablero (ordenamiento),
+ * guardada como int[] de ids de pieza (posicion en board.listaPiezas)
  * - GEN: Cada posicion del cromosoma representa una pieza
  * - ALELOS: Cada pieza tiene 4 alelos (los 4 numeros de sus lados):
  * - up (arriba)
@@ -22,9 +24,9 @@ import java.util.Set;
  * - left (izquierda)
  * 
  * Ejemplo para tablero 3x3:
- * Cromosoma = [Pieza0, Pieza1, Pieza2, Pieza3, Pieza4, Pieza5, Pieza6, Pieza7,
- * Pieza8]
- * Donde cada Pieza = (up, right, down, left)
+ * Cromosoma = [3, 0, 8, 5, 1, 7, 2, 6, 4] (ids de pieza)
+ * Donde cada id tiene su pieza (up, right, down, left) en los arreglos
+ * upDe, rightDe, downDe y leftDe
  * 
  * El cromosoma se mapea al tablero asi:
  * Posicion 0 -> [0][0], Posicion 1 -> [0][1], Posicion 2 -> [0][2]
@@ -42,11 +44,33 @@ import java.util.Set;
  * Fitness maximo = 2 * n * (n-1) donde n = lado del tablero
  * 
  * ============================================================================
+ * MEMORIA:
+ * ============================================================================
+ * Poblacion, hijos, sobrevivientes y mejores resultados son pools de int[]
+ * reservados al empezar la corrida. Los cruces escriben directo en el pool
+ * de hijos, la mutacion se hace en el lugar (y se deshace si no mejora) y
+ * los sobrevivientes se copian al pool siguiente, que se intercambia con
+ * la poblacion. Una generacion casi no reserva memoria.
+ * 
+ * ============================================================================
+ * MODO PARALELO (setParalelo):
+ * ============================================================================
+ * Los cruces de una generacion (con su fitness, hash y mutaciones) y los
+ * individuos al azar de la poblacion inicial se generan como tareas en un
+ * ForkJoinPool. Cada tarea tiene su propio SplittableRandom, derivados en
+ * orden de una raiz que sale de la semilla, y escribe en lugares fijos del
+ * pool; los repetidos se filtran despues en el orden de las tareas. Asi una
+ * semilla da el mismo resultado con cualquier cantidad de hilos (aunque no
+ * el mismo que el modo normal, que usa un solo Random).
+ * 
+ * ============================================================================
  * REQUISITOS DEL PROYECTO:
  * ============================================================================
  * - Poblacion inicial aleatoria SIN INDIVIDUOS REPETIDOS
- * - Cruce valido que NO REPITE NI OMITE piezas (PMX)
- * - 10 generaciones exactas
+ * - Cruce valido que NO REPITE NI OMITE piezas (PMX por defecto; tambien
+ * OX, de ciclos y por bloques, ver Cruce)
+ * - 10 generaciones exactas (setGeneraciones cambia la cantidad, por
+ * ejemplo para el modo islas de GeneticoIslas)
  * - Seleccion: padres e hijos compiten, quedan los mejores
  * - Imprime todos los cruces con puntuaciones
  * - Imprime mutaciones con puntuaciones
@@ -54,16 +78,12 @@ import java.util.Set;
  */
 public class Genetico {
 
-    // Contadores de operaciones
-    private long comparaciones;
-    private long asignaciones;
+    // Comparaciones y asignaciones (ver Instrumentacion)
+    private final Instrumentacion instrumentacion;
 
     // Generador de numeros aleatorios
     private Random random;
 
-    // Almacenar los mejores resultados
-    private List<ResultadoIndividuo> mejoresResultados;
-
     // Toggle para imprimir informacion detallada de cruces y mutaciones
     private boolean verbose = false;
 
@@ -72,16 +92,112 @@ public class Genetico {
     private int ultimoTamano = 0;
     private int ultimoFitnessObjetivo = 0;
 
+    // Tiempo y cancelacion, se revisan en cada generacion y en cada cruce
+    private Presupuesto presupuesto = Presupuesto.sinLimite();
+
+    // Mejores resultados encontrados (sin repetidos, de mayor a menor fitness)
+    private static final int MAX_MEJORES = 10;
+
+    // Generaciones por corrida (10 segun PDF)
+    private int numGeneraciones = 10;
+
+    // Modo islas (ver GeneticoIslas): se llama al terminar cada generacion
+    private Migracion migracion;
+    private int tamPoblacionActual; // individuos de poblacion[] durante la migracion
+    private boolean imprimirResultado = true; // Top 3 a la consola
+    private int fitnessFinal; // fitness del tablero que dejo solve
+
+    // Modo paralelo (ver MODO PARALELO)
+    private boolean paralelo;
+    private int hilos = Runtime.getRuntime().availableProcessors();
+    private ForkJoinPool forkJoin; // solo durante solve
+    private SplittableRandom raiz; // de aqui salen los generadores de las tareas
+    private SplittableRandom[] flujos; // generador de cada tarea de una tanda
+
+    /**
+     * Operador de cruce. Todos son O(N) y generan permutaciones validas (no
+     * repiten ni omiten piezas).
+     */
+    public enum Cruce {
+        /** Segmento del padre 1 y el resto en el orden del padre 2 */
+        PMX,
+        /** Order crossover: como PMX pero el resto se llena desde despues del segmento */
+        OX,
+        /** Cycle crossover: cada posicion conserva la pieza de uno de los padres */
+        CICLO,
+        /**
+         * Rectangulo del tablero del padre 1 y el resto en la misma posicion
+         * del padre 2 (PMX en 2D): conserva regiones que ya calzan
+         */
+        BLOQUE
+    }
+
+    private Cruce cruce = Cruce.PMX;
+
+    // ========== ESTADO DE UNA CORRIDA (se arma en prepararCorrida) ==========
+    // Un cromosoma es un int[] con los ids de pieza (posicion en
+    // board.listaPiezas) en orden raster. Los lados de cada id estan en
+    // arreglos planos para que el fitness no persiga punteros.
+
+    private int[] clases; // clase de cada id (piezas iguales, misma clase)
+    private int[] upDe; // lado up de cada id
+    private int[] rightDe;
+    private int[] downDe;
+    private int[] leftDe;
+
+    // Pools reciclados entre generaciones: nada se reserva dentro del ciclo.
+    // Cada cromosoma lleva su fitness y su hash (ver ConjuntoCromosomas):
+    // el fitness se calcula entero solo al crear un individuo al azar, los
+    // hijos lo sacan del padre por diferencias y la mutacion en O(1).
+    private int[][] poblacion; // P cromosomas
+    private int[] fitPoblacion;
+    private long[] hashPoblacion;
+    private int[][] siguiente; // sobrevivientes de la generacion (se intercambia con poblacion)
+    private int[] fitSiguiente;
+    private long[] hashSiguiente;
+    private int[][] hijos; // H + 1 cromosomas (el ultimo es de trabajo)
+    private int[] fitHijos;
+    private long[] hashHijos;
+    private ConjuntoCromosomas unicos; // para descartar repetidos
+    private long[] orden; // (objetivo - fitness) << 32 | indice, para la competencia
+    private int lado; // n, para el cruce por bloques
+    private Trabajo principal; // el del hilo de solve (modo normal)
+    private ThreadLocal<Trabajo> trabajoLocal; // uno por hilo (modo paralelo)
+
+    // Mejor fitness despues de cada generacion y cuando se alcanzo (desde el
+    // inicio de solve); la posicion 0 es la poblacion inicial
+    private int[] historialFitness = new int[0];
+    private long[] historialNanos = new long[0];
+    private int puntosHistorial;
+    private long inicioNanos;
+
+    private int[][] mejores; // MAX_MEJORES cromosomas
+    private int[] fitMejores;
+    private long[] hashMejores;
+    private int numMejores;
+
     /**
-     * Clase para almacenar un individuo con su fitness
+     * Intercambio de individuos con otras poblaciones (modo islas). Se llama
+     * en el hilo de solve despues de la seleccion de cada generacion; puede
+     * leer la poblacion (indicesMejores, copiarIndividuo) y agregar
+     * inmigrantes (recibirInmigrante).
      */
-    private static class ResultadoIndividuo {
-        List<Pieza> cromosoma;
-        int fitness;
+    interface Migracion {
+        void migrar(int generacion, Genetico genetico);
+    }
 
-        ResultadoIndividuo(List<Pieza> cromosoma, int fitness) {
-            this.cromosoma = new ArrayList<>(cromosoma);
-            this.fitness = fitness;
+    /**
+     * Generador y memoria de trabajo de quien cruza y muta: el hilo de solve
+     * en el modo normal o cada hilo del modo paralelo
+     */
+    private static final class Trabajo {
+        RandomGenerator random; // en modo paralelo, el de la tarea actual
+        final int[] posicion; // posicion[id] en un padre (cruces)
+        final boolean[] marcas; // piezas o posiciones ya usadas (cruces)
+
+        Trabajo(int numPiezas) {
+            posicion = new int[numPiezas];
+            marcas = new boolean[numPiezas];
         }
     }
 
@@ -89,20 +205,29 @@ public class Genetico {
      * Constructor por defecto (sin verbose)
      */
     public Genetico() {
-        this.random = new Random();
-        this.verbose = false;
-        resetearContadores();
+        this(false);
     }
 
     /**
      * Constructor con opcion de verbose
-     * 
+     *
      * @param verbose true para imprimir informacion detallada de cruces y
      *                mutaciones
      */
     public Genetico(boolean verbose) {
+        this(verbose, new InstrumentacionContador());
+    }
+
+    /**
+     * Constructor con opcion de verbose e instrumentacion
+     *
+     * @param verbose         true para imprimir cruces y mutaciones
+     * @param instrumentacion Instrumentacion.NULA para medir solo tiempo
+     */
+    public Genetico(boolean verbose, Instrumentacion instrumentacion) {
         this.random = new Random();
         this.verbose = verbose;
+        this.instrumentacion = instrumentacion;
         resetearContadores();
     }
 
@@ -120,26 +245,118 @@ public class Genetico {
         return verbose;
     }
 
+    public Presupuesto getPresupuesto() {
+        return presupuesto;
+    }
+
+    /** Operador de cruce (PMX por defecto) */
+    public void setCruce(Cruce cruce) {
+        this.cruce = cruce;
+    }
+
+    public Cruce getCruce() {
+        return cruce;
+    }
+
+    /** Fija la semilla del generador (corridas reproducibles) */
+    public void setSemilla(long semilla) {
+        this.random = new Random(semilla);
+    }
+
+    /**
+     * Generaciones de cada corrida (10 por defecto, como pide el PDF)
+     */
+    public void setGeneraciones(int generaciones) {
+        this.numGeneraciones = Math.max(1, generaciones);
+    }
+
+    public int getGeneraciones() {
+        return numGeneraciones;
+    }
+
+    /**
+     * Fitness del tablero que dejo la ultima corrida (la solucion aplicada)
+     */
+    public int getFitnessFinal() {
+        return fitnessFinal;
+    }
+
+    // Modo islas: migracion al final de cada generacion (null: ninguna)
+    void setMigracion(Migracion migracion) {
+        this.migracion = migracion;
+    }
+
+    // Modo islas: false para no imprimir el Top 3 de cada isla
+    void setImprimirResultado(boolean imprimirResultado) {
+        this.imprimirResultado = imprimirResultado;
+    }
+
+    /**
+     * Activa o desactiva el modo paralelo (ver MODO PARALELO). En modo
+     * paralelo verbose no imprime cada cruce y mutacion.
+     */
+    public void setParalelo(boolean paralelo) {
+        this.paralelo = paralelo;
+    }
+
+    public boolean isParalelo() {
+        return paralelo;
+    }
+
+    /**
+     * Cantidad de hilos del ForkJoinPool en modo paralelo (no cambia el
+     * resultado, solo el tiempo)
+     */
+    public void setHilos(int hilos) {
+        this.hilos = Math.max(1, hilos);
+    }
+
+    public int getHilos() {
+        return hilos;
+    }
+
+    /**
+     * Mejor fitness de la ultima corrida al empezar (posicion 0) y despues de
+     * cada generacion completa
+     */
+    public int[] getMejorPorGeneracion() {
+        return Arrays.copyOf(historialFitness, puntosHistorial);
+    }
+
+    /**
+     * Nanosegundos desde el inicio de la ultima corrida hasta cada punto de
+     * getMejorPorGeneracion (para medir tiempo hasta un fitness)
+     */
+    public long[] getNanosPorGeneracion() {
+        return Arrays.copyOf(historialNanos, puntosHistorial);
+    }
+
     /**
      * Resetea los contadores de operaciones
      */
     public void resetearContadores() {
-        this.comparaciones = 0;
-        this.asignaciones = 0;
+        instrumentacion.reiniciar();
     }
 
     /**
      * Obtiene el numero de comparaciones realizadas
      */
     public long getComparaciones() {
-        return comparaciones;
+        return instrumentacion.getComparaciones();
     }
 
     /**
      * Obtiene el numero de asignaciones realizadas
      */
     public long getAsignaciones() {
-        return asignaciones;
+        return instrumentacion.getAsignaciones();
+    }
+
+    /**
+     * Instrumentacion con la que se construyo el solver
+     */
+    public Instrumentacion getInstrumentacion() {
+        return instrumentacion;
     }
 
     /**
@@ -176,11 +393,37 @@ public class Genetico {
 
     /**
      * Resuelve el rompecabezas usando algoritmo genetico
-     * 
+     *
      * Donde: N = numero total de piezas (n*n), P = tamanio poblacion,
      * H = cantidad de hijos por generacion, G = numero de generaciones (10)
      */
     public boolean solve(Tablero board) {
+        return solve(board, Presupuesto.sinLimite());
+    }
+
+    /**
+     * Igual que solve(board) con tiempo limitado. Si el presupuesto se agota
+     * deja en el tablero el mejor individuo encontrado hasta ese momento.
+     *
+     * @param presupuesto Limites de la busqueda (se revisa en cada cruce)
+     */
+    public boolean solve(Tablero board, Presupuesto presupuesto) {
+        this.presupuesto = presupuesto;
+        if (!paralelo) {
+            return evolucionar(board);
+        }
+        forkJoin = new ForkJoinPool(hilos);
+        try {
+            return evolucionar(board);
+        } finally {
+            forkJoin.shutdown();
+            forkJoin = null;
+        }
+    }
+
+    // Cuerpo de solve: poblacion inicial y G generaciones
+    private boolean evolucionar(Tablero board) {
+        inicioNanos = System.nanoTime();
         resetearContadores();
         int n = board.size;
         int numPiezas = n * n;
@@ -188,11 +431,14 @@ public class Genetico {
         // Parametros segun la tabla del PDF
         int tamPoblacion = obtenerPoblacionInicial(n);
         int cantidadHijos = obtenerCantidadHijos(n);
-        int numGeneraciones = 10; // Siempre 10 generaciones segun PDF
+        int numGeneraciones = this.numGeneraciones; // 10 segun PDF
 
         // Fitness maximo posible
         int fitnessObjetivo = 2 * n * (n - 1);
-        asignaciones += 5; // +5
+        instrumentacion.asignaciones(5); // +5
+
+        // Lados por id y pools de cromosomas - O((P + H) * N)
+        prepararCorrida(board, tamPoblacion, cantidadHijos);
 
         if (verbose) {
             System.out.println("=".repeat(60));
@@ -214,23 +460,27 @@ public class Genetico {
         }
 
         // Inicializar poblacion SIN REPETIDOS - O(P * N)
-        List<List<Pieza>> poblacion = inicializarPoblacionSinRepetidos(board, tamPoblacion);
-        mejoresResultados = new ArrayList<>();
-        asignaciones += 2; // +2
+        int tamActual = inicializarPoblacionSinRepetidos(tamPoblacion);
+        numMejores = 0;
+        instrumentacion.asignaciones(2); // +2
 
         if (verbose) {
             System.out.println("--- POBLACION INICIAL (sin repetidos) ---");
-            for (int i = 0; i < poblacion.size(); i++) { // P iteraciones, cada una O(N)
-                int fit = calcularFitness(poblacion.get(i), n); // +P * O(N)
-                System.out.println(
-                        "Individuo " + (i + 1) + ": " + cromosomaToString(poblacion.get(i)) + " fitness: " + fit);
+            for (int i = 0; i < tamActual; i++) { // P iteraciones, cada una O(N)
+                System.out.println("Individuo " + (i + 1) + ": " + cromosomaToString(poblacion[i]) + " fitness: "
+                        + fitPoblacion[i]);
             }
             System.out.println();
         }
 
-        // Evolucion por G=10 generaciones
+        // Evolucion por G generaciones (10 segun PDF)
         for (int gen = 1; gen <= numGeneraciones; gen++) { // G iteraciones
-            comparaciones++; // +G
+            instrumentacion.comparacion(); // +G
+
+            // Presupuesto agotado: terminar con lo mejor encontrado hasta ahora
+            if (presupuesto.revisar()) {
+                break;
+            }
 
             if (verbose) {
                 System.out.println("=".repeat(60));
@@ -239,167 +489,188 @@ public class Genetico {
                 System.out.println();
             }
 
-            // Evaluar poblacion actual - O(P * N)
-            int[] fitnesses = new int[poblacion.size()];
-            asignaciones++; // +G
-
-            for (int i = 0; i < poblacion.size(); i++) { // P iteraciones
-                comparaciones++; // +G*P
-                fitnesses[i] = calcularFitness(poblacion.get(i), n); // +G * P * O(N)
-                asignaciones++; // +G*P
+            // La poblacion ya trae su fitness (fitPoblacion)
+            if (gen == 1) {
+                registrarProgreso(fitPoblacion, tamActual); // poblacion inicial
             }
 
             // Guardar mejores para el resultado final
-            actualizarMejoresResultados(poblacion, fitnesses);
-
-            // Lista para almacenar todos los hijos generados
-            List<List<Pieza>> todosLosHijos = new ArrayList<>();
-            Set<String> hijosGenerados = new HashSet<>(); // Para evitar hijos repetidos
-            asignaciones += 2; // +2G
-
-            // Generar la cantidad de hijos especificada
-            int crucesRealizados = 0;
-            int intentosSinProgreso = 0;
-            int maxIntentosSinProgreso = cantidadHijos * 10; // limite para evitar bucle infinito
-            asignaciones++; // +G
-
-            // Generar H hijos - cada cruce es O(N^2)
-            while (todosLosHijos.size() < cantidadHijos && intentosSinProgreso < maxIntentosSinProgreso) { // H/2 cruces
-                comparaciones++; // +G*H
-                crucesRealizados++;
-                int hijosPrevios = todosLosHijos.size();
-
-                // Seleccionar padres (los mejores de la poblacion) - O(P)
-                int idxPadre1 = seleccionarMejor(fitnesses);
-                int idxPadre2 = seleccionarSegundoMejor(fitnesses, idxPadre1);
-
-                List<Pieza> padre1 = poblacion.get(idxPadre1);
-                List<Pieza> padre2 = poblacion.get(idxPadre2);
-                int fitPadre1 = fitnesses[idxPadre1];
-                int fitPadre2 = fitnesses[idxPadre2];
-                asignaciones += 4; // +4*G*H
-
-                // Realizar cruce PMX (no repite ni omite piezas) - O(N^2)
-                List<List<Pieza>> hijos = crucePMX(padre1, padre2); // +G * H * O(N^2)
-                List<Pieza> hijo1 = hijos.get(0);
-                List<Pieza> hijo2 = hijos.get(1);
-                int fitHijo1 = calcularFitness(hijo1, n); // +G * H * O(N)
-                int fitHijo2 = calcularFitness(hijo2, n); // +G * H * O(N)
-                asignaciones += 5; // +5*G*H
-
-                // Imprimir informacion del cruce en formato requerido
-                if (verbose) {
-                    System.out.println("--- Cruce " + crucesRealizados + " ---");
-                    System.out.println("Padre 1: " + cromosomaToString(padre1) + " puntuacion: " + fitPadre1);
-                    System.out.println("Padre 2: " + cromosomaToString(padre2) + " puntuacion: " + fitPadre2);
-                    System.out.println("Hijo 1:  " + cromosomaToString(hijo1) + " puntuacion: " + fitHijo1);
-                    System.out.println("Hijo 2:  " + cromosomaToString(hijo2) + " puntuacion: " + fitHijo2);
-                    System.out.println();
-                }
-
-                // Aplicar mutacion si mejora - O(N)
-                hijo1 = aplicarMutacionConImpresion(hijo1, fitHijo1, n, "Hijo 1");
-                hijo2 = aplicarMutacionConImpresion(hijo2, fitHijo2, n, "Hijo 2");
-
-                // Agregar hijos si no estan repetidos
-                String clave1 = cromosomaToKey(hijo1);
-                String clave2 = cromosomaToKey(hijo2);
+            actualizarMejoresResultados(tamActual);
+
+            // Los hijos se escriben directo en el pool hijos[]
+            int numHijos = 0;
+            unicos.limpiar(); // Para evitar hijos repetidos
+            instrumentacion.asignaciones(2); // +2G
+
+            // Generar H hijos - cada cruce es O(N)
+            if (paralelo) {
+                // Los padres son los mismos en toda la generacion - O(P)
+                int idxPadre1 = seleccionarMejor(fitPoblacion, tamActual);
+                int idxPadre2 = seleccionarSegundoMejor(fitPoblacion, tamActual, idxPadre1);
+                numHijos = generarHijosEnParalelo(poblacion[idxPadre1], fitPoblacion[idxPadre1],
+                        poblacion[idxPadre2], fitPoblacion[idxPadre2], cantidadHijos);
+            } else {
+                int crucesRealizados = 0;
+                int intentosSinProgreso = 0;
+                int maxIntentosSinProgreso = cantidadHijos * 10; // limite para evitar bucle infinito
+                instrumentacion.asignacion(); // +G
+
+                while (numHijos < cantidadHijos && intentosSinProgreso < maxIntentosSinProgreso) { // H/2 cruces
+                    instrumentacion.comparacion(); // +G*H
+                    // Revisar el presupuesto en cada cruce
+                    if (presupuesto.revisar()) {
+                        break;
+                    }
+                    crucesRealizados++;
+                    int hijosPrevios = numHijos;
+
+                    // Seleccionar padres (los mejores de la poblacion) - O(P)
+                    int idxPadre1 = seleccionarMejor(fitPoblacion, tamActual);
+                    int idxPadre2 = seleccionarSegundoMejor(fitPoblacion, tamActual, idxPadre1);
+
+                    int[] padre1 = poblacion[idxPadre1];
+                    int[] padre2 = poblacion[idxPadre2];
+                    int fitPadre1 = fitPoblacion[idxPadre1];
+                    int fitPadre2 = fitPoblacion[idxPadre2];
+                    instrumentacion.asignaciones(4); // +4*G*H
+
+                    // Cruce, fitness y mutacion sobre los dos primeros lugares
+                    // libres del pool - O(N)
+                    int lugar = numHijos; // hijo 1 en lugar, hijo 2 en lugar + 1
+                    int[] hijo1 = hijos[lugar];
+                    int[] hijo2 = hijos[lugar + 1];
+                    generarHijos(crucesRealizados, padre1, fitPadre1, padre2, fitPadre2, lugar, principal);
+
+                    // Agregar hijos si no estan repetidos (los cromosomas solo se
+                    // comparan si coincide el hash) - O(1) esperado
+                    instrumentacion.comparaciones(2); // +2*G*H
+                    if (numHijos < cantidadHijos && unicos.agregar(hashHijos[lugar], hijo1)) {
+                        numHijos++; // hijo1 ya esta en su lugar
+                        instrumentacion.asignacion();
+                    }
+                    if (numHijos < cantidadHijos && unicos.agregar(hashHijos[lugar + 1], hijo2)) {
+                        if (numHijos == lugar) {
+                            // hijo1 se descarto: hijo2 pasa a su lugar
+                            intercambiarLugares(hijos, fitHijos, hashHijos, lugar + 1, lugar);
+                        }
+                        numHijos++;
+                        instrumentacion.asignacion();
+                    }
 
-                if (!hijosGenerados.contains(clave1) && todosLosHijos.size() < cantidadHijos) {
-                    todosLosHijos.add(hijo1);
-                    hijosGenerados.add(clave1);
-                    asignaciones++;
-                }
-                if (!hijosGenerados.contains(clave2) && todosLosHijos.size() < cantidadHijos) {
-                    todosLosHijos.add(hijo2);
-                    hijosGenerados.add(clave2);
-                    asignaciones++;
+                    // Detectar si no hubo progreso (no se agregaron hijos nuevos)
+                    if (numHijos == hijosPrevios) {
+                        intentosSinProgreso++;
+                    } else {
+                        intentosSinProgreso = 0; // resetear si hubo progreso
+                    }
                 }
+            }
 
-                // Detectar si no hubo progreso (no se agregaron hijos nuevos)
-                if (todosLosHijos.size() == hijosPrevios) {
-                    intentosSinProgreso++;
-                } else {
-                    intentosSinProgreso = 0; // resetear si hubo progreso
-                }
+            // Sin presupuesto no se completa la generacion (la poblacion
+            // actual ya esta en los mejores resultados)
+            if (presupuesto.isAgotado()) {
+                break;
             }
 
-            // Combinar poblacion actual con hijos (compiten entre si)
-            List<ResultadoIndividuo> todosIndividuos = new ArrayList<>();
-            asignaciones++; // +G
+            // Combinar poblacion actual con hijos (compiten entre si): los
+            // competidores son indices, 0..P-1 padres y P.. hijos
+            int totalCompetidores = tamActual + numHijos;
+            instrumentacion.asignacion(); // +G
 
             if (verbose) {
                 System.out.println("--- Competencia: Padres vs Hijos ---");
             }
 
             // Agregar poblacion actual (padres) - O(P)
-            for (int i = 0; i < poblacion.size(); i++) {
-                comparaciones++; // +G*P
-                todosIndividuos.add(new ResultadoIndividuo(poblacion.get(i), fitnesses[i]));
-                asignaciones++; // +G*P
+            for (int i = 0; i < tamActual; i++) {
+                instrumentacion.comparacion(); // +G*P
+                orden[i] = claveOrden(fitnessObjetivo, fitPoblacion[i], i);
+                instrumentacion.asignacion(); // +G*P
             }
 
-            // Agregar hijos - O(H * N)
-            for (List<Pieza> hijo : todosLosHijos) {
-                int fitHijo = calcularFitness(hijo, n); // +G * H * O(N)
-                todosIndividuos.add(new ResultadoIndividuo(hijo, fitHijo));
-                asignaciones += 2; // +2*G*H
+            // Agregar hijos (ya traen su fitness) - O(H)
+            for (int h = 0; h < numHijos; h++) {
+                orden[tamActual + h] = claveOrden(fitnessObjetivo, fitHijos[h], tamActual + h);
+                instrumentacion.asignacion(); // +G*H
             }
 
             if (verbose) {
-                System.out.println("Total competidores: " + todosIndividuos.size() +
-                        " (" + poblacion.size() + " padres + " + todosLosHijos.size() + " hijos)");
+                System.out.println("Total competidores: " + totalCompetidores +
+                        " (" + tamActual + " padres + " + numHijos + " hijos)");
             }
 
-            // Ordenar por fitness (mayor a menor) - O((P+H) * log(P+H))
-            Collections.sort(todosIndividuos, (a, b) -> b.fitness - a.fitness);
-            asignaciones++; // +G
+            // Ordenar por fitness (mayor a menor, empates en orden de llegada)
+            // - O((P+H) * log(P+H))
+            Arrays.sort(orden, 0, totalCompetidores);
+            instrumentacion.asignacion(); // +G
 
             // Reemplazo: mantener solo los mejores (tamano de poblacion original)
-            // Eliminando repetidos
-            poblacion.clear();
-            Set<String> usados = new HashSet<>();
-
-            for (int i = 0; i < todosIndividuos.size() && poblacion.size() < tamPoblacion; i++) { // O(P+H)
-                comparaciones += 2; // +2*G*(P+H)
-                String clave = cromosomaToKey(todosIndividuos.get(i).cromosoma); // +G*(P+H)*O(N)
-                if (!usados.contains(clave)) {
-                    poblacion.add(todosIndividuos.get(i).cromosoma);
-                    usados.add(clave);
-                    asignaciones++; // +G*P
+            // Eliminando repetidos. Se copian al pool siguiente[].
+            int sobrevivientes = 0;
+            unicos.limpiar();
+
+            for (int i = 0; i < totalCompetidores && sobrevivientes < tamPoblacion; i++) { // O(P+H)
+                instrumentacion.comparaciones(2); // +2*G*(P+H)
+                int competidor = (int) orden[i];
+                boolean esPadre = competidor < tamActual;
+                int[] cromosoma = esPadre ? poblacion[competidor] : hijos[competidor - tamActual];
+                long hash = esPadre ? hashPoblacion[competidor] : hashHijos[competidor - tamActual];
+                if (unicos.agregar(hash, cromosoma)) { // O(1) esperado
+                    System.arraycopy(cromosoma, 0, siguiente[sobrevivientes], 0, numPiezas); // +G*P*O(N)
+                    fitSiguiente[sobrevivientes] = esPadre ? fitPoblacion[competidor]
+                            : fitHijos[competidor - tamActual];
+                    hashSiguiente[sobrevivientes] = hash;
+                    sobrevivientes++;
+                    instrumentacion.asignacion(); // +G*P
                 }
             }
 
             // Si no hay suficientes unicos, generar nuevos aleatorios
-            while (poblacion.size() < tamPoblacion) {
-                List<Pieza> nuevo = new ArrayList<>(board.listaPiezas);
-                Collections.shuffle(nuevo, random);
-                String clave = cromosomaToKey(nuevo);
-                if (!usados.contains(clave)) {
-                    poblacion.add(nuevo);
-                    usados.add(clave);
+            if (paralelo) {
+                sobrevivientes = completarAlAzar(siguiente, fitSiguiente, hashSiguiente, sobrevivientes,
+                        tamPoblacion, Integer.MAX_VALUE);
+            }
+            while (sobrevivientes < tamPoblacion) {
+                int[] nuevo = siguiente[sobrevivientes];
+                barajar(nuevo, random);
+                long hash = unicos.hash(nuevo);
+                if (unicos.agregar(hash, nuevo)) {
+                    fitSiguiente[sobrevivientes] = calcularFitness(nuevo, n); // O(N), solo los nuevos
+                    hashSiguiente[sobrevivientes] = hash;
+                    sobrevivientes++;
                 }
             }
 
-            // Recalcular fitnesses - O(P * N)
-            fitnesses = new int[poblacion.size()];
-            for (int i = 0; i < poblacion.size(); i++) {
-                comparaciones++; // +G*P
-                fitnesses[i] = calcularFitness(poblacion.get(i), n); // +G * P * O(N)
-                asignaciones++; // +G*P
+            // Los sobrevivientes pasan a ser la poblacion (intercambio de pools)
+            int[][] pool = poblacion;
+            poblacion = siguiente;
+            siguiente = pool;
+            int[] fitnesses = fitPoblacion;
+            fitPoblacion = fitSiguiente;
+            fitSiguiente = fitnesses;
+            long[] hashes = hashPoblacion;
+            hashPoblacion = hashSiguiente;
+            hashSiguiente = hashes;
+            tamActual = sobrevivientes;
+
+            // Modo islas: mandar y recibir migrantes (ver GeneticoIslas)
+            if (migracion != null) {
+                tamPoblacionActual = tamActual;
+                migracion.migrar(gen, this);
             }
+            registrarProgreso(fitPoblacion, tamActual);
 
             // Mostrar sobrevivientes
             if (verbose) {
                 System.out.println("\nSobrevivientes de generacion " + gen + ":");
-                for (int i = 0; i < poblacion.size(); i++) {
-                    System.out.println("  " + (i + 1) + ". " + cromosomaToString(poblacion.get(i)) +
-                            " fitness: " + fitnesses[i]);
+                for (int i = 0; i < tamActual; i++) {
+                    System.out.println("  " + (i + 1) + ". " + cromosomaToString(poblacion[i]) +
+                            " fitness: " + fitPoblacion[i]);
                 }
             }
 
             // Mostrar mejor de esta generacion
-            int mejorFitGen = fitnesses[0];
+            int mejorFitGen = fitPoblacion[0];
             if (verbose) {
                 System.out.println(
                         "\n>> Mejor fitness de generacion " + gen + ": " + mejorFitGen + " / " + fitnessObjetivo);
@@ -407,21 +678,27 @@ public class Genetico {
             }
 
             // Verificar si encontramos solucion optima
-            comparaciones++; // +G
+            instrumentacion.comparacion(); // +G
             if (mejorFitGen == fitnessObjetivo) {
                 if (verbose) {
                     System.out.println("*** SOLUCION OPTIMA ENCONTRADA EN GENERACION " + gen + " ***");
                 }
-                aplicarSolucion(board, poblacion.get(0));
+                aplicarSolucion(board, poblacion[0]);
+                fitnessFinal = mejorFitGen;
                 imprimirTop3(n, fitnessObjetivo);
                 return true;
             }
         }
 
-        // Aplicar la mejor solucion encontrada
-        if (!mejoresResultados.isEmpty()) {
-            Collections.sort(mejoresResultados, (a, b) -> b.fitness - a.fitness);
-            aplicarSolucion(board, mejoresResultados.get(0).cromosoma);
+        // Los sobrevivientes de la ultima generacion (y los inmigrantes) tambien
+        // cuentan: el historial ya los incluye
+        actualizarMejoresResultados(tamActual);
+
+        // Aplicar la mejor solucion encontrada (mejores[] ya esta ordenado)
+        fitnessFinal = 0;
+        if (numMejores > 0) {
+            aplicarSolucion(board, mejores[0]);
+            fitnessFinal = fitMejores[0];
         }
 
         // Imprimir los 3 mejores resultados (siempre se imprime al final)
@@ -430,68 +707,343 @@ public class Genetico {
         return board.checkTablero();
     }
     // Suma solve:
-    // - Inicializacion: O(P * N)
-    // - Fitness inicial: O(P * N)
+    // - Inicializacion (con fitness): O(P * N)
     // - Por cada generacion G:
-    // - Evaluar poblacion: O(P * N)
-    // - Generar H hijos con cruces: O(H * N^2) (cada cruce PMX es O(N^2))
-    // - Fitness de hijos: O(H * N)
+    // - Generar H hijos con cruces: O(H * N) (cada cruce es O(N))
+    // - Fitness de hijos por diferencias con el padre: O(H * N) (solo los
+    //   genes que cambian miran vecinos); mutacion O(1)
     // - Ordenamiento: O((P+H) * log(P+H))
-    // - Seleccion: O((P+H) * N)
-    // - Recalcular fitness: O(P * N)
+    // - Seleccion: O(P * N) (copiar sobrevivientes, el fitness viaja con ellos)
     //
-    // T_solve(N, P, H, G) = O(P*N) + G * [O(P*N) + O(H*N^2) + O((P+H)*log(P+H)) +
-    // O((P+H)*N)]
-    // = O(P*N) + G * O(H*N^2 + (P+H)*N)
-    // = O(G * H * N^2) (termino dominante)
+    // T_solve(N, P, H, G) = O(P*N) + G * [O(H*N) + O((P+H)*log(P+H)) + O(P*N)]
+    // = O(G * (P+H) * N) (termino dominante)
     //
     // Como G=10, P y H son constantes pequenias relativas a N:
-    // T_solve(N) = O(N^2)
+    // T_solve(N) = O(N)
+    //
+    // Memoria: los pools se reservan una vez por corrida, O((2P + H + 10) * N)
+    // ints; dentro de las generaciones no se reserva memoria (salvo verbose).
 
     /**
-     * Genera una clave unica para un cromosoma (para detectar repetidos)
+     * Arma los lados de cada id de pieza y los pools de cromosomas de la
+     * corrida. Lee los lados de listaPiezas, asi que no necesita el modo
+     * primitivo y sirve para cualquier rango de valores.
      */
-    private String cromosomaToKey(List<Pieza> cromosoma) {
-        StringBuilder sb = new StringBuilder();
-        for (Pieza p : cromosoma) {
-            sb.append(p.getUp()).append(",");
-            sb.append(p.getRight()).append(",");
-            sb.append(p.getDown()).append(",");
-            sb.append(p.getLeft()).append(";");
+    private void prepararCorrida(Tablero board, int tamPoblacion, int cantidadHijos) {
+        board.asegurarListaPiezas();
+        int numPiezas = board.listaPiezas.size();
+        clases = board.clasesDePiezas(); // +N
+        upDe = new int[numPiezas];
+        rightDe = new int[numPiezas];
+        downDe = new int[numPiezas];
+        leftDe = new int[numPiezas];
+        for (int id = 0; id < numPiezas; id++) { // N
+            Pieza pieza = board.listaPiezas.get(id);
+            upDe[id] = pieza.getUp();
+            rightDe[id] = pieza.getRight();
+            downDe[id] = pieza.getDown();
+            leftDe[id] = pieza.getLeft();
         }
-        return sb.toString();
+        instrumentacion.asignaciones(4L * numPiezas); // +4N
+
+        poblacion = new int[tamPoblacion][numPiezas];
+        fitPoblacion = new int[tamPoblacion];
+        hashPoblacion = new long[tamPoblacion];
+        siguiente = new int[tamPoblacion][numPiezas];
+        fitSiguiente = new int[tamPoblacion];
+        hashSiguiente = new long[tamPoblacion];
+        hijos = new int[cantidadHijos + 1][numPiezas];
+        fitHijos = new int[cantidadHijos + 1];
+        hashHijos = new long[cantidadHijos + 1];
+        unicos = new ConjuntoCromosomas(Math.max(tamPoblacion, cantidadHijos), clases);
+        orden = new long[tamPoblacion + cantidadHijos];
+        lado = board.size;
+        principal = new Trabajo(numPiezas);
+        principal.random = random;
+        if (paralelo) {
+            trabajoLocal = ThreadLocal.withInitial(() -> new Trabajo(numPiezas));
+            raiz = new SplittableRandom(random.nextLong());
+            flujos = new SplittableRandom[Math.max(tamPoblacion, (cantidadHijos + 1) / 2)];
+        }
+        mejores = new int[MAX_MEJORES][numPiezas];
+        fitMejores = new int[MAX_MEJORES];
+        hashMejores = new long[MAX_MEJORES];
+        numMejores = 0;
+
+        historialFitness = new int[numGeneraciones + 1]; // poblacion inicial + G generaciones
+        historialNanos = new long[numGeneraciones + 1];
+        puntosHistorial = 0;
+    }
+
+    // Agrega al historial el mejor fitness visto hasta ahora
+    private void registrarProgreso(int[] fitnesses, int tam) {
+        int mejor = puntosHistorial > 0 ? historialFitness[puntosHistorial - 1] : 0;
+        for (int i = 0; i < tam; i++) {
+            mejor = Math.max(mejor, fitnesses[i]);
+        }
+        if (puntosHistorial == historialFitness.length) {
+            historialFitness = Arrays.copyOf(historialFitness, puntosHistorial * 2);
+            historialNanos = Arrays.copyOf(historialNanos, puntosHistorial * 2);
+        }
+        historialFitness[puntosHistorial] = mejor;
+        historialNanos[puntosHistorial] = System.nanoTime() - inicioNanos;
+        puntosHistorial++;
+    }
+    // T_prepararCorrida(N, P, H) = O((2P + H + 10) * N) (reservar los pools)
+
+    // Clave de la competencia: ordena de mayor a menor fitness y, a igual
+    // fitness, por indice (padres antes que hijos, como un orden estable)
+    private static long claveOrden(int fitnessObjetivo, int fitness, int indice) {
+        return ((long) (fitnessObjetivo - fitness) << 32) | indice;
     }
 
     /**
-     * Aplica mutacion e imprime el resultado.
-     * Solo se aplica si MEJORA el fitness (segun requisito del PDF).
+     * Permutacion aleatoria de todos los ids (Fisher-Yates) en el lugar
      */
-    private List<Pieza> aplicarMutacionConImpresion(List<Pieza> individuo, int fitnessAntes, int n, String nombre) {
-        // Crear copia para mutacion
-        List<Pieza> mutado = new ArrayList<>(individuo);
-        asignaciones++;
+    private static void barajar(int[] individuo, RandomGenerator random) {
+        for (int i = 0; i < individuo.length; i++) { // N
+            individuo[i] = i;
+        }
+        for (int i = individuo.length - 1; i > 0; i--) { // N
+            int j = random.nextInt(i + 1);
+            int temp = individuo[i];
+            individuo[i] = individuo[j];
+            individuo[j] = temp;
+        }
+    }
+    // T_barajar(N) = O(N)
+
+    // ========== MODO ISLAS (solo desde la Migracion) ==========
+
+    // Indices de los cantidad mejores individuos de la poblacion actual, de
+    // mayor a menor fitness. O(cantidad * P)
+    int[] indicesMejores(int cantidad) {
+        int[] indices = new int[Math.min(cantidad, tamPoblacionActual)];
+        boolean[] elegido = new boolean[tamPoblacionActual];
+        for (int k = 0; k < indices.length; k++) {
+            int mejor = -1;
+            for (int i = 0; i < tamPoblacionActual; i++) {
+                if (!elegido[i] && (mejor < 0 || fitPoblacion[i] > fitPoblacion[mejor])) {
+                    mejor = i;
+                }
+            }
+            elegido[mejor] = true;
+            indices[k] = mejor;
+        }
+        return indices;
+    }
 
-        // Aplicar mutacion (swap de dos posiciones)
-        int idx1 = random.nextInt(mutado.size());
-        int idx2 = random.nextInt(mutado.size());
-        asignaciones += 2;
+    // Copia del individuo i de la poblacion actual (para mandarlo a otra isla)
+    int[] copiarIndividuo(int i) {
+        return poblacion[i].clone();
+    }
 
-        comparaciones++;
-        if (idx1 != idx2) {
-            Pieza temp = mutado.get(idx1);
-            mutado.set(idx1, mutado.get(idx2));
-            mutado.set(idx2, temp);
-            asignaciones += 3;
+    int getFitnessIndividuo(int i) {
+        return fitPoblacion[i];
+    }
+
+    /**
+     * Reemplaza al peor individuo por el inmigrante si es mejor que el y no
+     * esta repetido. Si supera al primero pasa al lugar 0 (el que revisa si
+     * se llego al objetivo). El inmigrante debe venir de una isla con las
+     * mismas piezas en el mismo orden. O(P + N)
+     *
+     * @return true si el inmigrante quedo en la poblacion
+     */
+    boolean recibirInmigrante(int[] cromosoma, int fitness) {
+        int peor = 0;
+        for (int i = 1; i < tamPoblacionActual; i++) { // P
+            if (fitPoblacion[i] < fitPoblacion[peor]) {
+                peor = i;
+            }
+        }
+        if (fitness <= fitPoblacion[peor]) {
+            return false;
+        }
+        long hash = unicos.hash(cromosoma); // O(N)
+        for (int i = 0; i < tamPoblacionActual; i++) { // P
+            if (hashPoblacion[i] == hash && unicos.mismasPiezas(poblacion[i], cromosoma)) {
+                return false;
+            }
+        }
+        System.arraycopy(cromosoma, 0, poblacion[peor], 0, cromosoma.length);
+        fitPoblacion[peor] = fitness;
+        hashPoblacion[peor] = hash;
+        if (fitness > fitPoblacion[0]) {
+            intercambiarLugares(poblacion, fitPoblacion, hashPoblacion, peor, 0);
+        }
+        return true;
+    }
+
+    /**
+     * Cruza los padres sobre los lugares lugar y lugar + 1 del pool de
+     * hijos, calcula su fitness y hash y aplica la mutacion a cada uno. Solo
+     * escribe esos dos lugares, asi dos llamadas con lugares distintos pueden
+     * correr en hilos distintos. O(N)
+     */
+    private void generarHijos(int numeroCruce, int[] padre1, int fitPadre1, int[] padre2, int fitPadre2, int lugar,
+            Trabajo t) {
+        int[] hijo1 = hijos[lugar];
+        int[] hijo2 = hijos[lugar + 1];
+        cruzar(padre1, padre2, hijo1, hijo2, t); // +O(N)
+        // Fitness desde el padre del que cada hijo conserva las posiciones
+        // (en el cruce por bloques, el de afuera del bloque)
+        boolean invertido = cruce == Cruce.BLOQUE;
+        fitHijos[lugar] = invertido ? fitnessPorDiferencias(hijo1, padre2, fitPadre2)
+                : fitnessPorDiferencias(hijo1, padre1, fitPadre1); // +O(N)
+        fitHijos[lugar + 1] = invertido ? fitnessPorDiferencias(hijo2, padre1, fitPadre1)
+                : fitnessPorDiferencias(hijo2, padre2, fitPadre2); // +O(N)
+        hashHijos[lugar] = unicos.hash(hijo1); // +O(N)
+        hashHijos[lugar + 1] = unicos.hash(hijo2); // +O(N)
+        instrumentacion.asignaciones(7); // +7
+
+        // Imprimir informacion del cruce en formato requerido
+        if (verbose && t == principal) {
+            System.out.println("--- Cruce " + numeroCruce + " ---");
+            System.out.println("Padre 1: " + cromosomaToString(padre1) + " puntuacion: " + fitPadre1);
+            System.out.println("Padre 2: " + cromosomaToString(padre2) + " puntuacion: " + fitPadre2);
+            System.out.println("Hijo 1:  " + cromosomaToString(hijo1) + " puntuacion: " + fitHijos[lugar]);
+            System.out.println("Hijo 2:  " + cromosomaToString(hijo2) + " puntuacion: " + fitHijos[lugar + 1]);
+            System.out.println();
         }
 
-        int fitnessDespues = calcularFitness(mutado, n);
-        asignaciones++;
+        // Aplicar mutacion si mejora (en el lugar) - O(1)
+        aplicarMutacionConImpresion(lugar, "Hijo 1", t);
+        aplicarMutacionConImpresion(lugar + 1, "Hijo 2", t);
+    }
+    // T_generarHijos(N) = O(N)
+
+    /**
+     * Modo paralelo: genera los hijos de la generacion en tandas. Cada cruce
+     * de la tanda es una tarea con su SplittableRandom y sus dos lugares del
+     * pool; al terminar la tanda los hijos se filtran en el orden de los
+     * cruces (los aceptados pasan al principio del pool). Los cruces que
+     * faltan se repiten en otra tanda.
+     *
+     * @return Hijos generados (sin repetidos)
+     */
+    private int generarHijosEnParalelo(int[] padre1, int fitPadre1, int[] padre2, int fitPadre2,
+            int cantidadHijos) {
+        int numHijos = 0;
+        int intentosSinProgreso = 0;
+        int maxIntentosSinProgreso = cantidadHijos * 10; // igual que el modo normal
+        int numeroCruce = 0;
+
+        while (numHijos < cantidadHijos && intentosSinProgreso < maxIntentosSinProgreso) {
+            instrumentacion.comparacion();
+            if (presupuesto.revisar()) {
+                break;
+            }
+            // Cruces que faltan: sus lugares llegan a lo mas al H + 1 del pool
+            int primero = numHijos;
+            int cruces = (cantidadHijos - numHijos + 1) / 2;
+            for (int c = 0; c < cruces; c++) {
+                flujos[c] = raiz.split(); // en orden: no depende de los hilos
+            }
+            int base = numeroCruce;
+            enParalelo(cruces, c -> {
+                Trabajo t = trabajoLocal.get();
+                t.random = flujos[c];
+                generarHijos(base + c + 1, padre1, fitPadre1, padre2, fitPadre2, primero + 2 * c, t);
+            }); // +cruces * O(N), repartido entre los hilos
+            numeroCruce += cruces;
+
+            // Filtrar repetidos en el orden de los cruces - O(1) esperado c/u
+            for (int lugar = primero; lugar < primero + 2 * cruces; lugar++) {
+                instrumentacion.comparacion();
+                if (numHijos < cantidadHijos && unicos.agregar(hashHijos[lugar], hijos[lugar])) {
+                    if (lugar != numHijos) {
+                        intercambiarLugares(hijos, fitHijos, hashHijos, lugar, numHijos);
+                    }
+                    numHijos++;
+                    instrumentacion.asignacion();
+                }
+            }
+            intentosSinProgreso = numHijos == primero ? intentosSinProgreso + cruces : 0;
+        }
+        return numHijos;
+    }
+    // T_generarHijosEnParalelo(N, H, hilos) = O(H * N / hilos + H)
+
+    /**
+     * Modo paralelo: llena los lugares tam..objetivo-1 del pool con
+     * permutaciones al azar que no esten en unicos. Barajar, fitness y hash
+     * de cada individuo son una tarea con su SplittableRandom; los repetidos
+     * se filtran despues en orden.
+     *
+     * @return Nuevo tamano (menos de objetivo si se acabaron los intentos)
+     */
+    private int completarAlAzar(int[][] pool, int[] fits, long[] hashes, int tam, int objetivo,
+            int maxIntentos) {
+        int intentos = 0;
+        while (tam < objetivo && intentos < maxIntentos) {
+            instrumentacion.comparacion();
+            int primero = tam;
+            int nuevos = objetivo - tam;
+            for (int k = 0; k < nuevos; k++) {
+                flujos[k] = raiz.split();
+            }
+            enParalelo(nuevos, k -> {
+                int[] individuo = pool[primero + k];
+                barajar(individuo, flujos[k]);
+                fits[primero + k] = calcularFitness(individuo, lado);
+                hashes[primero + k] = unicos.hash(individuo);
+            }); // +nuevos * O(N), repartido entre los hilos
+            intentos += nuevos;
+
+            for (int lugar = primero; lugar < objetivo; lugar++) {
+                instrumentacion.comparacion();
+                if (unicos.agregar(hashes[lugar], pool[lugar])) {
+                    if (lugar != tam) {
+                        intercambiarLugares(pool, fits, hashes, lugar, tam);
+                    }
+                    tam++;
+                    instrumentacion.asignacion();
+                }
+            }
+        }
+        return tam;
+    }
+    // T_completarAlAzar(N, P, hilos) = O(P * N / hilos + P)
+
+    // Corre tarea(0..tareas-1) en el ForkJoinPool y espera a que terminen
+    private void enParalelo(int tareas, IntConsumer tarea) {
+        forkJoin.submit(() -> IntStream.range(0, tareas).parallel().forEach(tarea)).join();
+    }
+
+    /**
+     * Aplica mutacion al hijo del lugar dado del pool e imprime el resultado.
+     * Solo se aplica si MEJORA el fitness (segun requisito del PDF): el swap
+     * se hace en el lugar y se deshace si no mejora. Actualiza fitHijos y
+     * hashHijos del lugar.
+     */
+    private void aplicarMutacionConImpresion(int lugar, String nombre, Trabajo t) {
+        int[] individuo = hijos[lugar];
+        int fitnessAntes = fitHijos[lugar];
+        boolean imprimir = verbose && t == principal;
+        String antes = imprimir ? cromosomaToString(individuo) : null;
+
+        // Aplicar mutacion (swap de dos posiciones)
+        int idx1 = t.random.nextInt(individuo.length);
+        int idx2 = t.random.nextInt(individuo.length);
+        instrumentacion.asignaciones(2);
+
+        // El swap solo cambia las conexiones de las dos posiciones: a lo mas 8
+        // lados, O(1) en lugar de recalcular el fitness completo
+        int fitnessDespues = fitnessAntes;
+        instrumentacion.comparacion();
+        if (idx1 != idx2) {
+            fitnessDespues -= conexiones(individuo, idx1, -1) + conexiones(individuo, idx2, idx1);
+            intercambiar(individuo, idx1, idx2);
+            fitnessDespues += conexiones(individuo, idx1, -1) + conexiones(individuo, idx2, idx1);
+            instrumentacion.asignaciones(5);
+        }
 
         // Imprimir mutacion en formato requerido (solo si verbose)
-        if (verbose) {
+        if (imprimir) {
             System.out.println("--- Mutacion de " + nombre + " ---");
-            System.out.println("Individuo: " + cromosomaToString(individuo) + " puntuacion: " + fitnessAntes);
-            System.out.println("Mutacion:  " + cromosomaToString(mutado) + " puntuacion: " + fitnessDespues);
+            System.out.println("Individuo: " + antes + " puntuacion: " + fitnessAntes);
+            System.out.println("Mutacion:  " + cromosomaToString(individuo) + " puntuacion: " + fitnessDespues);
 
             // Si mejora la puntuacion, aplicar la mutacion; si no, descartar
             if (fitnessDespues > fitnessAntes) {
@@ -502,44 +1054,108 @@ public class Genetico {
             System.out.println();
         }
 
-        comparaciones++;
+        instrumentacion.comparacion();
         if (fitnessDespues > fitnessAntes) {
-            return mutado;
+            fitHijos[lugar] = fitnessDespues;
+            hashHijos[lugar] = unicos.intercambio(hashHijos[lugar], individuo, idx1, idx2); // O(1)
         } else {
-            return individuo;
+            intercambiar(individuo, idx1, idx2); // deshacer
+        }
+    }
+
+    // Lados de la posicion pos que calzan con sus vecinos (sin contar el lado
+    // con la posicion excluir, que ya conto la otra posicion del swap). O(1)
+    private int conexiones(int[] individuo, int pos, int excluir) {
+        int id = individuo[pos];
+        int fila = pos / lado;
+        int col = pos % lado;
+        int total = 0;
+        instrumentacion.comparaciones(8); // +8
+        if (col > 0 && pos - 1 != excluir && leftDe[id] == rightDe[individuo[pos - 1]]) {
+            total++;
         }
+        if (col < lado - 1 && pos + 1 != excluir && rightDe[id] == leftDe[individuo[pos + 1]]) {
+            total++;
+        }
+        if (fila > 0 && pos - lado != excluir && upDe[id] == downDe[individuo[pos - lado]]) {
+            total++;
+        }
+        if (fila < lado - 1 && pos + lado != excluir && downDe[id] == upDe[individuo[pos + lado]]) {
+            total++;
+        }
+        return total;
+    }
+
+    private static void intercambiar(int[] individuo, int i, int j) {
+        int temp = individuo[i];
+        individuo[i] = individuo[j];
+        individuo[j] = temp;
+    }
+
+    // Intercambia dos lugares de un pool (cromosoma, fitness y hash)
+    private static void intercambiarLugares(int[][] pool, int[] fits, long[] hashes, int a, int b) {
+        int[] cromosoma = pool[a];
+        pool[a] = pool[b];
+        pool[b] = cromosoma;
+        int fitness = fits[a];
+        fits[a] = fits[b];
+        fits[b] = fitness;
+        long hash = hashes[a];
+        hashes[a] = hashes[b];
+        hashes[b] = hash;
     }
 
     /**
-     * Actualiza la lista de mejores resultados encontrados
+     * Actualiza los mejores resultados encontrados con la poblacion actual.
+     * mejores[] queda ordenado de mayor a menor fitness, sin repetidos y con
+     * a lo sumo MAX_MEJORES; a igual fitness queda primero el mas antiguo.
      */
-    private void actualizarMejoresResultados(List<List<Pieza>> poblacion, int[] fitnesses) {
-        for (int i = 0; i < poblacion.size(); i++) {
-            comparaciones++;
-            mejoresResultados.add(new ResultadoIndividuo(poblacion.get(i), fitnesses[i]));
-            asignaciones++;
+    private void actualizarMejoresResultados(int tamActual) {
+        for (int i = 0; i < tamActual; i++) { // P
+            instrumentacion.comparacion();
+            insertarMejor(poblacion[i], fitPoblacion[i], hashPoblacion[i]); // +O(N)
+            instrumentacion.asignacion();
         }
+    }
 
-        // Eliminar duplicados y mantener solo los mejores 10
-        Collections.sort(mejoresResultados, (a, b) -> b.fitness - a.fitness);
-
-        Set<String> vistos = new HashSet<>();
-        List<ResultadoIndividuo> unicos = new ArrayList<>();
-        for (ResultadoIndividuo r : mejoresResultados) {
-            String clave = cromosomaToKey(r.cromosoma);
-            if (!vistos.contains(clave) && unicos.size() < 10) {
-                unicos.add(r);
-                vistos.add(clave);
+    // Inserta una copia del individuo en mejores[] (reciclando el arreglo
+    // que queda afuera). O(MAX_MEJORES + N).
+    private void insertarMejor(int[] individuo, int fitness, long hash) {
+        int pos = numMejores;
+        while (pos > 0 && fitMejores[pos - 1] < fitness) {
+            pos--;
+        }
+        if (pos >= MAX_MEJORES) {
+            return;
+        }
+        // Un repetido tiene el mismo fitness y hash y ya esta justo antes de pos
+        for (int k = pos - 1; k >= 0 && fitMejores[k] == fitness; k--) {
+            if (hashMejores[k] == hash && unicos.mismasPiezas(mejores[k], individuo)) {
+                return;
             }
         }
-        mejoresResultados = unicos;
+
+        int ultimo = Math.min(numMejores, MAX_MEJORES - 1);
+        int[] libre = mejores[ultimo];
+        for (int k = ultimo; k > pos; k--) {
+            mejores[k] = mejores[k - 1];
+            fitMejores[k] = fitMejores[k - 1];
+            hashMejores[k] = hashMejores[k - 1];
+        }
+        System.arraycopy(individuo, 0, libre, 0, individuo.length);
+        mejores[pos] = libre;
+        fitMejores[pos] = fitness;
+        hashMejores[pos] = hash;
+        if (numMejores < MAX_MEJORES) {
+            numMejores++;
+        }
     }
 
     /**
-     * Imprime los 3 mejores resultados al finalizar las 10 generaciones.
+     * Imprime los 3 mejores resultados al finalizar las generaciones.
      * Este metodo SIEMPRE imprime los resultados (requerido por el proyecto).
      * Tambien almacena el resultado formateado para el archivo.
-     * 
+     *
      * @param n               Tamano del lado del tablero
      * @param fitnessObjetivo Fitness maximo posible
      */
@@ -547,58 +1163,61 @@ public class Genetico {
         // Guardar para uso posterior
         ultimoTamano = n;
         ultimoFitnessObjetivo = fitnessObjetivo;
-        
+
         StringBuilder sb = new StringBuilder();
-        
+
         sb.append("\n");
         sb.append("=".repeat(60)).append("\n");
-        sb.append("TOP 3 MEJORES POBLACIONES (despues de 10 generaciones)\n");
+        sb.append("TOP 3 MEJORES POBLACIONES (despues de ").append(numGeneraciones).append(" generaciones)\n");
         sb.append("Tamano del tablero: ").append(n).append("x").append(n).append("\n");
         sb.append("=".repeat(60)).append("\n");
 
-        Collections.sort(mejoresResultados, (a, b) -> b.fitness - a.fitness);
-
-        for (int i = 0; i < Math.min(3, mejoresResultados.size()); i++) {
-            ResultadoIndividuo resultado = mejoresResultados.get(i);
+        // mejores[] ya esta ordenado de mayor a menor fitness
+        for (int i = 0; i < Math.min(3, numMejores); i++) {
             sb.append("\n");
             sb.append("--- LUGAR ").append(i + 1).append(" ---\n");
-            sb.append("Puntuacion:  ").append(resultado.fitness).append(" / ").append(fitnessObjetivo);
-            sb.append(" (").append(String.format("%.1f", 100.0 * resultado.fitness / fitnessObjetivo)).append("%)\n");
-            
+            sb.append("Puntuacion:  ").append(fitMejores[i]).append(" / ").append(fitnessObjetivo);
+            sb.append(" (").append(String.format("%.1f", 100.0 * fitMejores[i] / fitnessObjetivo)).append("%)\n");
+
             // Solo mostrar tablero para tamanos pequenos (evitar numeros largos)
             if (n <= 5) {
                 sb.append("Tablero:\n");
-                sb.append(tableroToString(resultado.cromosoma, n));
+                sb.append(tableroToString(mejores[i], n));
             }
         }
-        
+
         // Almacenar para el archivo
         top3Resultado = sb.toString();
-        
+
         // Imprimir a consola
-        System.out.print(top3Resultado);
+        if (imprimirResultado) {
+            System.out.print(top3Resultado);
+        }
     }
 
     /**
      * Obtiene el resultado del Top 3 formateado para escribir en archivo.
-     * 
+     *
      * @return String con el Top 3 formateado
      */
     public String getTop3Resultado() {
         return top3Resultado;
     }
 
+    // Pieza (up,right,down,left) de un id, para imprimir
+    private String piezaToString(int id) {
+        return upDe[id] + "," + rightDe[id] + "," + downDe[id] + "," + leftDe[id];
+    }
+
     /**
      * Convierte un tablero (cromosoma) a string formateado.
      */
-    private String tableroToString(List<Pieza> cromosoma, int n) {
+    private String tableroToString(int[] cromosoma, int n) {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < n; i++) {
             for (int j = 0; j < n; j++) {
                 int idx = i * n + j;
-                Pieza p = cromosoma.get(idx);
-                sb.append("[").append(p.getUp()).append(",").append(p.getRight());
-                sb.append(",").append(p.getDown()).append(",").append(p.getLeft()).append("] ");
+                sb.append("[").append(piezaToString(cromosoma[idx])).append("] ");
             }
             sb.append("\n");
         }
@@ -608,47 +1227,39 @@ public class Genetico {
     /**
      * Convierte un cromosoma a string para impresion
      */
-    private String cromosomaToString(List<Pieza> cromosoma) {
-        if (cromosoma.size() <= 9) {
+    private String cromosomaToString(int[] cromosoma) {
+        if (cromosoma.length <= 9) {
             StringBuilder sb = new StringBuilder("[");
-            for (int i = 0; i < cromosoma.size(); i++) {
+            for (int i = 0; i < cromosoma.length; i++) {
                 if (i > 0)
                     sb.append(", ");
-                Pieza p = cromosoma.get(i);
-                sb.append("(" + p.getUp() + "," + p.getRight() + "," + p.getDown() + "," + p.getLeft() + ")");
+                sb.append("(" + piezaToString(cromosoma[i]) + ")");
             }
             sb.append("]");
             return sb.toString();
         } else {
             // Para tableros grandes, mostrar solo resumen
-            return "[" + cromosoma.size() + " piezas]";
+            return "[" + cromosoma.length + " piezas]";
         }
     }
 
     /**
      * Imprime un tablero a partir de un cromosoma
      */
-    private void imprimirTableroDesdecromosoma(List<Pieza> cromosoma, int n) {
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                int idx = i * n + j;
-                Pieza p = cromosoma.get(idx);
-                System.out.print("[" + p.getUp() + "," + p.getRight() + "," + p.getDown() + "," + p.getLeft() + "] ");
-            }
-            System.out.println();
-        }
+    private void imprimirTableroDesdecromosoma(int[] cromosoma, int n) {
+        System.out.print(tableroToString(cromosoma, n));
     }
 
     /**
-     * Selecciona el indice del mejor individuo
+     * Selecciona el indice del mejor individuo (entre los primeros tam)
      */
-    private int seleccionarMejor(int[] fitnesses) {
+    private int seleccionarMejor(int[] fitnesses, int tam) {
         int mejor = 0;
-        for (int i = 1; i < fitnesses.length; i++) {
-            comparaciones++;
+        for (int i = 1; i < tam; i++) {
+            instrumentacion.comparacion();
             if (fitnesses[i] > fitnesses[mejor]) {
                 mejor = i;
-                asignaciones++;
+                instrumentacion.asignacion();
             }
         }
         return mejor;
@@ -657,15 +1268,15 @@ public class Genetico {
     /**
      * Selecciona el segundo mejor individuo (excluyendo uno)
      */
-    private int seleccionarSegundoMejor(int[] fitnesses, int excluir) {
+    private int seleccionarSegundoMejor(int[] fitnesses, int tam, int excluir) {
         int mejor = (excluir == 0) ? 1 : 0;
-        asignaciones++;
+        instrumentacion.asignacion();
 
-        for (int i = 0; i < fitnesses.length; i++) {
-            comparaciones++;
+        for (int i = 0; i < tam; i++) {
+            instrumentacion.comparacion();
             if (i != excluir && fitnesses[i] > fitnesses[mejor]) {
                 mejor = i;
-                asignaciones++;
+                instrumentacion.asignacion();
             }
         }
         return mejor;
@@ -674,81 +1285,88 @@ public class Genetico {
     /**
      * Inicializa la poblacion con permutaciones aleatorias SIN REPETIDOS.
      * Cumple con el requisito: "No puede existir poblacion repetida"
+     *
+     * @return Individuos generados (menos de tamPoblacion si no hay tantas
+     *         permutaciones distintas)
      */
-    private List<List<Pieza>> inicializarPoblacionSinRepetidos(Tablero board, int tamPoblacion) {
-        List<List<Pieza>> poblacion = new ArrayList<>();
-        Set<String> usados = new HashSet<>();
-        asignaciones += 2; // +2
+    private int inicializarPoblacionSinRepetidos(int tamPoblacion) {
+        int tam = 0;
+        unicos.limpiar();
+        instrumentacion.asignaciones(2); // +2
+        if (paralelo) {
+            return completarAlAzar(poblacion, fitPoblacion, hashPoblacion, 0, tamPoblacion, tamPoblacion * 100);
+        }
 
         int intentos = 0;
         int maxIntentos = tamPoblacion * 100;
 
-        while (poblacion.size() < tamPoblacion && intentos < maxIntentos) { // P iteraciones (en promedio)
-            comparaciones++; // +P
+        while (tam < tamPoblacion && intentos < maxIntentos) { // P iteraciones (en promedio)
+            instrumentacion.comparacion(); // +P
             intentos++;
 
-            List<Pieza> individuo = new ArrayList<>(board.listaPiezas); // +P (copia de N elementos = O(N))
-            Collections.shuffle(individuo, random); // +P * O(N) para shuffle
-            asignaciones++; // +P
-
-            String clave = cromosomaToKey(individuo); // +P * O(N) para generar clave
-            comparaciones++; // +P
-            if (!usados.contains(clave)) { // O(1) amortizado para HashSet
-                poblacion.add(individuo);
-                usados.add(clave);
-                asignaciones += 2; // +2P (peor caso)
+            int[] individuo = poblacion[tam]; // lugar libre del pool
+            barajar(individuo, random); // +P * O(N) para shuffle
+            instrumentacion.asignacion(); // +P
+
+            long hash = unicos.hash(individuo); // +P * O(N) para el hash
+            instrumentacion.comparacion(); // +P
+            if (unicos.agregar(hash, individuo)) { // O(1) esperado
+                fitPoblacion[tam] = calcularFitness(individuo, lado); // +P * O(N)
+                hashPoblacion[tam] = hash;
+                tam++;
+                instrumentacion.asignaciones(2); // +2P (peor caso)
             }
         }
 
-        return poblacion;
+        return tam;
     }
-    // Suma inicializarPoblacionSinRepetidos: 2 + P + P*N + P*N + P + P*N + P + 2P =
-    // 3*P*N + 6P + 2
+    // Suma inicializarPoblacionSinRepetidos: 2 + P + P*N + P*N + P + P*N + P*N + P + 2P =
+    // 4*P*N + 6P + 2
     // T_inicializarPoblacion(P, N) = O(P * N)
 
     /**
-     * Calcula el fitness de un individuo (permutacion de piezas).
-     * 
+     * Calcula el fitness de un individuo (permutacion de ids de pieza).
+     *
      * FUNCION DE APTITUD: Cuenta los lados que calzan entre piezas adyacentes.
      * - Conexion horizontal valida: pieza.right == vecino.left
      * - Conexion vertical valida: pieza.down == vecino.up
-     * 
+     *
+     * Los lados salen de los arreglos planos rightDe/leftDe/downDe/upDe.
+     *
      * @return Numero de conexiones validas (0 a 2*n*(n-1))
      */
-    private int calcularFitness(List<Pieza> individuo, int n) {
+    private int calcularFitness(int[] individuo, int n) {
         int fitness = 0;
-        asignaciones++; // +1
+        instrumentacion.asignacion(); // +1
 
         for (int i = 0; i < n; i++) { // sqrt(N) iteraciones
-            comparaciones++; // +sqrt(N)
+            instrumentacion.comparacion(); // +sqrt(N)
             for (int j = 0; j < n; j++) { // sqrt(N) iteraciones -> N total
-                comparaciones++; // +N
+                instrumentacion.comparacion(); // +N
 
                 int idx = i * n + j;
-                Pieza actual = individuo.get(idx);
-                asignaciones += 2; // +2N
+                int actual = individuo[idx];
+                instrumentacion.asignaciones(2); // +2N
 
                 // Verificar conexion con pieza de la derecha (lados que calzan)
-                comparaciones++; // +N
+                instrumentacion.comparacion(); // +N
                 if (j < n - 1) {
-                    Pieza derecha = individuo.get(idx + 1);
-                    asignaciones++; // +N (peor caso)
-                    comparaciones++; // +N
-                    if (actual.getRight() == derecha.getLeft()) {
+                    instrumentacion.asignacion(); // +N (peor caso)
+                    instrumentacion.comparacion(); // +N
+                    if (rightDe[actual] == leftDe[individuo[idx + 1]]) {
                         fitness++;
-                        asignaciones++; // +N (peor caso)
+                        instrumentacion.asignacion(); // +N (peor caso)
                     }
                 }
 
                 // Verificar conexion con pieza de abajo (lados que calzan)
-                comparaciones++; // +N
+                instrumentacion.comparacion(); // +N
                 if (i < n - 1) {
-                    Pieza abajo = individuo.get(idx + n);
-                    asignaciones++; // +N (peor caso)
-                    comparaciones++; // +N
-                    if (actual.getDown() == abajo.getUp()) {
+                    instrumentacion.asignacion(); // +N (peor caso)
+                    instrumentacion.comparacion(); // +N
+                    if (downDe[actual] == upDe[individuo[idx + n]]) {
                         fitness++;
-                        asignaciones++; // +N (peor caso)
+                        instrumentacion.asignacion(); // +N (peor caso)
                     }
                 }
             }
@@ -760,124 +1378,328 @@ public class Genetico {
     // + sqrt(N) + 1
     // T_calcularFitness(N) = O(N)
 
+    /**
+     * Fitness de un hijo a partir del de un padre: solo se revisan los lados
+     * de las posiciones donde el hijo tiene otra pieza que el padre (se resta
+     * lo que calzaba en el padre y se suma lo que calza en el hijo). Cada
+     * lado se cuenta una vez: el de la izquierda y el de arriba solo si ese
+     * vecino no cambio (si cambio, ya lo conto el como derecha o abajo).
+     *
+     * @return Lo mismo que calcularFitness(hijo, n)
+     */
+    private int fitnessPorDiferencias(int[] hijo, int[] padre, int fitPadre) {
+        int fitness = fitPadre;
+        for (int pos = 0; pos < hijo.length; pos++) { // N
+            instrumentacion.comparacion(); // +N
+            if (hijo[pos] == padre[pos]) {
+                continue;
+            }
+            int fila = pos / lado;
+            int col = pos % lado;
+            instrumentacion.comparaciones(4); // +4d (d = genes distintos)
+            if (col < lado - 1) {
+                fitness += calzaDerecha(hijo, pos) - calzaDerecha(padre, pos);
+            }
+            if (fila < lado - 1) {
+                fitness += calzaAbajo(hijo, pos) - calzaAbajo(padre, pos);
+            }
+            if (col > 0 && hijo[pos - 1] == padre[pos - 1]) {
+                fitness += calzaDerecha(hijo, pos - 1) - calzaDerecha(padre, pos - 1);
+            }
+            if (fila > 0 && hijo[pos - lado] == padre[pos - lado]) {
+                fitness += calzaAbajo(hijo, pos - lado) - calzaAbajo(padre, pos - lado);
+            }
+        }
+        return fitness;
+    }
+    // T_fitnessPorDiferencias(N) = N + 4d = O(N), pero solo los d genes
+    // distintos miran vecinos (los hijos se parecen mucho a sus padres)
+
+    // 1 si el lado derecho de pos calza con su vecino, 0 si no
+    private int calzaDerecha(int[] individuo, int pos) {
+        instrumentacion.comparacion();
+        return rightDe[individuo[pos]] == leftDe[individuo[pos + 1]] ? 1 : 0;
+    }
+
+    // 1 si el lado de abajo de pos calza con su vecino, 0 si no
+    private int calzaAbajo(int[] individuo, int pos) {
+        instrumentacion.comparacion();
+        return downDe[individuo[pos]] == upDe[individuo[pos + lado]] ? 1 : 0;
+    }
+
+    /**
+     * Cruza dos padres con el operador configurado y escribe los hijos en
+     * hijo1 e hijo2 (lugares del pool). O(N) para todos los operadores.
+     */
+    private void cruzar(int[] padre1, int[] padre2, int[] hijo1, int[] hijo2, Trabajo t) {
+        switch (cruce) {
+            case OX:
+                cruceOX(padre1, padre2, hijo1, hijo2, t);
+                break;
+            case CICLO:
+                cruceCiclo(padre1, padre2, hijo1, hijo2, t);
+                break;
+            case BLOQUE:
+                cruceBloque(padre1, padre2, hijo1, hijo2, t);
+                break;
+            default:
+                crucePMX(padre1, padre2, hijo1, hijo2, t);
+        }
+    }
+
     /**
      * Cruce PMX (Partially Mapped Crossover) para permutaciones.
      * 
      * GARANTIZA que no se repiten ni omiten piezas en los hijos.
-     * Este cruce es especifico para problemas de permutacion.
+     * Este cruce es especifico para problemas de permutacion. Los hijos se
+     * escriben en hijo1 e hijo2 (lugares del pool).
      */
-    private List<List<Pieza>> crucePMX(List<Pieza> padre1, List<Pieza> padre2) {
-        int n = padre1.size();
-        asignaciones++; // +1
+    private void crucePMX(int[] padre1, int[] padre2, int[] hijo1, int[] hijo2, Trabajo t) {
+        int n = padre1.length;
+        instrumentacion.asignacion(); // +1
 
         // Seleccionar dos puntos de corte
-        int punto1 = random.nextInt(n);
-        int punto2 = random.nextInt(n);
-        asignaciones += 2; // +2
+        int punto1 = t.random.nextInt(n);
+        int punto2 = t.random.nextInt(n);
+        instrumentacion.asignaciones(2); // +2
 
-        comparaciones++; // +1
+        instrumentacion.comparacion(); // +1
         if (punto1 > punto2) {
             int temp = punto1;
             punto1 = punto2;
             punto2 = temp;
-            asignaciones += 3; // +3 (peor caso)
+            instrumentacion.asignaciones(3); // +3 (peor caso)
         }
 
-        List<Pieza> hijo1 = crearHijoPMX(padre1, padre2, punto1, punto2); // +O(N^2)
-        List<Pieza> hijo2 = crearHijoPMX(padre2, padre1, punto1, punto2); // +O(N^2)
-        asignaciones += 2; // +2
-
-        List<List<Pieza>> hijos = new ArrayList<>();
-        hijos.add(hijo1);
-        hijos.add(hijo2);
-        asignaciones++; // +1
-
-        return hijos;
+        crearHijoPMX(padre1, padre2, punto1, punto2, hijo1, t); // +O(N)
+        crearHijoPMX(padre2, padre1, punto1, punto2, hijo2, t); // +O(N)
+        instrumentacion.asignaciones(2); // +2
     }
-    // Suma crucePMX: 1 + 2 + 1 + 3 + 2*O(N^2) + 2 + 1 = 2*O(N^2) + 10
-    // T_crucePMX(N) = O(N^2)
+    // Suma crucePMX: 1 + 2 + 1 + 3 + 2*O(N) + 2 = 2*O(N) + 9
+    // T_crucePMX(N) = O(N)
 
     /**
      * Crea un hijo usando el cruce PMX.
      * Copia un segmento del padre1 y rellena el resto con piezas del padre2
-     * en orden, asegurando que no se repitan.
+     * en orden, asegurando que no se repitan. La posicion de cada pieza en
+     * el padre2 sale de un indice (posicion[]) en lugar de buscarla.
      */
-    private List<Pieza> crearHijoPMX(List<Pieza> padre1, List<Pieza> padre2, int punto1, int punto2) {
-        int n = padre1.size();
-        Pieza[] hijo = new Pieza[n];
-        boolean[] usado = new boolean[n];
-        asignaciones += 3; // +3
+    private void crearHijoPMX(int[] padre1, int[] padre2, int punto1, int punto2, int[] hijo, Trabajo t) {
+        int n = padre1.length;
+        boolean[] usado = t.marcas; // usado[j]: la pieza padre2[j] ya esta en el hijo
+        Arrays.fill(usado, false);
+        instrumentacion.asignaciones(3); // +3
+
+        // Indice de posiciones del padre2 - O(N)
+        for (int j = 0; j < n; j++) { // N iteraciones
+            t.posicion[padre2[j]] = j;
+        }
+        instrumentacion.asignaciones(n); // +N
 
         // Copiar segmento del padre1 (k = punto2 - punto1 + 1 elementos)
         for (int i = punto1; i <= punto2; i++) { // k iteraciones
-            comparaciones++; // +k
-            hijo[i] = padre1.get(i);
-            asignaciones++; // +k
-            // Marcar la pieza como usada - busqueda lineal O(N)
-            for (int j = 0; j < n; j++) { // N iteraciones por cada k -> k*N total
-                comparaciones++; // +k*N
-                if (padre2.get(j) == hijo[i]) {
-                    usado[j] = true;
-                    asignaciones++; // +k (peor caso)
-                    break;
-                }
-            }
+            instrumentacion.comparacion(); // +k
+            hijo[i] = padre1[i];
+            usado[t.posicion[hijo[i]]] = true; // O(1) con el indice
+            instrumentacion.asignaciones(2); // +2k
         }
 
         // Llenar el resto con piezas del padre2 en orden (sin repetir)
         int idxPadre2 = 0;
-        asignaciones++; // +1
+        instrumentacion.asignacion(); // +1
         for (int i = 0; i < n; i++) { // N iteraciones
-            comparaciones++; // +N
-            comparaciones++; // +N
+            instrumentacion.comparacion(); // +N
+            instrumentacion.comparacion(); // +N
             if (i >= punto1 && i <= punto2) {
                 continue; // Ya fue llenado desde padre1
             }
 
             // Buscar siguiente pieza no usada del padre2
             while (usado[idxPadre2]) { // O(N) en total para todo el for
-                comparaciones++; // +N (amortizado)
+                instrumentacion.comparacion(); // +N (amortizado)
                 idxPadre2++;
-                asignaciones++; // +N (amortizado)
+                instrumentacion.asignacion(); // +N (amortizado)
             }
-            comparaciones++; // +N
+            instrumentacion.comparacion(); // +N
 
-            hijo[i] = padre2.get(idxPadre2);
+            hijo[i] = padre2[idxPadre2];
             usado[idxPadre2] = true;
             idxPadre2++;
-            asignaciones += 3; // +3*(N-k)
+            instrumentacion.asignaciones(3); // +3*(N-k)
+        }
+    }
+    // Suma crearHijoPMX: 3 + N + N + k + 2k + 1 + N + N + N + N + N + 3*(N-k)
+    // = 10N + 4
+    // T_crearHijoPMX(N) = O(N)
+
+    /**
+     * Cruce OX (Order Crossover): copia un segmento del padre 1 y llena las
+     * demas posiciones, empezando despues del segmento y dando la vuelta,
+     * con las piezas del padre 2 en su orden desde ese mismo punto.
+     */
+    private void cruceOX(int[] padre1, int[] padre2, int[] hijo1, int[] hijo2, Trabajo t) {
+        int n = padre1.length;
+        int punto1 = t.random.nextInt(n);
+        int punto2 = t.random.nextInt(n);
+        instrumentacion.asignaciones(2); // +2
+        instrumentacion.comparacion(); // +1
+        if (punto1 > punto2) {
+            int temp = punto1;
+            punto1 = punto2;
+            punto2 = temp;
+            instrumentacion.asignaciones(3); // +3 (peor caso)
         }
 
-        // Convertir array a lista
-        List<Pieza> resultado = new ArrayList<>();
-        asignaciones++; // +1
-        for (Pieza p : hijo) { // N iteraciones
-            resultado.add(p);
-            asignaciones++; // +N
+        crearHijoOX(padre1, padre2, punto1, punto2, hijo1, t); // +O(N)
+        crearHijoOX(padre2, padre1, punto1, punto2, hijo2, t); // +O(N)
+    }
+    // T_cruceOX(N) = O(N)
+
+    private void crearHijoOX(int[] padre1, int[] padre2, int punto1, int punto2, int[] hijo, Trabajo t) {
+        int n = padre1.length;
+        boolean[] usado = t.marcas; // usado[id]: la pieza id ya esta en el hijo
+        Arrays.fill(usado, false);
+
+        // Copiar segmento del padre1 (k elementos)
+        for (int i = punto1; i <= punto2; i++) { // k
+            hijo[i] = padre1[i];
+            usado[hijo[i]] = true;
         }
+        instrumentacion.asignaciones(2L * (punto2 - punto1 + 1)); // +2k
+
+        // Piezas del padre2 desde despues del segmento, dando la vuelta
+        int destino = (punto2 + 1) % n;
+        for (int k = 1; k <= n; k++) { // N
+            int gen = padre2[(punto2 + k) % n];
+            instrumentacion.comparacion(); // +N
+            if (!usado[gen]) {
+                hijo[destino] = gen;
+                destino = (destino + 1) % n;
+                instrumentacion.asignaciones(2); // +2(N-k)
+            }
+        }
+    }
+    // T_crearHijoOX(N) = N + 2k + N + 2(N-k) = 4N = O(N)
 
-        return resultado;
+    /**
+     * Cruce de ciclos (CX): las posiciones se parten en ciclos (la pieza del
+     * padre 2 en una posicion esta en el padre 1 en la siguiente del ciclo) y
+     * cada ciclo se copia entero de un padre, asi cada pieza queda en una
+     * posicion que tenia en alguno de los padres. En el CX clasico los ciclos
+     * se alternan; aqui cada ciclo elige padre al azar, porque la seleccion
+     * cruza casi siempre los mismos dos padres y alternar daria siempre los
+     * mismos hijos.
+     */
+    private void cruceCiclo(int[] padre1, int[] padre2, int[] hijo1, int[] hijo2, Trabajo t) {
+        int n = padre1.length;
+        boolean[] visitada = t.marcas; // visitada[i]: la posicion i ya esta en un ciclo
+        Arrays.fill(visitada, false);
+        for (int j = 0; j < n; j++) { // N
+            t.posicion[padre1[j]] = j;
+        }
+        instrumentacion.asignaciones(2L * n); // +2N
+
+        for (int inicio = 0; inicio < n; inicio++) { // N
+            instrumentacion.comparacion(); // +N
+            if (visitada[inicio]) {
+                continue;
+            }
+            boolean delPadre1 = t.random.nextBoolean();
+            int i = inicio;
+            do { // N en total (cada posicion esta en un solo ciclo)
+                visitada[i] = true;
+                hijo1[i] = delPadre1 ? padre1[i] : padre2[i];
+                hijo2[i] = delPadre1 ? padre2[i] : padre1[i];
+                i = t.posicion[padre2[i]];
+                instrumentacion.asignaciones(4); // +4N
+                instrumentacion.comparacion(); // +N
+            } while (i != inicio);
+        }
     }
-    // Suma crearHijoPMX: 3 + k + k + k*N + k + 1 + N + N + N + N + 3*(N-k) + 1 + N
-    // = k*N + 8N + 3k + 5
-    // Peor caso k = N: N^2 + 8N + 3N + 5 = N^2 + 11N + 5
-    // T_crearHijoPMX(N) = O(N^2)
+    // T_cruceCiclo(N) = 2N + N + 4N + N = 8N = O(N)
 
     /**
-     * Aplica una solucion (permutacion de piezas) al tablero
+     * Cruce por bloques (PMX en 2D): elige un rectangulo del tablero; el
+     * hijo 1 tiene ahi las piezas del padre 1 y en el resto, en lo posible,
+     * las del padre 2 en la misma posicion. Si la pieza del padre 2 ya esta
+     * en el rectangulo se sigue el mapeo del PMX (la pieza que el padre 2
+     * tiene donde el padre 1 tiene esa) hasta una libre. El hijo 2 es el
+     * simetrico. Conserva intactas las regiones de ambos padres.
      */
-    private void aplicarSolucion(Tablero board, List<Pieza> solucion) {
-        int n = board.size;
-        asignaciones++;
+    private void cruceBloque(int[] padre1, int[] padre2, int[] hijo1, int[] hijo2, Trabajo t) {
+        int fila1 = t.random.nextInt(lado);
+        int fila2 = t.random.nextInt(lado);
+        int col1 = t.random.nextInt(lado);
+        int col2 = t.random.nextInt(lado);
+        instrumentacion.asignaciones(4); // +4
+        instrumentacion.comparaciones(2); // +2
+        if (fila1 > fila2) {
+            int temp = fila1;
+            fila1 = fila2;
+            fila2 = temp;
+        }
+        if (col1 > col2) {
+            int temp = col1;
+            col1 = col2;
+            col2 = temp;
+        }
 
-        for (int i = 0; i < n; i++) {
-            comparaciones++;
-            for (int j = 0; j < n; j++) {
-                comparaciones++;
-                int idx = i * n + j;
-                board.setPieza(i, j, solucion.get(idx));
-                asignaciones += 2;
+        crearHijoBloque(padre1, padre2, fila1, fila2, col1, col2, hijo1, t); // +O(N)
+        crearHijoBloque(padre2, padre1, fila1, fila2, col1, col2, hijo2, t); // +O(N)
+    }
+    // T_cruceBloque(N) = O(N)
+
+    private void crearHijoBloque(int[] dentro, int[] fuera, int fila1, int fila2, int col1, int col2,
+            int[] hijo, Trabajo t) {
+        int n = dentro.length;
+        for (int j = 0; j < n; j++) { // N
+            t.posicion[dentro[j]] = j;
+        }
+        instrumentacion.asignaciones(n); // +N
+
+        for (int i = 0; i < n; i++) { // N
+            instrumentacion.comparacion(); // +N
+            if (enBloque(i, fila1, fila2, col1, col2)) {
+                hijo[i] = dentro[i];
+                instrumentacion.asignacion(); // +k
+                continue;
             }
+            // Seguir el mapeo mientras la pieza ya este en el rectangulo. Las
+            // cadenas no comparten posiciones: O(k) en total para todo el for
+            int gen = fuera[i];
+            int k = t.posicion[gen];
+            while (enBloque(k, fila1, fila2, col1, col2)) {
+                gen = fuera[k];
+                k = t.posicion[gen];
+                instrumentacion.comparacion(); // +k (amortizado)
+                instrumentacion.asignaciones(2); // +2k (amortizado)
+            }
+            hijo[i] = gen;
+            instrumentacion.asignaciones(3); // +3(N-k)
+        }
+    }
+    // T_crearHijoBloque(N) = N + N + k + 3k + 3(N-k) = 5N + k = O(N)
+
+    // true si la posicion raster esta dentro del rectangulo
+    private boolean enBloque(int posicion, int fila1, int fila2, int col1, int col2) {
+        int fila = posicion / lado;
+        int col = posicion % lado;
+        return fila >= fila1 && fila <= fila2 && col >= col1 && col <= col2;
+    }
+
+    /**
+     * Aplica una solucion (permutacion de ids) al tablero con los objetos
+     * Pieza de listaPiezas (setPieza tambien actualiza celdas[] si el
+     * tablero esta en modo primitivo).
+     */
+    private void aplicarSolucion(Tablero board, int[] solucion) {
+        int n = board.size;
+        instrumentacion.asignacion();
+
+        for (int idx = 0; idx < n * n; idx++) {
+            instrumentacion.comparacion();
+            board.setPieza(idx / n, idx % n, board.listaPiezas.get(solucion[idx]));
+            instrumentacion.asignaciones(2);
         }
     }
 }
@@ -890,29 +1712,38 @@ public class Genetico {
  * 
  * COMPLEJIDAD DE METODOS CLAVE:
  * - calcularFitness(individuo, n): O(N)
- * Recorre todas las N piezas verificando conexiones con vecinos.
+ * Recorre todas las N piezas verificando conexiones con vecinos. Solo se
+ * usa al crear individuos al azar.
+ * 
+ * - fitnessPorDiferencias(hijo, padre, fitPadre): O(N)
+ * Solo los genes distintos al padre miran vecinos; la mutacion (un swap)
+ * cambia a lo mas 8 lados y se evalua en O(1).
+ * 
+ * - crearHijoPMX(padre1, padre2, punto1, punto2, hijo): O(N)
+ * Un indice de posiciones del padre2 reemplaza la busqueda lineal de cada
+ * pieza copiada (antes O(k * N)).
  * 
- * - crearHijoPMX(padre1, padre2, punto1, punto2): O(N^2)
- * El bucle anidado para marcar piezas usadas causa O(k * N) donde k puede ser
- * N.
+ * - cruzar(padre1, padre2, hijo1, hijo2): O(N)
+ * PMX, OX, ciclos y bloques recorren cada padre un numero fijo de veces.
  * 
- * - crucePMX(padre1, padre2): O(N^2)
- * Llama a crearHijoPMX dos veces: 2 * O(N^2) = O(N^2).
+ * - generarHijosEnParalelo(...): O(H * N / hilos + H)
+ * Los H/2 cruces de una tanda se reparten entre los hilos; el filtro de
+ * repetidos es secuencial pero O(1) esperado por hijo.
  * 
  * - inicializarPoblacionSinRepetidos(board, tamPoblacion): O(P * N)
  * Crea P individuos, cada uno requiere shuffle O(N) y clave O(N).
  * 
- * - solve(board): O(G * H * N^2)
- * Por cada generacion G:
- * - Evaluar P individuos: O(P * N)
- * - Generar H hijos con cruces PMX: O(H * N^2)
- * - Calcular fitness de H hijos: O(H * N)
+ * - solve(board): O(G * (P+H) * N)
+ * Por cada generacion G (el fitness viaja con cada individuo, no se
+ * vuelve a evaluar la poblacion):
+ * - Generar H hijos con cruces: O(H * N)
+ * - Fitness de H hijos por diferencias: O(H * N)
  * - Ordenar P+H individuos: O((P+H) * log(P+H))
- * - Seleccion con claves: O((P+H) * N)
- * Total por generacion: O(H * N^2) domina.
+ * - Seleccion sin repetidos (hash): O(P+H), mas O(P * N) de copiar
+ * Total por generacion: O((P+H) * N).
  * 
- * T(N, P, H, G) = O(P * N) + G * [O(P * N) + O(H * N^2) + O((P+H) * log(P+H))]
- * = O(G * H * N^2)
+ * T(N, P, H, G) = O(P * N) + G * [O(P * N) + O(H * N) + O((P+H) * log(P+H))]
+ * = O(G * (P+H) * N)
  * 
  * Como G = 10 (constante), y P, H son constantes pequenias determinadas por n:
  * - Para n <= 3: P = 3, H = 6
@@ -923,14 +1754,14 @@ public class Genetico {
  * 
  * Dado que G, P y H son constantes relativas a N:
  * 
- * T(N) = c * N^2 donde c = G * H (constante)
+ * T(N) = c * N donde c = G * (P+H) (constante)
  * 
- * Complejidad Final Big O: O(N^2)
- * En terminos del lado n del tablero: O(n^4) ya que N = n^2
+ * Complejidad Final Big O: O(N)
+ * En terminos del lado n del tablero: O(n^2) ya que N = n^2
  * 
  * COMPARACION CON FUERZA BRUTA:
  * - Fuerza Bruta: O(N * N!) - factorial, intratable para N > 10
- * - Genetico: O(N^2) - polinomial, escalable para N grandes
+ * - Genetico: O(N) - lineal, escalable para N grandes
  * 
  * El algoritmo genetico sacrifica garantia de optimalidad por eficiencia,
  * encontrando soluciones aproximadas en tiempo polinomial.
@@ -0,0 +1,344 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Algoritmo Genetico en modo islas: varias poblaciones independientes, cada
+ * una un Genetico en su propio hilo sobre una copia del mismo tablero.
+ *
+ * Una sola poblacion de 30 converge rapido porque siempre cruza a sus dos
+ * mejores. Con islas cada poblacion explora por su lado y cada intervalo
+ * generaciones manda copias de sus mejores individuos a sus vecinas segun
+ * la topologia (anillo: a la siguiente; completa: a todas). Cada isla tiene
+ * una cola de llegada ConcurrentLinkedQueue (sin locks): quien manda agrega
+ * y no espera, y la isla vacia su cola en su propia migracion. Un
+ * inmigrante reemplaza al peor individuo si es mejor y no esta repetido.
+ *
+ * Las islas no se esperan entre si (migracion asincrona), asi que con la
+ * misma semilla el resultado puede variar segun el orden en que llegan los
+ * migrantes. La primera isla que llega al fitness objetivo detiene a las
+ * demas.
+ *
+ * Se guarda el mejor fitness de cada isla despues de cada generacion y el
+ * mejor global en el tiempo (el maximo entre todas las islas hasta cada
+ * instante).
+ */
+public class GeneticoIslas {
+
+    /** A quien manda migrantes cada isla */
+    public enum Topologia {
+        /** A la isla siguiente (la ultima a la primera) */
+        ANILLO,
+        /** A todas las demas islas */
+        COMPLETA
+    }
+
+    private final int islas;
+    private final int generaciones;
+    private final int intervalo;
+    private final int migrantes;
+    private final Topologia topologia;
+    private final long semilla;
+    private final Instrumentacion instrumentacion; // suma de todas las islas
+    private Genetico.Cruce cruce = Genetico.Cruce.PMX;
+
+    // Estado compartido entre hilos
+    private List<ConcurrentLinkedQueue<Migrante>> llegadas; // cola de cada isla
+    private final AtomicLong enviados = new AtomicLong();
+    private final AtomicLong aceptados = new AtomicLong();
+    private Presupuesto busqueda; // se cancela con la primera solucion
+
+    // Resultados
+    private Genetico[] poblaciones;
+    private long[] desfaseNanos; // inicio de cada isla desde el inicio de resolver
+    private int mejorIsla;
+    private int[] mejorGlobal = new int[0];
+    private long[] nanosGlobal = new long[0];
+    private double tiempoMs;
+
+    // Individuo en viaje entre islas (copia propia, nadie mas lo modifica)
+    private static final class Migrante {
+        final int[] cromosoma;
+        final int fitness;
+
+        Migrante(int[] cromosoma, int fitness) {
+            this.cromosoma = cromosoma;
+            this.fitness = fitness;
+        }
+    }
+
+    /**
+     * @param islas           Poblaciones (una por hilo)
+     * @param generaciones    Generaciones de cada isla
+     * @param intervalo       Generaciones entre migraciones
+     * @param migrantes       Mejores individuos que manda cada isla a cada vecina
+     * @param topologia       A quien manda cada isla
+     * @param semilla         Semilla de los generadores de cada isla
+     * @param instrumentacion Comparaciones y asignaciones de todas las islas
+     */
+    public GeneticoIslas(int islas, int generaciones, int intervalo, int migrantes, Topologia topologia,
+            long semilla, Instrumentacion instrumentacion) {
+        this.islas = Math.max(1, islas);
+        this.generaciones = Math.max(1, generaciones);
+        this.intervalo = Math.max(1, intervalo);
+        this.migrantes = Math.max(0, migrantes);
+        this.topologia = topologia;
+        this.semilla = semilla;
+        this.instrumentacion = instrumentacion;
+    }
+
+    /** Operador de cruce de todas las islas (PMX por defecto) */
+    public void setCruce(Genetico.Cruce cruce) {
+        this.cruce = cruce;
+    }
+
+    /**
+     * Corre todas las islas hasta terminar sus generaciones, llegar al
+     * objetivo o agotar el presupuesto, y deja en el tablero la mejor
+     * solucion entre todas las islas.
+     *
+     * @return true si alguna isla armo el tablero completo
+     */
+    public boolean resolver(Tablero board, Presupuesto presupuesto) {
+        this.busqueda = presupuesto.derivar();
+        board.asegurarListaPiezas();
+        llegadas = new ArrayList<>(islas);
+        poblaciones = new Genetico[islas];
+        desfaseNanos = new long[islas];
+        Tablero[] tableros = new Tablero[islas];
+        enviados.set(0);
+        aceptados.set(0);
+        instrumentacion.reiniciar();
+
+        // Cada isla con su generador (derivados en orden de la semilla) y su
+        // instrumentacion (Genetico la reinicia al empezar)
+        SplittableRandom raiz = new SplittableRandom(semilla);
+        for (int i = 0; i < islas; i++) {
+            llegadas.add(new ConcurrentLinkedQueue<>());
+            tableros[i] = board.copiar(); // mismas piezas en el mismo orden
+            Genetico genetico = new Genetico(false,
+                    instrumentacion == Instrumentacion.NULA ? Instrumentacion.NULA : new InstrumentacionContador());
+            genetico.setCruce(cruce);
+            genetico.setSemilla(raiz.nextLong());
+            genetico.setGeneraciones(generaciones);
+            genetico.setImprimirResultado(false);
+            int isla = i;
+            genetico.setMigracion((gen, g) -> migrar(isla, gen, g));
+            poblaciones[i] = genetico;
+        }
+
+        long inicio = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(islas, r -> {
+            Thread hilo = new Thread(r, "isla");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        List<Callable<Boolean>> tareas = new ArrayList<>();
+        for (int i = 0; i < islas; i++) {
+            int isla = i;
+            tareas.add(() -> {
+                desfaseNanos[isla] = System.nanoTime() - inicio;
+                boolean resuelto = poblaciones[isla].solve(tableros[isla], busqueda.derivar());
+                if (resuelto) {
+                    busqueda.cancelar(); // detener a las demas islas
+                }
+                return resuelto;
+            });
+        }
+        try {
+            for (Future<Boolean> futuro : executor.invokeAll(tareas)) {
+                futuro.get();
+            }
+        } catch (InterruptedException e) {
+            busqueda.cancelar();
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fallo una isla del Genetico", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        tiempoMs = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        // La mejor isla deja su tablero; sus contadores van a la instrumentacion
+        mejorIsla = 0;
+        for (int i = 0; i < islas; i++) {
+            if (poblaciones[i].getFitnessFinal() > poblaciones[mejorIsla].getFitnessFinal()) {
+                mejorIsla = i;
+            }
+            instrumentacion.comparaciones(poblaciones[i].getComparaciones());
+            instrumentacion.asignaciones(poblaciones[i].getAsignaciones());
+        }
+        armarHistorialGlobal();
+        // Las copias comparten los objetos Pieza con el tablero original
+        for (int i = 0; i < board.size; i++) {
+            for (int j = 0; j < board.size; j++) {
+                board.setPieza(i, j, tableros[mejorIsla].getPieza(i, j));
+            }
+        }
+        return board.checkTablero();
+    }
+
+    // Migracion de una isla al final de una generacion (en el hilo de la isla):
+    // manda copias de sus mejores a sus vecinas y recibe lo que le llego
+    private void migrar(int isla, int generacion, Genetico genetico) {
+        if (generacion % intervalo != 0 || islas == 1) {
+            return;
+        }
+        for (int indice : genetico.indicesMejores(migrantes)) {
+            // Una copia por migrante: los destinos solo la leen
+            Migrante migrante = new Migrante(genetico.copiarIndividuo(indice), genetico.getFitnessIndividuo(indice));
+            if (topologia == Topologia.ANILLO) {
+                enviar((isla + 1) % islas, migrante);
+            } else {
+                for (int destino = 0; destino < islas; destino++) {
+                    if (destino != isla) {
+                        enviar(destino, migrante);
+                    }
+                }
+            }
+        }
+
+        Migrante migrante;
+        while ((migrante = llegadas.get(isla).poll()) != null) {
+            if (genetico.recibirInmigrante(migrante.cromosoma, migrante.fitness)) {
+                aceptados.incrementAndGet();
+            }
+        }
+    }
+
+    private void enviar(int destino, Migrante migrante) {
+        llegadas.get(destino).offer(migrante);
+        enviados.incrementAndGet();
+    }
+
+    // ========== RESULTADOS DE LA ULTIMA CORRIDA ==========
+
+    /** Mejor fitness de la isla al empezar y despues de cada generacion */
+    public int[] getMejorPorGeneracion(int isla) {
+        return poblaciones[isla].getMejorPorGeneracion();
+    }
+
+    /**
+     * Nanosegundos desde el inicio de resolver hasta cada punto de
+     * getMejorPorGeneracion(isla)
+     */
+    public long[] getNanosPorGeneracion(int isla) {
+        long[] nanos = poblaciones[isla].getNanosPorGeneracion();
+        for (int k = 0; k < nanos.length; k++) {
+            nanos[k] += desfaseNanos[isla];
+        }
+        return nanos;
+    }
+
+    /**
+     * Mejor fitness global en el tiempo: un punto cada vez que alguna isla
+     * supero al mejor de todas hasta ese momento (ver getNanosGlobal)
+     */
+    public int[] getMejorGlobal() {
+        return mejorGlobal.clone();
+    }
+
+    /** Nanosegundos desde el inicio de resolver de cada punto de getMejorGlobal */
+    public long[] getNanosGlobal() {
+        return nanosGlobal.clone();
+    }
+
+    // Une los historiales de todas las islas en orden de tiempo y se queda con
+    // los puntos que mejoran el maximo. O(I*G * log(I*G))
+    private void armarHistorialGlobal() {
+        List<long[]> puntos = new ArrayList<>(); // {nanos, fitness}
+        for (int i = 0; i < islas; i++) {
+            int[] mejores = getMejorPorGeneracion(i);
+            long[] nanos = getNanosPorGeneracion(i);
+            for (int k = 0; k < mejores.length; k++) {
+                puntos.add(new long[] { nanos[k], mejores[k] });
+            }
+        }
+        puntos.sort((a, b) -> Long.compare(a[0], b[0]));
+
+        int[] fitness = new int[puntos.size()];
+        long[] nanos = new long[puntos.size()];
+        int total = 0;
+        for (long[] punto : puntos) {
+            if (total == 0 || punto[1] > fitness[total - 1]) {
+                fitness[total] = (int) punto[1];
+                nanos[total] = punto[0];
+                total++;
+            }
+        }
+        mejorGlobal = Arrays.copyOf(fitness, total);
+        nanosGlobal = Arrays.copyOf(nanos, total);
+    }
+
+    public int getIslas() {
+        return islas;
+    }
+
+    /** Isla que dejo su solucion en el tablero */
+    public int getMejorIsla() {
+        return mejorIsla;
+    }
+
+    /** Fitness de la solucion que quedo en el tablero */
+    public int getFitnessFinal() {
+        return poblaciones[mejorIsla].getFitnessFinal();
+    }
+
+    /** Top 3 de la mejor isla (ver Genetico.getTop3Resultado) */
+    public String getTop3Resultado() {
+        return poblaciones[mejorIsla].getTop3Resultado();
+    }
+
+    /** Migrantes mandados entre todas las islas */
+    public long getEnviados() {
+        return enviados.get();
+    }
+
+    /** Migrantes que quedaron en la poblacion de destino */
+    public long getAceptados() {
+        return aceptados.get();
+    }
+
+    public long getComparaciones() {
+        return instrumentacion.getComparaciones();
+    }
+
+    public long getAsignaciones() {
+        return instrumentacion.getAsignaciones();
+    }
+
+    public double getTiempoMs() {
+        return tiempoMs;
+    }
+
+    /**
+     * Resumen para imprimir: mejor fitness de cada isla por generacion y el
+     * mejor global en el tiempo
+     */
+    public String getResumen(int fitnessObjetivo) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Islas: %d (%s, cada %d generaciones, %d migrantes), %d enviados, %d aceptados%n",
+                islas, topologia, intervalo, migrantes, getEnviados(), getAceptados()));
+        for (int i = 0; i < islas; i++) {
+            // El mejor de la isla es el que dejaria en el tablero (el de mejorIsla quedo en el)
+            sb.append(String.format("  Isla %d: %d / %d%s  %s%n", i + 1, poblaciones[i].getFitnessFinal(),
+                    fitnessObjetivo, i == mejorIsla ? " (tablero)" : "", Arrays.toString(getMejorPorGeneracion(i))));
+        }
+        sb.append("  Global:");
+        for (int k = 0; k < mejorGlobal.length; k++) {
+            sb.append(String.format(" %d@%.1fms", mejorGlobal[k], nanosGlobal[k] / 1e6));
+        }
+        sb.append(String.format("%n"));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,258 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+
+/**
+ * Indice de piezas candidatas agrupadas por los bordes que exige una celda.
+ *
+ * Al llenar el tablero fila por fila, una celda solo restringe el lado
+ * izquierdo (right del vecino izquierdo) y el lado de arriba (down del vecino
+ * superior). Por eso las piezas restantes se agrupan en cubetas:
+ *
+ * - EXACTA (left, up): celdas interiores
+ * - POR_LEFT (left, *): primera fila, arriba no importa
+ * - POR_UP (*, up): primera columna, izquierda no importa
+ * - TODAS (*, *): la celda [0][0]
+ *
+ * Cada clase esta en las cuatro cubetas a la vez como nodo de listas
+ * doblemente enlazadas (estilo "dancing links"), de modo que quitar(id) y
+ * restaurar(id) son O(1). Restaurar debe hacerse en orden inverso al de
+ * quitar, que es justo el orden del backtracking. Un nodo quitado conserva
+ * sus enlaces, asi que se puede seguir iterando una cubeta mientras la pieza
+ * actual esta fuera y se restaura antes de pedir la siguiente.
+ *
+ * Los nodos no son piezas sino clases de piezas identicas (ver
+ * ClasesPiezas). quitar() usa una copia y solo desenlaza la clase cuando se
+ * acaban sus copias, asi cada cubeta ofrece cada clase una sola vez y el
+ * backtracking ramifica una vez por clase. Las cantidades de las cubetas
+ * siguen contando piezas (copias), no clases.
+ */
+public class IndiceCandidatos {
+
+    /** Lado sin restriccion (comodin) */
+    public static final int LIBRE = -1;
+
+    /** Fin de una cubeta */
+    public static final int FIN = -1;
+
+    // Dimensiones (tipos de cubeta)
+    private static final int EXACTA = 0;
+    private static final int POR_LEFT = 1;
+    private static final int POR_UP = 2;
+    private static final int TODAS = 3;
+
+    private final int[] codigos;
+    private final int numClases;
+    private final int rango;
+
+    // Copias restantes de cada clase
+    private final int[] multiplicidad;
+
+    // Para cada dimension: nodos 0..C-1 son clases, C.. son cabezas de cubeta
+    private final int[][] next = new int[4][];
+    private final int[][] prev = new int[4][];
+    private final int[][] cantidad = new int[4][];
+
+    // Cubeta de cada clase en cada dimension
+    private final int[][] cubetaDe = new int[4][];
+
+    private final int numPiezas;
+    private int restantes;
+
+    /**
+     * Construye el indice con todas las piezas disponibles.
+     *
+     * @param codigos  Codigo (PiezaCodec) de cada pieza
+     * @param rangoNum Valores posibles de cada lado (0..rangoNum-1)
+     */
+    public IndiceCandidatos(int[] codigos, int rangoNum) {
+        this(new ClasesPiezas(codigos), rangoNum);
+    }
+
+    /**
+     * Construye el indice sobre clases de piezas ya agrupadas. Los ids que
+     * entrega el indice son ids de clase.
+     */
+    public IndiceCandidatos(ClasesPiezas clases, int rangoNum) {
+        this.numClases = clases.getNumClases();
+        this.codigos = new int[numClases];
+        for (int c = 0; c < numClases; c++) {
+            codigos[c] = clases.getCodigo(c);
+        }
+        this.multiplicidad = clases.copiarMultiplicidades();
+        this.numPiezas = clases.getNumPiezas();
+
+        // Por seguridad el rango cubre cualquier valor presente en las piezas
+        int maxValor = Math.min(rangoNum, PiezaCodec.MAX_VALOR + 1) - 1; // Tablero renumera rangos mayores
+        for (int codigo : codigos) {
+            maxValor = Math.max(maxValor, Math.max(Math.max(PiezaCodec.up(codigo), PiezaCodec.right(codigo)),
+                    Math.max(PiezaCodec.down(codigo), PiezaCodec.left(codigo))));
+        }
+        this.rango = maxValor + 1;
+
+        int[] cubetas = { rango * rango, rango, rango, 1 };
+        for (int d = 0; d < 4; d++) {
+            int nodos = numClases + cubetas[d];
+            next[d] = new int[nodos];
+            prev[d] = new int[nodos];
+            cantidad[d] = new int[cubetas[d]];
+            cubetaDe[d] = new int[numClases];
+            // Cabezas vacias apuntan a si mismas
+            for (int c = 0; c < cubetas[d]; c++) {
+                int cabeza = numClases + c;
+                next[d][cabeza] = cabeza;
+                prev[d][cabeza] = cabeza;
+            }
+        }
+
+        for (int id = 0; id < numClases; id++) {
+            int left = PiezaCodec.left(codigos[id]);
+            int up = PiezaCodec.up(codigos[id]);
+            cubetaDe[EXACTA][id] = left * rango + up;
+            cubetaDe[POR_LEFT][id] = left;
+            cubetaDe[POR_UP][id] = up;
+            cubetaDe[TODAS][id] = 0;
+
+            // Insertar al final de cada cubeta (mantiene el orden original)
+            for (int d = 0; d < 4; d++) {
+                int cabeza = numClases + cubetaDe[d][id];
+                int ultimo = prev[d][cabeza];
+                next[d][ultimo] = id;
+                prev[d][id] = ultimo;
+                next[d][id] = cabeza;
+                prev[d][cabeza] = id;
+                cantidad[d][cubetaDe[d][id]] += multiplicidad[id];
+            }
+        }
+        restantes = numPiezas;
+    }
+
+    /**
+     * Devuelve la vista (cubeta) que corresponde a los bordes exigidos.
+     * Usar LIBRE para un lado sin restriccion.
+     */
+    public int vista(int left, int up) {
+        if (left != LIBRE && up != LIBRE) {
+            return codificarVista(EXACTA, left * rango + up);
+        }
+        if (left != LIBRE) {
+            return codificarVista(POR_LEFT, left);
+        }
+        if (up != LIBRE) {
+            return codificarVista(POR_UP, up);
+        }
+        return codificarVista(TODAS, 0);
+    }
+
+    /**
+     * Vista de la celda (row, col) dado el tablero primitivo actual.
+     */
+    public int vistaDeCelda(Tablero board, int row, int col) {
+        int idx = row * board.size + col;
+        int left = col > 0 ? PiezaCodec.right(board.celdas[idx - 1]) : LIBRE;
+        int up = row > 0 ? PiezaCodec.down(board.celdas[idx - board.size]) : LIBRE;
+        return vista(left, up);
+    }
+
+    private static int codificarVista(int dimension, int cubeta) {
+        return (cubeta << 2) | dimension;
+    }
+
+    /** Primer id de la vista, o FIN si esta vacia */
+    public int primero(int vista) {
+        int d = vista & 3;
+        int cabeza = numClases + (vista >>> 2);
+        int id = next[d][cabeza];
+        return id == cabeza ? FIN : id;
+    }
+
+    /** Siguiente id de la vista despues de id, o FIN */
+    public int siguiente(int vista, int id) {
+        int d = vista & 3;
+        int sig = next[d][id];
+        return sig >= numClases ? FIN : sig;
+    }
+
+    /** Cantidad de piezas disponibles en la vista, O(1) */
+    public int cantidad(int vista) {
+        return cantidad[vista & 3][vista >>> 2];
+    }
+
+    /** Piezas disponibles con left == valor */
+    public int cantidadConLeft(int valor) {
+        return cantidad[POR_LEFT][valor];
+    }
+
+    /** Piezas disponibles con up == valor */
+    public int cantidadConUp(int valor) {
+        return cantidad[POR_UP][valor];
+    }
+
+    /** Piezas disponibles con left y up exactos */
+    public int cantidadCon(int left, int up) {
+        return cantidad[EXACTA][left * rango + up];
+    }
+
+    /**
+     * Usa una copia de la clase id en O(1). Si era la ultima copia, la clase
+     * sale de todas sus cubetas.
+     */
+    public void quitar(int id) {
+        boolean ultima = --multiplicidad[id] == 0;
+        for (int d = 0; d < 4; d++) {
+            if (ultima) {
+                int p = prev[d][id];
+                int n = next[d][id];
+                next[d][p] = n;
+                prev[d][n] = p;
+            }
+            cantidad[d][cubetaDe[d][id]]--;
+        }
+        restantes--;
+    }
+
+    /**
+     * Devuelve una copia de la clase id en O(1). Debe llamarse en orden
+     * inverso a quitar() (orden natural del backtracking).
+     */
+    public void restaurar(int id) {
+        boolean vuelve = multiplicidad[id]++ == 0;
+        for (int d = 3; d >= 0; d--) {
+            if (vuelve) {
+                next[d][prev[d][id]] = id;
+                prev[d][next[d][id]] = id;
+            }
+            cantidad[d][cubetaDe[d][id]]++;
+        }
+        restantes++;
+    }
+
+    /** Codigo (PiezaCodec) de la clase id */
+    public int getCodigo(int id) {
+        return codigos[id];
+    }
+
+    public boolean isDisponible(int id) {
+        return multiplicidad[id] > 0;
+    }
+
+    /** Copias restantes de la clase id */
+    public int getMultiplicidad(int id) {
+        return multiplicidad[id];
+    }
+
+    public int getNumClases() {
+        return numClases;
+    }
+
+    public int getRestantes() {
+        return restantes;
+    }
+
+    public int getNumPiezas() {
+        return numPiezas;
+    }
+
+    public int getRango() {
+        return rango;
+    }
+}
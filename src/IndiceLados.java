@@ -0,0 +1,272 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+
+/**
+ * Indice de piezas por cualquier combinacion de lados, para llenar el
+ * tablero en un orden libre (seleccion MRV de Voraz).
+ *
+ * IndiceCandidatos supone el orden fila por fila: una celda solo tiene
+ * vecinos colocados a la izquierda y arriba. Si las celdas se llenan en
+ * cualquier orden, una celda puede tener restringido cualquier lado, asi
+ * que aqui cada clase de piezas esta en 11 cubetas a la vez:
+ *
+ * - una por cada par de lados (6 pares, R^2 cubetas cada uno)
+ * - una por cada lado solo (4 lados, R cubetas cada uno)
+ * - TODAS
+ *
+ * Igual que en IndiceCandidatos son listas doblemente enlazadas (dancing
+ * links) de clases de piezas identicas, con quitar() y restaurar() en O(1)
+ * y restaurar en orden inverso.
+ *
+ * vista(up, right, down, left) elige la cubeta mas chica que cubre los
+ * lados exigidos. Con 0, 1 o 2 lados exigidos su cantidad es exacta; con 3
+ * o 4 es una cota superior (el menor de los pares) y al recorrerla hay que
+ * filtrar con encaja(). Una cota de 0 si garantiza que no cabe ninguna
+ * pieza.
+ */
+public class IndiceLados {
+
+    /** Lado sin restriccion (comodin) */
+    public static final int LIBRE = -1;
+
+    /** Fin de una cubeta */
+    public static final int FIN = -1;
+
+    // Lados, en el orden de PiezaCodec
+    public static final int UP = 0;
+    public static final int RIGHT = 1;
+    public static final int DOWN = 2;
+    public static final int LEFT = 3;
+
+    // Dimensiones: 0..5 pares de lados, 6..9 un lado, 10 todas
+    private static final int[] PAR_A = { UP, UP, UP, RIGHT, RIGHT, DOWN };
+    private static final int[] PAR_B = { RIGHT, DOWN, LEFT, DOWN, LEFT, LEFT };
+    private static final int UN_LADO = 6;
+    private static final int TODAS = 10;
+    private static final int DIMENSIONES = 11;
+
+    private final int[] codigos;
+    private final int numClases;
+    private final int rango;
+
+    // Copias restantes de cada clase
+    private final int[] multiplicidad;
+
+    // Para cada dimension: nodos 0..C-1 son clases, C.. son cabezas de cubeta
+    private final int[][] next = new int[DIMENSIONES][];
+    private final int[][] prev = new int[DIMENSIONES][];
+    private final int[][] cantidad = new int[DIMENSIONES][];
+
+    // Cubeta de cada clase en cada dimension
+    private final int[][] cubetaDe = new int[DIMENSIONES][];
+
+    private int restantes;
+
+    /**
+     * Construye el indice sobre clases de piezas ya agrupadas. Los ids que
+     * entrega el indice son ids de clase.
+     */
+    public IndiceLados(ClasesPiezas clases, int rangoNum) {
+        this.numClases = clases.getNumClases();
+        this.codigos = new int[numClases];
+        for (int c = 0; c < numClases; c++) {
+            codigos[c] = clases.getCodigo(c);
+        }
+        this.multiplicidad = clases.copiarMultiplicidades();
+
+        // Por seguridad el rango cubre cualquier valor presente en las piezas
+        int maxValor = Math.min(rangoNum, PiezaCodec.MAX_VALOR + 1) - 1; // Tablero renumera rangos mayores
+        for (int codigo : codigos) {
+            for (int lado = 0; lado < 4; lado++) {
+                maxValor = Math.max(maxValor, valorLado(codigo, lado));
+            }
+        }
+        this.rango = maxValor + 1;
+
+        for (int d = 0; d < DIMENSIONES; d++) {
+            int cubetas = d < UN_LADO ? rango * rango : d < TODAS ? rango : 1;
+            int nodos = numClases + cubetas;
+            next[d] = new int[nodos];
+            prev[d] = new int[nodos];
+            cantidad[d] = new int[cubetas];
+            cubetaDe[d] = new int[numClases];
+            // Cabezas vacias apuntan a si mismas
+            for (int c = 0; c < cubetas; c++) {
+                int cabeza = numClases + c;
+                next[d][cabeza] = cabeza;
+                prev[d][cabeza] = cabeza;
+            }
+        }
+
+        for (int id = 0; id < numClases; id++) {
+            int codigo = codigos[id];
+            for (int par = 0; par < UN_LADO; par++) {
+                cubetaDe[par][id] = valorLado(codigo, PAR_A[par]) * rango + valorLado(codigo, PAR_B[par]);
+            }
+            for (int lado = 0; lado < 4; lado++) {
+                cubetaDe[UN_LADO + lado][id] = valorLado(codigo, lado);
+            }
+            cubetaDe[TODAS][id] = 0;
+
+            // Insertar al final de cada cubeta (mantiene el orden original)
+            for (int d = 0; d < DIMENSIONES; d++) {
+                int cabeza = numClases + cubetaDe[d][id];
+                int ultimo = prev[d][cabeza];
+                next[d][ultimo] = id;
+                prev[d][id] = ultimo;
+                next[d][id] = cabeza;
+                prev[d][cabeza] = id;
+                cantidad[d][cubetaDe[d][id]] += multiplicidad[id];
+            }
+        }
+        restantes = clases.getNumPiezas();
+    }
+
+    /** Valor del lado (UP, RIGHT, DOWN o LEFT) de una pieza codificada */
+    public static int valorLado(int codigo, int lado) {
+        return (codigo >>> (24 - 8 * lado)) & 0xFF;
+    }
+
+    /**
+     * Vista (cubeta) con menos piezas entre las que cubren los lados
+     * exigidos. Usar LIBRE para un lado sin restriccion.
+     */
+    public int vista(int up, int right, int down, int left) {
+        int exigidos = (up != LIBRE ? 1 : 0) + (right != LIBRE ? 1 : 0) + (down != LIBRE ? 1 : 0)
+                + (left != LIBRE ? 1 : 0);
+        if (exigidos == 0) {
+            return codificarVista(TODAS, 0);
+        }
+        if (exigidos == 1) {
+            int lado = up != LIBRE ? UP : right != LIBRE ? RIGHT : down != LIBRE ? DOWN : LEFT;
+            int valor = up != LIBRE ? up : right != LIBRE ? right : down != LIBRE ? down : left;
+            return codificarVista(UN_LADO + lado, valor);
+        }
+
+        // Dos o mas lados: el par exigido con menos piezas
+        int mejor = -1;
+        int mejorCantidad = Integer.MAX_VALUE;
+        for (int par = 0; par < UN_LADO; par++) {
+            int a = elegir(PAR_A[par], up, right, down, left);
+            int b = elegir(PAR_B[par], up, right, down, left);
+            if (a == LIBRE || b == LIBRE) {
+                continue;
+            }
+            int vista = codificarVista(par, a * rango + b);
+            int c = cantidad(vista);
+            if (c < mejorCantidad) {
+                mejorCantidad = c;
+                mejor = vista;
+            }
+        }
+        return mejor;
+    }
+
+    private static int elegir(int lado, int up, int right, int down, int left) {
+        switch (lado) {
+            case UP:
+                return up;
+            case RIGHT:
+                return right;
+            case DOWN:
+                return down;
+            default:
+                return left;
+        }
+    }
+
+    private static int codificarVista(int dimension, int cubeta) {
+        return (cubeta << 4) | dimension;
+    }
+
+    /**
+     * true si la clase id cumple todos los lados exigidos (hace falta al
+     * recorrer una vista con 3 o 4 lados exigidos)
+     */
+    public boolean encaja(int id, int up, int right, int down, int left) {
+        int codigo = codigos[id];
+        return (up == LIBRE || PiezaCodec.up(codigo) == up)
+                && (right == LIBRE || PiezaCodec.right(codigo) == right)
+                && (down == LIBRE || PiezaCodec.down(codigo) == down)
+                && (left == LIBRE || PiezaCodec.left(codigo) == left);
+    }
+
+    /** Primer id de la vista, o FIN si esta vacia */
+    public int primero(int vista) {
+        int d = vista & 15;
+        int cabeza = numClases + (vista >>> 4);
+        int id = next[d][cabeza];
+        return id == cabeza ? FIN : id;
+    }
+
+    /** Siguiente id de la vista despues de id, o FIN */
+    public int siguiente(int vista, int id) {
+        int d = vista & 15;
+        int sig = next[d][id];
+        return sig >= numClases ? FIN : sig;
+    }
+
+    /**
+     * Piezas disponibles en la vista, O(1). Exacto con hasta 2 lados
+     * exigidos, cota superior con 3 o 4.
+     */
+    public int cantidad(int vista) {
+        return cantidad[vista & 15][vista >>> 4];
+    }
+
+    /** Piezas disponibles con el lado dado igual a valor */
+    public int cantidadConLado(int lado, int valor) {
+        return cantidad[UN_LADO + lado][valor];
+    }
+
+    /**
+     * Usa una copia de la clase id en O(1). Si era la ultima copia, la clase
+     * sale de todas sus cubetas.
+     */
+    public void quitar(int id) {
+        boolean ultima = --multiplicidad[id] == 0;
+        for (int d = 0; d < DIMENSIONES; d++) {
+            if (ultima) {
+                int p = prev[d][id];
+                int n = next[d][id];
+                next[d][p] = n;
+                prev[d][n] = p;
+            }
+            cantidad[d][cubetaDe[d][id]]--;
+        }
+        restantes--;
+    }
+
+    /**
+     * Devuelve una copia de la clase id en O(1). Debe llamarse en orden
+     * inverso a quitar() (orden natural del backtracking).
+     */
+    public void restaurar(int id) {
+        boolean vuelve = multiplicidad[id]++ == 0;
+        for (int d = DIMENSIONES - 1; d >= 0; d--) {
+            if (vuelve) {
+                next[d][prev[d][id]] = id;
+                prev[d][next[d][id]] = id;
+            }
+            cantidad[d][cubetaDe[d][id]]++;
+        }
+        restantes++;
+    }
+
+    /** Codigo (PiezaCodec) de la clase id */
+    public int getCodigo(int id) {
+        return codigos[id];
+    }
+
+    public int getNumClases() {
+        return numClases;
+    }
+
+    public int getRestantes() {
+        return restantes;
+    }
+
+    public int getRango() {
+        return rango;
+    }
+}
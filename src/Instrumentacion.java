@@ -0,0 +1,44 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+
+/**
+ * Capa de instrumentacion de los algoritmos: cada solver se construye con una
+ * y le avisa cada comparacion y cada asignacion que cuenta para el analisis
+ * de complejidad.
+ *
+ * Implementaciones:
+ * - Instrumentacion.NULA: no hace nada. Sus metodos son vacios y finales, el
+ *   JIT los inlinea y los elimina, asi que las corridas de tiempo no pagan
+ *   nada por la medicion.
+ * - InstrumentacionContador: cuenta de forma segura entre hilos (un acumulador
+ *   por hilo que se suma al leer).
+ *
+ * BenchmarkInstrumentacion mide el costo de contar contra no contar.
+ */
+public interface Instrumentacion {
+
+    /** Instrumentacion que no cuenta nada (corridas de tiempo) */
+    Instrumentacion NULA = new InstrumentacionNula();
+
+    /** Una comparacion */
+    void comparacion();
+
+    /** n comparaciones */
+    void comparaciones(long n);
+
+    /** Una asignacion */
+    void asignacion();
+
+    /** n asignaciones */
+    void asignaciones(long n);
+
+    long getComparaciones();
+
+    long getAsignaciones();
+
+    /** Pone los contadores en cero (no llamar con una busqueda en curso) */
+    void reiniciar();
+
+    /** true si la instrumentacion realmente cuenta */
+    boolean isActiva();
+}
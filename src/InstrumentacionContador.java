@@ -0,0 +1,102 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Instrumentacion que cuenta comparaciones y asignaciones.
+ *
+ * Es segura entre hilos sin poner un atomico en el camino caliente: cada hilo
+ * acumula en su propia celda (ThreadLocal) con incrementos normales, y las
+ * lecturas suman todas las celdas. Asi varias tareas en paralelo (por ejemplo
+ * FuerzaBrutaParalela) pueden compartir una sola instancia.
+ *
+ * Las lecturas son exactas cuando los hilos ya terminaron (join, get de un
+ * Future, etc.); durante la busqueda dan un valor aproximado.
+ */
+public class InstrumentacionContador implements Instrumentacion {
+
+    // Acumulador de un hilo, solo lo escribe su dueño
+    private static final class Celda {
+        final Thread dueno;
+        long comparaciones;
+        long asignaciones;
+
+        Celda(Thread dueno) {
+            this.dueno = dueno;
+        }
+    }
+
+    private final ConcurrentLinkedQueue<Celda> celdas = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Celda> celdaLocal = ThreadLocal.withInitial(() -> {
+        Celda celda = new Celda(Thread.currentThread());
+        celdas.add(celda);
+        return celda;
+    });
+
+    // Celda del primer hilo que conto. El caso comun es un solo hilo por
+    // solver, y asi se evita buscar en el ThreadLocal en cada incremento.
+    private Celda primera;
+
+    private Celda celda() {
+        Celda celda = primera;
+        if (celda != null && celda.dueno == Thread.currentThread()) {
+            return celda;
+        }
+        celda = celdaLocal.get();
+        if (primera == null) {
+            primera = celda;
+        }
+        return celda;
+    }
+
+    @Override
+    public void comparacion() {
+        celda().comparaciones++;
+    }
+
+    @Override
+    public void comparaciones(long n) {
+        celda().comparaciones += n;
+    }
+
+    @Override
+    public void asignacion() {
+        celda().asignaciones++;
+    }
+
+    @Override
+    public void asignaciones(long n) {
+        celda().asignaciones += n;
+    }
+
+    @Override
+    public long getComparaciones() {
+        long total = 0;
+        for (Celda celda : celdas) {
+            total += celda.comparaciones;
+        }
+        return total;
+    }
+
+    @Override
+    public long getAsignaciones() {
+        long total = 0;
+        for (Celda celda : celdas) {
+            total += celda.asignaciones;
+        }
+        return total;
+    }
+
+    @Override
+    public void reiniciar() {
+        for (Celda celda : celdas) {
+            celda.comparaciones = 0;
+            celda.asignaciones = 0;
+        }
+    }
+
+    @Override
+    public boolean isActiva() {
+        return true;
+    }
+}
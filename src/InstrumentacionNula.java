@@ -0,0 +1,50 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+
+/**
+ * Instrumentacion que no hace nada. Usar Instrumentacion.NULA.
+ *
+ * Es final y todos los metodos estan vacios: cuando es la unica
+ * implementacion que ve un sitio de llamada, el JIT la inlinea y la llamada
+ * desaparece del codigo compilado.
+ */
+final class InstrumentacionNula implements Instrumentacion {
+
+    InstrumentacionNula() {
+    }
+
+    @Override
+    public void comparacion() {
+    }
+
+    @Override
+    public void comparaciones(long n) {
+    }
+
+    @Override
+    public void asignacion() {
+    }
+
+    @Override
+    public void asignaciones(long n) {
+    }
+
+    @Override
+    public long getComparaciones() {
+        return 0;
+    }
+
+    @Override
+    public long getAsignaciones() {
+        return 0;
+    }
+
+    @Override
+    public void reiniciar() {
+    }
+
+    @Override
+    public boolean isActiva() {
+        return false;
+    }
+}
@@ -1,11 +1,15 @@
 // Fecha de creación: 25 de enero de 2026
-// Última modificación: 28 de enero de 2026
+// Última modificación: 17 de octubre de 2026
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
@@ -38,15 +42,93 @@ public class Main {
     /** Tiempo maximo de ejecucion por prueba (en segundos) */
     static final int timeoutSeconds = 60;
 
+    /** Segundos extra antes de abandonar una prueba que no respeta su presupuesto */
+    static final int margenTimeoutSeconds = 5;
+
+    /**
+     * Contar comparaciones y asignaciones. En false los algoritmos usan
+     * Instrumentacion.NULA y los tiempos no incluyen el costo de contar
+     */
+    static final boolean contarOperaciones = true;
+
     /** Habilitar pruebas de Fuerza Bruta (muy lento para puzzles grandes) */
     static final boolean testFuerzaBruta = true;
 
+    /**
+     * Fuerza Bruta usa el indice de candidatos por (left, up) en lugar de
+     * probar todas las piezas en cada celda (apagado: se mide el algoritmo base)
+     */
+    static final boolean fuerzaBrutaConIndice = false;
+
+    /**
+     * Poda por balance de bordes en Fuerza Bruta y Voraz+Backtrack: corta la
+     * rama si los bordes abiertos piden mas piezas de un valor que las que
+     * quedan
+     */
+    static final boolean podaBalance = false;
+
+    /**
+     * Tabla de transposicion de fronteras sin solucion en Fuerza Bruta y
+     * Voraz+Backtrack: entradas (0 para no usarla, por ejemplo 1 << 18 para
+     * usarla) y politica de desalojo
+     */
+    static final int entradasTransposicion = 0;
+    static final TablaTransposicion.Politica politicaTransposicion = TablaTransposicion.Politica.PROFUNDIDAD;
+
+    /**
+     * Backjumping dirigido por conflictos en Fuerza Bruta y Voraz+Backtrack
+     * (motores recursivos): al fallar una celda vuelve directo a la ultima
+     * celda que participa en el conflicto
+     */
+    static final boolean backjumping = false;
+
+    /**
+     * Puntos de control de Fuerza Bruta y Voraz+Backtrack: guardan la
+     * busqueda cada periodoPuntosControlMs y al terminar en
+     * carpetaPuntosControl; si al empezar una prueba ya hay uno, se reanuda
+     * desde ahi (con el mismo tablero). Usan los motores iterativos.
+     */
+    static final boolean puntosControl = false;
+    static final String carpetaPuntosControl = "puntos_control";
+    static final long periodoPuntosControlMs = 5000;
+
+    /** Fuerza Bruta en paralelo (fork/join) con todos los nucleos disponibles */
+    static final boolean fuerzaBrutaParalela = false;
+
+    /**
+     * Telemetria de los backtracking (Fuerza Bruta y Voraz+Backtrack): nodos
+     * por segundo, profundidad, podas y ramificacion, impresos cada
+     * periodoTelemetriaMs y con el histograma por profundidad en el resumen
+     */
+    static final boolean telemetriaBacktracking = false;
+    static final long periodoTelemetriaMs = 1000;
+
     /** Habilitar pruebas de Voraz SIN backtracking */
     static final boolean testVorazSinBacktracking = true;
 
+    /**
+     * Voraz SIN backtracking por cubetas de bordes, O(N) en lugar de O(N^2)
+     * (mismo tablero, otras cuentas de operaciones; apagado se mide el O(N^2))
+     */
+    static final boolean vorazGreedyLineal = false;
+
+    /**
+     * Voraz SIN backtracking en modo GRASP: intentos aleatorizados (sorteo
+     * entre las topKGrasp mejores piezas de cada celda) en todos los nucleos
+     * hasta resolver o agotar el timeout
+     */
+    static final boolean vorazGrasp = false;
+    static final int topKGrasp = 3;
+
     /** Habilitar pruebas de Voraz CON backtracking */
     static final boolean testVorazConBacktracking = true;
 
+    /**
+     * Voraz+Backtrack elige siempre la celda donde caben menos piezas (MRV)
+     * en lugar de llenar fila por fila
+     */
+    static final boolean vorazMRV = false;
+
     /** Habilitar pruebas de Algoritmo Genetico */
     static final boolean testGenetico = true;
 
@@ -56,6 +138,37 @@ public class Main {
      */
     static final boolean geneticoVerbose = true;
 
+    /**
+     * Operador de cruce del Algoritmo Genetico: PMX, OX, CICLO o BLOQUE
+     * (rectangulos del tablero). Ver BenchmarkCruces para compararlos.
+     */
+    static final Genetico.Cruce cruceGenetico = Genetico.Cruce.PMX;
+
+    /**
+     * Genetico en paralelo: cruces, mutaciones y fitness como tareas en todos
+     * los nucleos (la misma semilla da lo mismo con cualquier cantidad de
+     * hilos; no imprime cada cruce aunque este verbose)
+     */
+    static final boolean geneticoParalelo = false;
+
+    /**
+     * Genetico en islas (GeneticoIslas): varias poblaciones en hilos propios
+     * que se mandan sus mejores individuos cada intervaloMigracion
+     * generaciones. Reemplaza al Genetico normal en la corrida
+     */
+    static final boolean geneticoIslas = false;
+    static final int islasGenetico = 4;
+    static final int generacionesIslas = 50;
+    static final int intervaloMigracion = 5;
+    static final int migrantesPorIsla = 2;
+    static final GeneticoIslas.Topologia topologiaIslas = GeneticoIslas.Topologia.ANILLO;
+
+    /**
+     * Habilitar el portafolio: los cuatro algoritmos compiten en paralelo
+     * sobre el mismo tablero y gana la primera solucion verificada
+     */
+    static final boolean testPortafolio = false;
+
     /** Tamanos de tablero a probar */
     static final int[] sizesSmall = { 3, 5, 10, 15, 30 };
     static final int[] sizesLarge = { 60, 100 };
@@ -88,6 +201,12 @@ public class Main {
         long memoriaBytes;
         String estado; // RESUELTO, NO_RESUELTO, TIMEOUT, ERROR
         String detalleGenetico; // Top 3 resultados del algoritmo genetico
+        String ganador; // Algoritmo que gano en el portafolio
+        int celdasParciales = -1; // Celdas del mejor tablero parcial (TIMEOUT)
+        String detalleTelemetria = ""; // Histograma por profundidad del backtracking
+        String detalleGrasp = ""; // Intentos y ritmo del Voraz en modo GRASP
+        String detalleTransposicion = ""; // Aciertos y desalojos de la tabla de transposicion
+        String detalleBackjumping = ""; // Saltos y celdas saltadas por el backjumping
 
         resultadoPrueba(String algoritmo, int tamano, int rango) {
             this.algoritmo = algoritmo;
@@ -111,12 +230,21 @@ public class Main {
         System.out.println("Configuracion actual:");
         System.out.println("  - Timeout por prueba: " + timeoutSeconds + " segundos");
         System.out.println("  - Puzzles grandes (60x60, 100x100): " + (enableLargePuzzles ? "SI" : "NO"));
+        System.out.println("  - Contar operaciones: " + (contarOperaciones ? "SI" : "NO (solo tiempo)"));
         System.out.println("  - Fuerza Bruta: "
-                + (testFuerzaBruta ? "SI (max " + maxSizeFuerzaBruta + "x" + maxSizeFuerzaBruta + ")" : "NO"));
+                + (testFuerzaBruta ? "SI (max " + maxSizeFuerzaBruta + "x" + maxSizeFuerzaBruta + ")" : "NO")
+                + (fuerzaBrutaConIndice ? " con indice de candidatos" : "")
+                + (fuerzaBrutaParalela ? " en paralelo" : ""));
         System.out.println("  - Voraz sin backtracking: " + (testVorazSinBacktracking ? "SI" : "NO"));
         System.out.println("  - Voraz con backtracking: " + (testVorazConBacktracking ? "SI" : "NO"));
         System.out.println("  - Genetico: " + (testGenetico ? "SI" : "NO"));
         System.out.println("  - Genetico verbose (cruces/mutaciones): " + (geneticoVerbose ? "SI" : "NO"));
+        System.out.println("  - Genetico cruce: " + cruceGenetico + (geneticoParalelo ? " en paralelo" : ""));
+        if (geneticoIslas) {
+            System.out.println("  - Genetico islas: " + islasGenetico + " x " + generacionesIslas + " generaciones, "
+                    + topologiaIslas + " cada " + intervaloMigracion + " (" + migrantesPorIsla + " migrantes)");
+        }
+        System.out.println("  - Portafolio (carrera de algoritmos): " + (testPortafolio ? "SI" : "NO"));
         System.out.println();
 
         // Construir lista de tamanos a probar
@@ -216,6 +344,23 @@ public class Main {
             }
         }
 
+        // ====================================================================
+        // PORTAFOLIO DE ALGORITMOS
+        // ====================================================================
+        if (testPortafolio) {
+            System.out.println("\n");
+            System.out.println("#####################################################################");
+            System.out.println("#                   PORTAFOLIO DE ALGORITMOS                        #");
+            System.out.println("#####################################################################");
+
+            for (int rango : rangos) {
+                System.out.println("\n--- Rango de valores: 0.." + rango + " ---");
+                for (int size : sizes) {
+                    ejecutarPruebaPortafolio(size, rango);
+                }
+            }
+        }
+
         // ====================================================================
         // GENERAR ARCHIVO DE RESUMEN
         // ====================================================================
@@ -259,7 +404,9 @@ public class Main {
         Future<resultadoPrueba> future = executor.submit(tarea);
 
         try {
-            resultadoPrueba resultado = future.get(timeoutSeconds, TimeUnit.SECONDS);
+            // Los solvers respetan su Presupuesto y vuelven solos con los
+            // contadores parciales; este limite extra es solo de respaldo
+            resultadoPrueba resultado = future.get(timeoutSeconds + margenTimeoutSeconds, TimeUnit.SECONDS);
             resultados.add(resultado);
             imprimirResultado(resultado);
         } catch (TimeoutException e) {
@@ -279,6 +426,137 @@ public class Main {
         }
     }
 
+    /**
+     * Presupuesto de una prueba: el solver se detiene solo al vencer
+     * timeoutSeconds y devuelve los contadores parciales
+     */
+    private static Presupuesto crearPresupuesto() {
+        return new Presupuesto(timeoutSeconds * 1000L, 0);
+    }
+
+    /**
+     * Estado de una prueba segun el resultado y el presupuesto
+     */
+    private static String estadoFinal(boolean solved, Presupuesto presupuesto) {
+        if (solved) {
+            return "RESUELTO";
+        }
+        switch (presupuesto.getMotivo()) {
+            case TIEMPO:
+                return "TIMEOUT";
+            case CANCELADO:
+                return "CANCELADO";
+            case NODOS:
+                return "LIMITE_NODOS";
+            default:
+                return "NO_RESUELTO";
+        }
+    }
+
+    /**
+     * Crea la telemetria de un backtracking y arranca su muestreo, o null si
+     * esta apagada
+     */
+    private static Telemetria crearTelemetria(int size) {
+        if (!telemetriaBacktracking) {
+            return null;
+        }
+        Telemetria telemetria = new Telemetria(size * size);
+        telemetria.iniciarMuestreo(periodoTelemetriaMs,
+                muestra -> System.out.println("  [TELEMETRIA] " + muestra));
+        return telemetria;
+    }
+
+    /**
+     * Detiene el muestreo y guarda el histograma en el resultado
+     */
+    private static void cerrarTelemetria(Telemetria telemetria, resultadoPrueba resultado) {
+        if (telemetria == null) {
+            return;
+        }
+        System.out.println("  [TELEMETRIA] " + telemetria.detenerMuestreo());
+        resultado.detalleTelemetria = telemetria.resumen();
+    }
+
+    /**
+     * Crea la instrumentacion de un solver segun la configuracion
+     */
+    private static Instrumentacion crearInstrumentacion() {
+        return contarOperaciones ? new InstrumentacionContador() : Instrumentacion.NULA;
+    }
+
+    /**
+     * Crea el solver de Fuerza Bruta segun la configuracion
+     */
+    private static FuerzaBruta crearFuerzaBruta() {
+        FuerzaBruta solver = new FuerzaBruta(fuerzaBrutaConIndice, crearInstrumentacion());
+        solver.setParalelo(fuerzaBrutaParalela);
+        solver.setPodaBalance(podaBalance);
+        solver.setTransposicion(crearTransposicion());
+        solver.setBackjumping(backjumping);
+        return solver;
+    }
+
+    /**
+     * Crea la tabla de transposicion segun la configuracion, o null
+     */
+    private static TablaTransposicion crearTransposicion() {
+        return entradasTransposicion > 0 ? new TablaTransposicion(entradasTransposicion, politicaTransposicion)
+                : null;
+    }
+
+    /**
+     * Archivo del punto de control de una prueba, o null si estan apagados
+     */
+    private static Path archivoPuntoControl(String algoritmo, int size, int rango) {
+        return puntosControl ? Paths.get(carpetaPuntosControl, algoritmo + "_" + size + "_" + rango + ".pctl")
+                : null;
+    }
+
+    /**
+     * Punto de control guardado por una corrida anterior, o null si no hay
+     * (o no se puede leer: la prueba empieza de cero)
+     */
+    private static PuntoControl leerPuntoControl(Path archivo) {
+        if (archivo == null || !Files.exists(archivo)) {
+            return null;
+        }
+        try {
+            PuntoControl punto = PuntoControl.leer(archivo);
+            System.out.println("  Reanudando " + archivo + ": " + punto);
+            return punto;
+        } catch (IOException e) {
+            System.out.println("  [AVISO] Punto de control ignorado: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Tablero nuevo y mezclado de una prueba
+     */
+    private static Tablero crearTablero(int size, int rango) {
+        Tablero tablero = new Tablero(size, rango);
+        tablero.createTablero();
+        tablero.scrambleTablero();
+        return tablero;
+    }
+
+    /**
+     * Saltos del backjumping para el reporte ("" si no salto nada)
+     */
+    private static String detalleBackjumping(long saltos, long nivelesSaltados) {
+        return saltos > 0 || nivelesSaltados > 0
+                ? String.format("%d saltos, %d celdas saltadas", saltos, nivelesSaltados)
+                : "";
+    }
+
+    /**
+     * Contadores de la tabla de transposicion para el reporte ("" sin tabla)
+     */
+    private static String detalleTransposicion(TablaTransposicion tabla) {
+        return tabla != null && tabla.getAciertos() + tabla.getFallos() > 0 ? tabla.toString() : "";
+    }
+
     /**
      * Ejecuta prueba de Fuerza Bruta
      */
@@ -294,16 +572,22 @@ public class Main {
             Runtime runtime = Runtime.getRuntime();
             long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
 
-            // Crear y preparar tablero
-            Tablero tablero = new Tablero(size, rango);
-            tablero.createTablero();
-            tablero.scrambleTablero();
+            // Crear y preparar tablero (el del punto de control si lo hay)
+            Path archivo = archivoPuntoControl("fuerza_bruta", size, rango);
+            PuntoControl punto = leerPuntoControl(archivo);
+            Tablero tablero = punto != null ? punto.crearTablero() : crearTablero(size, rango);
 
             // Resolver
-            FuerzaBruta solver = new FuerzaBruta();
+            FuerzaBruta solver = crearFuerzaBruta();
+            solver.setPuntosControl(archivo, periodoPuntosControlMs);
+            Presupuesto presupuesto = crearPresupuesto();
+            Telemetria telemetria = crearTelemetria(size);
+            solver.setTelemetria(telemetria);
             long startTime = System.nanoTime();
-            boolean solved = solver.solve(tablero);
+            boolean solved = punto != null ? solver.reanudar(tablero, punto, presupuesto)
+                    : solver.solve(tablero, presupuesto);
             long endTime = System.nanoTime();
+            cerrarTelemetria(telemetria, resultado);
 
             // Medicion de memoria
             long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
@@ -313,9 +597,17 @@ public class Main {
             resultado.comparaciones = solver.getComparaciones();
             resultado.asignaciones = solver.getAsignaciones();
             resultado.memoriaBytes = Math.max(0, memoryAfter - memoryBefore);
-            resultado.estado = solved ? "RESUELTO" : "NO_RESUELTO";
+            resultado.estado = estadoFinal(solved, presupuesto);
+            if (presupuesto.isAgotado()) {
+                resultado.celdasParciales = solver.getMejorProfundidad();
+            }
+            resultado.detalleTransposicion = detalleTransposicion(solver.getTransposicion());
+            resultado.detalleBackjumping = detalleBackjumping(solver.getSaltos(), solver.getNivelesSaltados());
 
             imprimirResultado(resultado);
+            if (solver.isParalelo()) {
+                System.out.println("  Nodos por worker: " + Arrays.toString(solver.getNodosPorWorker()));
+            }
 
         } catch (Exception e) {
             resultado.estado = "ERROR";
@@ -337,16 +629,22 @@ public class Main {
             Runtime runtime = Runtime.getRuntime();
             long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
 
-            // Crear y preparar tablero
-            Tablero tablero = new Tablero(size, rango);
-            tablero.createTablero();
-            tablero.scrambleTablero();
+            // Crear y preparar tablero (el del punto de control si lo hay)
+            Path archivo = archivoPuntoControl("fuerza_bruta", size, rango);
+            PuntoControl punto = leerPuntoControl(archivo);
+            Tablero tablero = punto != null ? punto.crearTablero() : crearTablero(size, rango);
 
             // Resolver
-            FuerzaBruta solver = new FuerzaBruta();
+            FuerzaBruta solver = crearFuerzaBruta();
+            solver.setPuntosControl(archivo, periodoPuntosControlMs);
+            Presupuesto presupuesto = crearPresupuesto();
+            Telemetria telemetria = crearTelemetria(size);
+            solver.setTelemetria(telemetria);
             long startTime = System.nanoTime();
-            boolean solved = solver.solve(tablero);
+            boolean solved = punto != null ? solver.reanudar(tablero, punto, presupuesto)
+                    : solver.solve(tablero, presupuesto);
             long endTime = System.nanoTime();
+            cerrarTelemetria(telemetria, resultado);
 
             // Medicion de memoria
             long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
@@ -356,7 +654,12 @@ public class Main {
             resultado.comparaciones = solver.getComparaciones();
             resultado.asignaciones = solver.getAsignaciones();
             resultado.memoriaBytes = Math.max(0, memoryAfter - memoryBefore);
-            resultado.estado = solved ? "RESUELTO" : "NO_RESUELTO";
+            resultado.estado = estadoFinal(solved, presupuesto);
+            if (presupuesto.isAgotado()) {
+                resultado.celdasParciales = solver.getMejorProfundidad();
+            }
+            resultado.detalleTransposicion = detalleTransposicion(solver.getTransposicion());
+            resultado.detalleBackjumping = detalleBackjumping(solver.getSaltos(), solver.getNivelesSaltados());
 
         } catch (Exception e) {
             resultado.estado = "ERROR";
@@ -391,16 +694,29 @@ public class Main {
             Runtime runtime = Runtime.getRuntime();
             long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
 
-            // Crear y preparar tablero
-            Tablero tablero = new Tablero(size, rango);
-            tablero.createTablero();
-            tablero.scrambleTablero();
+            // Crear y preparar tablero (el del punto de control si lo hay)
+            Path archivo = conBacktracking ? archivoPuntoControl("voraz_backtrack", size, rango) : null;
+            PuntoControl punto = leerPuntoControl(archivo);
+            Tablero tablero = punto != null ? punto.crearTablero() : crearTablero(size, rango);
 
             // Resolver
-            Voraz solver = new Voraz(conBacktracking);
+            Voraz solver = new Voraz(conBacktracking, crearInstrumentacion());
+            solver.setPuntosControl(archivo, periodoPuntosControlMs);
+            solver.setMRV(vorazMRV);
+            solver.setGreedyLineal(vorazGreedyLineal);
+            solver.setPodaBalance(podaBalance);
+            solver.setTransposicion(conBacktracking ? crearTransposicion() : null);
+            solver.setBackjumping(backjumping);
+            solver.setGrasp(vorazGrasp && !conBacktracking);
+            solver.setTopK(topKGrasp);
+            Presupuesto presupuesto = crearPresupuesto();
+            Telemetria telemetria = conBacktracking ? crearTelemetria(size) : null;
+            solver.setTelemetria(telemetria);
             long startTime = System.nanoTime();
-            boolean solved = solver.solve(tablero);
+            boolean solved = punto != null ? solver.reanudar(tablero, punto, presupuesto)
+                    : solver.solve(tablero, presupuesto);
             long endTime = System.nanoTime();
+            cerrarTelemetria(telemetria, resultado);
 
             // Medicion de memoria
             long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
@@ -410,7 +726,16 @@ public class Main {
             resultado.comparaciones = solver.getComparaciones();
             resultado.asignaciones = solver.getAsignaciones();
             resultado.memoriaBytes = Math.max(0, memoryAfter - memoryBefore);
-            resultado.estado = solved ? "RESUELTO" : "NO_RESUELTO";
+            resultado.estado = estadoFinal(solved, presupuesto);
+            if (presupuesto.isAgotado() || (solver.isGrasp() && !solved)) {
+                resultado.celdasParciales = solver.getMejorProfundidad();
+            }
+            resultado.detalleTransposicion = detalleTransposicion(solver.getTransposicion());
+            resultado.detalleBackjumping = detalleBackjumping(solver.getSaltos(), solver.getNivelesSaltados());
+            if (solver.isGrasp()) {
+                resultado.detalleGrasp = String.format("%d intentos (%.0f intentos/s)",
+                        solver.getIntentosGrasp(), solver.getIntentosPorSegundoGrasp());
+            }
 
         } catch (Exception e) {
             resultado.estado = "ERROR";
@@ -455,8 +780,31 @@ public class Main {
             tablero.createTablero();
             tablero.scrambleTablero();
 
+            if (geneticoIslas) {
+                GeneticoIslas islas = new GeneticoIslas(islasGenetico, generacionesIslas, intervaloMigracion,
+                        migrantesPorIsla, topologiaIslas, System.nanoTime(), crearInstrumentacion());
+                islas.setCruce(cruceGenetico);
+                Presupuesto presupuesto = crearPresupuesto();
+                long startTime = System.nanoTime();
+                boolean solved = islas.resolver(tablero, presupuesto);
+                long endTime = System.nanoTime();
+                long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+
+                String resumen = islas.getResumen(2 * size * (size - 1));
+                System.out.print(resumen);
+                resultado.tiempoMs = (endTime - startTime) / 1_000_000.0;
+                resultado.comparaciones = islas.getComparaciones();
+                resultado.asignaciones = islas.getAsignaciones();
+                resultado.memoriaBytes = Math.max(0, memoryAfter - memoryBefore);
+                resultado.estado = estadoFinal(solved, presupuesto);
+                resultado.detalleGenetico = resumen + islas.getTop3Resultado();
+                return resultado;
+            }
+
             // Resolver con verbose segun configuracion
-            Genetico solver = new Genetico(geneticoVerbose);
+            Genetico solver = new Genetico(geneticoVerbose, crearInstrumentacion());
+            solver.setCruce(cruceGenetico);
+            solver.setParalelo(geneticoParalelo);
 
             // Solo redirigir stdout si verbose esta desactivado
             java.io.PrintStream originalOut = System.out;
@@ -467,8 +815,9 @@ public class Main {
                 }));
             }
 
+            Presupuesto presupuesto = crearPresupuesto();
             long startTime = System.nanoTime();
-            boolean solved = solver.solve(tablero);
+            boolean solved = solver.solve(tablero, presupuesto);
             long endTime = System.nanoTime();
 
             // Restaurar stdout si fue redirigido
@@ -484,7 +833,7 @@ public class Main {
             resultado.comparaciones = solver.getComparaciones();
             resultado.asignaciones = solver.getAsignaciones();
             resultado.memoriaBytes = Math.max(0, memoryAfter - memoryBefore);
-            resultado.estado = solved ? "RESUELTO" : "NO_RESUELTO";
+            resultado.estado = estadoFinal(solved, presupuesto);
             resultado.detalleGenetico = solver.getTop3Resultado();
 
         } catch (Exception e) {
@@ -494,6 +843,51 @@ public class Main {
         return resultado;
     }
 
+    /**
+     * Ejecuta prueba del portafolio: todos los algoritmos compiten sobre el
+     * mismo tablero. El tiempo registrado es el de la primera solucion.
+     */
+    private static void ejecutarPruebaPortafolio(int size, int rango) {
+        System.out.println("\n=== Portafolio - Tablero " + size + "x" + size +
+                " (rango 0.." + rango + ") ===");
+
+        resultadoPrueba resultado = new resultadoPrueba("Portafolio", size, rango);
+
+        try {
+            System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+
+            Tablero tablero = new Tablero(size, rango);
+            tablero.createTablero();
+            tablero.scrambleTablero();
+
+            Portafolio portafolio = new Portafolio();
+            Portafolio.Resultado carrera = portafolio.resolver(tablero, timeoutSeconds * 1000L);
+
+            long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+
+            resultado.tiempoMs = carrera.resuelto ? carrera.tiempoPrimeraSolucionMs : carrera.tiempoTotalMs;
+            resultado.memoriaBytes = Math.max(0, memoryAfter - memoryBefore);
+            resultado.ganador = carrera.ganador;
+            if (carrera.resuelto) {
+                resultado.estado = "RESUELTO";
+            } else {
+                resultado.estado = carrera.estados.containsValue("TIMEOUT") ? "TIMEOUT" : "NO_RESUELTO";
+            }
+
+            imprimirResultado(resultado);
+            System.out.println("  Ganador: " + (carrera.ganador != null ? carrera.ganador : "-"));
+            System.out.println("  Estados: " + carrera.estados);
+
+        } catch (Exception e) {
+            System.out.println("[ERROR] " + e.getMessage());
+            resultado.estado = "ERROR";
+        }
+
+        resultados.add(resultado);
+    }
+
     /**
      * Imprime el resultado de una prueba
      */
@@ -506,6 +900,18 @@ public class Main {
             System.out.println("  Operaciones totales: " + (r.comparaciones + r.asignaciones));
             System.out.println(String.format("  Memoria: %.2f KB", r.memoriaBytes / 1024.0));
         }
+        if (r.celdasParciales >= 0) {
+            System.out.println("  Mejor parcial: " + r.celdasParciales + " / " + (r.tamano * r.tamano) + " celdas");
+        }
+        if (!r.detalleGrasp.isEmpty()) {
+            System.out.println("  GRASP: " + r.detalleGrasp);
+        }
+        if (!r.detalleTransposicion.isEmpty()) {
+            System.out.println("  Transposicion: " + r.detalleTransposicion);
+        }
+        if (!r.detalleBackjumping.isEmpty()) {
+            System.out.println("  Backjumping: " + r.detalleBackjumping);
+        }
     }
 
     // ========================================================================
@@ -530,7 +936,7 @@ public class Main {
             writer.println();
 
             // Agrupar por algoritmo
-            String[] algoritmos = { "Fuerza Bruta", "Voraz", "Voraz+Backtrack", "Genetico" };
+            String[] algoritmos = { "Fuerza Bruta", "Voraz", "Voraz+Backtrack", "Genetico", "Portafolio" };
 
             for (String algo : algoritmos) {
                 List<resultadoPrueba> resultadosAlgo = new ArrayList<>();
@@ -590,6 +996,42 @@ public class Main {
                 }
             }
 
+            // Seccion especial: telemetria de los backtracking
+            boolean hayTelemetria = false;
+            for (resultadoPrueba r : resultados) {
+                if (r.detalleTelemetria != null && !r.detalleTelemetria.isEmpty()) {
+                    if (!hayTelemetria) {
+                        writer.println();
+                        writer.println();
+                        writer.println("================================================================================");
+                        writer.println("            TELEMETRIA DEL BACKTRACKING - NODOS Y PODAS POR PROFUNDIDAD         ");
+                        writer.println("================================================================================");
+                        hayTelemetria = true;
+                    }
+                    writer.println();
+                    writer.println("--- " + r.algoritmo + " " + r.tamano + "x" + r.tamano + " (rango 0-" + r.rango + ") ---");
+                    writer.print(r.detalleTelemetria);
+                }
+            }
+
+            // Seccion especial: ganador del portafolio
+            boolean hayPortafolio = false;
+            for (resultadoPrueba r : resultados) {
+                if (r.algoritmo.equals("Portafolio")) {
+                    if (!hayPortafolio) {
+                        writer.println();
+                        writer.println();
+                        writer.println("================================================================================");
+                        writer.println("            DETALLE PORTAFOLIO - GANADOR POR TAMANO                             ");
+                        writer.println("================================================================================");
+                        writer.println();
+                        hayPortafolio = true;
+                    }
+                    writer.println(String.format("%-8s | %-6s | %-16s", r.tamano + "x" + r.tamano,
+                            "0-" + r.rango, r.ganador != null ? r.ganador : "-"));
+                }
+            }
+
             // Resumen estadistico
             writer.println();
             writer.println();
@@ -616,7 +1058,9 @@ public class Main {
                                 noResueltos++;
                                 break;
                             case "TIMEOUT":
-                                timeouts++;
+                            case "LIMITE_NODOS":
+                            case "CANCELADO":
+                                timeouts++; // detenidos por el presupuesto
                                 break;
                             case "OMITIDO":
                                 omitidos++;
@@ -0,0 +1,136 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.util.Arrays;
+
+/**
+ * Monticulo binario de minimos indexado por celda, para la seleccion MRV
+ * (la celda vacia con menos piezas posibles primero).
+ *
+ * La clave de cada celda es su cantidad de candidatas; los empates se
+ * resuelven por indice de celda, asi que con todas las cantidades iguales
+ * el orden es fila por fila. posicion[celda] permite cambiar la clave de
+ * una celda o sacarla en O(log N) sin buscarla.
+ *
+ * Todo vive en arreglos de int reservados en el constructor: ninguna
+ * operacion reserva memoria.
+ */
+public class MonticuloCeldas {
+
+    private static final int FUERA = -1;
+
+    private final int[] heap; // celdas, heap[0] es la minima
+    private final int[] posicion; // posicion de cada celda en heap, o FUERA
+    private final int[] clave; // cantidad de candidatas de cada celda
+    private int tamano;
+
+    /**
+     * Monticulo vacio para celdas 0..numCeldas-1
+     */
+    public MonticuloCeldas(int numCeldas) {
+        heap = new int[numCeldas];
+        posicion = new int[numCeldas];
+        clave = new int[numCeldas];
+        Arrays.fill(posicion, FUERA);
+    }
+
+    public boolean isVacio() {
+        return tamano == 0;
+    }
+
+    public int getTamano() {
+        return tamano;
+    }
+
+    public boolean contiene(int celda) {
+        return posicion[celda] != FUERA;
+    }
+
+    /** Celda con menor clave (sin sacarla) */
+    public int minimo() {
+        return heap[0];
+    }
+
+    public int getClave(int celda) {
+        return clave[celda];
+    }
+
+    /**
+     * Inserta la celda con la clave dada, o le cambia la clave si ya esta
+     */
+    public void actualizar(int celda, int nuevaClave) {
+        int i = posicion[celda];
+        if (i == FUERA) {
+            clave[celda] = nuevaClave;
+            heap[tamano] = celda;
+            posicion[celda] = tamano;
+            subir(tamano++);
+            return;
+        }
+        int anterior = clave[celda];
+        clave[celda] = nuevaClave;
+        if (nuevaClave < anterior) {
+            subir(i);
+        } else if (nuevaClave > anterior) {
+            bajar(i);
+        }
+    }
+
+    /** Saca la celda del monticulo (si esta) */
+    public void quitar(int celda) {
+        int i = posicion[celda];
+        if (i == FUERA) {
+            return;
+        }
+        posicion[celda] = FUERA;
+        tamano--;
+        if (i == tamano) {
+            return;
+        }
+        int ultima = heap[tamano];
+        heap[i] = ultima;
+        posicion[ultima] = i;
+        subir(i);
+        bajar(posicion[ultima]);
+    }
+
+    // true si la celda a va antes que la b
+    private boolean menor(int a, int b) {
+        return clave[a] < clave[b] || (clave[a] == clave[b] && a < b);
+    }
+
+    private void subir(int i) {
+        int celda = heap[i];
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (!menor(celda, heap[padre])) {
+                break;
+            }
+            heap[i] = heap[padre];
+            posicion[heap[i]] = i;
+            i = padre;
+        }
+        heap[i] = celda;
+        posicion[celda] = i;
+    }
+
+    private void bajar(int i) {
+        int celda = heap[i];
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= tamano) {
+                break;
+            }
+            if (hijo + 1 < tamano && menor(heap[hijo + 1], heap[hijo])) {
+                hijo++;
+            }
+            if (!menor(heap[hijo], celda)) {
+                break;
+            }
+            heap[i] = heap[hijo];
+            posicion[heap[i]] = i;
+            i = hijo;
+        }
+        heap[i] = celda;
+        posicion[celda] = i;
+    }
+}
@@ -0,0 +1,80 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+
+/**
+ * Codificacion compacta de piezas en tipos primitivos.
+ *
+ * Una pieza se empaqueta en un solo int con 8 bits por lado:
+ *
+ *   bits 31..24 = up, 23..16 = right, 15..8 = down, 7..0 = left
+ *
+ * Asi un tablero de 100x100 son 10.000 ints (40 KB) en lugar de 10.000
+ * objetos Pieza, y comparar un borde es un shift y una mascara sin
+ * perseguir punteros.
+ *
+ * El valor VACIA (-1) marca una celda sin pieza. Como -1 coincide con la
+ * pieza (255,255,255,255), los lados van de 0 a 254. Con rangos mayores
+ * Tablero renumera los lados antes de codificarlos (ver
+ * Tablero.activarModoPrimitivo).
+ */
+public final class PiezaCodec {
+
+    /** Codigo que representa una celda vacia */
+    public static final int VACIA = -1;
+
+    /** Valor maximo de un lado */
+    public static final int MAX_VALOR = 254;
+
+    private static final int MASCARA = 0xFF;
+
+    private PiezaCodec() {
+    }
+
+    /**
+     * Empaqueta los cuatro lados en un int (mismo orden que el constructor de
+     * Pieza).
+     */
+    public static int codificar(int up, int right, int down, int left) {
+        return (up << 24) | (right << 16) | (down << 8) | left;
+    }
+
+    public static int codificar(Pieza pieza) {
+        return codificar(pieza.getUp(), pieza.getRight(), pieza.getDown(), pieza.getLeft());
+    }
+
+    public static int up(int codigo) {
+        return (codigo >>> 24) & MASCARA;
+    }
+
+    public static int right(int codigo) {
+        return (codigo >>> 16) & MASCARA;
+    }
+
+    public static int down(int codigo) {
+        return (codigo >>> 8) & MASCARA;
+    }
+
+    public static int left(int codigo) {
+        return codigo & MASCARA;
+    }
+
+    /**
+     * Reconstruye la pieza a partir de su codigo, o null si la celda esta vacia.
+     */
+    public static Pieza decodificar(int codigo) {
+        if (codigo == VACIA) {
+            return null;
+        }
+        return new Pieza(up(codigo), right(codigo), down(codigo), left(codigo));
+    }
+
+    /**
+     * Imprime una pieza codificada con el mismo formato que Pieza.printPieza()
+     */
+    public static String toString(int codigo) {
+        if (codigo == VACIA) {
+            return "[X,X,X,X]";
+        }
+        return "[" + up(codigo) + "," + right(codigo) + "," + down(codigo) + "," + left(codigo) + "]";
+    }
+}
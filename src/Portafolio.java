@@ -0,0 +1,165 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Portafolio de algoritmos: corre Fuerza Bruta, Voraz, Voraz+Backtrack y
+ * Genetico al mismo tiempo sobre el MISMO tablero.
+ *
+ * Cada algoritmo trabaja en su propio hilo y sobre su propia copia del
+ * tablero (Tablero.copiar), asi no se pisan. La primera solucion que pasa la
+ * verificacion (checkTablero) gana: se copia al tablero original y se
+ * cancela el Presupuesto de la carrera, que los demas revisan cada 4096
+ * nodos, en cada celda del Voraz puro o en cada cruce del Genetico.
+ *
+ * El resultado dice que algoritmo gano y el tiempo hasta la primera
+ * solucion, que es la latencia que importa en la practica. Por eso los
+ * algoritmos corren sin contar operaciones (Instrumentacion.NULA).
+ *
+ * Nota: los hilos salen de una ThreadFactory de hilos de plataforma
+ * (Java 17). Con Java 21 basta con cambiar la fabrica por
+ * Thread.ofVirtual().factory(). Como los algoritmos usan CPU todo el
+ * tiempo, los hilos de plataforma son la opcion natural de todos modos.
+ */
+public class Portafolio {
+
+    /**
+     * Resultado de una carrera del portafolio
+     */
+    public static class Resultado {
+        public boolean resuelto;
+        public String ganador; // null si nadie resolvio
+        public double tiempoPrimeraSolucionMs = -1;
+        public double tiempoTotalMs;
+        // Estado final de cada algoritmo: RESUELTO, NO_RESUELTO, CANCELADO, TIMEOUT, ERROR
+        public Map<String, String> estados = new LinkedHashMap<>();
+    }
+
+    // Interfaz minima para correr un algoritmo sobre un tablero
+    private interface Algoritmo {
+        boolean resolver(Tablero board, Presupuesto presupuesto);
+    }
+
+    private final Map<String, Algoritmo> algoritmos = new LinkedHashMap<>();
+    private ThreadFactory fabricaHilos = Executors.defaultThreadFactory();
+
+    /**
+     * Portafolio con los cuatro algoritmos del proyecto
+     */
+    public Portafolio() {
+        algoritmos.put("Fuerza Bruta",
+                (board, presupuesto) -> new FuerzaBruta(true, Instrumentacion.NULA).solve(board, presupuesto));
+        algoritmos.put("Voraz",
+                (board, presupuesto) -> new Voraz(false, Instrumentacion.NULA).solve(board, presupuesto));
+        algoritmos.put("Voraz+Backtrack",
+                (board, presupuesto) -> new Voraz(true, Instrumentacion.NULA).solve(board, presupuesto));
+        algoritmos.put("Genetico",
+                (board, presupuesto) -> new Genetico(false, Instrumentacion.NULA).solve(board, presupuesto));
+    }
+
+    /**
+     * Cambia la fabrica de hilos (por ejemplo hilos virtuales en Java 21)
+     */
+    public void setFabricaHilos(ThreadFactory fabricaHilos) {
+        this.fabricaHilos = fabricaHilos;
+    }
+
+    /**
+     * Corre todos los algoritmos sobre el tablero hasta que uno lo resuelva,
+     * todos terminen o se acabe el tiempo. Si hay ganador, su solucion queda
+     * en board.
+     *
+     * @param board     Tablero desordenado (no se modifica salvo con la solucion)
+     * @param timeoutMs Tiempo maximo de la carrera en milisegundos
+     */
+    public Resultado resolver(Tablero board, long timeoutMs) {
+        Resultado resultado = new Resultado();
+        // Presupuesto de la carrera: vence con el timeout y se cancela con la
+        // primera solucion. Cada algoritmo usa uno derivado (un hilo cada uno)
+        Presupuesto carrera = new Presupuesto(timeoutMs, 0);
+        AtomicReference<Tablero> solucion = new AtomicReference<>();
+        CountDownLatch terminados = new CountDownLatch(algoritmos.size());
+        long inicio = System.nanoTime();
+
+        // Copias hechas antes de arrancar para que nadie lea el tablero original
+        List<Tablero> copias = new ArrayList<>();
+        for (String nombre : algoritmos.keySet()) {
+            copias.add(board.copiar());
+            resultado.estados.put(nombre, "PENDIENTE");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(algoritmos.size(), fabricaHilos);
+        int i = 0;
+        for (Map.Entry<String, Algoritmo> entrada : algoritmos.entrySet()) {
+            String nombre = entrada.getKey();
+            Algoritmo algoritmo = entrada.getValue();
+            Tablero copia = copias.get(i++);
+            executor.execute(() -> {
+                try {
+                    boolean ok = algoritmo.resolver(copia, carrera.derivar()) && copia.checkTablero();
+                    if (ok && solucion.compareAndSet(null, copia)) {
+                        // Primera solucion verificada: cancelar a los demas
+                        carrera.cancelar();
+                        synchronized (resultado) {
+                            resultado.ganador = nombre;
+                            resultado.tiempoPrimeraSolucionMs = (System.nanoTime() - inicio) / 1_000_000.0;
+                        }
+                    }
+                    synchronized (resultado) {
+                        resultado.estados.put(nombre, ok ? "RESUELTO"
+                                : solucion.get() != null ? "CANCELADO"
+                                : carrera.getMotivo() == Presupuesto.Motivo.TIEMPO ? "TIMEOUT" : "NO_RESUELTO");
+                    }
+                } catch (RuntimeException e) {
+                    synchronized (resultado) {
+                        resultado.estados.put(nombre, "ERROR");
+                    }
+                } finally {
+                    terminados.countDown();
+                }
+            });
+        }
+        executor.shutdown();
+
+        try {
+            // Los algoritmos se detienen solos al vencer el presupuesto; el
+            // segundo extra es por si alguno tarda en notarlo
+            if (!terminados.await(timeoutMs + 1000, TimeUnit.MILLISECONDS)) {
+                carrera.cancelar();
+            }
+            // Dar un momento a los algoritmos cancelados para salir
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            carrera.cancelar();
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Tablero ganadora = solucion.get();
+        if (ganadora != null) {
+            // Las copias salen del mismo tablero: comparten los objetos Pieza
+            // (setPieza tambien actualiza celdas[] si board esta en modo primitivo)
+            for (int row = 0; row < board.size; row++) {
+                for (int col = 0; col < board.size; col++) {
+                    board.setPieza(row, col, ganadora.getPieza(row, col));
+                }
+            }
+            resultado.resuelto = true;
+        }
+        resultado.tiempoTotalMs = (System.nanoTime() - inicio) / 1_000_000.0;
+        synchronized (resultado) {
+            resultado.estados.replaceAll((k, v) -> v.equals("PENDIENTE") ? "TIMEOUT" : v);
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,188 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Presupuesto de una busqueda: tiempo limite, maximo de nodos y bandera de
+ * cancelacion.
+ *
+ * Los algoritmos llaman agotado() una vez por nodo (o por generacion en el
+ * Genetico). El llamado normal solo incrementa un contador local; cada
+ * INTERVALO nodos se revisa de verdad el reloj, el total de nodos, las
+ * banderas de cancelacion y la interrupcion del hilo (future.cancel(true)).
+ * Asi el costo por nodo es despreciable y una busqueda cancelada o vencida
+ * se detiene en a lo sumo INTERVALO nodos.
+ *
+ * Una instancia se usa desde un solo hilo. Para busquedas en paralelo cada
+ * hilo o tarea usa derivar(): el hijo comparte el limite de tiempo y el
+ * total de nodos del presupuesto raiz, hereda sus cancelaciones y tiene su
+ * propia bandera (por ejemplo para detener a las demas tareas cuando una
+ * encuentra la solucion) sin marcar como cancelado al padre.
+ */
+public class Presupuesto {
+
+    /** Cada cuantos nodos se revisan los limites (potencia de 2) */
+    public static final int INTERVALO = 4096;
+
+    /** Por que se detuvo la busqueda */
+    public enum Motivo {
+        NINGUNO, TIEMPO, NODOS, CANCELADO
+    }
+
+    // Compartido por toda la familia (se guarda en la raiz)
+    private final long inicioNanos;
+    private final long limiteNanos; // Long.MAX_VALUE sin limite
+    private final long maxNodos; // Long.MAX_VALUE sin limite
+    private final AtomicLong nodosTotales;
+    private final AtomicReference<Motivo> motivoRaiz;
+
+    // Propio de esta instancia
+    private final Presupuesto padre;
+    private final AtomicBoolean cancelado = new AtomicBoolean(false);
+    private int pendientes; // nodos aun no sumados a nodosTotales
+    private boolean agotado;
+    private Motivo motivo = Motivo.NINGUNO;
+
+    /**
+     * Presupuesto con limite de tiempo y de nodos.
+     *
+     * @param tiempoMaxMs Milisegundos disponibles, 0 o negativo sin limite
+     * @param maxNodos    Nodos maximos, 0 o negativo sin limite
+     */
+    public Presupuesto(long tiempoMaxMs, long maxNodos) {
+        this.inicioNanos = System.nanoTime();
+        this.limiteNanos = tiempoMaxMs > 0 ? tiempoMaxMs * 1_000_000L : Long.MAX_VALUE;
+        this.maxNodos = maxNodos > 0 ? maxNodos : Long.MAX_VALUE;
+        this.nodosTotales = new AtomicLong();
+        this.motivoRaiz = new AtomicReference<>(Motivo.NINGUNO);
+        this.padre = null;
+    }
+
+    private Presupuesto(Presupuesto padre) {
+        this.inicioNanos = padre.inicioNanos;
+        this.limiteNanos = padre.limiteNanos;
+        this.maxNodos = padre.maxNodos;
+        this.nodosTotales = padre.nodosTotales;
+        this.motivoRaiz = padre.motivoRaiz;
+        this.padre = padre;
+    }
+
+    /**
+     * Presupuesto sin limites (solo responde a cancelar() e interrupciones)
+     */
+    public static Presupuesto sinLimite() {
+        return new Presupuesto(0, 0);
+    }
+
+    /** true si hay limite de tiempo o de nodos (sinLimite() no tiene) */
+    public boolean isLimitado() {
+        return limiteNanos != Long.MAX_VALUE || maxNodos != Long.MAX_VALUE;
+    }
+
+    /**
+     * Presupuesto hijo para otro hilo o tarea (ver comentario de la clase)
+     */
+    public Presupuesto derivar() {
+        return new Presupuesto(this);
+    }
+
+    /**
+     * Cuenta un nodo y dice si hay que detenerse. Revisa los limites cada
+     * INTERVALO nodos; una vez agotado siempre devuelve true.
+     */
+    public boolean agotado() {
+        if (++pendientes < INTERVALO) {
+            return agotado;
+        }
+        return revisar();
+    }
+
+    /**
+     * Revisa los limites ya, sin esperar al siguiente intervalo. Util en
+     * bucles con pocos pasos caros (generaciones del Genetico).
+     */
+    public boolean revisar() {
+        nodosTotales.addAndGet(pendientes);
+        pendientes = 0;
+        if (agotado) {
+            return true;
+        }
+
+        Motivo nuevo = Motivo.NINGUNO;
+        boolean deLaFamilia = true; // se avisa a la raiz
+        Presupuesto cancelador = cancelador();
+        if (cancelador != null) {
+            nuevo = Motivo.CANCELADO;
+            // Cancelar un derivado (por ejemplo al encontrar la solucion en
+            // paralelo) no cancela la busqueda completa
+            deLaFamilia = cancelador.padre == null;
+        } else if (Thread.currentThread().isInterrupted()) {
+            nuevo = Motivo.CANCELADO;
+        } else if (System.nanoTime() - inicioNanos >= limiteNanos) {
+            nuevo = Motivo.TIEMPO;
+        } else if (nodosTotales.get() >= maxNodos) {
+            nuevo = Motivo.NODOS;
+        } else if (motivoRaiz.get() != Motivo.NINGUNO) {
+            // Otro hilo de la familia ya vio vencer el tiempo o los nodos
+            nuevo = motivoRaiz.get();
+        }
+
+        if (nuevo != Motivo.NINGUNO) {
+            motivo = nuevo;
+            agotado = true;
+            if (deLaFamilia) {
+                motivoRaiz.compareAndSet(Motivo.NINGUNO, nuevo);
+            }
+        }
+        return agotado;
+    }
+
+    // Esta instancia o el ancestro mas cercano que fue cancelado, o null
+    private Presupuesto cancelador() {
+        for (Presupuesto p = this; p != null; p = p.padre) {
+            if (p.cancelado.get()) {
+                return p;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pide detener la busqueda de esta instancia y de sus derivados. Se nota
+     * en el siguiente intervalo de cada hilo.
+     */
+    public void cancelar() {
+        cancelado.set(true);
+    }
+
+    /**
+     * true si la busqueda se detuvo por el presupuesto. En la raiz tambien
+     * cuenta lo que vieron los derivados.
+     */
+    public boolean isAgotado() {
+        return getMotivo() != Motivo.NINGUNO;
+    }
+
+    /**
+     * Motivo de la detencion. En la raiz tambien refleja lo que vieron los
+     * derivados (tiempo o nodos agotados en otro hilo).
+     */
+    public Motivo getMotivo() {
+        if (motivo == Motivo.NINGUNO && padre == null) {
+            return motivoRaiz.get();
+        }
+        return motivo;
+    }
+
+    /** Nodos contados por toda la familia (aproximado mientras corre) */
+    public long getNodos() {
+        return nodosTotales.get() + pendientes;
+    }
+
+    /** Milisegundos desde que se creo el presupuesto raiz */
+    public double getTiempoTranscurridoMs() {
+        return (System.nanoTime() - inicioNanos) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,246 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Foto de una busqueda con backtracking iterativo (FuerzaBruta o Voraz)
+ * para seguirla en otra corrida sin repetir trabajo.
+ *
+ * Los motores iterativos guardan toda la busqueda en su pila: las celdas
+ * 0..profundidad-1 tienen colocada la eleccion cursores[d] y cursores[profundidad]
+ * es la ultima candidata probada en la celda actual (o ninguna). Con las
+ * piezas del tablero alcanza para reconstruir el estado exacto: el motor
+ * vuelve a colocar las elecciones en orden y sigue desde la candidata
+ * siguiente. Que es un cursor depende del motor (clase de pieza en
+ * FuerzaBruta, posicion en la lista ordenada de candidatas en Voraz).
+ *
+ * Si el tablero renumero los lados (rangoNum mayor a 255) los codigos no
+ * tienen los valores originales: se guardan tambien las tablas de
+ * renumeracion (Tablero.getLadoHorizontal/getLadoVertical, vacias si no
+ * hubo renumeracion) y crearTablero vuelve a las piezas originales.
+ *
+ * Formato binario (DataOutputStream, big endian):
+ *
+ *   int MAGICO, int VERSION, byte algoritmo, byte estado,
+ *   int size, int rangoNum, int N, int[N] codigos,
+ *   int H, int[H] ladoHorizontal, int V, int[V] ladoVertical,
+ *   int profundidad, int[profundidad+1] cursores,
+ *   long intentos, long podas, long nodos, long tiempoMs
+ *
+ * Se escribe en un archivo temporal y se renombra, asi un corte a mitad de
+ * escritura nunca deja un punto de control roto.
+ */
+public class PuntoControl {
+
+    private static final int MAGICO = 0x50435452; // "PCTR"
+    private static final int VERSION = 2; // 2: tablas de renumeracion
+
+    /** Motor que genero el punto de control */
+    public static final byte FUERZA_BRUTA = 1;
+    public static final byte VORAZ = 2;
+
+    /** Estado de la busqueda */
+    public enum Estado {
+        EN_CURSO, RESUELTO, SIN_SOLUCION
+    }
+
+    public final byte algoritmo;
+    public final Estado estado;
+    public final int size;
+    public final int rangoNum;
+    public final int[] codigos; // piezas del tablero (board.codigos)
+    public final int[] ladoHorizontal; // renumeracion de left/right, null si no hubo
+    public final int[] ladoVertical; // renumeracion de up/down, null si no hubo
+    public final int profundidad; // celdas colocadas
+    public final int[] cursores; // profundidad + 1 cursores
+    public final long intentos; // acumulados de todas las corridas
+    public final long podas;
+    public final long nodos;
+    public final long tiempoMs;
+
+    public PuntoControl(byte algoritmo, Estado estado, int size, int rangoNum, int[] codigos, int[] ladoHorizontal,
+            int[] ladoVertical, int profundidad, int[] cursores, long intentos, long podas, long nodos,
+            long tiempoMs) {
+        if (cursores.length != profundidad + 1) {
+            throw new IllegalArgumentException("Se esperaban " + (profundidad + 1) + " cursores");
+        }
+        this.algoritmo = algoritmo;
+        this.estado = estado;
+        this.size = size;
+        this.rangoNum = rangoNum;
+        this.codigos = codigos;
+        this.ladoHorizontal = ladoHorizontal;
+        this.ladoVertical = ladoVertical;
+        this.profundidad = profundidad;
+        this.cursores = cursores;
+        this.intentos = intentos;
+        this.podas = podas;
+        this.nodos = nodos;
+        this.tiempoMs = tiempoMs;
+    }
+
+    /**
+     * Tablero con las mismas piezas (lados originales), en el mismo orden,
+     * listo para reanudar
+     */
+    public Tablero crearTablero() {
+        return Tablero.desdeCodigos(size, rangoNum, codigos, ladoHorizontal, ladoVertical);
+    }
+
+    /**
+     * true si el punto de control es de este algoritmo y de estas piezas
+     * (mismo tamaño, mismo rango de valores, mismos codigos y misma
+     * renumeracion)
+     */
+    public boolean esDe(byte algoritmo, Tablero board) {
+        return this.algoritmo == algoritmo && size == board.size && rangoNum == board.rangoNum
+                && Arrays.equals(codigos, board.codigos) && Arrays.equals(ladoHorizontal, board.getLadoHorizontal())
+                && Arrays.equals(ladoVertical, board.getLadoVertical());
+    }
+
+    /**
+     * Escribe el punto de control de forma atomica (temporal + renombrar)
+     */
+    public void escribir(Path archivo) throws IOException {
+        Path carpeta = archivo.toAbsolutePath().getParent();
+        if (carpeta != null) {
+            Files.createDirectories(carpeta);
+        }
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+            out.writeInt(MAGICO);
+            out.writeInt(VERSION);
+            out.writeByte(algoritmo);
+            out.writeByte(estado.ordinal());
+            out.writeInt(size);
+            out.writeInt(rangoNum);
+            out.writeInt(codigos.length);
+            for (int codigo : codigos) {
+                out.writeInt(codigo);
+            }
+            escribirTabla(out, ladoHorizontal);
+            escribirTabla(out, ladoVertical);
+            out.writeInt(profundidad);
+            for (int cursor : cursores) {
+                out.writeInt(cursor);
+            }
+            out.writeLong(intentos);
+            out.writeLong(podas);
+            out.writeLong(nodos);
+            out.writeLong(tiempoMs);
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Una tabla de renumeracion: longitud y valores (longitud 0 si es null)
+    private static void escribirTabla(DataOutputStream out, int[] tabla) throws IOException {
+        out.writeInt(tabla == null ? 0 : tabla.length);
+        if (tabla != null) {
+            for (int lado : tabla) {
+                out.writeInt(lado);
+            }
+        }
+    }
+
+    // Lee una tabla de escribirTabla; a lo sumo un valor por codigo de PiezaCodec
+    private static int[] leerTabla(DataInputStream in) throws IOException {
+        int largo = in.readInt();
+        if (largo < 0 || largo > PiezaCodec.MAX_VALOR + 1) {
+            throw new IOException("Punto de control corrupto: tabla de renumeracion de " + largo + " valores");
+        }
+        if (largo == 0) {
+            return null;
+        }
+        int[] tabla = new int[largo];
+        for (int i = 0; i < largo; i++) {
+            tabla[i] = in.readInt();
+        }
+        return tabla;
+    }
+
+    /**
+     * Lee un punto de control escrito con escribir. Valida el estado y las
+     * longitudes antes de crear arreglos, asi un archivo corrupto da
+     * IOException y no un error de arreglo (uno cortado termina en
+     * EOFException, que tambien es IOException).
+     *
+     * @throws IOException si el archivo no existe, no es un punto de control,
+     *                     esta cortado o tiene datos inconsistentes
+     */
+    public static PuntoControl leer(Path archivo) throws IOException {
+        long bytes = Files.size(archivo);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(archivo)))) {
+            if (in.readInt() != MAGICO) {
+                throw new IOException(archivo + " no es un punto de control");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Version de punto de control no soportada: " + version);
+            }
+            byte algoritmo = in.readByte();
+            if (algoritmo != FUERZA_BRUTA && algoritmo != VORAZ) {
+                throw new IOException("Algoritmo de punto de control desconocido: " + algoritmo);
+            }
+            int ordinal = in.readByte();
+            if (ordinal < 0 || ordinal >= Estado.values().length) {
+                throw new IOException("Estado de punto de control desconocido: " + ordinal);
+            }
+            Estado estado = Estado.values()[ordinal];
+            int size = in.readInt();
+            int rangoNum = in.readInt();
+            int n = in.readInt();
+            // Cada codigo ocupa 4 bytes: una longitud mayor que el archivo
+            // es un dato corrupto, no un arreglo a reservar
+            if (size <= 0 || rangoNum <= 0 || n != (long) size * size || 4L * n > bytes) {
+                throw new IOException("Punto de control corrupto: size " + size + ", rangoNum " + rangoNum
+                        + ", " + n + " piezas");
+            }
+            int[] codigos = new int[n];
+            for (int i = 0; i < codigos.length; i++) {
+                codigos[i] = in.readInt();
+            }
+            // Con renumeracion cada lado del codigo es un indice de su tabla
+            int[] ladoHorizontal = leerTabla(in);
+            int[] ladoVertical = leerTabla(in);
+            if ((ladoHorizontal == null) != (ladoVertical == null)) {
+                throw new IOException("Punto de control corrupto: falta una tabla de renumeracion");
+            }
+            if (ladoHorizontal != null) {
+                for (int codigo : codigos) {
+                    if (PiezaCodec.left(codigo) >= ladoHorizontal.length
+                            || PiezaCodec.right(codigo) >= ladoHorizontal.length
+                            || PiezaCodec.up(codigo) >= ladoVertical.length
+                            || PiezaCodec.down(codigo) >= ladoVertical.length) {
+                        throw new IOException("Punto de control corrupto: pieza " + PiezaCodec.toString(codigo)
+                                + " fuera de las tablas de renumeracion");
+                    }
+                }
+            }
+            int profundidad = in.readInt();
+            if (profundidad < 0 || profundidad > n) {
+                throw new IOException("Punto de control corrupto: profundidad " + profundidad + " de " + n);
+            }
+            int[] cursores = new int[profundidad + 1];
+            for (int i = 0; i < cursores.length; i++) {
+                cursores[i] = in.readInt();
+            }
+            return new PuntoControl(algoritmo, estado, size, rangoNum, codigos, ladoHorizontal, ladoVertical,
+                    profundidad, cursores,
+                    in.readLong(), in.readLong(), in.readLong(), in.readLong());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s, %d/%d celdas, %d intentos, %d nodos, %d ms",
+                estado, profundidad, size * size, intentos, nodos, tiempoMs);
+    }
+}
@@ -0,0 +1,87 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+
+/**
+ * Tablas precalculadas para recorrer el tablero plano (celdas[]) sin
+ * recalcular nextRow/nextCol en cada nodo.
+ *
+ * - orden[k]: celda que se llena en la profundidad k (fila por fila)
+ * - filaDe[idx], colDe[idx]: fila y columna de la celda idx
+ * - izquierda[idx], arriba[idx]: indice del vecino, o SIN_VECINO
+ * - derecha[idx], abajo[idx]: indice del vecino, o SIN_VECINO
+ *
+ * Los motores iterativos trabajan con la profundidad k y estas tablas. La
+ * seleccion MRV de Voraz solo usa las tablas de vecinos (su orden no es fijo).
+ */
+public class RecorridoTablero {
+
+    public static final int SIN_VECINO = -1;
+
+    public final int size;
+    public final int numCeldas;
+    public final int[] orden;
+    public final int[] filaDe;
+    public final int[] colDe;
+    public final int[] izquierda;
+    public final int[] arriba;
+    public final int[] derecha;
+    public final int[] abajo;
+
+    public RecorridoTablero(int size) {
+        this.size = size;
+        this.numCeldas = size * size;
+        this.orden = new int[numCeldas];
+        this.filaDe = new int[numCeldas];
+        this.colDe = new int[numCeldas];
+        this.izquierda = new int[numCeldas];
+        this.arriba = new int[numCeldas];
+        this.derecha = new int[numCeldas];
+        this.abajo = new int[numCeldas];
+
+        for (int idx = 0; idx < numCeldas; idx++) {
+            int row = idx / size;
+            int col = idx % size;
+            orden[idx] = idx; // fila por fila
+            filaDe[idx] = row;
+            colDe[idx] = col;
+            izquierda[idx] = col > 0 ? idx - 1 : SIN_VECINO;
+            arriba[idx] = row > 0 ? idx - size : SIN_VECINO;
+            derecha[idx] = col < size - 1 ? idx + 1 : SIN_VECINO;
+            abajo[idx] = row < size - 1 ? idx + size : SIN_VECINO;
+        }
+    }
+
+    /**
+     * Vista del indice de candidatos para la celda idx segun los vecinos ya
+     * colocados en celdas[].
+     */
+    public int vista(IndiceCandidatos indice, int[] celdas, int idx) {
+        int izq = izquierda[idx];
+        int arr = arriba[idx];
+        int left = izq != SIN_VECINO ? PiezaCodec.right(celdas[izq]) : IndiceCandidatos.LIBRE;
+        int up = arr != SIN_VECINO ? PiezaCodec.down(celdas[arr]) : IndiceCandidatos.LIBRE;
+        return indice.vista(left, up);
+    }
+
+    /**
+     * Vista del indice de lados para la celda idx: exige cada lado que
+     * tenga un vecino ya colocado en celdas[], en cualquier direccion.
+     */
+    public int vista(IndiceLados indice, int[] celdas, int idx) {
+        return indice.vista(ladoExigido(celdas, arriba[idx], IndiceLados.DOWN),
+                ladoExigido(celdas, derecha[idx], IndiceLados.LEFT),
+                ladoExigido(celdas, abajo[idx], IndiceLados.UP),
+                ladoExigido(celdas, izquierda[idx], IndiceLados.RIGHT));
+    }
+
+    /**
+     * Lado del vecino que toca a la celda (ladoDelVecino), o LIBRE si el
+     * vecino no existe o esta vacio
+     */
+    public static int ladoExigido(int[] celdas, int vecino, int ladoDelVecino) {
+        if (vecino == SIN_VECINO || celdas[vecino] == PiezaCodec.VACIA) {
+            return IndiceLados.LIBRE;
+        }
+        return IndiceLados.valorLado(celdas[vecino], ladoDelVecino);
+    }
+}
@@ -0,0 +1,181 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.util.Arrays;
+
+/**
+ * Tabla de transposicion de fronteras sin solucion, con memoria acotada.
+ *
+ * El backtracking fila por fila llega muchas veces a la misma frontera por
+ * ordenes distintos (ver ZobristFrontera). Cuando una frontera se explora
+ * entera sin encontrar solucion se guarda su clave; si la busqueda vuelve a
+ * ella la rama se poda sin explorarla de nuevo.
+ *
+ * La tabla es asociativa por conjuntos: la clave elige un conjunto de VIAS
+ * entradas y se busca solo ahi, asi buscar y guardar son O(1) y la memoria
+ * es fija (capacidad entradas, 20 bytes cada una). Con el conjunto lleno se
+ * desaloja una entrada segun la politica:
+ *
+ * - LRU: la usada (guardada o acertada) hace mas tiempo
+ * - PROFUNDIDAD: la mas profunda, porque su subarbol es el mas chico; si la
+ *   nueva es mas profunda que todas, no se guarda
+ *
+ * Solo se compara la clave de 64 bits: una colision haria podar una rama
+ * buena, con probabilidad despreciable (del orden de entradas / 2^64).
+ *
+ * No es segura entre hilos: cada solver usa la suya.
+ */
+public class TablaTransposicion {
+
+    /** Politica de desalojo con el conjunto lleno */
+    public enum Politica {
+        LRU, PROFUNDIDAD
+    }
+
+    private static final int VIAS = 4;
+    private static final long VACIA = 0; // ninguna clave se guarda como 0
+
+    private final Politica politica;
+    private final int mascara; // conjuntos - 1
+    private final long[] claves;
+    private final int[] profundidades;
+    private final long[] usos; // reloj del ultimo uso (LRU)
+    private long reloj;
+
+    // Contadores
+    private long aciertos;
+    private long fallos;
+    private long guardadas;
+    private long desalojos;
+    private long rechazadas;
+
+    /**
+     * @param capacidad Entradas maximas (se redondea a potencia de 2, minimo VIAS)
+     * @param politica  Que entrada desalojar con el conjunto lleno
+     */
+    public TablaTransposicion(int capacidad, Politica politica) {
+        int entradas = Integer.highestOneBit(Math.max(VIAS, capacidad));
+        this.politica = politica;
+        this.mascara = entradas / VIAS - 1;
+        this.claves = new long[entradas];
+        this.profundidades = new int[entradas];
+        this.usos = new long[entradas];
+    }
+
+    // Primera entrada del conjunto de la clave
+    private int conjunto(long clave) {
+        return (int) ((clave ^ (clave >>> 32)) & mascara) * VIAS;
+    }
+
+    private static long normalizar(long clave) {
+        return clave == VACIA ? 1 : clave;
+    }
+
+    /**
+     * true si la frontera ya se probo sin solucion. O(1).
+     */
+    public boolean contiene(long clave) {
+        clave = normalizar(clave);
+        int base = conjunto(clave);
+        for (int i = base; i < base + VIAS; i++) {
+            if (claves[i] == clave) {
+                usos[i] = ++reloj;
+                aciertos++;
+                return true;
+            }
+        }
+        fallos++;
+        return false;
+    }
+
+    /**
+     * Guarda una frontera sin solucion encontrada con profundidad celdas
+     * colocadas. O(1).
+     */
+    public void guardar(long clave, int profundidad) {
+        clave = normalizar(clave);
+        int base = conjunto(clave);
+        int victima = -1;
+        for (int i = base; i < base + VIAS; i++) {
+            if (claves[i] == clave || claves[i] == VACIA) {
+                victima = i;
+                break;
+            }
+            if (victima < 0 || peor(i, victima)) {
+                victima = i;
+            }
+        }
+
+        if (claves[victima] != VACIA && claves[victima] != clave) {
+            if (politica == Politica.PROFUNDIDAD && profundidad > profundidades[victima]) {
+                rechazadas++;
+                return;
+            }
+            desalojos++;
+        }
+        if (claves[victima] != clave) {
+            guardadas++;
+        }
+        claves[victima] = clave;
+        profundidades[victima] = profundidad;
+        usos[victima] = ++reloj;
+    }
+
+    // true si la entrada a es mejor candidata a desalojar que la b
+    private boolean peor(int a, int b) {
+        if (politica == Politica.PROFUNDIDAD && profundidades[a] != profundidades[b]) {
+            return profundidades[a] > profundidades[b];
+        }
+        return usos[a] < usos[b];
+    }
+
+    /** Vacia la tabla y reinicia los contadores */
+    public void limpiar() {
+        Arrays.fill(claves, VACIA);
+        reloj = 0;
+        aciertos = 0;
+        fallos = 0;
+        guardadas = 0;
+        desalojos = 0;
+        rechazadas = 0;
+    }
+
+    public Politica getPolitica() {
+        return politica;
+    }
+
+    public int getCapacidad() {
+        return claves.length;
+    }
+
+    /** Busquedas que encontraron la frontera (ramas podadas) */
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    public long getFallos() {
+        return fallos;
+    }
+
+    /** Fronteras nuevas guardadas */
+    public long getGuardadas() {
+        return guardadas;
+    }
+
+    /** Entradas reemplazadas por otra frontera */
+    public long getDesalojos() {
+        return desalojos;
+    }
+
+    /** Fronteras no guardadas por ser mas profundas que todo su conjunto */
+    public long getRechazadas() {
+        return rechazadas;
+    }
+
+    @Override
+    public String toString() {
+        long busquedas = aciertos + fallos;
+        return String.format("%s %d entradas | aciertos=%d fallos=%d (%.1f%%) | guardadas=%d desalojos=%d rechazadas=%d",
+                politica, claves.length, aciertos, fallos, busquedas > 0 ? 100.0 * aciertos / busquedas : 0,
+                guardadas, desalojos, rechazadas);
+    }
+}
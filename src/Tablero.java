@@ -1,10 +1,16 @@
 // Fecha de creación: 25 de enero de 2026
-// Última modificación: 27 de enero de 2026
+// Última modificación: 17 de octubre de 2026
 
 //Java.util necesarias de base
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 
 public class Tablero {
 
@@ -15,12 +21,28 @@ public class Tablero {
     public int pieces;
     public int rangoNum;
 
+    // Modo primitivo (ver PiezaCodec): las piezas empaquetadas en ints
+    // codigos[id] es la pieza id de listaPiezas, celdas[row * size + col] es el tablero plano
+    public int[] codigos;
+    public int[] celdas;
+
+    // Si algun lado no cabe en 8 bits los valores se renumeran por eje (ver
+    // activarModoPrimitivo). null = el valor del codigo es el lado tal cual
+    private Map<Integer, Integer> valorHorizontal; // left/right -> valor en el codigo
+    private Map<Integer, Integer> valorVertical; // up/down -> valor en el codigo
+    private int[] ladoHorizontal; // valor en el codigo -> left/right
+    private int[] ladoVertical; // valor en el codigo -> up/down
+
     // Constructor, inicia con un tablero vacio
     public Tablero(int size, int rangoNum) {
+        this(size, rangoNum, new Pieza[size][size]);
+    }
+
+    private Tablero(int size, int rangoNum, Pieza[][] tablero) {
         this.size = size;
         this.pieces = size * size;
         this.rangoNum = rangoNum;
-        this.tablero = new Pieza[size][size];
+        this.tablero = tablero;
     }
 
     // Crea un tablero ordenado de base
@@ -149,10 +171,13 @@ public class Tablero {
     }
 
     // Metodos para modificar el tablero, coloca una pieza en una posicion
-    // especifica
+    // especifica (en modo primitivo tambien en celdas[])
     public void setPieza(int row, int col, Pieza pieza) {
         if (row >= 0 && row < size && col >= 0 && col < size) {
             tablero[row][col] = pieza;
+            if (celdas != null) {
+                celdas[row * size + col] = pieza == null ? PiezaCodec.VACIA : codificar(pieza);
+            }
         }
     }
 
@@ -168,6 +193,280 @@ public class Tablero {
     public void removePieza(int row, int col) {
         if (row >= 0 && row < size && col >= 0 && col < size) {
             tablero[row][col] = null;
+            if (celdas != null) {
+                celdas[row * size + col] = PiezaCodec.VACIA;
+            }
+        }
+    }
+
+    // ========================================================================
+    // MODO PRIMITIVO (int[])
+    // ========================================================================
+
+    // Construye codigos[] y celdas[] a partir de listaPiezas y del tablero actual.
+    // Los algoritmos trabajan sobre celdas[] y al final llaman a sincronizarTablero().
+    // Si algun lado pasa de PiezaCodec.MAX_VALOR (rangoNum mayor a 255) los
+    // valores se renumeran: a los algoritmos solo les importa que dos lados
+    // iguales sigan iguales, asi que left/right y up/down reciben cada uno
+    // valores 0..k-1 en orden de aparicion. Cabe mientras cada eje tenga a lo
+    // sumo 255 valores distintos (siempre hasta 15x15: un tablero armable de
+    // n x n tiene n * (n - 1) uniones y 2n bordes por eje). Si no cabe lanza
+    // IllegalArgumentException: antes hay que preguntar cabeEnCodigos() y,
+    // si da false, trabajar sobre el tablero de objetos Pieza
+    public void activarModoPrimitivo() {
+        asegurarListaPiezas();
+        renumerarLados();
+        codigos = new int[listaPiezas.size()];
+        for (int k = 0; k < codigos.length; k++) {
+            codigos[k] = codificar(listaPiezas.get(k));
+        }
+        celdas = new int[pieces];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                celdas[i * size + j] = tablero[i][j] == null ? PiezaCodec.VACIA : codificar(tablero[i][j]);
+            }
+        }
+    }
+
+    // Si el tablero no fue desordenado todavia, la lista sale del tablero
+    public void asegurarListaPiezas() {
+        if (listaPiezas == null) {
+            listaPiezas = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    listaPiezas.add(tablero[i][j]);
+                }
+            }
+        }
+    }
+
+    // true si las piezas caben en PiezaCodec, tal cual o renumeradas (a lo
+    // sumo 255 valores distintos por eje). Si da false los algoritmos usan
+    // su version sobre el tablero de objetos Pieza. O(N)
+    public boolean cabeEnCodigos() {
+        asegurarListaPiezas();
+        if (maxLado() <= PiezaCodec.MAX_VALOR) {
+            return true;
+        }
+        Set<Integer> horizontales = new HashSet<>();
+        Set<Integer> verticales = new HashSet<>();
+        for (Pieza p : listaPiezas) {
+            horizontales.add(p.getLeft());
+            horizontales.add(p.getRight());
+            verticales.add(p.getUp());
+            verticales.add(p.getDown());
+        }
+        return Math.max(horizontales.size(), verticales.size()) <= PiezaCodec.MAX_VALOR + 1;
+    }
+
+    private int maxLado() {
+        int maxLado = 0;
+        for (Pieza p : listaPiezas) {
+            maxLado = Math.max(maxLado, Math.max(Math.max(p.getUp(), p.getRight()), Math.max(p.getDown(), p.getLeft())));
+        }
+        return maxLado;
+    }
+
+    // Clase de cada pieza de listaPiezas: el id de la primera pieza con los
+    // mismos cuatro lados (piezas iguales, misma clase). No depende de
+    // PiezaCodec, sirve para cualquier rango de valores. O(N)
+    public int[] clasesDePiezas() {
+        asegurarListaPiezas();
+        Map<List<Integer>, Integer> primera = new HashMap<>();
+        int[] clases = new int[listaPiezas.size()];
+        for (int id = 0; id < clases.length; id++) {
+            Pieza p = listaPiezas.get(id);
+            Integer clase = primera.putIfAbsent(List.of(p.getUp(), p.getRight(), p.getDown(), p.getLeft()), id);
+            clases[id] = clase == null ? id : clase;
+        }
+        return clases;
+    }
+
+    // Arma las tablas de renumeracion si algun lado no cabe en PiezaCodec
+    private void renumerarLados() {
+        valorHorizontal = null;
+        valorVertical = null;
+        ladoHorizontal = null;
+        ladoVertical = null;
+        if (maxLado() <= PiezaCodec.MAX_VALOR) {
+            return;
+        }
+        valorHorizontal = new HashMap<>();
+        valorVertical = new HashMap<>();
+        for (Pieza p : listaPiezas) {
+            valorHorizontal.putIfAbsent(p.getLeft(), valorHorizontal.size());
+            valorHorizontal.putIfAbsent(p.getRight(), valorHorizontal.size());
+            valorVertical.putIfAbsent(p.getUp(), valorVertical.size());
+            valorVertical.putIfAbsent(p.getDown(), valorVertical.size());
+        }
+        if (Math.max(valorHorizontal.size(), valorVertical.size()) > PiezaCodec.MAX_VALOR + 1) {
+            int distintos = Math.max(valorHorizontal.size(), valorVertical.size());
+            valorHorizontal = null;
+            valorVertical = null;
+            throw new IllegalArgumentException("El tablero tiene " + distintos
+                    + " valores de lado distintos en un eje, PiezaCodec admite " + (PiezaCodec.MAX_VALOR + 1)
+                    + " (ver cabeEnCodigos)");
+        }
+        ladoHorizontal = new int[valorHorizontal.size()];
+        valorHorizontal.forEach((lado, valor) -> ladoHorizontal[valor] = lado);
+        ladoVertical = new int[valorVertical.size()];
+        valorVertical.forEach((lado, valor) -> ladoVertical[valor] = lado);
+    }
+
+    // Codigo de PiezaCodec de una pieza de este tablero (con los lados renumerados si hace falta)
+    public int codificar(Pieza pieza) {
+        if (valorHorizontal == null) {
+            return PiezaCodec.codificar(pieza);
+        }
+        return PiezaCodec.codificar(valor(valorVertical, pieza.getUp()), valor(valorHorizontal, pieza.getRight()),
+                valor(valorVertical, pieza.getDown()), valor(valorHorizontal, pieza.getLeft()));
+    }
+
+    private static int valor(Map<Integer, Integer> valores, int lado) {
+        Integer valor = valores.get(lado);
+        if (valor == null) {
+            throw new IllegalArgumentException("El lado " + lado + " no es de ninguna pieza del tablero");
+        }
+        return valor;
+    }
+
+    // Pieza con los lados originales de un codigo (null si la celda esta vacia)
+    public Pieza decodificar(int codigo) {
+        if (codigo == PiezaCodec.VACIA || ladoHorizontal == null) {
+            return PiezaCodec.decodificar(codigo);
+        }
+        return new Pieza(ladoVertical[PiezaCodec.up(codigo)], ladoHorizontal[PiezaCodec.right(codigo)],
+                ladoVertical[PiezaCodec.down(codigo)], ladoHorizontal[PiezaCodec.left(codigo)]);
+    }
+
+    public boolean isModoPrimitivo() {
+        return celdas != null;
+    }
+
+    // Obtiene el codigo de una posicion, VACIA si esta fuera del tablero
+    public int getCodigo(int row, int col) {
+        if (row >= 0 && row < size && col >= 0 && col < size) {
+            return celdas[row * size + col];
+        }
+        return PiezaCodec.VACIA;
+    }
+
+    public void setCodigo(int row, int col, int codigo) {
+        if (row >= 0 && row < size && col >= 0 && col < size) {
+            celdas[row * size + col] = codigo;
+        }
+    }
+
+    public void removeCodigo(int row, int col) {
+        setCodigo(row, col, PiezaCodec.VACIA);
+    }
+
+    // Vacia todas las celdas del modo primitivo
+    public void limpiarCeldas() {
+        Arrays.fill(celdas, PiezaCodec.VACIA);
+    }
+
+    // Igual que checkTablero() pero sobre celdas[]
+    public boolean checkTableroPrimitivo() {
+        for (int idx = 0; idx < pieces; idx++) {
+            int codigo = celdas[idx];
+            if (codigo == PiezaCodec.VACIA) {
+                return false;
+            }
+            int col = idx % size;
+            if (col > 0 && PiezaCodec.left(codigo) != PiezaCodec.right(celdas[idx - 1])) {
+                return false;
+            }
+            if (idx >= size && PiezaCodec.up(codigo) != PiezaCodec.down(celdas[idx - size])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Copia completa e independiente (mismas piezas, mismo orden) para que
+    // otro algoritmo trabaje sobre ella sin tocar este tablero
+    public Tablero copiar() {
+        Tablero copia = new Tablero(size, rangoNum);
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(tablero[i], 0, copia.tablero[i], 0, size);
+        }
+        if (listaPiezas != null) {
+            copia.listaPiezas = new ArrayList<>(listaPiezas);
+        }
+        if (codigos != null) {
+            copia.codigos = codigos.clone();
+            copia.celdas = celdas.clone();
+            copia.copiarRenumeracion(this);
+        }
+        return copia;
+    }
+
+    // Copia independiente del modo primitivo para que otro hilo busque sobre ella.
+    // Comparte listaPiezas y codigos (solo lectura), celdas[] es propio. No
+    // tiene tablero de objetos Pieza (tablero queda null): solo sirve para
+    // buscar sobre celdas[], el resultado se copia a las celdas del original
+    public Tablero copiarPrimitivo() {
+        Tablero copia = new Tablero(size, rangoNum, null);
+        copia.listaPiezas = listaPiezas;
+        copia.codigos = codigos;
+        copia.celdas = celdas.clone();
+        copia.copiarRenumeracion(this);
+        return copia;
+    }
+
+    // Las tablas de renumeracion no cambian despues de activarModoPrimitivo, se comparten
+    private void copiarRenumeracion(Tablero otro) {
+        valorHorizontal = otro.valorHorizontal;
+        valorVertical = otro.valorVertical;
+        ladoHorizontal = otro.ladoHorizontal;
+        ladoVertical = otro.ladoVertical;
+    }
+
+    // Tablero vacio con las piezas dadas como codigos (PiezaCodec), en ese orden,
+    // ya en modo primitivo. Sirve para reanudar una busqueda (ver PuntoControl).
+    // Con tablas de renumeracion (getLadoHorizontal/getLadoVertical del tablero
+    // original, null si no hubo) las piezas vuelven a sus lados originales; como
+    // la renumeracion sigue el orden de aparicion, activarModoPrimitivo arma
+    // las mismas tablas y los mismos codigos
+    public static Tablero desdeCodigos(int size, int rangoNum, int[] codigos, int[] ladoHorizontal,
+            int[] ladoVertical) {
+        Tablero board = new Tablero(size, rangoNum);
+        board.listaPiezas = new ArrayList<>();
+        for (int codigo : codigos) {
+            board.listaPiezas.add(ladoHorizontal == null ? PiezaCodec.decodificar(codigo)
+                    : new Pieza(ladoVertical[PiezaCodec.up(codigo)], ladoHorizontal[PiezaCodec.right(codigo)],
+                            ladoVertical[PiezaCodec.down(codigo)], ladoHorizontal[PiezaCodec.left(codigo)]));
+        }
+        board.activarModoPrimitivo();
+        return board;
+    }
+
+    // Tablas de renumeracion (valor en el codigo -> lado original), null si los
+    // lados entran tal cual en PiezaCodec. Solo lectura
+    public int[] getLadoHorizontal() {
+        return ladoHorizontal;
+    }
+
+    public int[] getLadoVertical() {
+        return ladoVertical;
+    }
+
+    // Copia celdas[] al tablero de objetos Pieza (para imprimir y checkTablero).
+    // Cada celda recibe uno de los objetos de listaPiezas con ese codigo (las
+    // piezas iguales son intercambiables), asi se conserva la identidad de los
+    // objetos. Solo un codigo que no es de ninguna pieza crea una Pieza nueva. O(N)
+    public void sincronizarTablero() {
+        Map<Integer, ArrayDeque<Pieza>> porCodigo = new HashMap<>();
+        for (int k = 0; k < listaPiezas.size(); k++) {
+            porCodigo.computeIfAbsent(codigos[k], c -> new ArrayDeque<>()).add(listaPiezas.get(k));
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                int codigo = celdas[i * size + j];
+                ArrayDeque<Pieza> piezas = porCodigo.get(codigo);
+                tablero[i][j] = piezas != null && !piezas.isEmpty() ? piezas.poll() : decodificar(codigo);
+            }
         }
     }
 
@@ -0,0 +1,323 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Telemetria de los backtracking (FuerzaBruta y Voraz con backtracking).
+ *
+ * El solver avisa cada nodo y cada poda con su profundidad (celdas ya
+ * colocadas). Una poda es una rama descartada sin bajar: la guillotina en
+ * Voraz, una celda donde ninguna pieza encaja en FuerzaBruta y, en ambos,
+ * los cortes por balance de bordes y por la tabla de transposicion. Una
+ * celda que probo piezas y se agoto no es poda. Cada aviso solo incrementa
+ * un contador en un arreglo por profundidad, sin sincronizacion: cada hilo
+ * escribe en su propia celda
+ * (igual que InstrumentacionContador), asi FuerzaBrutaParalela puede
+ * compartir una instancia.
+ *
+ * Un hilo de fondo (iniciarMuestreo) toma cada periodo una Muestra con
+ * nodos por segundo, profundidad actual y maxima, podas y factor de
+ * ramificacion efectivo. La ultima muestra se puede leer durante la
+ * corrida y volcar() imprime el histograma por profundidad al final.
+ *
+ * Las lecturas durante la corrida son aproximadas (el solver sigue
+ * escribiendo); al terminar son exactas.
+ */
+public class Telemetria {
+
+    /**
+     * Foto de la busqueda en un instante
+     */
+    public static class Muestra {
+        public final double tiempoMs;
+        public final long nodos;
+        public final double nodosPorSegundo; // desde la muestra anterior (o promedio)
+        public final int profundidadActual;
+        public final int profundidadMaxima;
+        public final long podas;
+        public final double factorRamificacion;
+
+        Muestra(double tiempoMs, long nodos, double nodosPorSegundo, int profundidadActual, int profundidadMaxima,
+                long podas, double factorRamificacion) {
+            this.tiempoMs = tiempoMs;
+            this.nodos = nodos;
+            this.nodosPorSegundo = nodosPorSegundo;
+            this.profundidadActual = profundidadActual;
+            this.profundidadMaxima = profundidadMaxima;
+            this.podas = podas;
+            this.factorRamificacion = factorRamificacion;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("t=%.0f ms | nodos=%d (%.0f/s) | prof=%d max=%d | podas=%d | b*=%.3f",
+                    tiempoMs, nodos, nodosPorSegundo, profundidadActual, profundidadMaxima, podas,
+                    factorRamificacion);
+        }
+    }
+
+    // Contadores de un hilo, solo los escribe su dueño
+    private static final class Celda {
+        final Thread dueno;
+        final long[] nodos;
+        final long[] podas;
+        int actual;
+        int maxima;
+
+        Celda(Thread dueno, int profundidades) {
+            this.dueno = dueno;
+            this.nodos = new long[profundidades];
+            this.podas = new long[profundidades];
+        }
+    }
+
+    private final int profundidades; // celdas del tablero + 1
+    private final ConcurrentLinkedQueue<Celda> celdas = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Celda> celdaLocal;
+    private Celda primera; // camino rapido para el caso de un solo hilo
+
+    // Muestreo
+    private final long inicioNanos = System.nanoTime();
+    private final List<Muestra> muestras = new ArrayList<>();
+    private volatile Muestra ultima;
+    private ScheduledExecutorService muestreador;
+
+    /**
+     * @param numCeldas Celdas del tablero (profundidad maxima de la busqueda)
+     */
+    public Telemetria(int numCeldas) {
+        this.profundidades = numCeldas + 1;
+        this.celdaLocal = ThreadLocal.withInitial(() -> {
+            Celda celda = new Celda(Thread.currentThread(), profundidades);
+            celdas.add(celda);
+            return celda;
+        });
+    }
+
+    private Celda celda() {
+        Celda celda = primera;
+        if (celda != null && celda.dueno == Thread.currentThread()) {
+            return celda;
+        }
+        celda = celdaLocal.get();
+        if (primera == null) {
+            primera = celda;
+        }
+        return celda;
+    }
+
+    // ========== LLAMADAS DEL SOLVER ==========
+
+    /** Se visito un nodo con profundidad celdas colocadas */
+    public void nodo(int profundidad) {
+        Celda celda = celda();
+        celda.nodos[profundidad]++;
+        celda.actual = profundidad;
+        if (profundidad > celda.maxima) {
+            celda.maxima = profundidad;
+        }
+    }
+
+    /** Se podo una rama en la profundidad dada */
+    public void poda(int profundidad) {
+        celda().podas[profundidad]++;
+    }
+
+    // ========== LECTURA ==========
+
+    /** Nodos visitados en cada profundidad (suma de todos los hilos) */
+    public long[] getNodosPorProfundidad() {
+        long[] total = new long[profundidades];
+        for (Celda celda : celdas) {
+            for (int d = 0; d < profundidades; d++) {
+                total[d] += celda.nodos[d];
+            }
+        }
+        return total;
+    }
+
+    /** Podas en cada profundidad (suma de todos los hilos) */
+    public long[] getPodasPorProfundidad() {
+        long[] total = new long[profundidades];
+        for (Celda celda : celdas) {
+            for (int d = 0; d < profundidades; d++) {
+                total[d] += celda.podas[d];
+            }
+        }
+        return total;
+    }
+
+    /** Profundidad actual (la mayor entre los hilos si hay varios) */
+    public int getProfundidadActual() {
+        int actual = 0;
+        for (Celda celda : celdas) {
+            actual = Math.max(actual, celda.actual);
+        }
+        return actual;
+    }
+
+    public int getProfundidadMaxima() {
+        int maxima = 0;
+        for (Celda celda : celdas) {
+            maxima = Math.max(maxima, celda.maxima);
+        }
+        return maxima;
+    }
+
+    /**
+     * Factor de ramificacion efectivo b*: el b tal que un arbol uniforme de
+     * profundidad D = profundidad maxima tendria los mismos nodos,
+     * 1 + b + b^2 + ... + b^D = nodos. Se calcula por biseccion.
+     */
+    public static double factorRamificacionEfectivo(long nodos, int profundidad) {
+        if (nodos <= 1 || profundidad <= 0) {
+            return 0;
+        }
+        double lo = 0;
+        double hi = Math.max(1, nodos);
+        for (int i = 0; i < 100; i++) {
+            double b = (lo + hi) / 2;
+            double suma = 1;
+            double potencia = 1;
+            for (int d = 1; d <= profundidad && suma <= nodos; d++) {
+                potencia *= b;
+                suma += potencia;
+            }
+            if (suma > nodos) {
+                hi = b;
+            } else {
+                lo = b;
+            }
+        }
+        return (lo + hi) / 2;
+    }
+
+    /**
+     * Toma una muestra ahora
+     */
+    public synchronized Muestra muestrear() {
+        long[] nodos = getNodosPorProfundidad();
+        long[] podas = getPodasPorProfundidad();
+        long totalNodos = 0;
+        long totalPodas = 0;
+        for (int d = 0; d < profundidades; d++) {
+            totalNodos += nodos[d];
+            totalPodas += podas[d];
+        }
+        int maxima = getProfundidadMaxima();
+        double tiempoMs = (System.nanoTime() - inicioNanos) / 1_000_000.0;
+
+        // Ritmo desde la muestra anterior; si es muy reciente, el promedio total
+        double porSegundo = tiempoMs > 0 ? totalNodos * 1000.0 / tiempoMs : 0;
+        Muestra anterior = ultima;
+        if (anterior != null && tiempoMs - anterior.tiempoMs >= 10) {
+            porSegundo = (totalNodos - anterior.nodos) * 1000.0 / (tiempoMs - anterior.tiempoMs);
+        }
+
+        Muestra muestra = new Muestra(tiempoMs, totalNodos, porSegundo, getProfundidadActual(), maxima, totalPodas,
+                factorRamificacionEfectivo(totalNodos, maxima));
+        muestras.add(muestra);
+        ultima = muestra;
+        return muestra;
+    }
+
+    /**
+     * Inicia el hilo de fondo que toma una muestra cada periodoMs
+     *
+     * @param periodoMs Milisegundos entre muestras
+     * @param oyente    Recibe cada muestra (por ejemplo para imprimirla), o null
+     */
+    public synchronized void iniciarMuestreo(long periodoMs, Consumer<Muestra> oyente) {
+        if (muestreador != null) {
+            return;
+        }
+        muestreador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "telemetria");
+            hilo.setDaemon(true); // nunca impide que termine el programa
+            return hilo;
+        });
+        muestreador.scheduleAtFixedRate(() -> {
+            Muestra muestra = muestrear();
+            if (oyente != null) {
+                oyente.accept(muestra);
+            }
+        }, periodoMs, periodoMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detiene el muestreo y toma una ultima muestra (exacta si el solver ya
+     * termino)
+     */
+    public Muestra detenerMuestreo() {
+        ScheduledExecutorService actual;
+        synchronized (this) {
+            actual = muestreador;
+            muestreador = null;
+        }
+        if (actual != null) {
+            actual.shutdownNow();
+            try {
+                actual.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return muestrear();
+    }
+
+    /** Ultima muestra tomada, o null si aun no hay */
+    public Muestra getUltimaMuestra() {
+        return ultima;
+    }
+
+    /** Copia de todas las muestras tomadas */
+    public synchronized List<Muestra> getMuestras() {
+        return new ArrayList<>(muestras);
+    }
+
+    /**
+     * Escribe la ultima muestra y el histograma por profundidad: nodos,
+     * podas y factor de ramificacion de cada nivel (nodos[d+1] / nodos[d]).
+     */
+    public void volcar(PrintWriter writer) {
+        Muestra muestra;
+        synchronized (this) {
+            // Con el muestreo detenido la ultima muestra ya es la final
+            muestra = muestreador == null && ultima != null ? ultima : muestrear();
+        }
+        long[] nodos = getNodosPorProfundidad();
+        long[] podas = getPodasPorProfundidad();
+
+        writer.println(muestra);
+        writer.println(String.format("%-6s | %14s | %14s | %10s", "Prof", "Nodos", "Podas", "Ramif."));
+        writer.println("-".repeat(54));
+        int ultimaConNodos = 0;
+        for (int d = 0; d < profundidades; d++) {
+            if (nodos[d] > 0) {
+                ultimaConNodos = d;
+            }
+        }
+        for (int d = 0; d <= ultimaConNodos; d++) {
+            String ramificacion = d < ultimaConNodos && nodos[d] > 0
+                    ? String.format("%.3f", (double) nodos[d + 1] / nodos[d])
+                    : "-";
+            writer.println(String.format("%-6d | %14d | %14d | %10s", d, nodos[d], podas[d], ramificacion));
+        }
+        writer.flush();
+    }
+
+    /** volcar() como texto */
+    public String resumen() {
+        StringWriter texto = new StringWriter();
+        volcar(new PrintWriter(texto));
+        return texto.toString();
+    }
+}
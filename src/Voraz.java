@@ -1,6 +1,8 @@
 // Fecha de creación: 25 de enero de 2026
-// Última modificación: 29 de enero de 2026
+// Última modificación: 17 de octubre de 2026
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -14,22 +16,76 @@ import java.util.List;
  * - Constructor: new Voraz(true) para backtracking
  * - Setter: voraz.setBacktracking(true)
  * - Metodo directo: solveConBacktracking() o solveGreedyOptimizado()
+ *
+ * Con setMRV(true) el backtracking no llena fila por fila sino que elige
+ * siempre la celda vacia donde caben menos piezas (ver solveBacktrackMRV).
+ * Con setGrasp(true) el voraz puro se vuelve aleatorizado con reinicios en
+ * varios hilos (ver VorazGrasp).
+ *
+ * Si los lados no caben en PiezaCodec (mas de 255 valores distintos en un
+ * eje) ambos modos trabajan sobre el tablero de objetos Pieza, sin las
+ * opciones que necesitan codigos (ver solveGreedyObjetos y
+ * solveConBacktrackingObjetos).
  */
 public class Voraz {
     // ========== CONFIGURACION ==========
     private boolean usarBacktracking;
-
-    // Contadores de operaciones
-    private long comparaciones;
-    private long asignaciones;
+    private boolean iterativo; // backtracking con pila explicita en lugar de recursion
+    private boolean mrv; // backtracking por la celda mas restringida (MRV)
+    private boolean greedyLineal; // voraz puro con cubetas por borde, O(N)
+    private boolean podaBalance; // poda por balance de bordes (ver BalanceBordes)
+    private BalanceBordes balance; // null si no se usa
+    private TablaTransposicion transposicion; // fronteras sin solucion, null si no se usa
+    private ZobristFrontera zobrist; // hash de la frontera actual, null si no se usa
+    private boolean backjumping; // backjumping dirigido por conflictos (ver ConjuntosConflicto)
+    private ConjuntosConflicto conflictos; // null si no se usa
+
+    // Puntos de control del backtracking (ver PuntoControl), null si no se usan
+    private Path archivoPuntosControl;
+    private long periodoPuntosControlMs = 10_000;
+    private EscritorPuntosControl escritor; // durante la busqueda
+    private long nodosPrevios; // de corridas anteriores (al reanudar)
+    private long tiempoPrevioMs;
+    private long inicioNanos;
+
+    // Modo GRASP del voraz puro (ver VorazGrasp)
+    private boolean grasp;
+    private int hilos = Runtime.getRuntime().availableProcessors();
+    private int topK = 3;
+    private long semilla = 42;
+    private long maxIntentosGrasp; // 0: sin tope si el presupuesto tiene limites
+    private static final long TOPE_INTENTOS_SIN_LIMITE = 100_000;
+    private VorazGrasp ultimoGrasp;
+
+    // Tiempo, nodos y cancelacion del backtracking (ver Presupuesto)
+    private Presupuesto presupuesto = Presupuesto.sinLimite();
+
+    // Candidatas de cada profundidad del backtracking (puntaje << 32 | id),
+    // reservadas una vez por solve y reutilizadas en cada nodo
+    private long[][] bufferCandidatas;
+    private int[] numCandidatas;
+
+    // Telemetria opcional del backtracking, null si no se usa
+    private Telemetria telemetria;
+
+    // Mejor tablero parcial del backtracking (colocacion mas profunda)
+    private int[] mejorParcial;
+    private int mejorProfundidad;
+    private Pieza[] mejorParcialPiezas; // lo mismo en el tablero de objetos
+
+    // Comparaciones y asignaciones (ver Instrumentacion)
+    private final Instrumentacion instrumentacion;
+
+    // Contadores de la busqueda
     private long intentosBacktrack;
+    private long saltos; // fallos del backjumping que saltaron mas de una celda
+    private long nivelesSaltados; // celdas saltadas sin probar sus candidatas
 
     /**
      * Constructor por defecto (sin backtracking)
      */
     public Voraz() {
-        this.usarBacktracking = false;
-        resetearContadores();
+        this(false);
     }
 
     /**
@@ -38,7 +94,18 @@ public class Voraz {
      * @param usarBacktracking true para habilitar backtracking
      */
     public Voraz(boolean usarBacktracking) {
+        this(usarBacktracking, new InstrumentacionContador());
+    }
+
+    /**
+     * Constructor con opcion de backtracking e instrumentacion
+     *
+     * @param usarBacktracking true para habilitar backtracking
+     * @param instrumentacion  Instrumentacion.NULA para medir solo tiempo
+     */
+    public Voraz(boolean usarBacktracking, Instrumentacion instrumentacion) {
         this.usarBacktracking = usarBacktracking;
+        this.instrumentacion = instrumentacion;
         resetearContadores();
     }
 
@@ -56,27 +123,204 @@ public class Voraz {
         return usarBacktracking;
     }
 
+    /**
+     * Activa o desactiva el motor iterativo del backtracking (sin recursion,
+     * mismas soluciones que la version recursiva)
+     */
+    public void setIterativo(boolean iterativo) {
+        this.iterativo = iterativo;
+    }
+
+    public boolean isIterativo() {
+        return iterativo;
+    }
+
+    /**
+     * Activa o desactiva la seleccion dinamica de celda (MRV): el
+     * backtracking expande siempre la celda con menos piezas posibles. Tiene
+     * su propio motor recursivo, asi que ignora setIterativo.
+     */
+    public void setMRV(boolean mrv) {
+        this.mrv = mrv;
+    }
+
+    public boolean isMRV() {
+        return mrv;
+    }
+
+    /**
+     * Activa o desactiva el voraz puro por cubetas (solveGreedyLineal), que
+     * da el mismo tablero que solveGreedyOptimizado en O(N)
+     */
+    public void setGreedyLineal(boolean greedyLineal) {
+        this.greedyLineal = greedyLineal;
+    }
+
+    public boolean isGreedyLineal() {
+        return greedyLineal;
+    }
+
+    /**
+     * Activa o desactiva la poda por balance de bordes en el backtracking
+     * fila por fila (recursivo e iterativo; el motor MRV no llena fila por
+     * fila y no la usa)
+     */
+    public void setPodaBalance(boolean podaBalance) {
+        this.podaBalance = podaBalance;
+    }
+
+    public boolean isPodaBalance() {
+        return podaBalance;
+    }
+
+    /**
+     * Tabla de transposicion de fronteras sin solucion para el backtracking
+     * fila por fila (recursivo e iterativo), o null para no usarla. Cada
+     * busqueda la vacia al empezar; al terminar quedan sus contadores.
+     */
+    public void setTransposicion(TablaTransposicion transposicion) {
+        this.transposicion = transposicion;
+    }
+
+    public TablaTransposicion getTransposicion() {
+        return transposicion;
+    }
+
+    /**
+     * Activa o desactiva el backjumping en el backtracking recursivo fila
+     * por fila: al fallar una celda vuelve directo a la ultima celda que
+     * participa en el conflicto (el motor iterativo y MRV lo ignoran)
+     */
+    public void setBackjumping(boolean backjumping) {
+        this.backjumping = backjumping;
+    }
+
+    public boolean isBackjumping() {
+        return backjumping;
+    }
+
+    /**
+     * Guarda el backtracking cada periodoMs en el archivo (en un hilo de
+     * fondo) y al terminar, para seguirlo despues con reanudar. Con puntos
+     * de control se usa el motor iterativo fila por fila (sin MRV). null
+     * para no usarlos.
+     */
+    public void setPuntosControl(Path archivo, long periodoMs) {
+        this.archivoPuntosControl = archivo;
+        this.periodoPuntosControlMs = periodoMs;
+    }
+
+    public Path getArchivoPuntosControl() {
+        return archivoPuntosControl;
+    }
+
+    /** Fallos que saltaron mas de una celda atras en la ultima busqueda */
+    public long getSaltos() {
+        return saltos;
+    }
+
+    /** Celdas que se saltaron (sin probar sus otras candidatas) en la ultima busqueda */
+    public long getNivelesSaltados() {
+        return nivelesSaltados;
+    }
+
+    /**
+     * Activa o desactiva el modo GRASP del voraz puro: intentos aleatorizados
+     * (top-k por celda) en paralelo hasta resolver o agotar el presupuesto
+     */
+    public void setGrasp(boolean grasp) {
+        this.grasp = grasp;
+    }
+
+    public boolean isGrasp() {
+        return grasp;
+    }
+
+    /** Hilos que hacen intentos en modo GRASP */
+    public void setHilos(int hilos) {
+        this.hilos = Math.max(1, hilos);
+    }
+
+    /** Candidatas entre las que se sortea cada celda en modo GRASP */
+    public void setTopK(int topK) {
+        this.topK = Math.max(1, topK);
+    }
+
+    public void setSemilla(long semilla) {
+        this.semilla = semilla;
+    }
+
+    /**
+     * Intentos maximos en modo GRASP. Con 0 (por defecto) no hay tope si el
+     * presupuesto tiene tiempo o nodos; sin limites se usan 100.000 intentos
+     * para que un tablero que nunca sale no corra para siempre.
+     */
+    public void setMaxIntentosGrasp(long maxIntentosGrasp) {
+        this.maxIntentosGrasp = maxIntentosGrasp;
+    }
+
+    /** Intentos del ultimo solve en modo GRASP (0 si no se uso) */
+    public long getIntentosGrasp() {
+        return ultimoGrasp == null ? 0 : ultimoGrasp.getIntentos();
+    }
+
+    /** Intentos por segundo del ultimo solve en modo GRASP */
+    public double getIntentosPorSegundoGrasp() {
+        return ultimoGrasp == null ? 0 : ultimoGrasp.getIntentosPorSegundo();
+    }
+
+    public Presupuesto getPresupuesto() {
+        return presupuesto;
+    }
+
+    /**
+     * Telemetria que alimenta el backtracking (null para apagarla)
+     */
+    public void setTelemetria(Telemetria telemetria) {
+        this.telemetria = telemetria;
+    }
+
+    public Telemetria getTelemetria() {
+        return telemetria;
+    }
+
+    /**
+     * Celdas colocadas (fila por fila) en el mejor tablero parcial del
+     * backtracking
+     */
+    public int getMejorProfundidad() {
+        return mejorProfundidad;
+    }
+
     /**
      * Resetea los contadores de operaciones
      */
     public void resetearContadores() {
-        this.comparaciones = 0;
-        this.asignaciones = 0;
+        instrumentacion.reiniciar();
         this.intentosBacktrack = 0;
+        this.saltos = 0;
+        this.nivelesSaltados = 0;
     }
 
     /**
      * Obtiene el numero de comparaciones realizadas
      */
     public long getComparaciones() {
-        return comparaciones;
+        return instrumentacion.getComparaciones();
     }
 
     /**
      * Obtiene el numero de asignaciones realizadas
      */
     public long getAsignaciones() {
-        return asignaciones;
+        return instrumentacion.getAsignaciones();
+    }
+
+    /**
+     * Instrumentacion con la que se construyo el solver
+     */
+    public Instrumentacion getInstrumentacion() {
+        return instrumentacion;
     }
 
     /**
@@ -94,10 +338,26 @@ public class Voraz {
      * @return true si logra resolver completamente
      */
     public boolean solve(Tablero board) {
+        return solve(board, Presupuesto.sinLimite());
+    }
+
+    /**
+     * Igual que solve(board) con tiempo y nodos limitados para el
+     * backtracking y el modo GRASP. El voraz puro (O(N^2) u O(N)) lo revisa
+     * una vez por celda, sobre todo para que el Portafolio lo pueda cancelar.
+     * 
+     * @param board       El tablero a resolver
+     * @param presupuesto Limites de la busqueda (ver Presupuesto)
+     * @return true si logra resolver completamente
+     */
+    public boolean solve(Tablero board, Presupuesto presupuesto) {
         if (usarBacktracking) {
-            return solveConBacktracking(board);
+            return solveConBacktracking(board, presupuesto);
+        }
+        if (grasp) {
+            return solveGrasp(board, presupuesto);
         }
-        return solveGreedyOptimizado(board);
+        return greedyLineal ? solveGreedyLineal(board, presupuesto) : solveGreedyOptimizado(board, presupuesto);
     }
 
     // ========================================================================
@@ -116,69 +376,87 @@ public class Voraz {
      * @return true si logra resolver completamente, false si no puede continuar
      */
     public boolean solveGreedyOptimizado(Tablero board) {
+        return solveGreedyOptimizado(board, Presupuesto.sinLimite());
+    }
+
+    /**
+     * solveGreedyOptimizado que se detiene (devuelve false con el tablero
+     * parcial) si el presupuesto vence o se cancela. Se revisa en cada celda
+     * (revisar, cada celda ya cuesta O(N)).
+     */
+    public boolean solveGreedyOptimizado(Tablero board, Presupuesto presupuesto) {
+        this.presupuesto = presupuesto;
         resetearContadores(); // +1
-        List<Pieza> disponibles = new ArrayList<>(board.getPieces()); // +N
+        if (!board.cabeEnCodigos()) { // +N
+            return solveGreedyObjetos(board); // lados que no caben en PiezaCodec
+        }
+        board.activarModoPrimitivo(); // +N (piezas empaquetadas, ver PiezaCodec)
+        int[] disponibles = board.codigos.clone(); // +N
+        int cantidad = disponibles.length; // +1
 
         // Limpiar el tablero completamente
-        for (int i = 0; i < board.size; i++) { // 1, sqrt(N)+1, sqrt(N)+1
-            for (int j = 0; j < board.size; j++) { // sqrt(N)*(1, sqrt(N)+1, sqrt(N)+1)
-                asignaciones++; // +N
-                board.removePieza(i, j); //Colocar null en cada celda // +N
-                asignaciones++; // +N
-            }
-        }
+        instrumentacion.asignaciones(2L * board.pieces); // +2N
+        board.limpiarCeldas(); //Colocar VACIA en cada celda // +N
 
         // Resolver posicion por posicion usando estrategia voraz
         for (int i = 0; i < board.size; i++) { // 1, sqrt(N)+1, sqrt(N)+1
-            comparaciones++; // +sqrt(N)
+            instrumentacion.comparacion(); // +sqrt(N)
             for (int j = 0; j < board.size; j++) { // sqrt(N)*(1, sqrt(N)+1, sqrt(N)+1)
-                comparaciones++; // +N
+                instrumentacion.comparacion(); // +N
+                if (presupuesto.revisar()) { // cancelado (por ejemplo en el Portafolio); la celda ya es O(N)
+                    board.sincronizarTablero();
+                    return false;
+                }
 
-                Pieza mejorPieza = null; // +N
-                asignaciones++; // +N
+                int mejorPieza = PiezaCodec.VACIA; // +N
+                instrumentacion.asignacion(); // +N
                 int indiceMejor = -1; // +N
-                asignaciones++; // +N
+                instrumentacion.asignacion(); // +N
                 int mejorPuntuacion = Integer.MIN_VALUE; // +N
-                asignaciones++; // +N
+                instrumentacion.asignacion(); // +N
 
                 // Buscar la mejor pieza para esta posicion
                 // En iteracion k (0-indexed), hay (N-k) piezas disponibles
                 // Total de iteraciones internas: N + (N-1) + (N-2) + ... + 1 = N*(N+1)/2
-                for (int k = 0; k < disponibles.size(); k++) { // +N*(N+1)/2
-                    comparaciones++; // +N*(N+1)/2
-                    Pieza pieza = disponibles.get(k); // +N*(N+1)/2
-                    asignaciones++; // +N*(N+1)/2
+                for (int k = 0; k < cantidad; k++) { // +N*(N+1)/2
+                    instrumentacion.comparacion(); // +N*(N+1)/2
+                    int pieza = disponibles[k]; // +N*(N+1)/2
+                    instrumentacion.asignacion(); // +N*(N+1)/2
 
-                    comparaciones++; // +N*(N+1)/2
+                    instrumentacion.comparacion(); // +N*(N+1)/2
                     if (esValida(board, i, j, pieza)) { // +N*(N+1)/2 * O(1)
                         int puntuacion = calcularPuntuacion(board, i, j, pieza); // +N*(N+1)/2 * O(1)
-                        asignaciones++; // +N*(N+1)/2
+                        instrumentacion.asignacion(); // +N*(N+1)/2
 
-                        comparaciones++; // +N*(N+1)/2
+                        instrumentacion.comparacion(); // +N*(N+1)/2
                         if (puntuacion > mejorPuntuacion) { // +N*(N+1)/2
-                            asignaciones++; // +N*(N+1)/2
+                            instrumentacion.asignacion(); // +N*(N+1)/2
                             mejorPuntuacion = puntuacion; // +N*(N+1)/2
-                            asignaciones++; // +N*(N+1)/2
+                            instrumentacion.asignacion(); // +N*(N+1)/2
                             mejorPieza = pieza; // +N*(N+1)/2
-                            asignaciones++; // +N*(N+1)/2
+                            instrumentacion.asignacion(); // +N*(N+1)/2
                             indiceMejor = k; // +N*(N+1)/2
                         }
                     }
                 }
 
-                comparaciones++; // +N
-                if (mejorPieza != null) { // +N
-                    board.setPieza(i, j, mejorPieza); // +N
-                    asignaciones++; // +N
-                    disponibles.remove(indiceMejor); // +N (amortizado)
-                    asignaciones++; // +N
+                instrumentacion.comparacion(); // +N
+                if (mejorPieza != PiezaCodec.VACIA) { // +N
+                    board.setCodigo(i, j, mejorPieza); // +N
+                    instrumentacion.asignacion(); // +N
+                    System.arraycopy(disponibles, indiceMejor + 1, disponibles, indiceMejor,
+                            cantidad - indiceMejor - 1); // +N (amortizado)
+                    cantidad--;
+                    instrumentacion.asignacion(); // +N
                 } else {
+                    board.sincronizarTablero(); // +N
                     return false; // +1
                 }
             }
         }
 
-        return board.checkTablero(); // +1
+        board.sincronizarTablero(); // +N
+        return board.checkTableroPrimitivo(); // +1
     }
     // Suma solveGreedyOptimizado:
     // Limpieza: O(N)
@@ -192,6 +470,209 @@ public class Voraz {
     // T_solveGreedyOptimizado(N) = O(N^2)
     // Big O: O(N^2)
 
+    /**
+     * Voraz aleatorizado con reinicios en paralelo (ver VorazGrasp). Si no
+     * resuelve deja en el tablero el intento que mas celdas lleno.
+     */
+    public boolean solveGrasp(Tablero board, Presupuesto presupuesto) {
+        this.presupuesto = presupuesto;
+        mejorParcial = null;
+        mejorProfundidad = 0;
+        resetearContadores(); // +1
+        if (!board.cabeEnCodigos()) { // +N
+            return solveGreedyObjetos(board); // GRASP usa el indice de codigos
+        }
+        board.activarModoPrimitivo(); // +N (piezas empaquetadas, ver PiezaCodec)
+        instrumentacion.asignaciones(2L * board.pieces); // +2N
+        board.limpiarCeldas(); // +N
+
+        long tope = maxIntentosGrasp > 0 ? maxIntentosGrasp
+                : presupuesto.isLimitado() ? 0 : TOPE_INTENTOS_SIN_LIMITE;
+        ultimoGrasp = new VorazGrasp(hilos, topK, semilla, tope, instrumentacion);
+        boolean resuelto = ultimoGrasp.resolver(board, presupuesto); // +I * O(N * C * k) / P
+        if (!resuelto) {
+            mejorParcial = ultimoGrasp.getMejorParcial();
+            mejorProfundidad = ultimoGrasp.getMejorProfundidad();
+            if (mejorParcial != null) {
+                System.arraycopy(mejorParcial, 0, board.celdas, 0, board.celdas.length); // +N
+            }
+        }
+        board.sincronizarTablero(); // +N
+        return resuelto;
+    }
+    // T_solveGrasp(N) = O(N) + I * O(N * C * k) / P, con I intentos, C tamano de
+    // cubeta, k candidatas del sorteo y P hilos
+
+    /**
+     * Voraz puro en tiempo lineal, con el mismo resultado que
+     * solveGreedyOptimizado.
+     *
+     * En solveGreedyOptimizado todas las piezas validas de una celda tienen
+     * la misma puntuacion (los bonus dependen solo de la posicion y de
+     * vecinos que ya encajan), asi que gana la primera pieza valida en el
+     * orden original. Aqui las piezas se agrupan una vez (counting sort
+     * estable) en cubetas por (left, up), por left, por up y todas, cada
+     * una en orden original. Cada celda toma la primera pieza no usada de
+     * su cubeta; el cursor de cada cubeta solo avanza, asi que cada pieza se
+     * salta a lo sumo una vez por cubeta.
+     *
+     * Tiempo O(N + R^2) y memoria O(N + R^2).
+     *
+     * @param board El tablero a resolver
+     * @return true si logra resolver completamente, false si no puede continuar
+     */
+    public boolean solveGreedyLineal(Tablero board) {
+        return solveGreedyLineal(board, Presupuesto.sinLimite());
+    }
+
+    /**
+     * solveGreedyLineal que se detiene (devuelve false con el tablero
+     * parcial) si el presupuesto se agota o se cancela. Cada celda es un
+     * nodo (agotado).
+     */
+    public boolean solveGreedyLineal(Tablero board, Presupuesto presupuesto) {
+        this.presupuesto = presupuesto;
+        resetearContadores(); // +1
+        if (!board.cabeEnCodigos()) { // +N
+            return solveGreedyObjetos(board); // las cubetas son por codigo
+        }
+        board.activarModoPrimitivo(); // +N (piezas empaquetadas, ver PiezaCodec)
+        int[] codigos = board.codigos;
+        int n = codigos.length; // +1
+
+        // Por seguridad el rango cubre cualquier valor presente en las piezas
+        int rango = Math.min(board.rangoNum, PiezaCodec.MAX_VALOR + 1); // +1 (Tablero renumera rangos mayores)
+        for (int codigo : codigos) { // +N
+            rango = Math.max(rango, 1 + Math.max(PiezaCodec.left(codigo), PiezaCodec.up(codigo)));
+        }
+        instrumentacion.asignaciones(2L + n); // +2 + N
+
+        // Claves de cada cubeta y piezas agrupadas en orden original
+        int[] claveExacta = new int[n]; // +N
+        int[] claveLeft = new int[n]; // +N
+        int[] claveUp = new int[n]; // +N
+        for (int id = 0; id < n; id++) { // +N
+            claveLeft[id] = PiezaCodec.left(codigos[id]);
+            claveUp[id] = PiezaCodec.up(codigos[id]);
+            claveExacta[id] = claveLeft[id] * rango + claveUp[id];
+        }
+        instrumentacion.asignaciones(3L * n); // +3N
+
+        int[] inicioExacta = new int[rango * rango + 1]; // +R^2
+        int[] inicioLeft = new int[rango + 1]; // +R
+        int[] inicioUp = new int[rango + 1]; // +R
+        int[] exacta = agruparPorClave(claveExacta, inicioExacta); // +N + R^2
+        int[] porLeft = agruparPorClave(claveLeft, inicioLeft); // +N + R
+        int[] porUp = agruparPorClave(claveUp, inicioUp); // +N + R
+
+        // Cursor de cada cubeta: primera posicion que puede tener una pieza libre
+        int[] cursorExacta = inicioExacta.clone(); // +R^2
+        int[] cursorLeft = inicioLeft.clone(); // +R
+        int[] cursorUp = inicioUp.clone(); // +R
+        int cursorTodas = 0; // +1
+        boolean[] usada = new boolean[n]; // +N
+        instrumentacion.asignaciones(3L * n + 2L * rango * rango + 4L * rango + 1); // +3N + 2R^2 + 4R + 1
+
+        // Limpiar el tablero completamente
+        instrumentacion.asignaciones(2L * board.pieces); // +2N
+        board.limpiarCeldas(); // +N
+
+        for (int idx = 0; idx < board.pieces; idx++) { // 1, N+1, N
+            instrumentacion.comparacion(); // +N
+            if (presupuesto.agotado()) { // cancelado (por ejemplo en el Portafolio)
+                board.sincronizarTablero();
+                return false;
+            }
+            int row = idx / board.size; // +N
+            int col = idx % board.size; // +N
+            instrumentacion.asignaciones(2); // +2N
+
+            // Cubeta segun los vecinos colocados (mismas reglas que esValida)
+            int[] orden; // +N
+            int[] cursor; // +N
+            int k; // +N
+            int fin; // +N
+            int cubeta = 0; // +N
+            instrumentacion.comparaciones(2); // +2N
+            if (row > 0 && col > 0) {
+                cubeta = PiezaCodec.right(board.celdas[idx - 1]) * rango
+                        + PiezaCodec.down(board.celdas[idx - board.size]);
+                orden = exacta;
+                cursor = cursorExacta;
+                fin = inicioExacta[cubeta + 1];
+            } else if (col > 0) {
+                cubeta = PiezaCodec.right(board.celdas[idx - 1]);
+                orden = porLeft;
+                cursor = cursorLeft;
+                fin = inicioLeft[cubeta + 1];
+            } else if (row > 0) {
+                cubeta = PiezaCodec.down(board.celdas[idx - board.size]);
+                orden = porUp;
+                cursor = cursorUp;
+                fin = inicioUp[cubeta + 1];
+            } else {
+                orden = null; // todas las piezas, en orden original
+                cursor = null;
+                fin = n;
+            }
+            k = cursor != null ? cursor[cubeta] : cursorTodas;
+            instrumentacion.asignaciones(5); // +5N
+
+            // Saltar piezas ya usadas (cada pieza a lo sumo una vez por cubeta)
+            while (k < fin && usada[orden != null ? orden[k] : k]) { // +N amortizado por cubeta
+                instrumentacion.comparacion(); // +N amortizado
+                k++;
+            }
+
+            instrumentacion.comparacion(); // +N
+            if (k >= fin) { // +N
+                board.sincronizarTablero(); // +N
+                return false; // +1
+            }
+
+            int id = orden != null ? orden[k] : k; // +N
+            usada[id] = true; // +N
+            board.celdas[idx] = codigos[id]; // +N
+            if (cursor != null) {
+                cursor[cubeta] = k + 1; // +N
+            } else {
+                cursorTodas = k + 1; // +N
+            }
+            instrumentacion.asignaciones(4); // +4N
+        }
+
+        board.sincronizarTablero(); // +N
+        return board.checkTableroPrimitivo(); // +1
+    }
+    // Suma solveGreedyLineal:
+    // Preparacion: claves 3N, counting sort 3N + R^2 + 2R, cursores R^2 + 2R, limpieza 3N
+    // Loop principal: N celdas * O(1) + saltos amortizados (a lo sumo N por tipo de cubeta = 4N)
+    // T_solveGreedyLineal(N) = O(N) + O(R^2) + N*O(1) + 4N + O(N)
+    // Big O: O(N + R^2)
+
+    /**
+     * Counting sort estable: devuelve los ids 0..n-1 agrupados por clave (en
+     * orden original dentro de cada clave) y deja en inicio[c] donde empieza
+     * la clave c (inicio[c + 1] donde termina).
+     */
+    private int[] agruparPorClave(int[] claves, int[] inicio) {
+        int n = claves.length; // +1
+        for (int id = 0; id < n; id++) { // +N
+            inicio[claves[id] + 1]++;
+        }
+        for (int c = 1; c < inicio.length; c++) { // +R
+            inicio[c] += inicio[c - 1];
+        }
+        int[] orden = new int[n]; // +N
+        int[] siguiente = inicio.clone(); // +R
+        for (int id = 0; id < n; id++) { // +N
+            orden[siguiente[claves[id]]++] = id;
+        }
+        instrumentacion.asignaciones(3L * n + 2L * inicio.length); // +3N + 2R
+        return orden; // +1
+    }
+    // T_agruparPorClave(N) = 3N + 2R + 2 = O(N + R)
+
     // ========================================================================
     // ALGORITMO VORAZ CON BACKTRACKING
     // ========================================================================
@@ -206,197 +687,1053 @@ public class Voraz {
      * @return true si logra resolver completamente
      */
     public boolean solveConBacktracking(Tablero board) {
+        return solveConBacktracking(board, Presupuesto.sinLimite());
+    }
+
+    /**
+     * Backtracking con presupuesto. Si se agota devuelve false, deja en el
+     * tablero la mejor colocacion parcial y los contadores con lo hecho.
+     */
+    public boolean solveConBacktracking(Tablero board, Presupuesto presupuesto) {
+        return resolverConBacktracking(board, presupuesto, null);
+    }
+
+    /**
+     * Sigue un backtracking guardado en un punto de control de Voraz, desde
+     * la candidata siguiente a la ultima probada y con los contadores
+     * acumulados. Si ya estaba resuelto deja la solucion en el tablero; si
+     * ya habia terminado sin solucion devuelve false sin buscar.
+     *
+     * @param board       Tablero con las mismas piezas (punto.crearTablero())
+     * @param punto       Punto de control leido con PuntoControl.leer
+     * @param presupuesto Limites de esta corrida
+     * @return true si el tablero fue resuelto
+     */
+    public boolean reanudar(Tablero board, PuntoControl punto, Presupuesto presupuesto) {
+        board.activarModoPrimitivo();
+        if (!punto.esDe(PuntoControl.VORAZ, board)) {
+            throw new IllegalArgumentException("El punto de control no es de Voraz sobre este tablero");
+        }
+        return resolverConBacktracking(board, presupuesto, punto);
+    }
+
+    // solveConBacktracking o reanudar (desde != null)
+    private boolean resolverConBacktracking(Tablero board, Presupuesto presupuesto, PuntoControl desde) {
+        this.presupuesto = presupuesto;
+        mejorParcial = null;
+        mejorProfundidad = 0;
         resetearContadores(); // +1
-        List<Pieza> disponibles = new ArrayList<>(board.getPieces()); // +N
+        inicioNanos = System.nanoTime();
+        intentosBacktrack = desde != null ? desde.intentos : 0;
+        nodosPrevios = desde != null ? desde.nodos : 0;
+        tiempoPrevioMs = desde != null ? desde.tiempoMs : 0;
+
+        // Lados que no caben en PiezaCodec: backtracking sobre los objetos
+        // Pieza (un punto de control siempre viene de un tablero que cabe)
+        if (desde == null && !board.cabeEnCodigos()) { // +N
+            return solveConBacktrackingObjetos(board); // +T_backtrack(N)
+        }
+        board.activarModoPrimitivo(); // +N (piezas empaquetadas, ver PiezaCodec)
+
+        // Con puntos de control el motor es el iterativo fila por fila: su
+        // pila explicita es todo el estado de la busqueda
+        boolean conPuntos = archivoPuntosControl != null || desde != null;
+        boolean motorIterativo = iterativo || conPuntos;
 
         // Limpiar el tablero completamente (N = n*n celdas)
-        for (int i = 0; i < board.size; i++) { // 1, sqrt(N)+1, sqrt(N)+1
-            for (int j = 0; j < board.size; j++) { // sqrt(N)*(1, sqrt(N)+1, sqrt(N)+1)
-                asignaciones++; // +N
-                board.removePieza(i, j); // +N
-                asignaciones++; // +N
-            }
+        instrumentacion.asignaciones(2L * board.pieces); // +2N
+        board.limpiarCeldas(); // +N
+
+        // Buffers de candidatas por profundidad (crecen solo si una cubeta no cabe)
+        bufferCandidatas = new long[board.pieces][]; // +N
+        numCandidatas = new int[board.pieces]; // +N
+        for (int d = 0; d < board.pieces; d++) {
+            bufferCandidatas[d] = new long[4];
         }
+        instrumentacion.asignaciones(2); // +2
+
+        boolean resuelto;
+        instrumentacion.comparacion(); // +1
+        if (mrv && !conPuntos) {
+            // Indice por cualquier combinacion de lados y monticulo de celdas
+            // por cantidad de candidatas (al inicio todas caben en todas)
+            IndiceLados indice = new IndiceLados(new ClasesPiezas(board.codigos), board.rangoNum); // +11N + 6R^2
+            RecorridoTablero recorrido = new RecorridoTablero(board.size); // +N
+            MonticuloCeldas cola = new MonticuloCeldas(board.pieces); // +N
+            for (int cell = 0; cell < board.pieces; cell++) {
+                cola.actualizar(cell, indice.getRestantes()); // +N log N
+            }
+            instrumentacion.asignaciones(3L + board.pieces); // +3 + N
+            resuelto = solveBacktrackMRV(board, indice, recorrido, cola, 0); // +T_backtrack(N)
+        } else {
+            // Indice de candidatos por (left, up). Sus cubetas POR_LEFT y POR_UP
+            // hacen de contadores de bordes (countLeft / countUp) para el lookahead
+            IndiceCandidatos indice = new IndiceCandidatos(board.codigos, board.rangoNum); // +4N + 2R + R^2
+            instrumentacion.asignacion(); // +1
+            balance = podaBalance ? new BalanceBordes(board.codigos, board.rangoNum, board.size) : null; // +N
+            conflictos = backjumping && !motorIterativo
+                    ? new ConjuntosConflicto(board.codigos, board.rangoNum, board.size)
+                    : null; // +N^2/64
+            zobrist = null;
+            if (transposicion != null) {
+                transposicion.limpiar(); // +capacidad
+                zobrist = new ZobristFrontera(board.size, board.rangoNum); // +N
+            }
 
-        // Iniciar resolucion recursiva desde (0,0)
-        // Inicializar contadores de bordes para lookahead
-        int maxVal = board.rangoNum; // +1
-        int[] countUp = new int[maxVal + 1]; // +R (R = rangoNum)
-        int[] countLeft = new int[maxVal + 1]; // +R
-
-        for (Pieza p : disponibles) { // +N iteraciones
-            countUp[p.getUp()]++; // +N
-            countLeft[p.getLeft()]++; // +N
+            // Iniciar resolucion recursiva desde (0,0)
+            escritor = archivoPuntosControl != null
+                    ? new EscritorPuntosControl(archivoPuntosControl, periodoPuntosControlMs)
+                    : null;
+            if (desde != null && desde.estado == PuntoControl.Estado.SIN_SOLUCION) {
+                resuelto = false; // la busqueda ya termino en otra corrida
+            } else {
+                resuelto = motorIterativo ? solveBacktrackIterativo(board, indice, desde)
+                        : solveBacktrackRecursivo(board, 0, 0, indice); // +T_backtrack(N)
+            }
+            if (escritor != null) {
+                escritor.close(); // espera las escrituras pendientes
+                escritor = null;
+            }
         }
 
-        return solveBacktrackRecursivo(board, 0, 0, disponibles, countUp, countLeft); // +T_backtrack(N)
+        // Sin tiempo o nodos: devolver la mejor colocacion parcial
+        if (!resuelto && presupuesto.isAgotado() && mejorParcial != null) {
+            System.arraycopy(mejorParcial, 0, board.celdas, 0, board.celdas.length); // +N
+        }
+        board.sincronizarTablero(); // +N
+        return resuelto;
     }
-    // Suma solveConBacktracking: 1 + N + (sqrt(N)+1) + sqrt(N)*(sqrt(N)+1) + 3N + 1 + 2R + 3N + T_backtrack(N)
-    // T_solveConBacktracking(N) = T_backtrack(N) + 7N + 2R + O(sqrt(N))
+    // Suma solveConBacktracking: 1 + N + 2N + N + 4N + 2R + R^2 + 1 + T_backtrack(N) + N
+    // T_solveConBacktracking(N) = T_backtrack(N) + 9N + R^2 + 2R + 2
+    // Con MRV la preparacion es 11N + 6R^2 + N log N (indice de lados y monticulo)
     // Big O: O(N * N!) en peor caso (dominado por T_backtrack)
 
+    /**
+     * Guarda las celdas si el backtracking llego mas profundo que nunca (a lo
+     * sumo N copias en toda la busqueda).
+     */
+    private void registrarParcial(Tablero board, int profundidad) {
+        if (profundidad <= mejorProfundidad) {
+            return;
+        }
+        if (mejorParcial == null) {
+            mejorParcial = new int[board.celdas.length];
+        }
+        System.arraycopy(board.celdas, 0, mejorParcial, 0, board.celdas.length);
+        mejorProfundidad = profundidad;
+    }
+
     /**
      * Metodo recursivo de backtracking.
-     * Para cada posicion, ordena las piezas validas por puntuacion (greedy)
-     * e intenta cada una en orden de mejor a peor.
+     * Para cada posicion, toma del indice solo las piezas que encajan con
+     * los vecinos (izquierda y arriba), las ordena (fail-first) e intenta
+     * cada una en orden. Las piezas identicas son una sola clase en el
+     * indice, asi que cada clase se intenta una sola vez por celda.
      */
-    private boolean solveBacktrackRecursivo(Tablero board, int row, int col, List<Pieza> disponibles, int[] countUp,
-            int[] countLeft) {
+    private boolean solveBacktrackRecursivo(Tablero board, int row, int col, IndiceCandidatos indice) {
         // Condicion de salida: tablero completo
-        comparaciones++; // +1
+        instrumentacion.comparacion(); // +1
         if (row >= board.size) { // +1
             return true; // +1
         }
 
+        // Presupuesto agotado: tiempo, nodos o cancelacion (se revisa cada 4096 nodos)
+        if (presupuesto.agotado()) {
+            return false;
+        }
+        int profundidad = row * board.size + col;
+        registrarParcial(board, profundidad);
+        if (telemetria != null) {
+            telemetria.nodo(profundidad);
+        }
+
+        // Frontera ya probada sin solucion por otro orden: podar - O(1)
+        if (conflictos != null) {
+            conflictos.iniciar(profundidad);
+        }
+        if (fronteraSinSolucion(board, row, col, profundidad)) {
+            return false;
+        }
+
         // Calcular siguiente posicion
-        asignaciones += 2; // +2
+        instrumentacion.asignaciones(2); // +2
         int nextCol = col + 1; // +1
         int nextRow = row; // +1
 
-        comparaciones++; // +1
+        instrumentacion.comparacion(); // +1
         if (nextCol >= board.size) { // +1
-            asignaciones += 2; // +2
+            instrumentacion.asignaciones(2); // +2
             nextCol = 0; // +1
             nextRow = row + 1; // +1
         }
 
-        // Obtener lista de piezas validas ordenadas por puntuacion (mejor primero)
-        List<PiezaConPuntuacion> candidatas = new ArrayList<>(); // +1
-        asignaciones++; // +1
+        // Candidatas de la cubeta (left, up) de esta celda, ya ordenadas
+        // fail-first en el buffer de esta profundidad (sin crear objetos)
+        int vista = indice.vistaDeCelda(board, row, col); // +1
+        prepararCandidatas(board, row, col, vista, indice, profundidad); // +C + O(C log C)
+        long[] claves = bufferCandidatas[profundidad];
+        int numClaves = numCandidatas[profundidad];
 
-        for (int i = 0; i < disponibles.size(); i++) { // 1, K+1, K (K = piezas disponibles)
-            comparaciones++; // +K
-            Pieza pieza = disponibles.get(i); // +K
-            asignaciones++; // +K
+        // Intentar cada pieza candidata en orden (C = candidatas validas, C <= K)
+        for (int k = 0; k < numClaves; k++) { // 1, C+1, C
+            instrumentacion.comparacion(); // +C
+            intentosBacktrack++; // +C
+            int id = (int) claves[k]; // +C (id de clase en los 32 bits bajos)
 
-            comparaciones++; // +K
-            if (esValida(board, row, col, pieza)) { // +K * O(1)
-                int puntuacion = calcularPuntuacion(board, row, col, pieza); // +K * O(1)
-                candidatas.add(new PiezaConPuntuacion(pieza, i, puntuacion)); // +K
-                asignaciones += 2; // +2K
+            // Colocar la pieza
+
+            // GUILLOTINE OPTIMIZATION: Lookahead (Poda)
+            // Verificar si al usar esta pieza nos quedamos sin opciones para los vecinos
+            // futuros
+            int p = indice.getCodigo(id); // +C
+
+            // Usar la pieza (la quita del indice y de sus contadores) - O(1)
+            indice.quitar(id); // +C
+
+            // Verificar vecino derecho, vecino de abajo y siguiente celda
+            boolean posible = lookahead(board, row, col, p, indice); // +C * O(1)
+            if (!posible && conflictos != null) {
+                conflictos.explicarGuillotina(board.celdas, row, col, p);
+            }
+            posible = posible && colocarFrontera(board, row, col, p); // +C * O(1)
+
+            if (!posible) { // +C
+                // Restaurar y podar rama
+                indice.restaurar(id); // +C
+                if (telemetria != null) {
+                    telemetria.poda(profundidad);
+                }
+                continue;
+            }
+
+            board.setCodigo(row, col, p); // +C
+            instrumentacion.asignacion(); // +C
+
+            // Intentar resolver el resto recursivamente
+            instrumentacion.comparacion(); // +C
+            if (solveBacktrackRecursivo(board, nextRow, nextCol, indice)) { // +C * T(K-1)
+                return true; // +1
+            }
+            boolean saltar = saltarConflicto(profundidad); // +C * O(N/64)
+
+            // Backtrack: deshacer la eleccion
+            quitarFrontera(board, row, col, p); // +C
+            board.removeCodigo(row, col); // +C
+            instrumentacion.asignacion(); // +C
+
+            // GUILLOTINE: Restaurar la pieza en el indice (y sus contadores) - O(1)
+            indice.restaurar(id); // +C
+
+            instrumentacion.asignacion(); // +C
+            if (saltar) {
+                return false; // el conflicto no pasa por esta celda
             }
         }
 
-        // Ordenar por disponibilidad de vecinos (Ascendente: Fail-First /
-        // Hardest-First)
-        // Preferimos piezas que tengan POCOS vecinos compatibles futuros.
-        // Esto ayuda a que, si una rama va a fallar, falle rapido (poda temprana).
-        candidatas.sort((a, b) -> { // +K*log(K) comparaciones del sort
-            int scoreA = 0;
-            int scoreB = 0;
+        // No se encontro solucion desde esta posicion
+        explicarConflicto(board, row, col, profundidad); // +O(N)
+        guardarFrontera(board, row, col, profundidad); // +1
+        return false; // +1
+    }
+    // Suma solveBacktrackRecursivo: 1+1+2+1+1+1+2+1+1+1+1 + (C+1)+C+C+C+C+C + C*log(C) + 1 +
+    //   (C+1) + C+C+C+C+C+C+C+C+C+C+C+C+C + C*T(K-1) + C+C+C+C + 1
+    // Donde K = piezas disponibles en esta llamada, C = piezas de la cubeta (C <= K)
+    // T_backtrack(N) = C * T(K-1) + C*log(C) + O(C) (peor caso: C = K)
+    // Aplicando recurrencia: T(N) = N * (N-1) * ... * 1 * T(0) + costos_locales
+    // Big O (PEOR CASO): O(N * N!)
+    // NOTA: En la practica, el indice de candidatos, el ordenamiento greedy (fail-first)
+    // y la poda guillotina reducen significativamente el espacio de busqueda, haciendo
+    // que el caso promedio sea mucho mejor que el peor caso factorial.
 
-            // Score A
-            if (col < board.size - 1)
-                scoreA += countLeft[a.pieza.getRight()];
-            if (row < board.size - 1)
-                scoreA += countUp[a.pieza.getDown()];
+    /**
+     * Version iterativa de solveBacktrackRecursivo con pila explicita.
+     *
+     * Por cada profundidad k la pila guarda las candidatas ya ordenadas
+     * (fail-first) y el cursor de la candidata colocada, que tambien sirve
+     * para deshacerla. Las celdas y sus vecinos salen de RecorridoTablero.
+     *
+     * Cada candidata se guarda como un long (puntaje << 32 | id de clase).
+     * Las cubetas del indice siempre estan en orden ascendente de id, asi que
+     * ordenar esas claves da exactamente el mismo orden que el sort estable
+     * de la version recursiva, y por lo tanto la misma solucion.
+     */
+    private boolean solveBacktrackIterativo(Tablero board, IndiceCandidatos indice, PuntoControl desde) {
+        RecorridoTablero recorrido = new RecorridoTablero(board.size); // +N
+        int total = recorrido.numCeldas;
+        int[] cursor = new int[total + 1]; // +N
+        instrumentacion.asignaciones(2); // +2
+
+        int depth = 0;
+        cursor[0] = -1;
+        if (desde != null) {
+            depth = rehacer(board, indice, recorrido, cursor, desde); // +N * O(C log C)
+        } else if (total > 0) {
+            prepararCandidatas(board, 0, 0, recorrido.vista(indice, board.celdas, recorrido.orden[0]), indice, 0);
+        }
 
-            // Score B
-            if (col < board.size - 1)
-                scoreB += countLeft[b.pieza.getRight()];
-            if (row < board.size - 1)
-                scoreB += countUp[b.pieza.getDown()];
+        while (true) { // un ciclo por nodo visitado o por retroceso
+            // Condicion de salida: tablero completo
+            instrumentacion.comparacion(); // +1
+            if (depth >= total) { // +1
+                escribirPuntoControl(board, cursor, total, PuntoControl.Estado.RESUELTO, true);
+                return true; // +1
+            }
+
+            // Presupuesto agotado (se revisa de verdad cada 4096 nodos): el
+            // punto de control final permite seguir en otra corrida
+            if (presupuesto.agotado()) {
+                escribirPuntoControl(board, cursor, depth, PuntoControl.Estado.EN_CURSO, true);
+                return false;
+            }
+            if (escritor != null && escritor.isPedido()) {
+                escribirPuntoControl(board, cursor, depth, PuntoControl.Estado.EN_CURSO, false); // +N
+            }
+            registrarParcial(board, depth);
+
+            int cell = recorrido.orden[depth]; // +1
+            int row = recorrido.filaDe[cell]; // +1
+            int col = recorrido.colDe[cell]; // +1
+            instrumentacion.asignaciones(3); // +3
+
+            // Deshacer la candidata anterior de esta profundidad (si la hubo)
+            int k = cursor[depth]; // +1
+            if (telemetria != null && k < 0) {
+                telemetria.nodo(depth); // primera visita a este nodo
+            }
+            instrumentacion.comparacion(); // +1
+            if (k >= 0) { // +1
+                quitarFrontera(board, row, col, board.celdas[cell]); // +1
+                board.celdas[cell] = PiezaCodec.VACIA; // +1
+                instrumentacion.asignacion(); // +1
+                indice.restaurar((int) bufferCandidatas[depth][k]); // +1
+                instrumentacion.asignacion(); // +1
+            }
+
+            // Frontera ya probada sin solucion por otro orden: retroceder
+            // sin probar candidatas
+            boolean conocida = k < 0 && fronteraSinSolucion(board, row, col, depth); // +1
+            if (conocida) {
+                k = numCandidatas[depth];
+            }
+
+            // Buscar la siguiente candidata que pase la guillotina
+            boolean colocada = false; // +1
+            for (k = k + 1; k < numCandidatas[depth]; k++) { // C+1
+                instrumentacion.comparacion(); // +C
+                intentosBacktrack++; // +C
+
+                int id = (int) bufferCandidatas[depth][k]; // +C
+                int p = indice.getCodigo(id); // +C
+                indice.quitar(id); // +C
+
+                // GUILLOTINE: vecino derecho, vecino de abajo y siguiente celda
+                boolean posible = lookahead(board, row, col, p, indice) && colocarFrontera(board, row, col, p); // +C
+                if (!posible) { // +C
+                    indice.restaurar(id); // +C
+                    if (telemetria != null) {
+                        telemetria.poda(depth);
+                    }
+                    continue;
+                }
 
-            return scoreA - scoreB; // Ascending (Fail-First)
-        });
-        asignaciones++; // +1
+                board.celdas[cell] = p; // +C
+                instrumentacion.asignacion(); // +C
+                colocada = true; // +C
+                break;
+            }
 
-        // Log de progreso cada 5 millones de comparaciones
-        if (comparaciones % 5000000 == 0) {
-            // System.out.println("[INFO] Buscando... Ops: " + comparaciones + ", Depth: " +
-            // (row * board.size + col));
+            instrumentacion.comparacion(); // +1
+            if (!colocada) { // +1
+                // No se encontro solucion desde esta posicion: retroceder
+                if (!conocida) {
+                    guardarFrontera(board, row, col, depth); // +1
+                }
+                cursor[depth] = -1; // +1
+                depth--; // +1
+                instrumentacion.comparacion(); // +1
+                if (depth < 0) { // +1
+                    escribirPuntoControl(board, cursor, 0, PuntoControl.Estado.SIN_SOLUCION, true);
+                    return false; // +1
+                }
+                continue;
+            }
+
+            // Avanzar a la siguiente profundidad
+            instrumentacion.comparacion(); // +1
+            cursor[depth] = k; // +1
+            depth++; // +1
+            cursor[depth] = -1; // +1
+            if (depth < total) {
+                int sig = recorrido.orden[depth];
+                prepararCandidatas(board, recorrido.filaDe[sig], recorrido.colDe[sig],
+                        recorrido.vista(indice, board.celdas, sig), indice, depth); // +O(C log C)
+            }
         }
+    }
+    // Cada vuelta del while hace el mismo trabajo que un nodo de la version
+    // recursiva: O(C log C) al preparar candidatas y O(1) por candidata.
+    // T_solveBacktrackIterativo(N) = T_backtrack(N) + 4N
+    // Big O (PEOR CASO): O(N * N!), con la pila en el heap (O(N) marcos).
 
-        // Intentar cada pieza candidata en orden (C = candidatas validas, C <= K)
-        for (PiezaConPuntuacion candidata : candidatas) { // 1, C+1, C
-            comparaciones++; // +C
-            intentosBacktrack++; // +C
+    /**
+     * Vuelve a colocar las elecciones de un punto de control: en cada celda
+     * arma las candidatas ordenadas igual que la busqueda original y coloca
+     * la del cursor guardado. Devuelve la profundidad donde sigue.
+     */
+    private int rehacer(Tablero board, IndiceCandidatos indice, RecorridoTablero recorrido, int[] cursor,
+            PuntoControl desde) {
+        int total = recorrido.numCeldas;
+        int profundidad = Math.min(desde.profundidad, total);
+        for (int d = 0; d <= profundidad; d++) { // N
+            cursor[d] = desde.cursores[d];
+            if (d == total) {
+                break;
+            }
+            int cell = recorrido.orden[d];
+            int row = recorrido.filaDe[cell];
+            int col = recorrido.colDe[cell];
+            prepararCandidatas(board, row, col, recorrido.vista(indice, board.celdas, cell), indice, d); // +C log C
+            int k = cursor[d];
+            if (k < 0) {
+                break; // solo en la celda actual
+            }
+            if (k >= numCandidatas[d]) {
+                throw new IllegalStateException("Punto de control inconsistente en la celda " + d);
+            }
+            int id = (int) bufferCandidatas[d][k];
+            int p = indice.getCodigo(id);
+            indice.quitar(id);
+            if (balance != null) {
+                balance.colocar(board.celdas, row, col, p);
+            }
+            if (zobrist != null) {
+                zobrist.colocar(row, col, p);
+            }
+            board.celdas[cell] = p;
+        }
+        return profundidad;
+    }
 
-            // Colocar la pieza
+    /**
+     * Arma el punto de control de la pila del motor iterativo y lo entrega al
+     * escritor (final: espera a que este en disco). Sin escritor no hace nada.
+     */
+    private void escribirPuntoControl(Tablero board, int[] cursor, int depth, PuntoControl.Estado estado,
+            boolean esFinal) {
+        if (escritor == null) {
+            return;
+        }
+        int[] cursores = Arrays.copyOf(cursor, depth + 1);
+        if (estado != PuntoControl.Estado.EN_CURSO) {
+            cursores[depth] = -1;
+        }
+        long tiempoMs = tiempoPrevioMs + (System.nanoTime() - inicioNanos) / 1_000_000;
+        PuntoControl punto = new PuntoControl(PuntoControl.VORAZ, estado, board.size, board.rangoNum,
+                board.codigos, board.getLadoHorizontal(), board.getLadoVertical(), depth, cursores, intentosBacktrack,
+                0, nodosPrevios + presupuesto.getNodos(), tiempoMs);
+        if (esFinal) {
+            escritor.escribirAhora(punto);
+        } else {
+            escritor.entregar(punto);
+        }
+    }
 
-            // GUILLOTINE OPTIMIZATION: Lookahead (Poda)
-            // Verificar si al usar esta pieza nos quedamos sin opciones para los vecinos
-            // futuros
-            Pieza p = candidata.pieza; // +C
+    /**
+     * Guillotina con lookahead de dos pasos para la pieza p recien colocada
+     * (y ya quitada del indice) en (row, col), llenando fila por fila.
+     *
+     * - Vecino derecho: si hay fila de arriba, su up ya esta fijado por la
+     *   pieza de (row-1, col+1), asi que se exige el PAR (left, up) con la
+     *   matriz conjunta cantidadCon(left, up) del indice, no solo el left.
+     * - Vecino de abajo: necesita un up == p.down. Si el vecino derecho
+     *   tambien necesita ese up, hacen falta dos piezas con ese up.
+     * - Fin de fila: la siguiente celda es (row+1, 0), cuyo up ya esta fijado
+     *   por (row, 0); tambien compite con el vecino de abajo de p.
+     *
+     * Todo son lecturas de contadores del indice: O(1) por colocacion.
+     */
+    private boolean lookahead(Tablero board, int row, int col, int p, IndiceCandidatos indice) {
+        int size = board.size;
+        int idx = row * size + col; // +1
+        int upDerecho = IndiceCandidatos.LIBRE; // up que exige el vecino derecho
+        int upAbajo = row < size - 1 ? PiezaCodec.down(p) : IndiceCandidatos.LIBRE; // +1
+        instrumentacion.asignaciones(3); // +3
+
+        // Vecino derecho: par exacto (left, up), o solo left en la primera fila
+        instrumentacion.comparacion(); // +1
+        if (col < size - 1) { // +1
+            instrumentacion.comparacion(); // +1
+            if (row > 0) { // +1
+                upDerecho = PiezaCodec.down(board.celdas[idx - size + 1]); // +1
+                instrumentacion.asignacion(); // +1
+                instrumentacion.comparacion(); // +1
+                if (indice.cantidadCon(PiezaCodec.right(p), upDerecho) <= 0) { // +1
+                    return false; // +1
+                }
+            } else {
+                instrumentacion.comparacion(); // +1
+                if (indice.cantidadConLeft(PiezaCodec.right(p)) <= 0) { // +1
+                    return false; // +1
+                }
+            }
+        }
 
-            // Simular uso de la pieza (decrementar contadores)
-            countUp[p.getUp()]--; // +C
-            countLeft[p.getLeft()]--; // +C
+        // Vecino de abajo: un up == p.down que no sea la pieza del vecino derecho
+        instrumentacion.comparacion(); // +1
+        if (upAbajo != IndiceCandidatos.LIBRE) { // +1
+            int necesarias = upDerecho == upAbajo ? 2 : 1; // +1
+            instrumentacion.asignacion(); // +1
+            instrumentacion.comparacion(); // +1
+            if (indice.cantidadConUp(upAbajo) < necesarias) { // +1
+                return false; // +1
+            }
+        }
 
-            boolean posible = true; // +C
+        // Fin de fila: (row+1, 0) necesita el down de (row, 0)
+        instrumentacion.comparacion(); // +1
+        if (col == size - 1 && row < size - 1 && size > 1) { // +1
+            int upSiguiente = PiezaCodec.down(board.celdas[row * size]); // +1
+            int necesarias = upSiguiente == upAbajo ? 2 : 1; // +1
+            instrumentacion.asignaciones(2); // +2
+            instrumentacion.comparacion(); // +1
+            if (indice.cantidadConUp(upSiguiente) < necesarias) { // +1
+                return false; // +1
+            }
+        }
+        return true; // +1
+    }
+    // Suma lookahead: 1+1+1+1+1+1+1+1+1+1+1+1+1+1+1+1+1+1+1+1+1+1+1 = 23 (Peor caso)
+    // T_lookahead(N) = O(1)
 
-            // Verificar vecino derecho (necesita un left == p.right)
-            if (col < board.size - 1) { // +C
-                if (countLeft[p.getRight()] <= 0) { // +C
-                    posible = false; // +C
+    /**
+     * Registra p en (row, col) en el balance de bordes y en el hash de la
+     * frontera (los que esten activos). Si algun valor queda con mas demanda
+     * que oferta deshace el registro y devuelve false: solo se llama a
+     * quitarFrontera despues de un colocarFrontera que devolvio true (mismo
+     * contrato que FuerzaBruta.colocarFrontera).
+     */
+    private boolean colocarFrontera(Tablero board, int row, int col, int p) {
+        if (balance != null) {
+            instrumentacion.comparacion(); // +1
+            if (!balance.colocar(board.celdas, row, col, p)) { // +1
+                balance.quitar(board.celdas, row, col, p); // +1
+                if (conflictos != null) {
+                    // El balance depende de toda la frontera
+                    conflictos.agregarTodas(row * board.size + col);
                 }
+                return false;
             }
+        }
+        if (zobrist != null) {
+            zobrist.colocar(row, col, p); // +1
+        }
+        if (conflictos != null) {
+            conflictos.colocar(row * board.size + col, p); // +1
+        }
+        return true;
+    }
 
-            // Verificar vecino abajo (necesita un up == p.down)
-            if (posible && row < board.size - 1) { // +C
-                if (countUp[p.getDown()] <= 0) { // +C
-                    posible = false; // +C
+    private void quitarFrontera(Tablero board, int row, int col, int p) {
+        if (balance != null) {
+            balance.quitar(board.celdas, row, col, p);
+        }
+        if (zobrist != null) {
+            zobrist.quitar(board.celdas, row, col, p);
+        }
+        if (conflictos != null) {
+            conflictos.quitar(row * board.size + col, p);
+        }
+    }
+
+    /**
+     * true si la frontera de (row, col) esta en la tabla de transposicion
+     * (cuenta la poda en la telemetria)
+     */
+    private boolean fronteraSinSolucion(Tablero board, int row, int col, int profundidad) {
+        if (zobrist == null || !transposicion.contiene(zobrist.clave(board.celdas, row, col))) {
+            return false;
+        }
+        if (conflictos != null) {
+            conflictos.agregarTodas(profundidad); // la frontera depende de todas las celdas
+        }
+        if (telemetria != null) {
+            telemetria.poda(profundidad);
+        }
+        return true;
+    }
+
+    /**
+     * Despues de que fallo la hija de la celda profundidad: si la celda esta
+     * en el conflicto de la hija lo absorbe y devuelve false (probar la
+     * siguiente candidata). Si no esta, pasa el conflicto hacia arriba y
+     * devuelve true (saltar).
+     */
+    private boolean saltarConflicto(int profundidad) {
+        if (conflictos == null || presupuesto.isAgotado()) {
+            return false;
+        }
+        int hija = profundidad + 1;
+        if (conflictos.contiene(hija, profundidad)) {
+            conflictos.absorber(profundidad, hija);
+            return false;
+        }
+        conflictos.copiar(profundidad, hija);
+        nivelesSaltados++;
+        return true;
+    }
+
+    /**
+     * La celda se quedo sin candidatas: completa su conflicto y cuenta el
+     * salto si va mas atras de la celda anterior
+     */
+    private void explicarConflicto(Tablero board, int row, int col, int profundidad) {
+        if (conflictos == null) {
+            return;
+        }
+        conflictos.explicarCelda(board.celdas, row, col);
+        if (conflictos.destino(profundidad) < profundidad - 1) {
+            saltos++;
+        }
+    }
+
+    /**
+     * Guarda la frontera de (row, col) como sin solucion, salvo que la
+     * busqueda se haya cortado por el presupuesto (entonces no esta probada)
+     */
+    private void guardarFrontera(Tablero board, int row, int col, int profundidad) {
+        if (zobrist != null && !presupuesto.isAgotado()) {
+            transposicion.guardar(zobrist.clave(board.celdas, row, col), profundidad);
+        }
+    }
+
+    /**
+     * Backtracking con seleccion dinamica de celda (MRV, "most constrained
+     * variable"): en cada nodo expande la celda vacia donde caben menos
+     * piezas, en lugar de la siguiente fila por fila.
+     *
+     * El monticulo guarda la cantidad de candidatas de cada celda vacia.
+     * Al colocar o quitar una pieza solo cambian las restricciones de sus
+     * vecinos, asi que solo se recalculan esos (O(log N) cada uno). Si algun
+     * vecino queda sin candidatas la rama se poda en el acto (generaliza la
+     * guillotina a los cuatro lados).
+     *
+     * Las cantidades de las celdas que no son vecinas se calcularon con las
+     * piezas que habia en ese momento; sirven para elegir la celda, y la
+     * lista real de candidatas siempre sale del indice actual.
+     */
+    private boolean solveBacktrackMRV(Tablero board, IndiceLados indice, RecorridoTablero recorrido,
+            MonticuloCeldas cola, int depth) {
+        // Condicion de salida: tablero completo
+        instrumentacion.comparacion(); // +1
+        if (cola.isVacio()) { // +1
+            return true; // +1
+        }
+
+        // Presupuesto agotado: tiempo, nodos o cancelacion (se revisa cada 4096 nodos)
+        if (presupuesto.agotado()) {
+            return false;
+        }
+        registrarParcial(board, depth);
+        if (telemetria != null) {
+            telemetria.nodo(depth);
+        }
+
+        // La celda mas restringida (empates: fila por fila)
+        int cell = cola.minimo(); // +1
+        instrumentacion.asignacion(); // +1
+        int vista = recorrido.vista(indice, board.celdas, cell); // +1
+        prepararCandidatasMRV(board, recorrido, cell, vista, indice, depth); // +C + O(C log C)
+        long[] claves = bufferCandidatas[depth];
+        int numClaves = numCandidatas[depth];
+        cola.quitar(cell); // +log N
+
+        boolean resuelto = false;
+        for (int k = 0; k < numClaves; k++) { // 1, C+1, C
+            instrumentacion.comparacion(); // +C
+            intentosBacktrack++; // +C
+            int id = (int) claves[k]; // +C
+            int p = indice.getCodigo(id); // +C
+
+            // Colocar la pieza y recalcular los vecinos vacios
+            indice.quitar(id); // +C
+            board.celdas[cell] = p; // +C
+            instrumentacion.asignaciones(2); // +2C
+            boolean posible = actualizarVecinos(board, recorrido, cola, indice, cell); // +C * 4 log N
+
+            instrumentacion.comparacion(); // +C
+            if (!posible) {
+                if (telemetria != null) {
+                    telemetria.poda(depth);
                 }
+            } else if (solveBacktrackMRV(board, indice, recorrido, cola, depth + 1)) { // +C * T(K-1)
+                resuelto = true;
+                break;
             }
 
-            if (!posible) { // +C
-                // Restaurar y podar rama
-                countUp[p.getUp()]++; // +C
-                countLeft[p.getLeft()]++; // +C
+            // Backtrack: deshacer la eleccion (los vecinos los recalcula la
+            // siguiente candidata, o el final del ciclo)
+            board.celdas[cell] = PiezaCodec.VACIA; // +C
+            indice.restaurar(id); // +C
+            instrumentacion.asignaciones(2); // +2C
+        }
+
+        if (!resuelto) {
+            // Vecinos y celda vuelven a su cantidad para el nodo anterior
+            actualizarVecinos(board, recorrido, cola, indice, cell); // +4 log N
+            cola.actualizar(cell, indice.cantidad(vista)); // +log N
+            instrumentacion.asignacion(); // +1
+        }
+        return resuelto; // +1
+    }
+    // Suma solveBacktrackMRV: O(1) + C + C*log(C) + 6 log N + C*(4 log N + O(1)) + C*T(K-1)
+    // T_backtrack(N) = C * T(K-1) + O(C log C + C log N)
+    // Big O (PEOR CASO): O(N * N!) como el recorrido fila por fila; en la
+    // practica la celda elegida casi siempre tiene 0 o 1 candidatas y los
+    // callejones sin salida se detectan mucho antes.
+
+    /**
+     * Recalcula en el monticulo la cantidad de candidatas de los vecinos
+     * vacios de cell. Devuelve false si alguno se quedo sin candidatas.
+     */
+    private boolean actualizarVecinos(Tablero board, RecorridoTablero recorrido, MonticuloCeldas cola,
+            IndiceLados indice, int cell) {
+        boolean posible = true; // +1
+        posible &= actualizarVecino(board, recorrido, cola, indice, recorrido.arriba[cell]); // +log N
+        posible &= actualizarVecino(board, recorrido, cola, indice, recorrido.derecha[cell]); // +log N
+        posible &= actualizarVecino(board, recorrido, cola, indice, recorrido.abajo[cell]); // +log N
+        posible &= actualizarVecino(board, recorrido, cola, indice, recorrido.izquierda[cell]); // +log N
+        return posible; // +1
+    }
+    // T_actualizarVecinos(N) = 4 * O(log N) = O(log N)
+
+    private boolean actualizarVecino(Tablero board, RecorridoTablero recorrido, MonticuloCeldas cola,
+            IndiceLados indice, int vecino) {
+        instrumentacion.comparacion(); // +1
+        if (vecino == RecorridoTablero.SIN_VECINO || board.celdas[vecino] != PiezaCodec.VACIA) { // +1
+            return true; // +1
+        }
+        int cantidad = indice.cantidad(recorrido.vista(indice, board.celdas, vecino)); // +1
+        cola.actualizar(vecino, cantidad); // +log N
+        instrumentacion.asignaciones(2); // +2
+        return cantidad > 0; // +1
+    }
+
+    /**
+     * Como prepararCandidatas pero para una celda con cualquier lado
+     * exigido: recorre la vista del indice de lados, descarta las clases que
+     * no encajan (vistas con 3 o 4 lados) y ordena fail-first sumando, por
+     * cada vecino vacio, cuantas piezas podrian tocar el lado nuevo.
+     */
+    private void prepararCandidatasMRV(Tablero board, RecorridoTablero recorrido, int cell, int vista,
+            IndiceLados indice, int depth) {
+        int[] celdas = board.celdas;
+        int up = RecorridoTablero.ladoExigido(celdas, recorrido.arriba[cell], IndiceLados.DOWN); // +1
+        int right = RecorridoTablero.ladoExigido(celdas, recorrido.derecha[cell], IndiceLados.LEFT); // +1
+        int down = RecorridoTablero.ladoExigido(celdas, recorrido.abajo[cell], IndiceLados.UP); // +1
+        int left = RecorridoTablero.ladoExigido(celdas, recorrido.izquierda[cell], IndiceLados.RIGHT); // +1
+        instrumentacion.asignaciones(4); // +4
+
+        int necesarias = indice.cantidad(vista); // cota superior (cuenta copias)
+        if (bufferCandidatas[depth].length < necesarias) {
+            bufferCandidatas[depth] = new long[Math.max(necesarias, 2 * bufferCandidatas[depth].length)];
+        }
+        long[] claves = bufferCandidatas[depth];
+
+        int c = 0;
+        for (int id = indice.primero(vista); id != IndiceLados.FIN; id = indice.siguiente(vista, id)) { // C+1
+            instrumentacion.comparacion(); // +C
+            if (!indice.encaja(id, up, right, down, left)) { // +C
                 continue;
             }
+            int pieza = indice.getCodigo(id); // +C
+            // La candidata sigue en el indice: no cuenta como opcion de su
+            // propio vecino (se descuenta si su lado opuesto tambien calza)
+            long score = 0;
+            if (up == IndiceLados.LIBRE && recorrido.arriba[cell] != RecorridoTablero.SIN_VECINO)
+                score += indice.cantidadConLado(IndiceLados.DOWN, PiezaCodec.up(pieza))
+                        - (PiezaCodec.down(pieza) == PiezaCodec.up(pieza) ? 1 : 0);
+            if (right == IndiceLados.LIBRE && recorrido.derecha[cell] != RecorridoTablero.SIN_VECINO)
+                score += indice.cantidadConLado(IndiceLados.LEFT, PiezaCodec.right(pieza))
+                        - (PiezaCodec.left(pieza) == PiezaCodec.right(pieza) ? 1 : 0);
+            if (down == IndiceLados.LIBRE && recorrido.abajo[cell] != RecorridoTablero.SIN_VECINO)
+                score += indice.cantidadConLado(IndiceLados.UP, PiezaCodec.down(pieza))
+                        - (PiezaCodec.up(pieza) == PiezaCodec.down(pieza) ? 1 : 0);
+            if (left == IndiceLados.LIBRE && recorrido.izquierda[cell] != RecorridoTablero.SIN_VECINO)
+                score += indice.cantidadConLado(IndiceLados.RIGHT, PiezaCodec.left(pieza))
+                        - (PiezaCodec.right(pieza) == PiezaCodec.left(pieza) ? 1 : 0);
+            claves[c++] = (score << 32) | id; // +C
+            instrumentacion.asignaciones(3); // +3C
+        }
+        ordenarClaves(claves, c); // +C*log(C)
+        numCandidatas[depth] = c;
+        instrumentacion.asignacion(); // +1
+    }
+
+    /**
+     * Llena bufferCandidatas[depth] con las clases de la cubeta vista,
+     * ordenadas fail-first, y numCandidatas[depth] con cuantas son. Lo usan
+     * los dos motores del backtracking.
+     *
+     * Cada candidata es un long (puntaje << 32 | id de clase): el puntaje se
+     * calcula una sola vez por candidata y el orden sale de ordenar esos
+     * longs, sin crear objetos. El arreglo de cada profundidad se reutiliza y
+     * solo crece (duplicando) si la cubeta no cabe, asi que en regimen no se
+     * reserva memoria por nodo.
+     */
+    private void prepararCandidatas(Tablero board, int row, int col, int vista, IndiceCandidatos indice,
+            int depth) {
+        instrumentacion.asignacion(); // +1
+        int necesarias = indice.cantidad(vista); // cota superior (cuenta copias)
+        if (bufferCandidatas[depth].length < necesarias) {
+            bufferCandidatas[depth] = new long[Math.max(necesarias, 2 * bufferCandidatas[depth].length)];
+        }
+        long[] claves = bufferCandidatas[depth];
+
+        int c = 0;
+        for (int id = indice.primero(vista); id != IndiceCandidatos.FIN; id = indice.siguiente(vista, id)) { // C+1
+            instrumentacion.comparacion(); // +C
+            int pieza = indice.getCodigo(id); // +C
+            instrumentacion.asignacion(); // +C
+
+            // Puntaje fail-first: piezas que dejan POCOS vecinos compatibles
+            // futuros van primero, si la rama va a fallar falla rapido
+            long score = 0;
+            if (col < board.size - 1)
+                score += indice.cantidadConLeft(PiezaCodec.right(pieza));
+            if (row < board.size - 1)
+                score += indice.cantidadConUp(PiezaCodec.down(pieza));
+            claves[c++] = (score << 32) | id; // +C
+            instrumentacion.asignaciones(2); // +2C
+        }
+        ordenarClaves(claves, c); // +C*log(C)
+        numCandidatas[depth] = c;
+        instrumentacion.asignacion(); // +1
+    }
+
+    /**
+     * Ordena claves[0..c-1] de menor a mayor en el mismo arreglo. Las cubetas
+     * suelen tener pocas piezas, asi que se usa insercion (sin llamadas ni
+     * memoria extra); para cubetas grandes, el sort primitivo de Arrays.
+     * Como el id va en los bits bajos, los empates de puntaje quedan en el
+     * orden de la cubeta (el mismo que daba el sort estable de objetos).
+     */
+    private static void ordenarClaves(long[] claves, int c) {
+        if (c > 32) {
+            Arrays.sort(claves, 0, c);
+            return;
+        }
+        for (int i = 1; i < c; i++) {
+            long clave = claves[i];
+            int j = i - 1;
+            while (j >= 0 && claves[j] > clave) {
+                claves[j + 1] = claves[j];
+                j--;
+            }
+            claves[j + 1] = clave;
+        }
+    }
 
-            board.setPieza(row, col, candidata.pieza); // +C
-            asignaciones++; // +C
+    // ========================================================================
+    // TABLERO DE OBJETOS (lados que no caben en PiezaCodec)
+    // ========================================================================
 
-            // Remover de disponibles (List.remove es O(K))
-            disponibles.remove(candidata.indiceOriginal); // +C * K
-            asignaciones++; // +C
+    /**
+     * Voraz puro sobre el tablero de objetos Pieza. Como en
+     * solveGreedyOptimizado todas las piezas validas de una celda tienen la
+     * misma puntuacion, gana la primera valida en el orden original: el
+     * resultado es el mismo. Revisa el presupuesto en cada celda.
+     */
+    private boolean solveGreedyObjetos(Tablero board) {
+        List<Pieza> disponibles = new ArrayList<>(board.listaPiezas); // +N
 
-            // Intentar resolver el resto recursivamente
-            comparaciones++; // +C
-            if (solveBacktrackRecursivo(board, nextRow, nextCol, disponibles, countUp, countLeft)) { // +C * T(K-1)
-                return true; // +1
+        // Limpiar el tablero completamente
+        for (int i = 0; i < board.size; i++) { // sqrt(N)
+            for (int j = 0; j < board.size; j++) { // N
+                board.removePieza(i, j); // +N
             }
+        }
+        instrumentacion.asignaciones(2L * board.pieces); // +2N
 
-            // Backtrack: deshacer la eleccion
-            board.removePieza(row, col); // +C
-            asignaciones++; // +C
-            disponibles.add(candidata.indiceOriginal, candidata.pieza); // +C * K
+        // Resolver posicion por posicion: primera pieza valida
+        for (int i = 0; i < board.size; i++) { // 1, sqrt(N)+1, sqrt(N)+1
+            for (int j = 0; j < board.size; j++) { // N
+                instrumentacion.comparacion(); // +N
+                if (presupuesto.revisar()) { // la celda ya es O(N)
+                    return false;
+                }
+                int elegida = -1; // +N
+                for (int k = 0; k < disponibles.size() && elegida < 0; k++) { // +N*(N+1)/2
+                    instrumentacion.comparacion(); // +N*(N+1)/2
+                    if (esValida(board, i, j, disponibles.get(k))) { // +N*(N+1)/2 * O(1)
+                        elegida = k; // +N
+                    }
+                }
 
-            // GUILLOTINE: Restaurar contadores
-            countUp[candidata.pieza.getUp()]++; // +C
-            countLeft[candidata.pieza.getLeft()]++; // +C
+                instrumentacion.comparacion(); // +N
+                if (elegida < 0) { // +N
+                    return false; // +1
+                }
+                board.setPieza(i, j, disponibles.remove(elegida)); // +N (List.remove)
+                instrumentacion.asignaciones(2); // +2N
+            }
+        }
+        return board.checkTablero(); // +N
+    }
+    // T_solveGreedyObjetos(N) = N*(N+1)/2 * O(1) + O(N) = O(N^2)
 
-            asignaciones++; // +C
+    /**
+     * Backtracking original sobre el tablero de objetos Pieza: List<Pieza> de
+     * disponibles, candidatas ordenadas fail-first y la guillotina de un paso
+     * con contadores de up y left. El indice, MRV, el balance, la
+     * transposicion, el backjumping, el motor iterativo y los puntos de
+     * control trabajan sobre codigos, asi que aqui no se usan; el
+     * presupuesto, la telemetria y el mejor parcial si.
+     */
+    private boolean solveConBacktrackingObjetos(Tablero board) {
+        mejorParcialPiezas = null;
+        List<Pieza> disponibles = new ArrayList<>(board.listaPiezas); // +N
+
+        // Limpiar el tablero completamente (N = n*n celdas)
+        for (int i = 0; i < board.size; i++) { // sqrt(N)
+            for (int j = 0; j < board.size; j++) { // N
+                board.removePieza(i, j); // +N
+            }
         }
+        instrumentacion.asignaciones(2L * board.pieces); // +2N
 
-        // No se encontro solucion desde esta posicion
-        return false; // +1
+        // Contadores de bordes para el lookahead, por valor de lado
+        int maxLado = 0; // +1
+        for (Pieza p : disponibles) { // +N
+            maxLado = Math.max(maxLado, Math.max(Math.max(p.getUp(), p.getRight()), Math.max(p.getDown(), p.getLeft())));
+        }
+        int[] countUp = new int[maxLado + 1]; // +R (R = mayor lado + 1)
+        int[] countLeft = new int[maxLado + 1]; // +R
+        for (Pieza p : disponibles) { // +N
+            countUp[p.getUp()]++; // +N
+            countLeft[p.getLeft()]++; // +N
+        }
+        instrumentacion.asignaciones(3L * disponibles.size() + 2); // +3N + 2
+
+        boolean resuelto = solveBacktrackObjetos(board, 0, 0, disponibles, countUp, countLeft); // +T_backtrack(N)
+
+        // Sin tiempo o nodos: dejar la mejor colocacion parcial
+        if (!resuelto && presupuesto.isAgotado() && mejorParcialPiezas != null) {
+            for (int idx = 0; idx < board.pieces; idx++) { // +N
+                board.setPieza(idx / board.size, idx % board.size, mejorParcialPiezas[idx]);
+            }
+        }
+        return resuelto;
     }
-    // Suma solveBacktrackRecursivo: 1+1+2+1+1+1+2+1+1+1 + (K+1)+K+K+K+K + K*log(K) + 1 + 
-    //   (C+1) + C+C+C+C+C+C+C+C+C+C+C+C+C + C*K + C + C + C*T(K-1) + C+C + C*K + C+C+C + 1
-    // Donde K = piezas disponibles en esta llamada, C = candidatas validas (C <= K)
-    // T_backtrack(N) = K * T(K-1) + K*log(K) + 2*K^2 + O(K) (peor caso: C = K)
-    // Aplicando recurrencia: T(N) = N * (N-1) * ... * 1 * T(0) + costos_locales
-    // Big O (PEOR CASO): O(N * N!)
-    // NOTA: En la practica, el ordenamiento greedy (fail-first) y la poda guillotina
-    // reducen significativamente el espacio de busqueda, haciendo que el caso promedio
-    // sea mucho mejor que el peor caso factorial.
+    // T_solveConBacktrackingObjetos(N) = T_backtrack(N) + O(N + R)
 
     /**
-     * Clase auxiliar para almacenar pieza con su puntuacion e indice
+     * solveBacktrackRecursivo sobre board.tablero. Cada candidata se guarda
+     * como long (puntaje << 32 | posicion en disponibles) y se ordena con
+     * ordenarClaves; las posiciones no cambian porque cada remove se deshace
+     * con un add en la misma posicion antes de probar la siguiente.
      */
-    private static class PiezaConPuntuacion {
-        Pieza pieza;
-        int indiceOriginal;
-        int puntuacion;
+    private boolean solveBacktrackObjetos(Tablero board, int row, int col, List<Pieza> disponibles, int[] countUp,
+            int[] countLeft) {
+        // Condicion de salida: tablero completo
+        instrumentacion.comparacion(); // +1
+        if (row >= board.size) { // +1
+            return true; // +1
+        }
+        if (presupuesto.agotado()) {
+            return false;
+        }
+        int profundidad = row * board.size + col;
+        registrarParcialObjetos(board, profundidad);
+        if (telemetria != null) {
+            telemetria.nodo(profundidad);
+        }
+
+        // Calcular siguiente posicion
+        instrumentacion.asignaciones(2); // +2
+        int nextCol = col + 1; // +1
+        int nextRow = row; // +1
 
-        PiezaConPuntuacion(Pieza pieza, int indice, int puntuacion) {
-            this.pieza = pieza;
-            this.indiceOriginal = indice;
-            this.puntuacion = puntuacion;
+        instrumentacion.comparacion(); // +1
+        if (nextCol >= board.size) { // +1
+            instrumentacion.asignaciones(2); // +2
+            nextCol = 0; // +1
+            nextRow = row + 1; // +1
         }
+
+        // Candidatas validas ordenadas fail-first: pocas opciones para los
+        // vecinos futuros primero (sin contar a la propia candidata)
+        long[] claves = new long[disponibles.size()]; // +K
+        int c = 0; // +1
+        for (int i = 0; i < disponibles.size(); i++) { // K+1
+            instrumentacion.comparacion(); // +K
+            Pieza pieza = disponibles.get(i); // +K
+            if (esValida(board, row, col, pieza)) { // +K * O(1)
+                long score = 0;
+                if (col < board.size - 1)
+                    score += countLeft[pieza.getRight()] - (pieza.getLeft() == pieza.getRight() ? 1 : 0);
+                if (row < board.size - 1)
+                    score += countUp[pieza.getDown()] - (pieza.getUp() == pieza.getDown() ? 1 : 0);
+                claves[c++] = (score << 32) | i; // +C
+                instrumentacion.asignaciones(2); // +2C
+            }
+        }
+        ordenarClaves(claves, c); // +C*log(C)
+
+        // Intentar cada candidata en orden
+        for (int k = 0; k < c; k++) { // C+1
+            instrumentacion.comparacion(); // +C
+            intentosBacktrack++; // +C
+            int i = (int) claves[k]; // +C
+            Pieza p = disponibles.get(i); // +C
+
+            // GUILLOTINE: usar la pieza y verificar vecino derecho y de abajo
+            countUp[p.getUp()]--; // +C
+            countLeft[p.getLeft()]--; // +C
+            instrumentacion.comparaciones(2); // +2C
+            boolean posible = (col == board.size - 1 || countLeft[p.getRight()] > 0)
+                    && (row == board.size - 1 || countUp[p.getDown()] > 0); // +C
+            if (!posible) { // +C
+                countUp[p.getUp()]++; // +C
+                countLeft[p.getLeft()]++; // +C
+                if (telemetria != null) {
+                    telemetria.poda(profundidad);
+                }
+                continue;
+            }
+
+            board.setPieza(row, col, p); // +C
+            disponibles.remove(i); // +C * K
+            instrumentacion.asignaciones(2); // +2C
+
+            instrumentacion.comparacion(); // +C
+            if (solveBacktrackObjetos(board, nextRow, nextCol, disponibles, countUp, countLeft)) { // +C * T(K-1)
+                return true; // +1
+            }
+
+            // Backtrack: deshacer la eleccion y restaurar contadores
+            board.removePieza(row, col); // +C
+            disponibles.add(i, p); // +C * K
+            countUp[p.getUp()]++; // +C
+            countLeft[p.getLeft()]++; // +C
+            instrumentacion.asignaciones(4); // +4C
+        }
+        return false; // +1
+    }
+    // T_backtrackObjetos(N) = K * T(K-1) + K*log(K) + 2*K^2 + O(K) (peor caso: C = K)
+    // Big O: O(N * N!)
+
+    // registrarParcial para el tablero de objetos
+    private void registrarParcialObjetos(Tablero board, int profundidad) {
+        if (profundidad <= mejorProfundidad) {
+            return;
+        }
+        if (mejorParcialPiezas == null) {
+            mejorParcialPiezas = new Pieza[board.pieces];
+        }
+        for (int idx = 0; idx < board.pieces; idx++) {
+            mejorParcialPiezas[idx] = board.tablero[idx / board.size][idx % board.size];
+        }
+        mejorProfundidad = profundidad;
     }
 
     // ========================================================================
@@ -407,48 +1744,48 @@ public class Voraz {
      * Calcula puntuacion para una pieza en una posicion especifica.
      * Mayor puntuacion significa mejor encaje con los vecinos.
      */
-    private int calcularPuntuacion(Tablero board, int row, int col, Pieza pieza) {
+    private int calcularPuntuacion(Tablero board, int row, int col, int pieza) {
         int puntuacion = 0; // +1
-        asignaciones++; // +1
+        instrumentacion.asignacion(); // +1
 
         // Bonus por encaje vertical
-        comparaciones++; // +1
+        instrumentacion.comparacion(); // +1
         if (row > 0) { // +1
-            Pieza vecino = board.getPieza(row - 1, col); // +1
-            asignaciones++; // +1
-            comparaciones += 2; // +1
-            if (vecino != null && vecino.getDown() == pieza.getUp()) { // +1
-                asignaciones++; // +1
+            int vecino = board.celdas[(row - 1) * board.size + col]; // +1
+            instrumentacion.asignacion(); // +1
+            instrumentacion.comparaciones(2); // +1
+            if (vecino != PiezaCodec.VACIA && PiezaCodec.down(vecino) == PiezaCodec.up(pieza)) { // +1
+                instrumentacion.asignacion(); // +1
                 puntuacion += 50; // +1
             }
         }
 
         // Bonus por encaje horizontal
-        comparaciones++; // +1
+        instrumentacion.comparacion(); // +1
         if (col > 0) { // +1
-            Pieza vecinoIzq = board.getPieza(row, col - 1); // +1
-            asignaciones++; // +1
-            comparaciones += 2; // +1
-            if (vecinoIzq != null && vecinoIzq.getRight() == pieza.getLeft()) { // +1
-                asignaciones++; // +1
+            int vecinoIzq = board.celdas[row * board.size + col - 1]; // +1
+            instrumentacion.asignacion(); // +1
+            instrumentacion.comparaciones(2); // +1
+            if (vecinoIzq != PiezaCodec.VACIA && PiezaCodec.right(vecinoIzq) == PiezaCodec.left(pieza)) { // +1
+                instrumentacion.asignacion(); // +1
                 puntuacion += 50; // +1
             }
         }
 
         // Bonus por ser esquina o borde
-        comparaciones += 4; // +1
+        instrumentacion.comparaciones(4); // +1
         if ((row == 0 || row == board.size - 1) && (col == 0 || col == board.size - 1)) { // +1
-            asignaciones++; // +1
+            instrumentacion.asignacion(); // +1
             puntuacion += 5; // +1
         } else {
-            comparaciones += 3; // +1
+            instrumentacion.comparaciones(3); // +1
             if (row == 0 || row == board.size - 1 || col == 0 || col == board.size - 1) { // +1
-                asignaciones++; // +1
+                instrumentacion.asignacion(); // +1
                 puntuacion += 3; // +1
             }
         }
 
-        asignaciones++; // +1
+        instrumentacion.asignacion(); // +1
         puntuacion += 1; // +1
         return puntuacion; // +1
     }
@@ -459,24 +1796,55 @@ public class Voraz {
      * Valida que una pieza pueda colocarse en una posicion sin violar
      * restricciones.
      */
+    private boolean esValida(Tablero board, int row, int col, int pieza) {
+        // Validar restriccion superior
+        instrumentacion.comparacion(); // +1
+        if (row > 0) { // +1
+            int vecino = board.celdas[(row - 1) * board.size + col]; // +1
+            instrumentacion.asignacion(); // +1
+            instrumentacion.comparaciones(2); // +1
+            if (vecino != PiezaCodec.VACIA && PiezaCodec.down(vecino) != PiezaCodec.up(pieza)) { // +1
+                return false; // +1
+            }
+        }
+
+        // Validar restriccion izquierda
+        instrumentacion.comparacion(); // +1
+        if (col > 0) { // +1
+            int vecinoIzq = board.celdas[row * board.size + col - 1]; // +1
+            instrumentacion.asignacion(); // +1
+            instrumentacion.comparaciones(2); // +1
+            if (vecinoIzq != PiezaCodec.VACIA && PiezaCodec.right(vecinoIzq) != PiezaCodec.left(pieza)) { // +1
+                return false; // +1
+            }
+        }
+
+        return true; // +1
+    }
+    // Suma esValida: 1+1+1+1+1+1+1+1+1+1+1+1+1+1+1 = 15 (Peor caso)
+    // T_esValida(N) = 15 = O(1)
+
+    /**
+     * esValida para el tablero de objetos (vecinos en board.tablero)
+     */
     private boolean esValida(Tablero board, int row, int col, Pieza pieza) {
         // Validar restriccion superior
-        comparaciones++; // +1
+        instrumentacion.comparacion(); // +1
         if (row > 0) { // +1
-            Pieza vecino = board.getPieza(row - 1, col); // +1
-            asignaciones++; // +1
-            comparaciones += 2; // +1
+            Pieza vecino = board.tablero[row - 1][col]; // +1
+            instrumentacion.asignacion(); // +1
+            instrumentacion.comparaciones(2); // +1
             if (vecino != null && vecino.getDown() != pieza.getUp()) { // +1
                 return false; // +1
             }
         }
 
         // Validar restriccion izquierda
-        comparaciones++; // +1
+        instrumentacion.comparacion(); // +1
         if (col > 0) { // +1
-            Pieza vecinoIzq = board.getPieza(row, col - 1); // +1
-            asignaciones++; // +1
-            comparaciones += 2; // +1
+            Pieza vecinoIzq = board.tablero[row][col - 1]; // +1
+            instrumentacion.asignacion(); // +1
+            instrumentacion.comparaciones(2); // +1
             if (vecinoIzq != null && vecinoIzq.getRight() != pieza.getLeft()) { // +1
                 return false; // +1
             }
@@ -484,8 +1852,6 @@ public class Voraz {
 
         return true; // +1
     }
-    // Suma esValida: 1+1+1+1+1+1+1+1+1+1+1+1+1+1+1 = 15 (Peor caso)
-    // T_esValida(N) = 15 = O(1)
 }
 /**
  * ANALISIS DE COMPLEJIDAD NO EMPIRICO GLOBAL (VORAZ CON BACKTRACKING):
@@ -497,24 +1863,23 @@ public class Voraz {
  * 
  * Metodo recursivo solveBacktrackRecursivo:
  * - En cada nivel de recursion con K piezas disponibles:
- *   - Filtrar piezas validas: O(K)
- *   - Ordenar candidatas (fail-first): O(K * log(K))
- *   - Para cada candidata C (C <= K):
+ *   - Obtener piezas validas de la cubeta (left, up) del indice: O(C)
+ *   - Ordenar candidatas (fail-first): O(C * log(C))
+ *   - Para cada candidata (C <= K):
  *     - Verificacion guillotina (lookahead): O(1)
  *     - Colocar pieza: O(1)
- *     - Remover de lista: O(K)
+ *     - Quitar del indice: O(1)
  *     - Llamada recursiva: T(K-1)
- *     - Backtrack (restaurar): O(K)
+ *     - Backtrack (restaurar en el indice): O(1)
  * 
- * Recurrencia (peor caso, todas las piezas son candidatas validas):
- * T(K) = K * T(K-1) + O(K^2) + O(K * log(K))
- * T(K) = K * T(K-1) + O(K^2)
+ * Recurrencia (peor caso, todas las piezas son candidatas validas, C = K):
+ * T(K) = K * T(K-1) + O(K * log(K))
  * 
  * Expansion de la recurrencia:
- * T(N) = N * T(N-1) + O(N^2)
- *      = N * (N-1) * T(N-2) + N * O((N-1)^2) + O(N^2)
+ * T(N) = N * T(N-1) + O(N * log(N))
+ *      = N * (N-1) * T(N-2) + N * O((N-1) * log(N-1)) + O(N * log(N))
  *      = N * (N-1) * (N-2) * ... * 1 * T(0) + sum_de_costos
- *      = N! * O(1) + O(N^3)
+ *      = N! * O(1) + O(N^2 * log(N))
  *      = O(N!)
  * 
  * Considerando que hay N posiciones a llenar:
@@ -531,8 +1896,14 @@ public class Voraz {
  *    futuras, las ramas fallidas se detectan y podan mas rapidamente.
  * 
  * 2. Poda Guillotina (Lookahead): Antes de hacer la recursion, verifica si
- *    quedan piezas compatibles para los vecinos futuros (derecha y abajo).
- *    Si no hay, poda la rama sin explorarla.
+ *    quedan piezas compatibles para los vecinos futuros: el par exacto
+ *    (left, up) del vecino derecho, el up del vecino de abajo y de la
+ *    siguiente celda al cambiar de fila (contando cuando compiten por el
+ *    mismo up). Si no hay, poda la rama sin explorarla.
+ *
+ * 3. Balance de bordes (opcional, ver BalanceBordes): por cada valor, los
+ *    bordes abiertos de la frontera no pueden pedir mas piezas que las que
+ *    quedan. O(1) por colocacion.
  * 
  * Estas optimizaciones no cambian la complejidad asintotica del peor caso,
  * pero reducen drasticamente el numero de nodos explorados en casos tipicos,
@@ -562,4 +1933,8 @@ public class Voraz {
  * 
  * Complejidad Final Big O: O(N^2)
  * En terminos del lado n del tablero: O(n^4)
+ *
+ * Variante solveGreedyLineal (mismo resultado): cubetas por borde armadas
+ * con counting sort O(N + R^2) y un cursor por cubeta que solo avanza.
+ * T(N) = O(N + R^2), es decir O(n^2) para rango fijo.
  */
@@ -0,0 +1,267 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Voraz aleatorizado con reinicios (GRASP) en varios hilos.
+ *
+ * El voraz puro es determinista: si falla en un tablero, falla siempre en la
+ * misma celda. Aqui cada intento llena el tablero fila por fila, pero en
+ * cada celda elige al azar entre las k mejores candidatas en lugar de la
+ * primera. La puntuacion es cuantas piezas podrian ir a la derecha y abajo
+ * de la candidata (las que dejan mas opciones van primero) y se descartan
+ * las que dejarian a un vecino sin ninguna pieza, igual que la guillotina.
+ *
+ * Cada intento arranca con otra clase de pieza en [0][0]: el intento n usa
+ * la clase n mod C, asi se prueban todas las esquinas antes de repetir.
+ *
+ * Los hilos repiten intentos hasta que uno llena el tablero, se agota el
+ * presupuesto o se llega a maxIntentos. Cada hilo tiene su propio
+ * SplittableRandom (derivado de la semilla) y su propio IndiceCandidatos,
+ * que al final de cada intento se restaura en orden inverso en O(N) en
+ * lugar de reconstruirlo.
+ *
+ * Se guarda el mejor tablero parcial (mas celdas llenas antes de quedar sin
+ * candidatas) para compararlo con el backtracking.
+ */
+public class VorazGrasp {
+
+    private final int hilos;
+    private final int topK;
+    private final long semilla;
+    private final long maxIntentos; // 0 o negativo sin limite
+    private final Instrumentacion instrumentacion; // compartida por todos los hilos
+
+    // Estado compartido entre hilos
+    private final AtomicLong intentos = new AtomicLong();
+    private final AtomicReference<int[]> solucion = new AtomicReference<>();
+    private Presupuesto busqueda; // se cancela con la primera solucion
+
+    // Mejor tablero parcial entre todos los hilos
+    private int[] mejorParcial;
+    private int mejorProfundidad;
+    private double tiempoMs;
+
+    // Datos de solo lectura
+    private Tablero base;
+    private ClasesPiezas clases;
+    private RecorridoTablero recorrido;
+
+    /**
+     * @param hilos           Hilos que hacen intentos en paralelo
+     * @param topK            Candidatas entre las que se sortea cada celda
+     * @param semilla         Semilla de los generadores de cada hilo
+     * @param maxIntentos     Intentos maximos entre todos los hilos, 0 sin limite
+     * @param instrumentacion Comparaciones y asignaciones (segura entre hilos)
+     */
+    public VorazGrasp(int hilos, int topK, long semilla, long maxIntentos, Instrumentacion instrumentacion) {
+        this.hilos = Math.max(1, hilos);
+        this.topK = Math.max(1, topK);
+        this.semilla = semilla;
+        this.maxIntentos = maxIntentos;
+        this.instrumentacion = instrumentacion;
+    }
+
+    /**
+     * Hace intentos hasta resolver el tablero o agotar el presupuesto. Al
+     * terminar, si hubo solucion queda escrita en board.celdas.
+     *
+     * @param board       Tablero en modo primitivo con las celdas vacias
+     * @param presupuesto Limites de toda la busqueda (cada celda es un nodo)
+     * @return true si algun intento lleno el tablero
+     */
+    public boolean resolver(Tablero board, Presupuesto presupuesto) {
+        this.busqueda = presupuesto.derivar();
+        this.base = board;
+        this.clases = new ClasesPiezas(board.codigos);
+        this.recorrido = new RecorridoTablero(board.size);
+        long inicio = System.nanoTime();
+
+        // Un generador independiente por hilo, derivados en orden de la semilla
+        SplittableRandom raiz = new SplittableRandom(semilla);
+        ExecutorService executor = Executors.newFixedThreadPool(hilos, r -> {
+            Thread hilo = new Thread(r, "grasp");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        for (int h = 0; h < hilos; h++) {
+            SplittableRandom random = raiz.split();
+            executor.execute(() -> trabajar(random));
+        }
+        executor.shutdown();
+        try {
+            // Los hilos salen solos con la solucion o al agotarse el presupuesto
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            busqueda.cancelar();
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        tiempoMs = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        int[] celdas = solucion.get();
+        if (celdas != null) {
+            System.arraycopy(celdas, 0, board.celdas, 0, celdas.length);
+            return true;
+        }
+        return false;
+    }
+
+    // Ciclo de un hilo: intentos hasta solucion, presupuesto o maxIntentos
+    private void trabajar(SplittableRandom random) {
+        Presupuesto presupuesto = busqueda.derivar();
+        IndiceCandidatos indice = new IndiceCandidatos(clases, base.rangoNum);
+        int[] celdas = new int[recorrido.numCeldas];
+        int[] usadas = new int[recorrido.numCeldas]; // clase colocada en cada celda
+        int[] topId = new int[topK];
+        long[] topScore = new long[topK];
+        Arrays.fill(celdas, PiezaCodec.VACIA);
+
+        while (solucion.get() == null && !presupuesto.revisar()) {
+            long n = intentos.getAndIncrement();
+            if (maxIntentos > 0 && n >= maxIntentos) {
+                break;
+            }
+            int ancla = (int) (n % clases.getNumClases());
+            int colocadas = intento(indice, presupuesto, random, ancla, celdas, usadas, topId, topScore);
+
+            if (colocadas == celdas.length) {
+                if (solucion.compareAndSet(null, celdas.clone())) {
+                    busqueda.cancelar(); // detener a los demas hilos
+                }
+                return;
+            }
+            registrarParcial(celdas, colocadas);
+
+            // Deshacer el intento: piezas de vuelta al indice en orden inverso
+            for (int k = colocadas - 1; k >= 0; k--) {
+                indice.restaurar(usadas[k]);
+                celdas[recorrido.orden[k]] = PiezaCodec.VACIA;
+            }
+            instrumentacion.asignaciones(2L * colocadas);
+        }
+    }
+
+    /**
+     * Un intento voraz aleatorizado. Devuelve cuantas celdas lleno (todas si
+     * resolvio el tablero).
+     */
+    private int intento(IndiceCandidatos indice, Presupuesto presupuesto, SplittableRandom random, int ancla,
+            int[] celdas, int[] usadas, int[] topId, long[] topScore) {
+        int size = recorrido.size;
+        for (int k = 0; k < recorrido.numCeldas; k++) { // N
+            if (presupuesto.agotado()) {
+                return k;
+            }
+            int cell = recorrido.orden[k];
+            int row = recorrido.filaDe[cell];
+            int col = recorrido.colDe[cell];
+
+            int elegido = ancla;
+            if (k > 0) {
+                // Las k mejores candidatas de la cubeta (left, up) de la celda
+                int m = 0;
+                int vista = recorrido.vista(indice, celdas, cell);
+                for (int id = indice.primero(vista); id != IndiceCandidatos.FIN; id = indice.siguiente(vista,
+                        id)) { // C
+                    instrumentacion.comparacion(); // +C
+                    int p = indice.getCodigo(id);
+                    // La candidata sigue en el indice: no cuenta como opcion
+                    // de su propio vecino (se descuenta si su lado opuesto
+                    // tambien calza, como si ya estuviera quitada)
+                    long score = 0;
+                    if (col < size - 1) {
+                        int opciones = indice.cantidadConLeft(PiezaCodec.right(p))
+                                - (PiezaCodec.left(p) == PiezaCodec.right(p) ? 1 : 0);
+                        if (opciones == 0) {
+                            continue; // el vecino derecho se quedaria sin piezas
+                        }
+                        score += opciones;
+                    }
+                    if (row < size - 1) {
+                        int opciones = indice.cantidadConUp(PiezaCodec.down(p))
+                                - (PiezaCodec.up(p) == PiezaCodec.down(p) ? 1 : 0);
+                        if (opciones == 0) {
+                            continue; // el vecino de abajo se quedaria sin piezas
+                        }
+                        score += opciones;
+                    }
+                    m = insertarTop(topId, topScore, m, id, score); // +k
+                }
+                if (m == 0) {
+                    return k; // sin candidatas: el intento termina aqui
+                }
+                elegido = topId[random.nextInt(m)];
+            }
+
+            celdas[cell] = indice.getCodigo(elegido);
+            indice.quitar(elegido);
+            usadas[k] = elegido;
+            instrumentacion.asignaciones(3); // +3
+        }
+        return recorrido.numCeldas;
+    }
+    // T_intento(N) = N * (C + C*k) = O(N * C * k), con C el tamano de la cubeta
+
+    // Inserta (id, score) en el top ordenado de mayor a menor; los empates
+    // quedan en orden de la cubeta. Devuelve cuantos hay en el top.
+    private int insertarTop(int[] topId, long[] topScore, int m, int id, long score) {
+        int i = m < topK ? m++ : topK;
+        while (i > 0 && topScore[i - 1] < score) {
+            if (i < topK) {
+                topId[i] = topId[i - 1];
+                topScore[i] = topScore[i - 1];
+            }
+            i--;
+        }
+        if (i < topK) {
+            topId[i] = id;
+            topScore[i] = score;
+        }
+        return m;
+    }
+
+    // Guarda las celdas si este intento lleno mas que cualquier otro
+    private synchronized void registrarParcial(int[] celdas, int colocadas) {
+        if (colocadas <= mejorProfundidad) {
+            return;
+        }
+        if (mejorParcial == null) {
+            mejorParcial = new int[celdas.length];
+        }
+        System.arraycopy(celdas, 0, mejorParcial, 0, celdas.length);
+        mejorProfundidad = colocadas;
+    }
+
+    /** Intentos hechos entre todos los hilos */
+    public long getIntentos() {
+        long n = intentos.get();
+        return maxIntentos > 0 ? Math.min(n, maxIntentos) : n;
+    }
+
+    /** Intentos por segundo de la ultima busqueda */
+    public double getIntentosPorSegundo() {
+        return tiempoMs > 0 ? getIntentos() * 1000.0 / tiempoMs : 0;
+    }
+
+    public double getTiempoMs() {
+        return tiempoMs;
+    }
+
+    /** Celdas llenas (fila por fila) por el mejor intento sin solucion */
+    public synchronized int getMejorProfundidad() {
+        return mejorProfundidad;
+    }
+
+    /** Celdas del mejor intento sin solucion, o null */
+    public synchronized int[] getMejorParcial() {
+        return mejorParcial;
+    }
+}
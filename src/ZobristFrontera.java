@@ -0,0 +1,102 @@
+// Fecha de creación: 17 de octubre de 2026
+// Última modificación: 17 de octubre de 2026
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Hash de Zobrist de la frontera del backtracking que llena fila por fila,
+ * actualizado en O(1) con cada colocacion (para TablaTransposicion).
+ *
+ * En la celda k = (row, col) el resto de la busqueda solo depende de:
+ *
+ * - k
+ * - el perfil de la frontera: el down abierto de cada columna (los de la
+ *   fila actual antes de col y los de la fila anterior desde col)
+ * - el right de la celda de la izquierda (si col > 0)
+ * - el multiconjunto de piezas restantes
+ *
+ * Dos ordenes distintos que llegan al mismo estado tienen la misma clave.
+ * El perfil es el XOR de una clave aleatoria por (columna, valor); como las
+ * piezas repetidas no pueden cancelarse, el multiconjunto de piezas usadas
+ * es la SUMA de una clave por codigo de pieza (mezclar), asi dos copias
+ * iguales suman dos veces. En la ultima fila los downs ya no se usan y se
+ * guardan como SIN_VALOR para que mas estados coincidan.
+ *
+ * Las claves salen de una semilla fija: la misma frontera da la misma
+ * clave en todas las corridas.
+ */
+public class ZobristFrontera {
+
+    private final int size;
+    private final int sinValor; // valor de un borde sin restriccion
+    private final long[][] claveBorde; // [columna][valor]
+    private final long[] claveIzquierda; // [valor]
+    private final int[] perfil; // down abierto de cada columna, o sinValor
+
+    private long hashBordes;
+    private long hashUsadas;
+
+    /**
+     * @param size     Lado del tablero
+     * @param rangoNum Valores posibles de cada lado (los codigos siempre caben en un byte)
+     */
+    public ZobristFrontera(int size, int rangoNum) {
+        this.size = size;
+        // Los valores de PiezaCodec caben en un byte (Tablero renumera rangos mayores)
+        this.sinValor = 256;
+        SplittableRandom random = new SplittableRandom(0x5EED_F0E7L);
+        claveBorde = new long[size][sinValor + 1];
+        for (long[] columna : claveBorde) {
+            for (int v = 0; v <= sinValor; v++) {
+                columna[v] = random.nextLong();
+            }
+        }
+        claveIzquierda = new long[sinValor + 1];
+        for (int v = 0; v <= sinValor; v++) {
+            claveIzquierda[v] = random.nextLong();
+        }
+        perfil = new int[size];
+        Arrays.fill(perfil, sinValor);
+        for (int c = 0; c < size; c++) {
+            hashBordes ^= claveBorde[c][sinValor];
+        }
+    }
+
+    /**
+     * Registra la pieza p en (row, col). Solo cambia el down abierto de la
+     * columna col y el multiconjunto de usadas. O(1).
+     */
+    public void colocar(int row, int col, int p) {
+        int nuevo = row < size - 1 ? PiezaCodec.down(p) : sinValor;
+        hashBordes ^= claveBorde[col][perfil[col]] ^ claveBorde[col][nuevo];
+        perfil[col] = nuevo;
+        hashUsadas += mezclar(p);
+    }
+
+    /**
+     * Deshace colocar(row, col, p): la columna vuelve al down de la celda de
+     * arriba (celdas[] con las celdas anteriores como estaban).
+     */
+    public void quitar(int[] celdas, int row, int col, int p) {
+        int anterior = row > 0 ? PiezaCodec.down(celdas[(row - 1) * size + col]) : sinValor;
+        hashBordes ^= claveBorde[col][perfil[col]] ^ claveBorde[col][anterior];
+        perfil[col] = anterior;
+        hashUsadas -= mezclar(p);
+    }
+
+    /**
+     * Clave del estado al llegar a la celda (row, col) con las anteriores
+     * colocadas en celdas[]
+     */
+    public long clave(int[] celdas, int row, int col) {
+        int izquierda = col > 0 ? PiezaCodec.right(celdas[row * size + col - 1]) : sinValor;
+        return hashBordes ^ hashUsadas ^ claveIzquierda[izquierda] ^ mezclar(row * size + col + 1L);
+    }
+
+    // Clave pseudoaleatoria de un numero (finalizador de SplitMix64)
+    private static long mezclar(long x) {
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+}